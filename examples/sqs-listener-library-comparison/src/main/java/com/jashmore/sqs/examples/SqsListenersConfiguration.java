@@ -1,5 +1,6 @@
 package com.jashmore.sqs.examples;
 
+import static com.jashmore.sqs.examples.ExampleConstants.MESSAGE_RETRIEVAL_LATENCY_IN_MS;
 import static com.jashmore.sqs.examples.ExampleConstants.NUMBER_OF_MESSAGES;
 import static com.jashmore.sqs.examples.ExampleConstants.QUEUE_TO_TEST;
 import static com.jashmore.sqs.examples.Queues.JMS_10_QUEUE_NAME;
@@ -19,8 +20,9 @@ import com.amazonaws.client.builder.AwsClientBuilder;
 import com.amazonaws.services.sqs.AmazonSQSAsync;
 import com.amazonaws.services.sqs.AmazonSQSAsyncClientBuilder;
 import com.jashmore.sqs.examples.latency.LatencyAppliedAmazonSqsAsync;
-import com.jashmore.sqs.examples.latency.LatencyAppliedSqsAsyncClient;
+import com.jashmore.sqs.util.LatencyInjectingSqsAsyncClient;
 import com.jashmore.sqs.util.LocalSqsAsyncClient;
+import com.jashmore.sqs.util.SqsLatencyConfig;
 import com.jashmore.sqs.util.SqsQueuesConfig;
 import lombok.extern.slf4j.Slf4j;
 import org.elasticmq.rest.sqs.SQSRestServer;
@@ -93,7 +95,9 @@ public class SqsListenersConfiguration {
 
         sendMessagesToQueue(localSqsAsyncClient);
 
-        return new LatencyAppliedSqsAsyncClient(localSqsAsyncClient);
+        return new LatencyInjectingSqsAsyncClient(localSqsAsyncClient, SqsLatencyConfig.builder()
+                .receiveMessageLatencyInMs(MESSAGE_RETRIEVAL_LATENCY_IN_MS)
+                .build());
     }
 
     /**
@@ -33,4 +33,22 @@ public interface ArgumentResolver<T> {
      * @throws ArgumentResolutionException when there was an error determine the parameter argument value
      */
     T resolveArgumentForParameter(QueueProperties queueProperties, MethodParameter methodParameter, Message message) throws ArgumentResolutionException;
+
+    /**
+     * Bind this resolver to the given {@link MethodParameter} so that the argument for each message can be resolved without needing to inspect the
+     * parameter again.
+     *
+     * <p>This is called once for each parameter when the method is being prepared for processing messages and therefore any expensive work that only
+     * depends on the parameter, for example looking up the annotations on the parameter, should be done here instead of when each message is
+     * processed. By default this will call {@link #resolveArgumentForParameter(QueueProperties, MethodParameter, Message)} for each message.
+     *
+     * @param queueProperties details about the queue that the arguments will be resolved for
+     * @param methodParameter details about a parameter for the method
+     * @return the resolver for the argument of this parameter
+     * @throws ArgumentResolutionException when the parameter is not able to be resolved by this resolver
+     */
+    default BoundArgumentResolver<T> bindToParameter(final QueueProperties queueProperties,
+                                                     final MethodParameter methodParameter) throws ArgumentResolutionException {
+        return message -> resolveArgumentForParameter(queueProperties, methodParameter, message);
+    }
 }
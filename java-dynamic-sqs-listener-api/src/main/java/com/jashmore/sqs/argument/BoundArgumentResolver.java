@@ -0,0 +1,29 @@
+package com.jashmore.sqs.argument;
+
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Resolves the argument for a single parameter of a method that has already been bound by an {@link ArgumentResolver}.
+ *
+ * <p>As everything about the parameter, like the annotations on it and its type, are known when this is built only the message is needed to resolve the
+ * argument. This allows for the expensive work, like reflectively looking up annotations, to be done once instead of for each message.
+ *
+ * <p>As there could be multiple messages all being processed at once, the implementations of this class must be thread safe.
+ *
+ * @param <T> the type of object that is returned when an argument is resolved
+ * @see ArgumentResolver#bindToParameter(com.jashmore.sqs.QueueProperties, MethodParameter) for how this is built
+ */
+@ThreadSafe
+@FunctionalInterface
+public interface BoundArgumentResolver<T> {
+    /**
+     * Resolve the argument of the parameter for the message.
+     *
+     * @param message the message being processed
+     * @return the value of the argument
+     * @throws ArgumentResolutionException when there was an error determine the parameter argument value
+     */
+    T resolveArgument(Message message) throws ArgumentResolutionException;
+}
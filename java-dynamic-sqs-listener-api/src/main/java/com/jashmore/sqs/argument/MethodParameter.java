@@ -2,6 +2,7 @@ package com.jashmore.sqs.argument;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
 import javax.annotation.Nonnull;
 import javax.validation.constraints.PositiveOrZero;
 
@@ -32,4 +33,32 @@ public interface MethodParameter {
      */
     @PositiveOrZero
     int getParameterIndex();
+
+    /**
+     * The type of the argument that should be resolved for this parameter.
+     *
+     * <p>This is generally the type of the {@link #getParameter()} but can differ when a single argument does not map to the whole parameter. For
+     * example, when a method processes a batch of messages each parameter is a {@link java.util.List} and an argument is resolved for each element
+     * of that list.
+     *
+     * @return the type of the argument to resolve
+     */
+    @Nonnull
+    default Class<?> getArgumentType() {
+        return getParameter().getType();
+    }
+
+    /**
+     * The generic type of the argument that should be resolved for this parameter.
+     *
+     * <p>This includes any type arguments of the {@link #getArgumentType()}, for example a {@code List<String>} instead of only the {@link java.util.List}
+     * class, and can be used by {@link ArgumentResolver}s that are able to build parameterised types.
+     *
+     * @return the generic type of the argument to resolve
+     * @see Parameter#getParameterizedType()
+     */
+    @Nonnull
+    default Type getArgumentGenericType() {
+        return getParameter().getParameterizedType();
+    }
 }
@@ -0,0 +1,86 @@
+package com.jashmore.sqs.argument;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jashmore.sqs.argument.attribute.MessageSystemAttribute;
+import com.jashmore.sqs.argument.payload.Payload;
+import com.jashmore.sqs.argument.payload.mapper.JacksonPayloadMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of finding the {@link ArgumentResolver} for a parameter via the {@link DelegatingArgumentResolverService}, which iterates through
+ * all of the resolvers until one can resolve the parameter.
+ *
+ * <p>The parameters are ordered to be resolved by the first and last {@link ArgumentResolver}s in the {@link CoreArgumentResolverService}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DelegatingArgumentResolverServiceBenchmark {
+    private ArgumentResolverService argumentResolverService;
+    private MethodParameter payloadParameter;
+    private MethodParameter systemAttributeParameter;
+    private MethodParameter messageParameter;
+
+    /**
+     * Build the {@link MethodParameter}s for each of the parameters being looked up.
+     *
+     * @throws NoSuchMethodException if the listener method could not be found
+     */
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        final ObjectMapper objectMapper = new ObjectMapper();
+        argumentResolverService = new CoreArgumentResolverService(new JacksonPayloadMapper(objectMapper), objectMapper);
+
+        final Method method = DelegatingArgumentResolverServiceBenchmark.class.getMethod("listener", String.class, String.class, Message.class);
+        payloadParameter = methodParameter(method, 0);
+        systemAttributeParameter = methodParameter(method, 1);
+        messageParameter = methodParameter(method, 2);
+    }
+
+    @Benchmark
+    public ArgumentResolver<?> payloadParameterLookup() {
+        return argumentResolverService.getArgumentResolver(payloadParameter);
+    }
+
+    @Benchmark
+    public ArgumentResolver<?> messageSystemAttributeParameterLookup() {
+        return argumentResolverService.getArgumentResolver(systemAttributeParameter);
+    }
+
+    @Benchmark
+    public ArgumentResolver<?> messageParameterLookup() {
+        return argumentResolverService.getArgumentResolver(messageParameter);
+    }
+
+    @SuppressWarnings("unused")
+    public void listener(@Payload final String payload,
+                         @MessageSystemAttribute(MessageSystemAttributeName.SENT_TIMESTAMP) final String sentTimestamp,
+                         final Message message) {
+
+    }
+
+    private static MethodParameter methodParameter(final Method method, final int index) {
+        return DefaultMethodParameter.builder()
+                .method(method)
+                .parameter(method.getParameters()[index])
+                .parameterIndex(index)
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package com.jashmore.sqs.argument.payload.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of mapping the body of a message into the payload of a listener method via the {@link JacksonPayloadMapper}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JacksonPayloadMapperBenchmark {
+    private final Message smallMessage = Message.builder()
+            .body("{\"name\":\"name\",\"value\":5}")
+            .build();
+    private final Message largeMessage = Message.builder()
+            .body(buildLargeBody())
+            .build();
+
+    private PayloadMapper payloadMapper;
+    private BoundPayloadMapper boundSmallPojoPayloadMapper;
+    private BoundPayloadMapper boundLargePojoPayloadMapper;
+
+    /**
+     * Build the mapper and bind it to the payload types up front, like the {@link com.jashmore.sqs.argument.payload.PayloadArgumentResolver} would.
+     */
+    @Setup
+    public void setUp() {
+        payloadMapper = new JacksonPayloadMapper(new ObjectMapper());
+        boundSmallPojoPayloadMapper = payloadMapper.bind(Pojo.class);
+        boundLargePojoPayloadMapper = payloadMapper.bind(LargePojo.class);
+    }
+
+    @Benchmark
+    public Object stringPayload() {
+        return payloadMapper.map(smallMessage, String.class);
+    }
+
+    @Benchmark
+    public Object smallPojoPayload() {
+        return payloadMapper.map(smallMessage, Pojo.class);
+    }
+
+    @Benchmark
+    public Object largePojoPayload() {
+        return payloadMapper.map(largeMessage, LargePojo.class);
+    }
+
+    @Benchmark
+    public Object boundSmallPojoPayload() {
+        return boundSmallPojoPayloadMapper.map(smallMessage);
+    }
+
+    @Benchmark
+    public Object boundLargePojoPayload() {
+        return boundLargePojoPayloadMapper.map(largeMessage);
+    }
+
+    private static String buildLargeBody() {
+        final StringBuilder builder = new StringBuilder("{\"items\":[");
+        for (int i = 0; i < 500; ++i) {
+            if (i != 0) {
+                builder.append(',');
+            }
+            builder.append("{\"name\":\"name-").append(i).append("\",\"value\":").append(i).append('}');
+        }
+        return builder.append("]}").toString();
+    }
+
+    public static class Pojo {
+        public String name;
+        public int value;
+    }
+
+    public static class LargePojo {
+        public List<Pojo> items;
+    }
+}
@@ -0,0 +1,149 @@
+package com.jashmore.sqs.processor;
+
+import com.google.common.collect.ImmutableMap;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jashmore.sqs.QueueProperties;
+import com.jashmore.sqs.argument.CoreArgumentResolverService;
+import com.jashmore.sqs.argument.attribute.MessageAttribute;
+import com.jashmore.sqs.argument.attribute.MessageSystemAttribute;
+import com.jashmore.sqs.argument.messageid.MessageId;
+import com.jashmore.sqs.argument.payload.Payload;
+import com.jashmore.sqs.argument.payload.mapper.JacksonPayloadMapper;
+import com.jashmore.sqs.processor.argument.Acknowledge;
+import com.jashmore.sqs.util.StubSqsAsyncClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of the {@link CoreMessageProcessor} resolving the arguments of a listener method and invoking it.
+ *
+ * <p>The listener methods do no work apart from consuming the arguments so that the cost of the framework is what is being measured.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CoreMessageProcessorBenchmark {
+    private static final Runnable NO_OP = () -> {
+    };
+
+    private final Message message = Message.builder()
+            .messageId("messageId")
+            .receiptHandle("receiptHandle")
+            .body("{\"name\":\"name\",\"value\":5}")
+            .messageAttributes(ImmutableMap.of(
+                    "string", MessageAttributeValue.builder().dataType("String").stringValue("value").build(),
+                    "number", MessageAttributeValue.builder().dataType("Number").stringValue("5").build()
+            ))
+            .attributes(ImmutableMap.of(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT, "1"))
+            .build();
+
+    private MessageProcessor stringPayloadMessageProcessor;
+    private MessageProcessor pojoPayloadMessageProcessor;
+    private MessageProcessor acknowledgeMessageProcessor;
+    private MessageProcessor attributesMessageProcessor;
+
+    /**
+     * Build the {@link CoreMessageProcessor}s for each of the listener methods being benchmarked.
+     *
+     * @param blackhole the blackhole that the listener methods will consume the arguments with
+     * @throws NoSuchMethodException if the listener methods could not be found
+     */
+    @Setup
+    public void setUp(final Blackhole blackhole) throws NoSuchMethodException {
+        final ObjectMapper objectMapper = new ObjectMapper();
+        final CoreArgumentResolverService argumentResolverService = new CoreArgumentResolverService(new JacksonPayloadMapper(objectMapper), objectMapper);
+        final QueueProperties queueProperties = QueueProperties.builder().queueUrl("http://localhost:9324/queue/benchmark").build();
+        final StubSqsAsyncClient sqsAsyncClient = new StubSqsAsyncClient();
+        final Listener listener = new Listener(blackhole);
+
+        stringPayloadMessageProcessor = new CoreMessageProcessor(argumentResolverService, queueProperties, sqsAsyncClient,
+                Listener.class.getMethod("stringPayload", String.class, String.class), listener);
+        pojoPayloadMessageProcessor = new CoreMessageProcessor(argumentResolverService, queueProperties, sqsAsyncClient,
+                Listener.class.getMethod("pojoPayload", Pojo.class), listener);
+        acknowledgeMessageProcessor = new CoreMessageProcessor(argumentResolverService, queueProperties, sqsAsyncClient,
+                Listener.class.getMethod("acknowledge", String.class, Acknowledge.class), listener);
+        attributesMessageProcessor = new CoreMessageProcessor(argumentResolverService, queueProperties, sqsAsyncClient,
+                Listener.class.getMethod("attributes", String.class, int.class, int.class), listener);
+    }
+
+    @Benchmark
+    public CompletableFuture<?> stringPayload() {
+        return stringPayloadMessageProcessor.processMessage(message, NO_OP);
+    }
+
+    @Benchmark
+    public CompletableFuture<?> pojoPayload() {
+        return pojoPayloadMessageProcessor.processMessage(message, NO_OP);
+    }
+
+    @Benchmark
+    public CompletableFuture<?> acknowledge() {
+        return acknowledgeMessageProcessor.processMessage(message, NO_OP);
+    }
+
+    @Benchmark
+    public CompletableFuture<?> attributes() {
+        return attributesMessageProcessor.processMessage(message, NO_OP);
+    }
+
+    public static class Listener {
+        private final Blackhole blackhole;
+
+        Listener(final Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        public void stringPayload(@Payload final String payload, @MessageId final String messageId) {
+            blackhole.consume(payload);
+            blackhole.consume(messageId);
+        }
+
+        public void pojoPayload(@Payload final Pojo payload) {
+            blackhole.consume(payload);
+        }
+
+        public void acknowledge(@Payload final String payload, final Acknowledge acknowledge) {
+            blackhole.consume(payload);
+            acknowledge.acknowledgeSuccessful();
+        }
+
+        /**
+         * Listener method that needs each argument to be parsed from the attributes of the message.
+         *
+         * @param stringAttribute the string message attribute
+         * @param numberAttribute the number message attribute
+         * @param receiveCount    the number of times the message has been received
+         */
+        public void attributes(@MessageAttribute("string") final String stringAttribute,
+                               @MessageAttribute("number") final int numberAttribute,
+                               @MessageSystemAttribute(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT) final int receiveCount) {
+            blackhole.consume(stringAttribute);
+            blackhole.consume(numberAttribute);
+            blackhole.consume(receiveCount);
+        }
+    }
+
+    public static class Pojo {
+        public String name;
+        public int value;
+    }
+}
@@ -0,0 +1,89 @@
+package com.jashmore.sqs.resolver.batching;
+
+import static com.jashmore.sqs.aws.AwsConstants.MAX_NUMBER_OF_MESSAGES_IN_BATCH;
+
+import com.jashmore.sqs.QueueProperties;
+import com.jashmore.sqs.util.StubSqsAsyncClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of messages being resolved through the {@link BatchingMessageResolver} where the SQS client will immediately and successfully
+ * complete the deletion.
+ *
+ * <p>Each invocation submits a full batch of messages and waits for them all to be resolved, with the result being reported per message resolved.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchingMessageResolverBenchmark {
+    private final Message[] messages = new Message[MAX_NUMBER_OF_MESSAGES_IN_BATCH];
+
+    private ExecutorService executorService;
+    private BatchingMessageResolver messageResolver;
+
+    /**
+     * Start the {@link BatchingMessageResolver} on a background thread.
+     */
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < messages.length; ++i) {
+            messages[i] = Message.builder().messageId("id-" + i).receiptHandle("receipt-" + i).build();
+        }
+        messageResolver = new BatchingMessageResolver(
+                QueueProperties.builder().queueUrl("http://localhost:9324/queue/benchmark").build(),
+                new StubSqsAsyncClient(),
+                StaticBatchingMessageResolverProperties.builder()
+                        .bufferingSizeLimit(MAX_NUMBER_OF_MESSAGES_IN_BATCH)
+                        .bufferingTimeInMs(1000)
+                        .build()
+        );
+        executorService = Executors.newSingleThreadExecutor();
+        executorService.execute(messageResolver::run);
+    }
+
+    /**
+     * Stop the background thread running the {@link BatchingMessageResolver}.
+     *
+     * @throws InterruptedException if the thread was interrupted while waiting for the resolver to stop
+     */
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        executorService.shutdownNow();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Resolve a full batch of messages, waiting for them all to be deleted.
+     *
+     * @return the result of all of the messages being resolved
+     */
+    @Benchmark
+    @OperationsPerInvocation(MAX_NUMBER_OF_MESSAGES_IN_BATCH)
+    public Object resolveBatchOfMessages() {
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[messages.length];
+        for (int i = 0; i < messages.length; ++i) {
+            futures[i] = messageResolver.resolveMessage(messages[i]);
+        }
+        return CompletableFuture.allOf(futures).join();
+    }
+}
@@ -0,0 +1,86 @@
+package com.jashmore.sqs.retriever.prefetch.util;
+
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The previous implementation of the {@link PrefetchingMessageFutureConsumerQueue} which guards the {@link CompletableFuture} and {@link Message} queues with
+ * a single {@link ReentrantLock}.
+ *
+ * <p>This is only kept as a baseline so that the lock free {@link PrefetchingMessageFutureConsumerQueue} can be compared against it in the
+ * {@link PrefetchingMessageFutureConsumerQueueComparisonBenchmark}.
+ */
+@ThreadSafe
+public class LockingPrefetchingMessageFutureConsumerQueue {
+    private final Queue<CompletableFuture<Message>> futureQueue;
+    private final Queue<Message> messageQueue;
+    private final Integer messageCapacity;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition messageQueueNotFull = lock.newCondition();
+
+    public LockingPrefetchingMessageFutureConsumerQueue(final Integer messageCapacity) {
+        this.futureQueue = new LinkedList<>();
+        this.messageQueue = new LinkedList<>();
+        this.messageCapacity = messageCapacity;
+    }
+
+    /**
+     * See {@link PrefetchingMessageFutureConsumerQueue#pushCompletableFuture(CompletableFuture)}.
+     *
+     * @param completableFuture the future to include in the queue
+     */
+    public void pushCompletableFuture(@Nonnull CompletableFuture<Message> completableFuture) {
+        final Message message;
+        lock.lock();
+        try {
+            message = messageQueue.poll();
+            if (message != null && (messageQueue.size() + 1 == messageCapacity)) {
+                messageQueueNotFull.signal();
+            }
+
+            if (message == null) {
+                futureQueue.add(completableFuture);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (message != null) {
+            completableFuture.complete(message);
+        }
+    }
+
+    /**
+     * See {@link PrefetchingMessageFutureConsumerQueue#pushMessage(Message)}.
+     *
+     * @param message the message to add
+     * @throws InterruptedException if the thread was interrupted while waiting for the lock or adding a message onto the internal message queue
+     */
+    public void pushMessage(@Nonnull final Message message) throws InterruptedException {
+        CompletableFuture<Message> completableFuture;
+        lock.lockInterruptibly();
+        try {
+            while ((completableFuture = futureQueue.poll()) == null && messageQueue.size() == messageCapacity) {
+                messageQueueNotFull.await();
+            }
+
+            if (completableFuture == null) {
+                messageQueue.add(message);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (completableFuture != null) {
+            completableFuture.complete(message);
+        }
+    }
+}
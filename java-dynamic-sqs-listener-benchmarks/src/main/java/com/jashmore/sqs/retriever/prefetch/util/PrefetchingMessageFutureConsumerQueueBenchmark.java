@@ -0,0 +1,59 @@
+package com.jashmore.sqs.retriever.prefetch.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the contention of pushing messages and pulling them via {@link CompletableFuture}s through the {@link PrefetchingMessageFutureConsumerQueue}.
+ *
+ * <p>Each operation pushes a message and a future into the queue which are then paired with each other, or with a message/future from another thread.
+ * As every thread pushes the same number of messages and futures, the number of messages stored never exceeds the number of threads and therefore the
+ * capacity of the queue is never the bottleneck.
+ *
+ * <p>The number of threads contending on the queue can be changed via the JMH {@code -t} option.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class PrefetchingMessageFutureConsumerQueueBenchmark {
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final Message MESSAGE = Message.builder().messageId("id").body("body").build();
+
+    private PrefetchingMessageFutureConsumerQueue queue;
+
+    @Setup
+    public void setUp() {
+        queue = new PrefetchingMessageFutureConsumerQueue(QUEUE_CAPACITY);
+    }
+
+    /**
+     * Push a message and a future into the queue.
+     *
+     * @return the future that will be, or has been, paired with a message
+     * @throws InterruptedException if the thread was interrupted while pushing the message
+     */
+    @Benchmark
+    public CompletableFuture<Message> pushMessageAndFuture() throws InterruptedException {
+        final CompletableFuture<Message> future = new CompletableFuture<>();
+        queue.pushMessage(MESSAGE);
+        queue.pushCompletableFuture(future);
+        return future;
+    }
+}
@@ -0,0 +1,138 @@
+package com.jashmore.sqs.retriever.prefetch.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Compares the lock free {@link PrefetchingMessageFutureConsumerQueue} against the previous {@link LockingPrefetchingMessageFutureConsumerQueue} when there
+ * are 1, 8 and 64 threads requesting messages.
+ *
+ * <p>This replicates how the queue is used by the {@link com.jashmore.sqs.retriever.prefetch.PrefetchingMessageRetriever} in that a single background thread
+ * continually pushes messages into the queue, blocking when it is at capacity, and the benchmark threads act as the message broker threads that push a
+ * {@link CompletableFuture} and wait for it to be resolved with a message.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrefetchingMessageFutureConsumerQueueComparisonBenchmark {
+    private static final int QUEUE_CAPACITY = 10;
+    private static final Message MESSAGE = Message.builder().messageId("id").body("body").build();
+
+    @Benchmark
+    @Threads(1)
+    public Message lockingQueueWithOneConsumerThread(final LockingQueueState state) {
+        return retrieveMessage(state.queue::pushCompletableFuture);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Message lockingQueueWithEightConsumerThreads(final LockingQueueState state) {
+        return retrieveMessage(state.queue::pushCompletableFuture);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public Message lockingQueueWithSixtyFourConsumerThreads(final LockingQueueState state) {
+        return retrieveMessage(state.queue::pushCompletableFuture);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Message lockFreeQueueWithOneConsumerThread(final LockFreeQueueState state) {
+        return retrieveMessage(state.queue::pushCompletableFuture);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Message lockFreeQueueWithEightConsumerThreads(final LockFreeQueueState state) {
+        return retrieveMessage(state.queue::pushCompletableFuture);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public Message lockFreeQueueWithSixtyFourConsumerThreads(final LockFreeQueueState state) {
+        return retrieveMessage(state.queue::pushCompletableFuture);
+    }
+
+    private static Message retrieveMessage(final Consumer<CompletableFuture<Message>> futurePusher) {
+        final CompletableFuture<Message> future = new CompletableFuture<>();
+        futurePusher.accept(future);
+        return future.join();
+    }
+
+    private static Thread startMessageProducer(final MessagePusher messagePusher) {
+        final Thread thread = new Thread(() -> {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    messagePusher.push(MESSAGE);
+                }
+            } catch (InterruptedException interruptedException) {
+                // stopped by the tear down
+            }
+        }, "message-producer");
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private static void stopMessageProducer(final Thread thread) throws InterruptedException {
+        thread.interrupt();
+        thread.join();
+    }
+
+    @State(Scope.Benchmark)
+    public static class LockingQueueState {
+        private LockingPrefetchingMessageFutureConsumerQueue queue;
+        private Thread messageProducer;
+
+        @Setup
+        public void setUp() {
+            queue = new LockingPrefetchingMessageFutureConsumerQueue(QUEUE_CAPACITY);
+            messageProducer = startMessageProducer(queue::pushMessage);
+        }
+
+        @TearDown
+        public void tearDown() throws InterruptedException {
+            stopMessageProducer(messageProducer);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class LockFreeQueueState {
+        private PrefetchingMessageFutureConsumerQueue queue;
+        private Thread messageProducer;
+
+        @Setup
+        public void setUp() {
+            queue = new PrefetchingMessageFutureConsumerQueue(QUEUE_CAPACITY);
+            messageProducer = startMessageProducer(queue::pushMessage);
+        }
+
+        @TearDown
+        public void tearDown() throws InterruptedException {
+            stopMessageProducer(messageProducer);
+        }
+    }
+
+    @FunctionalInterface
+    private interface MessagePusher {
+        void push(Message message) throws InterruptedException;
+    }
+}
@@ -0,0 +1,45 @@
+package com.jashmore.sqs.util;
+
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResultEntry;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * {@link SqsAsyncClient} that immediately and successfully completes the requests needed by the benchmarks, without any network calls.
+ *
+ * <p>This allows for the benchmarks to measure the overhead of the framework instead of the latency to SQS.
+ */
+public class StubSqsAsyncClient implements SqsAsyncClient {
+    @Override
+    public CompletableFuture<DeleteMessageBatchResponse> deleteMessageBatch(final DeleteMessageBatchRequest deleteMessageBatchRequest) {
+        final List<DeleteMessageBatchResultEntry> successfulEntries = deleteMessageBatchRequest.entries().stream()
+                .map(entry -> DeleteMessageBatchResultEntry.builder().id(entry.id()).build())
+                .collect(Collectors.toList());
+
+        return CompletableFuture.completedFuture(DeleteMessageBatchResponse.builder()
+                .successful(successfulEntries)
+                .build());
+    }
+
+    @Override
+    public CompletableFuture<ChangeMessageVisibilityResponse> changeMessageVisibility(final ChangeMessageVisibilityRequest changeMessageVisibilityRequest) {
+        return CompletableFuture.completedFuture(ChangeMessageVisibilityResponse.builder().build());
+    }
+
+    @Override
+    public String serviceName() {
+        return "sqs";
+    }
+
+    @Override
+    public void close() {
+        // nothing to close
+    }
+}
@@ -1,17 +1,21 @@
 package com.jashmore.sqs.argument.attribute;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.jashmore.sqs.QueueProperties;
 import com.jashmore.sqs.argument.ArgumentResolutionException;
 import com.jashmore.sqs.argument.ArgumentResolver;
+import com.jashmore.sqs.argument.BoundArgumentResolver;
 import com.jashmore.sqs.argument.MethodParameter;
 import com.jashmore.sqs.util.annotation.AnnotationUtils;
+import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.sqs.model.Message;
 import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
 
 import java.io.IOException;
-import java.nio.charset.Charset;
-import java.util.Optional;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.function.Function;
 
 /**
  * An {@link ArgumentResolver} that is able to handle the extraction of information from the attributes of the SQS message.
@@ -19,9 +23,16 @@ import java.util.Optional;
  * <p>This will attempt to do its best in casting the contents of the message attribute to the type of tha parameter. For example, if the contents of
  * the message attribute is binary (byte[]) and the parameter is a POJO, it will attempt to serialise using the {@link ObjectMapper#readValue(byte[], Class)}.
  *
+ * <p>Binary message attributes can also be consumed as a {@link SdkBytes}, a read-only {@link ByteBuffer} or an {@link InputStream} which are views of
+ * the bytes of the attribute and therefore do not copy them like a {@code byte[]} parameter does. Deserialising a binary attribute to a POJO also
+ * reads directly from the bytes of the attribute.
+ *
  * <p>It is the responsibility of the consumer to make sure that the type of the parameter is correct in regards to the content of the message attribute. For
  * example, this resolver ignores all helper data types after the main, e.g. Number.float data types will have the float ignored.
  *
+ * <p>The annotation and type of each parameter are only inspected once when this resolver is bound to the parameter, with a Jackson {@link ObjectReader}
+ * for the type of the parameter being cached, so that resolving the argument for each message is only a lookup of the attribute and its conversion.
+ *
  * <p>This current implementation uses the Jackson {@link ObjectMapper} to perform all of the parsing and there is the potential for a future version of this
  * library to split this out so that Jackson isn't a required dependency.
  *
@@ -44,78 +55,100 @@ public class MessageAttributeArgumentResolver implements ArgumentResolver<Object
     public Object resolveArgumentForParameter(final QueueProperties queueProperties,
                                               final MethodParameter methodParameter,
                                               final Message message) throws ArgumentResolutionException {
+        return bindToParameter(queueProperties, methodParameter).resolveArgument(message);
+    }
+
+    @Override
+    public BoundArgumentResolver<Object> bindToParameter(final QueueProperties queueProperties,
+                                                         final MethodParameter methodParameter) throws ArgumentResolutionException {
         final MessageAttribute annotation = AnnotationUtils.findParameterAnnotation(methodParameter, MessageAttribute.class)
                 .orElseThrow(() -> new ArgumentResolutionException("Parameter passed in does not contain the MessageAttribute annotation when it should"));
 
         final String attributeName = annotation.value();
+        final boolean required = annotation.required();
+        final Function<String, Object> stringValueParser = buildStringValueParser(methodParameter.getArgumentType(), attributeName);
+        final Function<SdkBytes, Object> binaryValueParser = buildBinaryValueParser(methodParameter.getArgumentType());
 
-        final Optional<MessageAttributeValue> optionalMessageAttributeValue = Optional.ofNullable(message.messageAttributes().get(attributeName));
-
-        if (!optionalMessageAttributeValue.isPresent()) {
-            if (annotation.required()) {
-                throw new ArgumentResolutionException("Required Message Attribute '" + attributeName + "' is missing from message");
-            }
+        return message -> {
+            final MessageAttributeValue messageAttributeValue = message.messageAttributes().get(attributeName);
 
-            return null;
-        }
+            if (messageAttributeValue == null) {
+                if (required) {
+                    throw new ArgumentResolutionException("Required Message Attribute '" + attributeName + "' is missing from message");
+                }
 
-        final MessageAttributeValue messageAttributeValue = optionalMessageAttributeValue.get();
+                return null;
+            }
 
-        if (messageAttributeValue.dataType().startsWith(MessageAttributeDataTypes.STRING.getValue())
-                || messageAttributeValue.dataType().startsWith(MessageAttributeDataTypes.NUMBER.getValue())) {
-            return handleStringParameterValue(methodParameter, messageAttributeValue, attributeName);
-        } else if (messageAttributeValue.dataType().startsWith(MessageAttributeDataTypes.BINARY.getValue())) {
-            return handleByteParameterValue(methodParameter, messageAttributeValue);
-        }
+            final String dataType = messageAttributeValue.dataType();
+            if (dataType.startsWith(MessageAttributeDataTypes.STRING.getValue()) || dataType.startsWith(MessageAttributeDataTypes.NUMBER.getValue())) {
+                return stringValueParser.apply(messageAttributeValue.stringValue());
+            } else if (dataType.startsWith(MessageAttributeDataTypes.BINARY.getValue())) {
+                return binaryValueParser.apply(messageAttributeValue.binaryValue());
+            }
 
-        throw new ArgumentResolutionException("Cannot parse message attribute due to unknown data type '" + messageAttributeValue.dataType() + "'");
+            throw new ArgumentResolutionException("Cannot parse message attribute due to unknown data type '" + dataType + "'");
+        };
     }
 
     /**
-     * Handle resolving the argument from the string contents of the attribute.
+     * Build the parser for resolving the argument from the string contents of the attribute.
      *
-     * @param methodParameter       the parameter of the method to resolve
-     * @param messageAttributeValue the value of the message attribute
-     * @param attributeName         the name of the attribute that is being consumed
-     * @return the resolved argument from the attribute
+     * @param parameterClass the type of the argument to resolve
+     * @param attributeName  the name of the attribute that is being consumed
+     * @return the parser for the string contents of the attribute
      */
-    private Object handleStringParameterValue(final MethodParameter methodParameter,
-                                              final MessageAttributeValue messageAttributeValue,
-                                              final String attributeName) {
-        if (methodParameter.getParameter().getType().isAssignableFrom(String.class)) {
-            return messageAttributeValue.stringValue();
+    private Function<String, Object> buildStringValueParser(final Class<?> parameterClass, final String attributeName) {
+        if (parameterClass.isAssignableFrom(String.class)) {
+            return stringValue -> stringValue;
         }
 
-        try {
-            return objectMapper.readValue(messageAttributeValue.stringValue(), methodParameter.getParameter().getType());
-        } catch (final IOException ioException) {
-            throw new ArgumentResolutionException("Error parsing Message Attribute '" + attributeName + "'", ioException);
-        }
+        final ObjectReader objectReader = objectMapper.readerFor(parameterClass);
+        return stringValue -> {
+            try {
+                return objectReader.readValue(stringValue);
+            } catch (final IOException ioException) {
+                throw new ArgumentResolutionException("Error parsing Message Attribute '" + attributeName + "'", ioException);
+            }
+        };
     }
 
     /**
-     * Handle an attribute that contains the data as bytes.
+     * Build the parser for resolving the argument from an attribute that contains the data as bytes.
+     *
+     * <p>The bytes are only copied if the parameter is a {@code byte[]}, as the {@link SdkBytes} is immutable, or a {@link String}.
      *
-     * @param methodParameter       details about the parameter to parse the message attribute into
-     * @param messageAttributeValue value of the message attribute
-     * @return the argument resolved for this attribute
+     * @param parameterClass the type of the argument to resolve
+     * @return the parser for the bytes of the attribute
      */
-    private Object handleByteParameterValue(final MethodParameter methodParameter,
-                                            final MessageAttributeValue messageAttributeValue) {
-        final byte[] byteArray = messageAttributeValue.binaryValue().asByteArray();
-        final Class<?> parameterClass = methodParameter.getParameter().getType();
+    private Function<SdkBytes, Object> buildBinaryValueParser(final Class<?> parameterClass) {
+        if (parameterClass == SdkBytes.class) {
+            return sdkBytes -> sdkBytes;
+        }
+
+        if (parameterClass == ByteBuffer.class) {
+            return SdkBytes::asByteBuffer;
+        }
+
+        if (parameterClass == InputStream.class) {
+            return SdkBytes::asInputStream;
+        }
+
         if (parameterClass == byte[].class) {
-            return byteArray;
+            return SdkBytes::asByteArray;
         }
 
         if (parameterClass.isAssignableFrom(String.class)) {
-            return new String(byteArray, Charset.forName("UTF-8"));
+            return SdkBytes::asUtf8String;
         }
 
-        try {
-            return objectMapper.readValue(byteArray, parameterClass);
-        } catch (final IOException ioException) {
-            throw new ArgumentResolutionException("Failure to parse binary bytes to '" + parameterClass.getName() + "'", ioException);
-        }
+        final ObjectReader objectReader = objectMapper.readerFor(parameterClass);
+        return sdkBytes -> {
+            try {
+                return objectReader.readValue(sdkBytes.asInputStream());
+            } catch (final IOException ioException) {
+                throw new ArgumentResolutionException("Failure to parse binary bytes to '" + parameterClass.getName() + "'", ioException);
+            }
+        };
     }
 }
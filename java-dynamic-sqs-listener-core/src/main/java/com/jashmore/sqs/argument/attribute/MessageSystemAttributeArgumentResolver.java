@@ -7,6 +7,7 @@ import static software.amazon.awssdk.services.sqs.model.MessageSystemAttributeNa
 import com.jashmore.sqs.QueueProperties;
 import com.jashmore.sqs.argument.ArgumentResolutionException;
 import com.jashmore.sqs.argument.ArgumentResolver;
+import com.jashmore.sqs.argument.BoundArgumentResolver;
 import com.jashmore.sqs.argument.MethodParameter;
 import com.jashmore.sqs.util.annotation.AnnotationUtils;
 import software.amazon.awssdk.services.sqs.model.Message;
@@ -14,7 +15,7 @@ import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
 
 import java.time.Instant;
 import java.time.OffsetDateTime;
-import java.util.Optional;
+import java.util.function.Function;
 
 public class MessageSystemAttributeArgumentResolver implements ArgumentResolver<Object> {
     @Override
@@ -26,60 +27,92 @@ public class MessageSystemAttributeArgumentResolver implements ArgumentResolver<
     public Object resolveArgumentForParameter(final QueueProperties queueProperties,
                                               final MethodParameter methodParameter,
                                               final Message message) throws ArgumentResolutionException {
+        return bindToParameter(queueProperties, methodParameter).resolveArgument(message);
+    }
+
+    @Override
+    public BoundArgumentResolver<Object> bindToParameter(final QueueProperties queueProperties,
+                                                         final MethodParameter methodParameter) throws ArgumentResolutionException {
         final MessageSystemAttribute annotation = AnnotationUtils.findParameterAnnotation(methodParameter, MessageSystemAttribute.class)
                 .orElseThrow(() -> new ArgumentResolutionException(
                         "Parameter passed in does not contain the MessageSystemAttribute annotation when it should"
                 ));
 
         final MessageSystemAttributeName messageSystemAttributeName = annotation.value();
-        final Optional<String> optionalAttributeValue = Optional.ofNullable(message.attributes().get(messageSystemAttributeName));
+        // the attributes are looked up by their string name as Message#attributes() builds a new map each time it is called
+        final String attributeName = messageSystemAttributeName.toString();
+        final boolean required = annotation.required();
+        final Function<String, Object> attributeValueParser = buildAttributeValueParser(methodParameter.getArgumentType(), messageSystemAttributeName);
 
-        if (!optionalAttributeValue.isPresent() ) {
-            if (annotation.required()) {
-                throw new ArgumentResolutionException("Missing system attribute with name: " + messageSystemAttributeName.toString());
-            }
+        return message -> {
+            final String attributeValue = message.attributesAsStrings().get(attributeName);
 
-            return null;
-        }
-        final String attributeValue = optionalAttributeValue.get();
+            if (attributeValue == null) {
+                if (required) {
+                    throw new ArgumentResolutionException("Missing system attribute with name: " + attributeName);
+                }
 
-        final Class<?> parameterType = methodParameter.getParameter().getType();
-        try {
-            if (parameterType == String.class) {
-                return attributeValue;
+                return null;
             }
 
-            if (parameterType == Integer.class || parameterType == int.class) {
-                return Integer.parseInt(attributeValue);
-            }
+            return attributeValueParser.apply(attributeValue);
+        };
+    }
 
-            if (parameterType == Long.class || parameterType == long.class) {
-                return Long.parseLong(attributeValue);
-            }
-        } catch (final RuntimeException exception) {
-            throw new ArgumentResolutionException("Error parsing message attribute: " + messageSystemAttributeName.toString(), exception);
+    /**
+     * Build the parser for converting the value of the attribute to the type of the parameter.
+     *
+     * @param parameterType              the type of the argument to resolve
+     * @param messageSystemAttributeName the attribute that is being consumed
+     * @return the parser for the value of the attribute
+     */
+    private Function<String, Object> buildAttributeValueParser(final Class<?> parameterType, final MessageSystemAttributeName messageSystemAttributeName) {
+        if (parameterType == String.class) {
+            return attributeValue -> attributeValue;
+        }
+
+        if (parameterType == Integer.class || parameterType == int.class) {
+            return wrapParsingErrors(Integer::parseInt, messageSystemAttributeName);
+        }
+
+        if (parameterType == Long.class || parameterType == long.class) {
+            return wrapParsingErrors(Long::parseLong, messageSystemAttributeName);
         }
 
         if (messageSystemAttributeName == SENT_TIMESTAMP || messageSystemAttributeName == APPROXIMATE_FIRST_RECEIVE_TIMESTAMP) {
-            return handleTimeStampAttributes(methodParameter.getParameter().getType(), messageSystemAttributeName, attributeValue);
+            return buildTimeStampAttributeParser(parameterType, messageSystemAttributeName);
         }
 
-        throw new ArgumentResolutionException("Unsupported parameter type " + parameterType.getName()
-                + " for system attribute " + messageSystemAttributeName.toString());
+        return attributeValue -> {
+            throw new ArgumentResolutionException("Unsupported parameter type " + parameterType.getName()
+                    + " for system attribute " + messageSystemAttributeName.toString());
+        };
     }
 
-    private Object handleTimeStampAttributes(final Class<?> parameterType,
-                                             final MessageSystemAttributeName messageSystemAttributeName,
-                                             final String attributeValue) {
+    private Function<String, Object> buildTimeStampAttributeParser(final Class<?> parameterType,
+                                                                   final MessageSystemAttributeName messageSystemAttributeName) {
         if (parameterType == Instant.class) {
-            return Instant.ofEpochMilli(Long.parseLong(attributeValue));
+            return attributeValue -> Instant.ofEpochMilli(Long.parseLong(attributeValue));
         }
 
         if (parameterType == OffsetDateTime.class) {
-            return OffsetDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(attributeValue)), UTC);
+            return attributeValue -> OffsetDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(attributeValue)), UTC);
         }
 
-        throw new ArgumentResolutionException("Unsupported parameter type " + parameterType.getName()
-                + " for system attribute " + messageSystemAttributeName.toString());
+        return attributeValue -> {
+            throw new ArgumentResolutionException("Unsupported parameter type " + parameterType.getName()
+                    + " for system attribute " + messageSystemAttributeName.toString());
+        };
+    }
+
+    private static Function<String, Object> wrapParsingErrors(final Function<String, Object> parser,
+                                                              final MessageSystemAttributeName messageSystemAttributeName) {
+        return attributeValue -> {
+            try {
+                return parser.apply(attributeValue);
+            } catch (final RuntimeException exception) {
+                throw new ArgumentResolutionException("Error parsing message attribute: " + messageSystemAttributeName.toString(), exception);
+            }
+        };
     }
 }
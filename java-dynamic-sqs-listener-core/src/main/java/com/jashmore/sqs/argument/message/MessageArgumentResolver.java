@@ -15,7 +15,7 @@ import software.amazon.awssdk.services.sqs.model.Message;
 public class MessageArgumentResolver implements ArgumentResolver<Message> {
     @Override
     public boolean canResolveParameter(final MethodParameter methodParameter) {
-        return methodParameter.getParameter().getType() == Message.class;
+        return methodParameter.getArgumentType() == Message.class;
     }
 
     @Override
@@ -13,7 +13,7 @@ import software.amazon.awssdk.services.sqs.model.Message;
 public class MessageIdArgumentResolver implements ArgumentResolver<String> {
     @Override
     public boolean canResolveParameter(final MethodParameter methodParameter) {
-        return methodParameter.getParameter().getType().isAssignableFrom(String.class)
+        return methodParameter.getArgumentType().isAssignableFrom(String.class)
                 && AnnotationUtils.findParameterAnnotation(methodParameter, MessageId.class).isPresent();
     }
 
@@ -3,17 +3,23 @@ package com.jashmore.sqs.argument.payload;
 import com.jashmore.sqs.QueueProperties;
 import com.jashmore.sqs.argument.ArgumentResolutionException;
 import com.jashmore.sqs.argument.ArgumentResolver;
+import com.jashmore.sqs.argument.BoundArgumentResolver;
 import com.jashmore.sqs.argument.MethodParameter;
+import com.jashmore.sqs.argument.payload.mapper.BoundPayloadMapper;
 import com.jashmore.sqs.argument.payload.mapper.PayloadMapper;
 import com.jashmore.sqs.argument.payload.mapper.PayloadMappingException;
 import com.jashmore.sqs.util.annotation.AnnotationUtils;
 import lombok.AllArgsConstructor;
 import software.amazon.awssdk.services.sqs.model.Message;
 
+import java.util.Optional;
+import java.util.Set;
+
 /**
  * Argument resolver that is able to create an argument from the body of a message.
  *
- * <p>This should allow for the serialisation of the body to a specific Java Bean via an implementation of the {@link PayloadMapper}.
+ * <p>This should allow for the serialisation of the body to a specific Java Bean via an implementation of the {@link PayloadMapper}. When bound to
+ * a parameter the {@link PayloadMapper} is bound to the full generic type of the parameter, allowing for payloads like a {@code List<Pojo>}.
  *
  * @see Message#body for the payload that will be consumed
  */
@@ -21,6 +27,16 @@ import software.amazon.awssdk.services.sqs.model.Message;
 public class PayloadArgumentResolver implements ArgumentResolver<Object> {
     private final PayloadMapper payloadMapper;
 
+    /**
+     * Determine the names of the message attributes that are needed by the {@link PayloadMapper} to map the message bodies.
+     *
+     * @return the names of the message attributes needed or an empty {@link Optional} if all of them may be needed
+     * @see PayloadMapper#getRequiredMessageAttributeNames()
+     */
+    public Optional<Set<String>> getRequiredMessageAttributeNames() {
+        return payloadMapper.getRequiredMessageAttributeNames();
+    }
+
     @Override
     public boolean canResolveParameter(final MethodParameter methodParameter) {
         return AnnotationUtils.findParameterAnnotation(methodParameter, Payload.class).isPresent();
@@ -31,9 +47,28 @@ public class PayloadArgumentResolver implements ArgumentResolver<Object> {
                                               final MethodParameter methodParameter,
                                               final Message message) throws ArgumentResolutionException {
         try {
-            return payloadMapper.map(message, methodParameter.getParameter().getType());
+            return payloadMapper.map(message, methodParameter.getArgumentType());
         } catch (final PayloadMappingException payloadMappingException) {
             throw new ArgumentResolutionException(payloadMappingException);
         }
     }
+
+    @Override
+    public BoundArgumentResolver<Object> bindToParameter(final QueueProperties queueProperties,
+                                                         final MethodParameter methodParameter) throws ArgumentResolutionException {
+        final BoundPayloadMapper boundPayloadMapper;
+        try {
+            boundPayloadMapper = payloadMapper.bind(methodParameter.getArgumentGenericType());
+        } catch (final PayloadMappingException payloadMappingException) {
+            throw new ArgumentResolutionException(payloadMappingException);
+        }
+
+        return message -> {
+            try {
+                return boundPayloadMapper.map(message);
+            } catch (final PayloadMappingException payloadMappingException) {
+                throw new ArgumentResolutionException(payloadMappingException);
+            }
+        };
+    }
 }
@@ -0,0 +1,21 @@
+package com.jashmore.sqs.argument.payload.mapper;
+
+import software.amazon.awssdk.services.sqs.model.Message;
+
+/**
+ * {@link PayloadMapper} that has been bound to a specific type and is therefore able to map the message body without needing to determine how the
+ * type should be built for each message.
+ *
+ * @see PayloadMapper#bind(java.lang.reflect.Type)
+ */
+@FunctionalInterface
+public interface BoundPayloadMapper {
+    /**
+     * Map the message body to the type that this mapper was bound to.
+     *
+     * @param message the message to map the body from
+     * @return the message body as an object of the bound type
+     * @throws PayloadMappingException exception thrown if there was a failure to map the message body to the bound type
+     */
+    Object map(Message message) throws PayloadMappingException;
+}
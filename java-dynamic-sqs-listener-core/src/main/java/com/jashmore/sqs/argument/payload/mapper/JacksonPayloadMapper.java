@@ -1,28 +1,191 @@
 package com.jashmore.sqs.argument.payload.mapper;
 
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.jashmore.sqs.argument.payload.mapper.decoder.PayloadDecoder;
+import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.sqs.model.Message;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.Nullable;
 
 /**
  * Cast the message body to a Java Bean using a Jackson {@link ObjectMapper}.
+ *
+ * <p>When bound to a type the {@link JavaType} is constructed once, including any type arguments like for a {@code List<Pojo>}, and an
+ * {@link ObjectReader} for that type is cached so that the deserializer does not need to be looked up for each message.
+ *
+ * <p>The raw UTF-8 bytes of the message body can also be obtained, without any deserialisation, by mapping to a {@link SdkBytes}, a read-only
+ * {@link ByteBuffer} or an {@link InputStream}. This allows for listeners to stream the body into their own parser instead of a {@link String} being
+ * built from it.
+ *
+ * <p>If a {@link PayloadDecoder} is provided, message bodies that have been encoded, e.g. compressed, are decoded before being mapped. The decoded body
+ * is streamed straight into the {@link ObjectReader} and is therefore never built as a {@link String}.
  */
-@AllArgsConstructor
 public class JacksonPayloadMapper implements PayloadMapper {
     private final ObjectMapper objectMapper;
+    @Nullable
+    private final PayloadDecoder payloadDecoder;
+
+    public JacksonPayloadMapper(final ObjectMapper objectMapper) {
+        this(objectMapper, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param objectMapper   the mapper used to deserialise the message bodies
+     * @param payloadDecoder the decoder for message bodies that have been encoded or null if the message bodies are never encoded
+     */
+    public JacksonPayloadMapper(final ObjectMapper objectMapper, @Nullable final PayloadDecoder payloadDecoder) {
+        this.objectMapper = objectMapper;
+        this.payloadDecoder = payloadDecoder;
+    }
 
     @Override
     public Object map(Message message, Class<?> clazz) throws PayloadMappingException {
+        if (payloadDecoder != null) {
+            return bind(clazz).map(message);
+        }
+
         if (clazz.equals(String.class)) {
             return message.body();
         }
 
+        final Optional<BoundPayloadMapper> binaryBodyMapper = buildBinaryBodyMapper(clazz);
+        if (binaryBodyMapper.isPresent()) {
+            return binaryBodyMapper.get().map(message);
+        }
+
         try {
             return objectMapper.readValue(message.body(), clazz);
         } catch (final IOException exception) {
             throw new PayloadMappingException("Error trying to resolve Payload for argument", exception);
         }
     }
+
+    @Override
+    public BoundPayloadMapper bind(final Type type) throws PayloadMappingException {
+        final BoundPayloadMapper bodyMapper = bindToBody(type);
+        if (payloadDecoder == null) {
+            return bodyMapper;
+        }
+
+        final DecodedBodyMapper decodedBodyMapper = bindToDecodedBody(type);
+        return message -> {
+            final Optional<InputStream> decodedBody = payloadDecoder.decode(message);
+            if (!decodedBody.isPresent()) {
+                return bodyMapper.map(message);
+            }
+
+            try (InputStream decodedBodyInputStream = decodedBody.get()) {
+                return decodedBodyMapper.map(decodedBodyInputStream);
+            } catch (final IOException | UncheckedIOException exception) {
+                throw new PayloadMappingException("Error trying to resolve Payload for argument", exception);
+            }
+        };
+    }
+
+    @Override
+    public Optional<Set<String>> getRequiredMessageAttributeNames() {
+        if (payloadDecoder == null) {
+            return Optional.of(Collections.emptySet());
+        }
+
+        return payloadDecoder.getRequiredMessageAttributeNames();
+    }
+
+    private BoundPayloadMapper bindToBody(final Type type) {
+        if (type.equals(String.class)) {
+            return Message::body;
+        }
+
+        final Optional<BoundPayloadMapper> binaryBodyMapper = buildBinaryBodyMapper(type);
+        if (binaryBodyMapper.isPresent()) {
+            return binaryBodyMapper.get();
+        }
+
+        final ObjectReader objectReader = buildObjectReader(type);
+        return message -> {
+            try {
+                return objectReader.readValue(message.body());
+            } catch (final IOException exception) {
+                throw new PayloadMappingException("Error trying to resolve Payload for argument", exception);
+            }
+        };
+    }
+
+    /**
+     * Build the mapper for the stream of a message body that has been decoded.
+     *
+     * <p>The binary types are views of the fully read decoded body, as the stream is closed once the message has been mapped.
+     *
+     * @param type the type to map the decoded body to
+     * @return the mapper for the decoded body
+     */
+    private DecodedBodyMapper bindToDecodedBody(final Type type) {
+        if (type.equals(String.class)) {
+            return decodedBody -> SdkBytes.fromInputStream(decodedBody).asUtf8String();
+        }
+
+        if (type.equals(SdkBytes.class)) {
+            return SdkBytes::fromInputStream;
+        }
+
+        if (type.equals(ByteBuffer.class)) {
+            return decodedBody -> SdkBytes.fromInputStream(decodedBody).asByteBuffer();
+        }
+
+        if (type.equals(InputStream.class)) {
+            return decodedBody -> SdkBytes.fromInputStream(decodedBody).asInputStream();
+        }
+
+        final ObjectReader objectReader = buildObjectReader(type);
+        return objectReader::readValue;
+    }
+
+    private ObjectReader buildObjectReader(final Type type) {
+        final JavaType javaType = objectMapper.getTypeFactory().constructType(type);
+        return objectMapper.readerFor(javaType);
+    }
+
+    /**
+     * Build the mapper for when the raw bytes of the message body are wanted instead of it being deserialised.
+     *
+     * <p>The message body is only encoded to its UTF-8 bytes once and each of the types is a view of those bytes.
+     *
+     * @param type the type to map the message body to
+     * @return the mapper for the raw bytes of the message body or empty if the type is not a binary type
+     */
+    private static Optional<BoundPayloadMapper> buildBinaryBodyMapper(final Type type) {
+        if (type.equals(SdkBytes.class)) {
+            return Optional.of(message -> SdkBytes.fromUtf8String(message.body()));
+        }
+
+        if (type.equals(ByteBuffer.class)) {
+            return Optional.of(message -> SdkBytes.fromUtf8String(message.body()).asByteBuffer());
+        }
+
+        if (type.equals(InputStream.class)) {
+            return Optional.of(message -> SdkBytes.fromUtf8String(message.body()).asInputStream());
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Maps the stream of a decoded message body to the bound type.
+     */
+    @FunctionalInterface
+    private interface DecodedBodyMapper {
+        Object map(InputStream decodedBody) throws IOException;
+    }
 }
@@ -2,6 +2,11 @@ package com.jashmore.sqs.argument.payload.mapper;
 
 import software.amazon.awssdk.services.sqs.model.Message;
 
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
+
 /**
  * Mapper that is able to map the message body to an object of a certain type.
  *
@@ -18,4 +23,36 @@ public interface PayloadMapper {
      * @throws PayloadMappingException exception thrown if there was a failure to map the message body to the defined type
      */
     Object map(Message message, Class<?> clazz) throws PayloadMappingException;
+
+    /**
+     * Bind this mapper to the provided type so that the message bodies can be mapped to that type without needing to determine how the type should be
+     * built for each message.
+     *
+     * <p>The default implementation supports only classes and maps each message via {@link #map(Message, Class)}. Implementations that are able to
+     * build parameterised types, like a {@code List<Pojo>}, or that can cache work for the type should override this method.
+     *
+     * @param type the type that the message bodies should be mapped to
+     * @return the mapper bound to this type
+     * @throws PayloadMappingException if the message bodies are not able to be mapped to this type
+     */
+    default BoundPayloadMapper bind(final Type type) throws PayloadMappingException {
+        if (!(type instanceof Class)) {
+            throw new PayloadMappingException("Unable to map payload to the generic type: " + type.getTypeName());
+        }
+
+        final Class<?> clazz = (Class<?>) type;
+        return message -> map(message, clazz);
+    }
+
+    /**
+     * Determine the names of the message attributes that are needed to map the message bodies, for example the attribute containing the encoding of
+     * the body.
+     *
+     * <p>The default implementation assumes that only the body of the message is used and therefore no attributes are needed.
+     *
+     * @return the names of the message attributes needed or an empty {@link Optional} if all of them may be needed
+     */
+    default Optional<Set<String>> getRequiredMessageAttributeNames() {
+        return Optional.of(Collections.emptySet());
+    }
 }
@@ -0,0 +1,48 @@
+package com.jashmore.sqs.argument.payload.mapper.decoder;
+
+import com.jashmore.sqs.argument.payload.mapper.PayloadMappingException;
+import com.jashmore.sqs.claimcheck.BlobPointer;
+import com.jashmore.sqs.claimcheck.BlobStore;
+import com.jashmore.sqs.claimcheck.ClaimCheckUtils;
+import lombok.AllArgsConstructor;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * {@link PayloadDecoder} for messages using the claim-check pattern, where the body of the message is a pointer to the actual payload in a
+ * {@link BlobStore}, like the SQS Extended Client does for payloads that are larger than the SQS message size limit.
+ *
+ * <p>The payload is fetched when the argument for the message is being resolved, which blocks the thread processing that message until the
+ * {@link BlobStore} has provided the blob. This means that fetches for multiple messages are done in parallel with each other, but each fetch holds
+ * one of the threads and concurrency permits used for processing messages, including any shared between containers, for as long as it takes. The
+ * concurrency of the container should therefore allow for the time taken to fetch the payloads as well as the time taken to process them.
+ *
+ * @see ClaimCheckUtils#getBlobPointer(Message) for the format of the pointer
+ * @see com.jashmore.sqs.resolver.claimcheck.ClaimCheckMessageResolver for deleting the blob once the message has been processed
+ */
+@ThreadSafe
+@AllArgsConstructor
+public class ClaimCheckPayloadDecoder implements PayloadDecoder {
+    private final BlobStore blobStore;
+
+    @Override
+    public Optional<InputStream> decode(final Message message) throws PayloadMappingException {
+        final Optional<BlobPointer> blobPointer = ClaimCheckUtils.getBlobPointer(message);
+        if (!blobPointer.isPresent()) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(blobStore.getBlob(blobPointer.get()).get());
+        } catch (final InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new PayloadMappingException("Interrupted while fetching the payload from " + blobPointer.get(), interruptedException);
+        } catch (final ExecutionException executionException) {
+            throw new PayloadMappingException("Error fetching the payload from " + blobPointer.get(), executionException.getCause());
+        }
+    }
+}
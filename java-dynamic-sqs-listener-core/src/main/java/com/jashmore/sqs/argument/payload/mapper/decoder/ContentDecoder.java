@@ -0,0 +1,26 @@
+package com.jashmore.sqs.argument.payload.mapper.decoder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Decoder for a content encoding of the message body, for example the decompression of a gzip compressed body.
+ *
+ * <p>The decoding should be streaming, i.e. the content is decoded as it is read from the returned stream, so that the decoded content can be parsed
+ * without it needing to be fully materialised in memory.
+ *
+ * @see ContentDecoders for the core implementations
+ */
+@ThreadSafe
+@FunctionalInterface
+public interface ContentDecoder {
+    /**
+     * Wrap the encoded content so that reading from the returned stream provides the decoded content.
+     *
+     * @param encodedInputStream the stream of the encoded content
+     * @return the stream of the decoded content
+     * @throws IOException if the content is unable to be decoded, e.g. the header of the compressed content is invalid
+     */
+    InputStream decode(InputStream encodedInputStream) throws IOException;
+}
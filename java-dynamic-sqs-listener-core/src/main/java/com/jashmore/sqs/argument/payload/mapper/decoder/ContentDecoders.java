@@ -0,0 +1,25 @@
+package com.jashmore.sqs.argument.payload.mapper.decoder;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The {@link ContentDecoder}s that are provided by the JDK.
+ *
+ * <p>Other encodings, for example zstd or snappy, can be supported by providing a {@link ContentDecoder} that wraps the decompressing stream of that
+ * library.
+ */
+@UtilityClass
+public class ContentDecoders {
+    /**
+     * Decompresses content that was compressed with gzip.
+     */
+    public static final ContentDecoder GZIP = GZIPInputStream::new;
+
+    /**
+     * Decompresses content that was compressed with the zlib deflate format.
+     */
+    public static final ContentDecoder DEFLATE = InflaterInputStream::new;
+}
@@ -0,0 +1,88 @@
+package com.jashmore.sqs.argument.payload.mapper.decoder;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import com.jashmore.sqs.argument.payload.mapper.PayloadMappingException;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * {@link PayloadDecoder} for message bodies that have been encoded by the producer, for example compressed to keep them under the SQS message size limit.
+ *
+ * <p>The encoding of the body is determined by a string message attribute, by default the {@value #DEFAULT_CONTENT_ENCODING_ATTRIBUTE_NAME} attribute
+ * with a value like {@code gzip}, and as the body of a SQS message must be text the encoded content is expected to be Base64 encoded. Messages without
+ * this attribute are not encoded and therefore are not decoded.
+ *
+ * <p>The Base64 decoding and the {@link ContentDecoder} are streaming so that the decoded body can be fed straight into a parser, like Jackson, without
+ * the decoded content being materialised in memory.
+ */
+@ThreadSafe
+public class ContentEncodingPayloadDecoder implements PayloadDecoder {
+    /**
+     * The name of the message attribute that contains the encoding of the message body if no other name is provided.
+     */
+    public static final String DEFAULT_CONTENT_ENCODING_ATTRIBUTE_NAME = "contentEncoding";
+
+    private final String contentEncodingAttributeName;
+    private final Map<String, ContentDecoder> contentDecoders;
+
+    /**
+     * Constructor that uses the {@value #DEFAULT_CONTENT_ENCODING_ATTRIBUTE_NAME} attribute and supports the {@code gzip} and {@code deflate} encodings.
+     */
+    public ContentEncodingPayloadDecoder() {
+        this(DEFAULT_CONTENT_ENCODING_ATTRIBUTE_NAME, ImmutableMap.of(
+                "gzip", ContentDecoders.GZIP,
+                "deflate", ContentDecoders.DEFLATE
+        ));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param contentEncodingAttributeName the name of the message attribute that contains the encoding of the message body
+     * @param contentDecoders              the decoders for each of the supported encodings, keyed by the value of the encoding attribute
+     */
+    public ContentEncodingPayloadDecoder(final String contentEncodingAttributeName, final Map<String, ContentDecoder> contentDecoders) {
+        this.contentEncodingAttributeName = contentEncodingAttributeName;
+        this.contentDecoders = ImmutableMap.copyOf(contentDecoders);
+    }
+
+    @Override
+    public Optional<InputStream> decode(final Message message) throws PayloadMappingException {
+        final MessageAttributeValue contentEncodingAttribute = message.messageAttributes().get(contentEncodingAttributeName);
+        if (contentEncodingAttribute == null || contentEncodingAttribute.stringValue() == null) {
+            return Optional.empty();
+        }
+
+        final String contentEncoding = contentEncodingAttribute.stringValue();
+        final ContentDecoder contentDecoder = contentDecoders.get(contentEncoding);
+        if (contentDecoder == null) {
+            throw new PayloadMappingException("Unsupported content encoding '" + contentEncoding + "' for the message body");
+        }
+
+        // Base64 only uses ASCII characters so each character of the body is a single byte in the ISO-8859-1 charset
+        final InputStream encodedInputStream = Base64.getMimeDecoder()
+                .wrap(new ByteArrayInputStream(message.body().getBytes(StandardCharsets.ISO_8859_1)));
+        try {
+            return Optional.of(contentDecoder.decode(encodedInputStream));
+        } catch (final IOException ioException) {
+            throw new PayloadMappingException("Error decoding the message body with content encoding '" + contentEncoding + "'", ioException);
+        }
+    }
+
+    @Override
+    public Optional<Set<String>> getRequiredMessageAttributeNames() {
+        return Optional.of(ImmutableSet.of(contentEncodingAttributeName));
+    }
+}
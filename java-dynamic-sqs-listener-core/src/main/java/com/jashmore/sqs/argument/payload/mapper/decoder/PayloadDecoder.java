@@ -0,0 +1,42 @@
+package com.jashmore.sqs.argument.payload.mapper.decoder;
+
+import com.jashmore.sqs.argument.payload.mapper.PayloadMappingException;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Stage in front of the mapping of the payload that obtains the actual payload for messages whose body is not the payload itself, for example when the
+ * body has been compressed.
+ *
+ * <p>The actual payload is provided as a stream so that it can be fed straight into a parser, like Jackson, without it being materialised in memory.
+ */
+@ThreadSafe
+@FunctionalInterface
+public interface PayloadDecoder {
+    /**
+     * Decode the payload of the message if the body is not the payload itself.
+     *
+     * <p>The consumer of the returned stream is responsible for closing it so that any resources of the decoder, like the native memory of a
+     * {@link java.util.zip.Inflater}, are released.
+     *
+     * @param message the message to decode the payload of
+     * @return the stream of the decoded payload or an empty {@link Optional} if the body of the message is the payload
+     * @throws PayloadMappingException if the payload could not be decoded
+     */
+    Optional<InputStream> decode(Message message) throws PayloadMappingException;
+
+    /**
+     * Determine the names of the message attributes that are needed to decode the payload of the messages.
+     *
+     * <p>By default it is not known which attributes are used and therefore all of them may be needed.
+     *
+     * @return the names of the message attributes needed or an empty {@link Optional} if all of them may be needed
+     */
+    default Optional<Set<String>> getRequiredMessageAttributeNames() {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,197 @@
+package com.jashmore.sqs.broker.adaptive;
+
+import static com.jashmore.sqs.broker.adaptive.AdaptiveConcurrentMessageBrokerConstants.DEFAULT_BACKOFF_TIME_IN_MS;
+import static com.jashmore.sqs.broker.adaptive.AdaptiveConcurrentMessageBrokerConstants.DEFAULT_CONCURRENCY_POLLING_IN_MS;
+import static com.jashmore.sqs.broker.adaptive.AdaptiveConcurrentMessageBrokerConstants.DEFAULT_ERROR_RATE_THRESHOLD;
+import static com.jashmore.sqs.broker.adaptive.AdaptiveConcurrentMessageBrokerConstants.DEFAULT_LATENCY_TOLERANCE_RATIO;
+import static com.jashmore.sqs.broker.adaptive.AdaptiveConcurrentMessageBrokerConstants.DEFAULT_MINIMUM_CONCURRENCY_LEVEL;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import com.jashmore.sqs.broker.MessageBroker;
+import com.jashmore.sqs.broker.concurrent.ConcurrentMessageBroker;
+import com.jashmore.sqs.broker.concurrent.ConcurrentMessageBrokerProperties;
+import com.jashmore.sqs.util.concurrent.CompletableFutureUtils;
+import com.jashmore.sqs.util.properties.PropertyUtils;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Broker that will process messages concurrently where the level of concurrency is automatically determined from the observed processing of messages.
+ *
+ * <p>Instead of requiring a fixed concurrency level, this broker measures the time it takes to process each message and whether it was successful. The
+ * concurrency is increased while message processing is healthy and decreased when the processing latency grows, for example due to a saturated downstream
+ * dependency, or when too many messages fail. The concurrency will always be kept between the minimum and maximum levels configured in the
+ * {@link AdaptiveConcurrentMessageBrokerProperties}.
+ *
+ * <p>The messages are processed by a {@link ConcurrentMessageBroker} whose concurrency level is the calculated limit and therefore, like that broker, a
+ * decrease in concurrency will not stop messages that are currently being processed.
+ *
+ * @see AimdConcurrencyLimit for details about the algorithm used to calculate the level of concurrency
+ * @see AdaptiveConcurrentMessageBrokerProperties for how to configure this broker
+ */
+public class AdaptiveConcurrentMessageBroker implements MessageBroker {
+    private final AdaptiveConcurrentMessageBrokerProperties properties;
+    private final AimdConcurrencyLimit concurrencyLimit;
+    private final AtomicInteger numberOfMessagesBeingProcessed;
+    private final ConcurrentMessageBroker delegate;
+
+    public AdaptiveConcurrentMessageBroker(final AdaptiveConcurrentMessageBrokerProperties properties) {
+        this.properties = properties;
+        this.numberOfMessagesBeingProcessed = new AtomicInteger(0);
+
+        final int minimumConcurrencyLevel = getMinimumConcurrencyLevel();
+        final int initialConcurrencyLevel = PropertyUtils.safelyGetPositiveIntegerValue(
+                "initialConcurrencyLevel",
+                properties::getInitialConcurrencyLevel,
+                minimumConcurrencyLevel
+        );
+        this.concurrencyLimit = new AimdConcurrencyLimit(initialConcurrencyLevel, minimumConcurrencyLevel, getMaximumConcurrencyLevel());
+        this.delegate = new ConcurrentMessageBroker(new ConcurrencyLimitProperties());
+    }
+
+    @Override
+    public void processMessages(final ExecutorService messageProcessingExecutorService,
+                                final BooleanSupplier keepProcessingMessages,
+                                final Supplier<CompletableFuture<Message>> messageSupplier,
+                                final Function<Message, CompletableFuture<?>> messageProcessor) throws InterruptedException {
+        delegate.processMessages(messageProcessingExecutorService, keepProcessingMessages, messageSupplier,
+                message -> processMessageRecordingOutcome(message, messageProcessor));
+    }
+
+    /**
+     * Get a snapshot of the number of permits that are currently being used to process messages.
+     *
+     * @return the number of messages currently being processed by this broker
+     */
+    public int getNumberOfPermitsInUse() {
+        return delegate.getNumberOfPermitsInUse();
+    }
+
+    /**
+     * Get the current level of concurrency that has been calculated from the processing of messages.
+     *
+     * @return the current concurrency level
+     */
+    @VisibleForTesting
+    int getCurrentConcurrencyLevel() {
+        return concurrencyLimit.getLimit();
+    }
+
+    /**
+     * Process the message and record the time taken and outcome of the processing so that it can be used to calculate the new concurrency level.
+     *
+     * @param message          the message to process
+     * @param messageProcessor the function that will process the message
+     * @return the future that will be resolved when the message has been processed
+     */
+    private CompletableFuture<?> processMessageRecordingOutcome(final Message message,
+                                                               final Function<Message, CompletableFuture<?>> messageProcessor) {
+        final int numberOfMessagesInFlight = numberOfMessagesBeingProcessed.incrementAndGet();
+        final long startTime = System.nanoTime();
+        CompletableFuture<?> processingFuture;
+        try {
+            processingFuture = messageProcessor.apply(message);
+        } catch (final RuntimeException runtimeException) {
+            processingFuture = CompletableFutureUtils.completedExceptionally(runtimeException);
+        }
+
+        return processingFuture.whenComplete((ignoredResult, throwable) -> {
+            numberOfMessagesBeingProcessed.decrementAndGet();
+            if (!(throwable instanceof CancellationException)) {
+                concurrencyLimit.recordSample(System.nanoTime() - startTime, throwable == null, numberOfMessagesInFlight);
+            }
+        });
+    }
+
+    private int getMinimumConcurrencyLevel() {
+        return PropertyUtils.safelyGetPositiveIntegerValue(
+                "minimumConcurrencyLevel",
+                properties::getMinimumConcurrencyLevel,
+                DEFAULT_MINIMUM_CONCURRENCY_LEVEL
+        );
+    }
+
+    private int getMaximumConcurrencyLevel() {
+        return PropertyUtils.safelyGetPositiveIntegerValue(
+                "maximumConcurrencyLevel",
+                properties::getMaximumConcurrencyLevel,
+                DEFAULT_MINIMUM_CONCURRENCY_LEVEL
+        );
+    }
+
+    private double getLatencyToleranceRatio() {
+        return PropertyUtils.safelyGetPositiveDoubleValue(
+                "latencyToleranceRatio",
+                properties::getLatencyToleranceRatio,
+                DEFAULT_LATENCY_TOLERANCE_RATIO
+        );
+    }
+
+    private double getErrorRateThreshold() {
+        return PropertyUtils.safelyGetPositiveDoubleValue(
+                "errorRateThreshold",
+                properties::getErrorRateThreshold,
+                DEFAULT_ERROR_RATE_THRESHOLD
+        );
+    }
+
+    /**
+     * Safely get the number of milliseconds that should wait to get a permit for creating a new thread.
+     *
+     * @return the number of milliseconds to wait
+     * @see AdaptiveConcurrentMessageBrokerProperties#getConcurrencyPollingRateInMilliseconds() for more information
+     */
+    private long getNumberOfMillisecondsToObtainPermit() {
+        return PropertyUtils.safelyGetPositiveLongValue(
+                "numberOfMillisecondsToObtainPermit",
+                properties::getConcurrencyPollingRateInMilliseconds,
+                DEFAULT_CONCURRENCY_POLLING_IN_MS
+        );
+    }
+
+    /**
+     * Get the number of seconds that the thread should wait when there was an error trying to organise a thread to process.
+     *
+     * @return the backoff time in milliseconds
+     * @see AdaptiveConcurrentMessageBrokerProperties#getErrorBackoffTimeInMilliseconds() for more information
+     */
+    private long getErrorBackoffTimeInMilliseconds() {
+        return PropertyUtils.safelyGetPositiveOrZeroLongValue(
+                "errorBackoffTimeInMilliseconds",
+                properties::getErrorBackoffTimeInMilliseconds,
+                DEFAULT_BACKOFF_TIME_IN_MS
+        );
+    }
+
+    /**
+     * Properties for the {@link ConcurrentMessageBroker} that processes the messages where the concurrency level is the calculated concurrency limit.
+     *
+     * <p>The concurrency level is obtained by the broker before each message is requested and therefore the configuration of the limit is refreshed
+     * at this point.
+     */
+    private class ConcurrencyLimitProperties implements ConcurrentMessageBrokerProperties {
+        @Override
+        public int getConcurrencyLevel() {
+            concurrencyLimit.configure(getMinimumConcurrencyLevel(), getMaximumConcurrencyLevel(), getLatencyToleranceRatio(), getErrorRateThreshold());
+            return concurrencyLimit.getLimit();
+        }
+
+        @Override
+        public Long getConcurrencyPollingRateInMilliseconds() {
+            return getNumberOfMillisecondsToObtainPermit();
+        }
+
+        @Override
+        public Long getErrorBackoffTimeInMilliseconds() {
+            return AdaptiveConcurrentMessageBroker.this.getErrorBackoffTimeInMilliseconds();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.jashmore.sqs.broker.adaptive;
+
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+class AdaptiveConcurrentMessageBrokerConstants {
+    /**
+     * The default amount of time to sleep the thread when there was an error organising the message processing threads.
+     */
+    static final int DEFAULT_BACKOFF_TIME_IN_MS = 10_000;
+
+    /**
+     * The default amount of time the thread should wait for a thread to process a message before it tries again and checks the available concurrency.
+     */
+    static final long DEFAULT_CONCURRENCY_POLLING_IN_MS = 60_000L;
+
+    /**
+     * The default lowest level of concurrency that the broker will shrink to.
+     */
+    static final int DEFAULT_MINIMUM_CONCURRENCY_LEVEL = 1;
+
+    /**
+     * The default ratio that the average processing latency can grow above the baseline latency before the concurrency is decreased.
+     */
+    static final double DEFAULT_LATENCY_TOLERANCE_RATIO = 2.0;
+
+    /**
+     * The default ratio of failed messages in a sample window that will result in the concurrency being decreased.
+     */
+    static final double DEFAULT_ERROR_RATE_THRESHOLD = 0.1;
+
+    /**
+     * The multiplier applied to the concurrency limit when the broker detects that it is overloaded.
+     */
+    static final double CONCURRENCY_DECREASE_RATIO = 0.9;
+
+    /**
+     * The ratio that the baseline latency is allowed to drift upwards each sample window so that a permanent change in the processing time of messages,
+     * e.g. a slower downstream dependency, will eventually become the new baseline.
+     */
+    static final double BASELINE_LATENCY_DRIFT_RATIO = 0.01;
+}
@@ -0,0 +1,105 @@
+package com.jashmore.sqs.broker.adaptive;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+/**
+ * Properties for configuring the bounds and sensitivity of the {@link AdaptiveConcurrentMessageBroker}.
+ *
+ * <p>These properties will be consumed by the {@link AdaptiveConcurrentMessageBroker} every time a new message is needed and therefore the performance of
+ * this implementation should be considered. If obtaining these values are costly it is recommended to cache the values for a period of time.
+ *
+ * <p>Implementations of these properties do not need to be thread safe because there is only a single coordinating thread that will be consuming this
+ * object.
+ */
+@NotThreadSafe
+public interface AdaptiveConcurrentMessageBrokerProperties {
+    /**
+     * The level of concurrency that the broker will start with before it has observed any messages being processed.
+     *
+     * <p>This value is only consumed once when the broker is constructed and will be constrained by the {@link #getMinimumConcurrencyLevel()} and
+     * {@link #getMaximumConcurrencyLevel()}.
+     *
+     * <p>If this value is null or not positive, the {@link #getMinimumConcurrencyLevel()} will be used as the initial concurrency level.
+     *
+     * @return the initial concurrency level
+     */
+    @Nullable
+    @Positive
+    Integer getInitialConcurrencyLevel();
+
+    /**
+     * The lowest level of concurrency that the broker will shrink to when it detects that message processing is overloaded.
+     *
+     * <p>This must be at least one so that the broker is able to keep sampling the processing of messages and increase the concurrency when the load has
+     * decreased.
+     *
+     * <p>If this value is null or not positive, {@link AdaptiveConcurrentMessageBrokerConstants#DEFAULT_MINIMUM_CONCURRENCY_LEVEL} will be used instead.
+     *
+     * @return the minimum concurrency level
+     */
+    @Nullable
+    @Positive
+    Integer getMinimumConcurrencyLevel();
+
+    /**
+     * The highest level of concurrency that the broker will grow to when message processing is healthy.
+     *
+     * <p>If this value is less than the {@link #getMinimumConcurrencyLevel()}, the minimum concurrency level will be used as the maximum.
+     *
+     * @return the maximum concurrency level
+     */
+    @Positive
+    int getMaximumConcurrencyLevel();
+
+    /**
+     * The ratio that the average latency of processing messages is allowed to grow above the observed baseline latency before the broker considers
+     * message processing as overloaded and decreases the concurrency.
+     *
+     * <p>For example, a value of 2.0 will decrease the concurrency when the average time to process messages in a sample window is more than double the
+     * fastest average that has been recently observed.
+     *
+     * <p>If this value is null or not positive, {@link AdaptiveConcurrentMessageBrokerConstants#DEFAULT_LATENCY_TOLERANCE_RATIO} will be used instead.
+     *
+     * @return the ratio of latency growth allowed before decreasing concurrency
+     */
+    @Nullable
+    @Positive
+    Double getLatencyToleranceRatio();
+
+    /**
+     * The ratio of messages that failed to be processed in a sample window, between zero and one, that will result in the concurrency being decreased.
+     *
+     * <p>If this value is null or not positive, {@link AdaptiveConcurrentMessageBrokerConstants#DEFAULT_ERROR_RATE_THRESHOLD} will be used instead.
+     *
+     * @return the error rate that will result in the concurrency being decreased
+     */
+    @Nullable
+    @Positive
+    Double getErrorRateThreshold();
+
+    /**
+     * The number of milliseconds that the coordinating thread will wait for a permit to process a message before checking the concurrency level again.
+     *
+     * <p>If this value is null or not positive, {@link AdaptiveConcurrentMessageBrokerConstants#DEFAULT_CONCURRENCY_POLLING_IN_MS} will be used instead.
+     *
+     * @return the number of milliseconds between polls for the concurrency level
+     * @see com.jashmore.sqs.broker.concurrent.ConcurrentMessageBrokerProperties#getConcurrencyPollingRateInMilliseconds() for more details
+     */
+    @Nullable
+    @Positive
+    Long getConcurrencyPollingRateInMilliseconds();
+
+    /**
+     * The number of milliseconds that the coordinating thread should backoff if there was an error trying to request a message.
+     *
+     * <p>If this value is null or negative, {@link AdaptiveConcurrentMessageBrokerConstants#DEFAULT_BACKOFF_TIME_IN_MS} will be used as the backoff period.
+     *
+     * @return the number of milliseconds to sleep the thread after an error is thrown
+     */
+    @Nullable
+    @PositiveOrZero
+    Long getErrorBackoffTimeInMilliseconds();
+}
@@ -0,0 +1,121 @@
+package com.jashmore.sqs.broker.adaptive;
+
+import static com.jashmore.sqs.broker.adaptive.AdaptiveConcurrentMessageBrokerConstants.BASELINE_LATENCY_DRIFT_RATIO;
+import static com.jashmore.sqs.broker.adaptive.AdaptiveConcurrentMessageBrokerConstants.CONCURRENCY_DECREASE_RATIO;
+import static com.jashmore.sqs.broker.adaptive.AdaptiveConcurrentMessageBrokerConstants.DEFAULT_ERROR_RATE_THRESHOLD;
+import static com.jashmore.sqs.broker.adaptive.AdaptiveConcurrentMessageBrokerConstants.DEFAULT_LATENCY_TOLERANCE_RATIO;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Concurrency limit that uses an additive-increase/multiplicative-decrease (AIMD) algorithm driven by the latency and outcome of processed messages.
+ *
+ * <p>Samples are grouped into windows containing as many samples as the current limit, e.g. roughly one round of messages being processed at the current
+ * concurrency. At the end of each window:
+ * <ul>
+ *     <li>if the ratio of failed messages exceeds the error rate threshold, or the average latency exceeds the baseline latency multiplied by the latency
+ *     tolerance ratio, the limit is decreased multiplicatively</li>
+ *     <li>otherwise, if at least half of the limit was being used, the limit is increased by one</li>
+ * </ul>
+ *
+ * <p>The baseline latency is the lowest average latency of the recent windows that had an acceptable error rate. To allow for a permanent change in the
+ * time it takes to process a message this baseline slowly drifts upwards each window.
+ */
+@ThreadSafe
+class AimdConcurrencyLimit {
+    private int limit;
+    private int minimumLimit;
+    private int maximumLimit;
+    private double latencyToleranceRatio;
+    private double errorRateThreshold;
+
+    private double baselineLatencyInNanoseconds;
+    private int windowSampleCount;
+    private int windowErrorCount;
+    private int windowMaximumInFlight;
+    private long windowLatencySumInNanoseconds;
+
+    AimdConcurrencyLimit(final int initialLimit, final int minimumLimit, final int maximumLimit) {
+        this.latencyToleranceRatio = DEFAULT_LATENCY_TOLERANCE_RATIO;
+        this.errorRateThreshold = DEFAULT_ERROR_RATE_THRESHOLD;
+        this.limit = initialLimit;
+        updateBounds(minimumLimit, maximumLimit);
+    }
+
+    /**
+     * Get the current concurrency limit.
+     *
+     * @return the concurrency limit
+     */
+    synchronized int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Update the configuration of this limit, constraining the current limit to the new bounds if necessary.
+     *
+     * @param minimumLimit          the lowest that the limit can decrease to, must be positive
+     * @param maximumLimit          the highest that the limit can increase to, if lower than the minimum the minimum will be used
+     * @param latencyToleranceRatio the ratio of the baseline latency that the average latency can grow to before decreasing the limit
+     * @param errorRateThreshold    the ratio of failed messages in a window that will decrease the limit
+     */
+    synchronized void configure(final int minimumLimit,
+                                final int maximumLimit,
+                                final double latencyToleranceRatio,
+                                final double errorRateThreshold) {
+        this.latencyToleranceRatio = latencyToleranceRatio;
+        this.errorRateThreshold = errorRateThreshold;
+        updateBounds(minimumLimit, maximumLimit);
+    }
+
+    /**
+     * Record the outcome of processing a single message.
+     *
+     * @param latencyInNanoseconds the amount of time it took to process the message
+     * @param successful           whether the message was successfully processed
+     * @param inFlight             the number of messages that were being processed when this message began processing, including itself
+     */
+    synchronized void recordSample(final long latencyInNanoseconds, final boolean successful, final int inFlight) {
+        windowSampleCount++;
+        windowLatencySumInNanoseconds += latencyInNanoseconds;
+        windowMaximumInFlight = Math.max(windowMaximumInFlight, inFlight);
+        if (!successful) {
+            windowErrorCount++;
+        }
+
+        if (windowSampleCount >= limit) {
+            adjustLimit();
+            windowSampleCount = 0;
+            windowErrorCount = 0;
+            windowMaximumInFlight = 0;
+            windowLatencySumInNanoseconds = 0;
+        }
+    }
+
+    private void adjustLimit() {
+        final double averageLatencyInNanoseconds = (double) windowLatencySumInNanoseconds / windowSampleCount;
+        final boolean errorRateExceeded = (double) windowErrorCount / windowSampleCount > errorRateThreshold;
+        final boolean latencyExceeded = baselineLatencyInNanoseconds > 0
+                && averageLatencyInNanoseconds > baselineLatencyInNanoseconds * latencyToleranceRatio;
+
+        if (errorRateExceeded || latencyExceeded) {
+            limit = Math.max(minimumLimit, Math.min(limit - 1, (int) (limit * CONCURRENCY_DECREASE_RATIO)));
+        } else if (windowMaximumInFlight * 2 >= limit) {
+            limit = Math.min(maximumLimit, limit + 1);
+        }
+
+        if (!errorRateExceeded) {
+            if (baselineLatencyInNanoseconds <= 0) {
+                baselineLatencyInNanoseconds = averageLatencyInNanoseconds;
+            } else {
+                baselineLatencyInNanoseconds = Math.min(baselineLatencyInNanoseconds * (1 + BASELINE_LATENCY_DRIFT_RATIO), averageLatencyInNanoseconds);
+            }
+        }
+    }
+
+    private void updateBounds(final int minimumLimit, final int maximumLimit) {
+        this.minimumLimit = minimumLimit;
+        this.maximumLimit = Math.max(minimumLimit, maximumLimit);
+        this.limit = Math.max(this.minimumLimit, Math.min(this.maximumLimit, limit));
+    }
+}
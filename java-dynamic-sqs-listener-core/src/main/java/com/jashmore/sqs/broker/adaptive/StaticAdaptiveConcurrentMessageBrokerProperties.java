@@ -0,0 +1,103 @@
+package com.jashmore.sqs.broker.adaptive;
+
+import com.google.common.base.Preconditions;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import net.jcip.annotations.ThreadSafe;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+/**
+ * Implementation that stores the value as non-mutable field values and therefore will return the same value on every call.
+ *
+ * <p>This implementation is thread safe, even though it doesn't need to be, due to it only returning immutable values.
+ */
+@ToString
+@EqualsAndHashCode
+@Builder(toBuilder = true)
+@ThreadSafe
+public final class StaticAdaptiveConcurrentMessageBrokerProperties implements AdaptiveConcurrentMessageBrokerProperties {
+    private final Integer initialConcurrencyLevel;
+    private final Integer minimumConcurrencyLevel;
+    private final Integer maximumConcurrencyLevel;
+    private final Double latencyToleranceRatio;
+    private final Double errorRateThreshold;
+    private final Long concurrencyPollingRateInMilliseconds;
+    private final Long errorBackoffTimeInMilliseconds;
+
+    public StaticAdaptiveConcurrentMessageBrokerProperties(final Integer initialConcurrencyLevel,
+                                                           final Integer minimumConcurrencyLevel,
+                                                           final Integer maximumConcurrencyLevel,
+                                                           final Double latencyToleranceRatio,
+                                                           final Double errorRateThreshold,
+                                                           final Long concurrencyPollingRateInMilliseconds,
+                                                           final Long errorBackoffTimeInMilliseconds) {
+        Preconditions.checkArgument(maximumConcurrencyLevel != null && maximumConcurrencyLevel > 0, "maximumConcurrencyLevel should be greater than zero");
+        Preconditions.checkArgument(minimumConcurrencyLevel == null || (minimumConcurrencyLevel > 0 && minimumConcurrencyLevel <= maximumConcurrencyLevel),
+                "minimumConcurrencyLevel should be null or between one and the maximumConcurrencyLevel");
+        Preconditions.checkArgument(latencyToleranceRatio == null || latencyToleranceRatio > 0,
+                "latencyToleranceRatio should be null or greater than zero");
+        Preconditions.checkArgument(errorRateThreshold == null || (errorRateThreshold > 0 && errorRateThreshold <= 1),
+                "errorRateThreshold should be null or between zero and one");
+
+        this.initialConcurrencyLevel = initialConcurrencyLevel;
+        this.minimumConcurrencyLevel = minimumConcurrencyLevel;
+        this.maximumConcurrencyLevel = maximumConcurrencyLevel;
+        this.latencyToleranceRatio = latencyToleranceRatio;
+        this.errorRateThreshold = errorRateThreshold;
+        this.concurrencyPollingRateInMilliseconds = concurrencyPollingRateInMilliseconds;
+        this.errorBackoffTimeInMilliseconds = errorBackoffTimeInMilliseconds;
+    }
+
+    @Nullable
+    @Positive
+    @Override
+    public Integer getInitialConcurrencyLevel() {
+        return initialConcurrencyLevel;
+    }
+
+    @Nullable
+    @Positive
+    @Override
+    public Integer getMinimumConcurrencyLevel() {
+        return minimumConcurrencyLevel;
+    }
+
+    @Positive
+    @Override
+    public int getMaximumConcurrencyLevel() {
+        return maximumConcurrencyLevel;
+    }
+
+    @Nullable
+    @Positive
+    @Override
+    public Double getLatencyToleranceRatio() {
+        return latencyToleranceRatio;
+    }
+
+    @Nullable
+    @Positive
+    @Override
+    public Double getErrorRateThreshold() {
+        return errorRateThreshold;
+    }
+
+    @Nullable
+    @Positive
+    @Override
+    public Long getConcurrencyPollingRateInMilliseconds() {
+        return concurrencyPollingRateInMilliseconds;
+    }
+
+    @Nullable
+    @PositiveOrZero
+    @Override
+    public Long getErrorBackoffTimeInMilliseconds() {
+        return errorBackoffTimeInMilliseconds;
+    }
+}
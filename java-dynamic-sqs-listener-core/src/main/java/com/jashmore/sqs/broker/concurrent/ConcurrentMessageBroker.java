@@ -83,6 +83,15 @@ public class ConcurrentMessageBroker implements MessageBroker {
         log.debug("Ending processing of messages");
     }
 
+    /**
+     * Get a snapshot of the number of permits that are currently being used to process messages.
+     *
+     * @return the number of messages currently being processed by this broker
+     */
+    public int getNumberOfPermitsInUse() {
+        return concurrentMessagesBeingProcessedSemaphore.getPermitsInUse();
+    }
+
     /**
      * Safely get the number of milliseconds that should wait to get a permit for creating a new thread.
      *
@@ -0,0 +1,21 @@
+package com.jashmore.sqs.claimcheck;
+
+import lombok.Value;
+
+/**
+ * Pointer to the blob in a {@link BlobStore} that contains the actual payload of a message whose payload was too large to be sent in the message itself.
+ *
+ * <p>This follows the naming of the SQS Extended Client which stores the payloads in S3 buckets.
+ */
+@Value
+public class BlobPointer {
+    /**
+     * The name of the bucket, or other grouping of blobs, that contains the blob.
+     */
+    private final String bucketName;
+
+    /**
+     * The key of the blob in the bucket.
+     */
+    private final String key;
+}
@@ -0,0 +1,34 @@
+package com.jashmore.sqs.claimcheck;
+
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Store of the blobs that contain the payloads of messages that were too large to be sent in the message itself, e.g. S3 for the SQS Extended Client.
+ *
+ * <p>The operations return {@link CompletableFuture}s so that implementations backed by a remote service can use an asynchronous client. Note that the
+ * {@link com.jashmore.sqs.argument.payload.mapper.decoder.ClaimCheckPayloadDecoder} still waits for {@link #getBlob(BlobPointer)} on the thread
+ * processing the message, only the {@link com.jashmore.sqs.resolver.claimcheck.ClaimCheckMessageResolver} does not block on
+ * {@link #deleteBlob(BlobPointer)}.
+ */
+@ThreadSafe
+public interface BlobStore {
+    /**
+     * Get the content of the blob.
+     *
+     * <p>The consumer of the stream is responsible for closing it.
+     *
+     * @param blobPointer the pointer to the blob
+     * @return a future that will be completed with the stream of the content of the blob
+     */
+    CompletableFuture<InputStream> getBlob(BlobPointer blobPointer);
+
+    /**
+     * Delete the blob as it is no longer needed.
+     *
+     * @param blobPointer the pointer to the blob
+     * @return a future that will be completed when the blob has been deleted
+     */
+    CompletableFuture<?> deleteBlob(BlobPointer blobPointer);
+}
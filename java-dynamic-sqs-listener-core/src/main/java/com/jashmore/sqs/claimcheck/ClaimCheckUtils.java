@@ -0,0 +1,58 @@
+package com.jashmore.sqs.claimcheck;
+
+import com.google.common.collect.ImmutableList;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.experimental.UtilityClass;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Utility methods for messages that use the claim-check pattern, where the body of the message is a pointer to the actual payload in a {@link BlobStore}.
+ *
+ * <p>The pointers are in the format used by the SQS Extended Client, for example:
+ *
+ * <pre class="code">
+ *     ["software.amazon.payloadoffloading.PayloadS3Pointer",{"s3BucketName":"my-bucket","s3Key":"my-key"}]
+ * </pre>
+ */
+@UtilityClass
+public class ClaimCheckUtils {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final List<String> POINTER_PREFIXES = ImmutableList.of(
+            "[\"software.amazon.payloadoffloading.PayloadS3Pointer\"",
+            "[\"com.amazon.sqs.javamessaging.MessageS3Pointer\""
+    );
+
+    /**
+     * Get the pointer to the blob containing the actual payload of the message.
+     *
+     * @param message the message to get the pointer for
+     * @return the pointer to the blob or an empty {@link Optional} if the body of the message is the payload itself
+     */
+    public static Optional<BlobPointer> getBlobPointer(final Message message) {
+        final String body = message.body();
+        if (body == null || POINTER_PREFIXES.stream().noneMatch(body::startsWith)) {
+            return Optional.empty();
+        }
+
+        final JsonNode pointerNode;
+        try {
+            pointerNode = OBJECT_MAPPER.readTree(body).path(1);
+        } catch (final IOException ioException) {
+            return Optional.empty();
+        }
+
+        final JsonNode bucketNameNode = pointerNode.path("s3BucketName");
+        final JsonNode keyNode = pointerNode.path("s3Key");
+        if (!bucketNameNode.isTextual() || !keyNode.isTextual()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new BlobPointer(bucketNameNode.textValue(), keyNode.textValue()));
+    }
+}
@@ -0,0 +1,51 @@
+package com.jashmore.sqs.claimcheck;
+
+import com.jashmore.sqs.util.concurrent.CompletableFutureUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * {@link BlobStore} that stores each blob as a file in a directory for its bucket, useful for local development and testing.
+ *
+ * <p>For example, the blob with the bucket {@code my-bucket} and key {@code my-key} is the file {@code my-bucket/my-key} in the root directory.
+ */
+@ThreadSafe
+public class FileSystemBlobStore implements BlobStore {
+    private final Path rootDirectory;
+
+    public FileSystemBlobStore(final Path rootDirectory) {
+        this.rootDirectory = rootDirectory.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public CompletableFuture<InputStream> getBlob(final BlobPointer blobPointer) {
+        try {
+            return CompletableFuture.completedFuture(Files.newInputStream(getPath(blobPointer)));
+        } catch (final IOException | RuntimeException exception) {
+            return CompletableFutureUtils.completedExceptionally(exception);
+        }
+    }
+
+    @Override
+    public CompletableFuture<?> deleteBlob(final BlobPointer blobPointer) {
+        try {
+            Files.deleteIfExists(getPath(blobPointer));
+            return CompletableFuture.completedFuture(null);
+        } catch (final IOException | RuntimeException exception) {
+            return CompletableFutureUtils.completedExceptionally(exception);
+        }
+    }
+
+    private Path getPath(final BlobPointer blobPointer) {
+        final Path path = rootDirectory.resolve(blobPointer.getBucketName()).resolve(blobPointer.getKey()).normalize();
+        if (!path.startsWith(rootDirectory)) {
+            throw new IllegalArgumentException("Blob is not in the root directory of the store: " + blobPointer);
+        }
+        return path;
+    }
+}
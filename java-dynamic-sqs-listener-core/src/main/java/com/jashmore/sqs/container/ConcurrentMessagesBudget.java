@@ -0,0 +1,80 @@
+package com.jashmore.sqs.container;
+
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Takes a permit from a {@link Semaphore} shared between containers before each retrieved message is processed and returns it when the message has been
+ * processed.
+ *
+ * <p>The permit is only taken once the message has been retrieved, instead of when it is requested, as the {@link com.jashmore.sqs.broker.MessageBroker}
+ * may have many requests for messages waiting indefinitely on a queue that has no messages. Taking the permits for those requests would let an idle
+ * container hold the budget that busy containers need.
+ *
+ * <p>A new budget is created each time a container is run and it keeps track of the permits that it has taken so that any permits that were not returned,
+ * for example because the container was stopped before a message finished processing, can be returned when the container stops via
+ * {@link #releaseAll()}.
+ */
+@ThreadSafe
+class ConcurrentMessagesBudget {
+    private final Semaphore semaphore;
+    private final AtomicInteger permitsHeld = new AtomicInteger();
+
+    ConcurrentMessagesBudget(final Semaphore semaphore) {
+        this.semaphore = semaphore;
+    }
+
+    /**
+     * Wrap the processor of messages so that a permit is obtained before each message is processed, blocking until one is available, and is returned once
+     * the message has finished processing.
+     *
+     * <p>If the thread is interrupted while waiting for a permit the message is not processed, a cancelled future is returned and the interruption is kept
+     * on the thread.
+     *
+     * @param messageProcessor the processor of messages
+     * @return the processor that will only process messages when there is budget for them
+     */
+    Function<Message, CompletableFuture<?>> limitMessageProcessor(final Function<Message, CompletableFuture<?>> messageProcessor) {
+        return message -> {
+            try {
+                semaphore.acquire();
+            } catch (final InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+                final CompletableFuture<?> cancelledFuture = new CompletableFuture<>();
+                cancelledFuture.cancel(true);
+                return cancelledFuture;
+            }
+            permitsHeld.incrementAndGet();
+
+            final CompletableFuture<?> processingFuture;
+            try {
+                processingFuture = messageProcessor.apply(message);
+            } catch (final RuntimeException runtimeException) {
+                release();
+                throw runtimeException;
+            }
+            return processingFuture.whenComplete((ignoredResult, throwable) -> release());
+        };
+    }
+
+    /**
+     * Return all of the permits that are still held by this budget.
+     */
+    void releaseAll() {
+        final int permits = permitsHeld.getAndSet(0);
+        if (permits > 0) {
+            semaphore.release(permits);
+        }
+    }
+
+    private void release() {
+        if (permitsHeld.getAndUpdate(permits -> permits > 0 ? permits - 1 : permits) > 0) {
+            semaphore.release();
+        }
+    }
+}
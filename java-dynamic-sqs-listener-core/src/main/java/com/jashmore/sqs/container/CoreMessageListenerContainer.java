@@ -2,6 +2,7 @@ package com.jashmore.sqs.container;
 
 import static com.jashmore.sqs.container.CoreMessageListenerContainerConstants.DEFAULT_SHOULD_INTERRUPT_MESSAGE_PROCESSING_ON_SHUTDOWN;
 import static com.jashmore.sqs.container.CoreMessageListenerContainerConstants.DEFAULT_SHOULD_PROCESS_EXTRA_MESSAGES_ON_SHUTDOWN;
+import static com.jashmore.sqs.container.CoreMessageListenerContainerConstants.DEFAULT_SHOULD_PROCESS_MESSAGES_ON_VIRTUAL_THREADS;
 import static com.jashmore.sqs.container.CoreMessageListenerContainerConstants.DEFAULT_SHUTDOWN_TIME_IN_SECONDS;
 import static com.jashmore.sqs.util.thread.ThreadUtils.threadFactory;
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -13,6 +14,7 @@ import com.jashmore.sqs.broker.MessageBroker;
 import com.jashmore.sqs.processor.MessageProcessor;
 import com.jashmore.sqs.resolver.MessageResolver;
 import com.jashmore.sqs.retriever.MessageRetriever;
+import com.jashmore.sqs.util.concurrent.ScopedExecutorService;
 import com.jashmore.sqs.util.properties.PropertyUtils;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.awssdk.services.sqs.model.Message;
@@ -30,7 +32,9 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -43,6 +47,9 @@ import javax.annotation.concurrent.ThreadSafe;
  *
  * <p>This container expects a new instance of each component (e.g. {@link MessageResolver}) each time that it is started up to remove the need for each
  * component to maintain state between start up.
+ *
+ * <p>By default each container creates its own threads for each of the components and for processing messages. When there are many containers in an
+ * application, {@link SharedContainerExecutors} can be provided so that these threads are shared between the containers.
  */
 @Slf4j
 @ThreadSafe
@@ -53,6 +60,7 @@ public class CoreMessageListenerContainer implements MessageListenerContainer {
     private final Supplier<MessageProcessor> messageProcessorSupplier;
     private final Supplier<MessageResolver> messageResolverSupplier;
     private final CoreMessageListenerContainerProperties properties;
+    private final SharedContainerExecutors sharedExecutors;
 
     /**
      * The service that is running this container's thread.
@@ -86,6 +94,24 @@ public class CoreMessageListenerContainer implements MessageListenerContainer {
                                         final Supplier<MessageProcessor> messageProcessorSupplier,
                                         final Supplier<MessageResolver> messageResolverSupplier,
                                         final CoreMessageListenerContainerProperties properties) {
+        this(
+                identifier,
+                messageBrokerSupplier,
+                messageRetrieverSupplier,
+                messageProcessorSupplier,
+                messageResolverSupplier,
+                properties,
+                SharedContainerExecutors.NONE
+        );
+    }
+
+    public CoreMessageListenerContainer(final String identifier,
+                                        final Supplier<MessageBroker> messageBrokerSupplier,
+                                        final Supplier<MessageRetriever> messageRetrieverSupplier,
+                                        final Supplier<MessageProcessor> messageProcessorSupplier,
+                                        final Supplier<MessageResolver> messageResolverSupplier,
+                                        final CoreMessageListenerContainerProperties properties,
+                                        final SharedContainerExecutors sharedExecutors) {
         Preconditions.checkArgument(StringUtils.isNotBlank(identifier), "identifier should not be empty");
 
         this.identifier = identifier;
@@ -94,6 +120,7 @@ public class CoreMessageListenerContainer implements MessageListenerContainer {
         this.messageProcessorSupplier = messageProcessorSupplier;
         this.messageResolverSupplier = messageResolverSupplier;
         this.properties = properties;
+        this.sharedExecutors = sharedExecutors;
     }
 
     @Override
@@ -107,7 +134,7 @@ public class CoreMessageListenerContainer implements MessageListenerContainer {
             log.info("Container '{}' has already been started. No action taken", identifier);
         } else {
             log.info("Container '{}' is being started", identifier);
-            executorService = Executors.newSingleThreadExecutor(threadFactory(identifier + "-message-container"));
+            executorService = buildBackgroundExecutorService(identifier + "-message-container");
             containerFuture = CompletableFuture.runAsync(this::runContainer, executorService);
         }
         return containerFuture;
@@ -151,7 +178,8 @@ public class CoreMessageListenerContainer implements MessageListenerContainer {
         final MessageBroker messageBroker = messageBrokerSupplier.get();
         final MessageProcessor messageProcessor = messageProcessorSupplier.get();
 
-        final ExecutorService messageBrokerExecutorService = Executors.newSingleThreadExecutor(threadFactory(identifier + "-message-broker"));
+        final ExecutorService messageBrokerExecutorService = buildBackgroundExecutorService(identifier + "-message-broker");
+        final ConcurrentMessagesBudget concurrentMessagesBudget = buildConcurrentMessagesBudget();
 
         final BlockingRunnable shutdownMessageResolver = startupMessageResolver(messageResolver);
         final ExecutorService messageProcessingExecutorService = buildMessageProcessingExecutorService();
@@ -161,16 +189,21 @@ public class CoreMessageListenerContainer implements MessageListenerContainer {
 
         try {
             processMessagesFromRetriever(messageBroker, messageRetriever, messageProcessor, messageResolver,
-                    messageBrokerExecutorService, messageProcessingExecutorService);
+                    messageBrokerExecutorService, messageProcessingExecutorService, concurrentMessagesBudget);
             log.info("Container '{}' is being shutdown", identifier);
             shutdownMessageRetriever.run();
             processExtraMessages(messageBroker, messageProcessor, messageResolver, messageBrokerExecutorService,
-                    messageProcessingExecutorService, extraMessages);
+                    messageProcessingExecutorService, concurrentMessagesBudget, extraMessages);
             shutdownMessageProcessingThreads(messageProcessingExecutorService);
             shutdownMessageResolver.run();
             log.info("Container '{}' has stopped", identifier);
         } catch (final InterruptedException interruptedException) {
             log.error("Container '{}' was interrupted during the shutdown process. Doing a forceful shutdown that may eventually complete", identifier);
+        } finally {
+            messageBrokerExecutorService.shutdown();
+            if (concurrentMessagesBudget != null) {
+                concurrentMessagesBudget.releaseAll();
+            }
         }
     }
 
@@ -188,19 +221,24 @@ public class CoreMessageListenerContainer implements MessageListenerContainer {
      * @param messageProcessor the processor that will execute the message
      * @param messageResolver  the resolver that will resolve the message on successful processing
      * @param messageProcessingExecutorService the executor service that the message processing will run on
+     * @param concurrentMessagesBudget the budget shared with other containers, or null if there is no shared budget
      */
     private void processMessagesFromRetriever(final MessageBroker messageBroker,
                                               final MessageRetriever messageRetriever,
                                               final MessageProcessor messageProcessor,
                                               final MessageResolver messageResolver,
                                               final ExecutorService brokerExecutorService,
-                                              final ExecutorService messageProcessingExecutorService) throws InterruptedException {
+                                              final ExecutorService messageProcessingExecutorService,
+                                              @Nullable final ConcurrentMessagesBudget concurrentMessagesBudget) throws InterruptedException {
         log.info("Container '{}' is beginning to process messages", identifier);
+        final Supplier<CompletableFuture<Message>> messageSupplier = messageRetriever::retrieveMessage;
+        final Function<Message, CompletableFuture<?>> processingFunction
+                = message -> messageProcessor.processMessage(message, () -> messageResolver.resolveMessage(message));
         try {
             runUntilInterruption(brokerExecutorService, () -> messageBroker.processMessages(
                     messageProcessingExecutorService,
-                    messageRetriever::retrieveMessage,
-                    message -> messageProcessor.processMessage(message, () -> messageResolver.resolveMessage(message))
+                    messageSupplier,
+                    concurrentMessagesBudget == null ? processingFunction : concurrentMessagesBudget.limitMessageProcessor(processingFunction)
             ));
         } catch (final ExecutionException executionException) {
             log.error("Error processing messages", executionException.getCause());
@@ -214,6 +252,7 @@ public class CoreMessageListenerContainer implements MessageListenerContainer {
      * @param messageProcessor the processor that will execute the message
      * @param messageResolver  the resolver that will resolve the message on successful processing
      * @param executorService  the executor service that the message processing will run on
+     * @param concurrentMessagesBudget the budget shared with other containers, or null if there is no shared budget
      * @param messages         the messages to be processed
      * @throws InterruptedException if the thread was interrupted during this process
      */
@@ -222,15 +261,19 @@ public class CoreMessageListenerContainer implements MessageListenerContainer {
                                       final MessageResolver messageResolver,
                                       final ExecutorService messageBrokerExecutorService,
                                       final ExecutorService executorService,
+                                      @Nullable final ConcurrentMessagesBudget concurrentMessagesBudget,
                                       final Queue<Message> messages) throws InterruptedException {
         if (!messages.isEmpty() && shouldProcessAnyExtraRetrievedMessagesOnShutdown()) {
             log.debug("Container '{}' is processing {} extra messages before shutdown", identifier, messages.size());
+            final Supplier<CompletableFuture<Message>> messageSupplier = () -> CompletableFuture.completedFuture(messages.poll());
+            final Function<Message, CompletableFuture<?>> processingFunction
+                    = message -> messageProcessor.processMessage(message, () -> messageResolver.resolveMessage(message));
             try {
                 runUntilInterruption(messageBrokerExecutorService, () -> messageBroker.processMessages(
                         executorService,
                         () -> !messages.isEmpty(),
-                        () -> CompletableFuture.completedFuture(messages.poll()),
-                        message -> messageProcessor.processMessage(message, () -> messageResolver.resolveMessage(message))
+                        messageSupplier,
+                        concurrentMessagesBudget == null ? processingFunction : concurrentMessagesBudget.limitMessageProcessor(processingFunction)
                 ));
             } catch (final ExecutionException executionException) {
                 log.error("Exception thrown processing extra messages", executionException.getCause());
@@ -301,7 +344,7 @@ public class CoreMessageListenerContainer implements MessageListenerContainer {
      */
     private BlockingRunnable startupMessageRetriever(final MessageRetriever messageRetriever,
                                                      final Consumer<List<Message>> extraMessagesConsumer) {
-        final ExecutorService executorService = Executors.newSingleThreadExecutor(threadFactory(getIdentifier() + "-message-retriever"));
+        final ExecutorService executorService = buildBackgroundExecutorService(getIdentifier() + "-message-retriever");
         CompletableFuture.supplyAsync(messageRetriever::run, executorService)
                 .thenAccept(extraMessagesConsumer);
         return () -> {
@@ -325,7 +368,7 @@ public class CoreMessageListenerContainer implements MessageListenerContainer {
      * @return the optional {@link ExecutorService} for this background thread if it was started
      */
     private BlockingRunnable startupMessageResolver(final MessageResolver messageResolver) {
-        final ExecutorService executorService = Executors.newSingleThreadExecutor(threadFactory(getIdentifier() + "-message-resolver"));
+        final ExecutorService executorService = buildBackgroundExecutorService(getIdentifier() + "-message-resolver");
         CompletableFuture.runAsync(messageResolver::run, executorService);
         return () -> {
             log.info("Shutting down MessageResolver");
@@ -342,12 +385,58 @@ public class CoreMessageListenerContainer implements MessageListenerContainer {
     /**
      * Build the {@link ExecutorService} that will be used for the threads that are processing the messages.
      *
+     * <p>If a {@link SharedContainerExecutors#getMessageProcessingExecutorService()} has been provided the messages will be processed on those threads
+     * instead of creating new threads for this container. Otherwise, if {@link CoreMessageListenerContainerProperties#shouldProcessMessagesOnVirtualThreads()}
+     * is true and the runtime supports virtual threads each message will be processed on a new virtual thread.
+     *
      * @return the executor service that will be used for processing messages
      */
     private ExecutorService buildMessageProcessingExecutorService() {
+        final ExecutorService sharedExecutorService = sharedExecutors.getMessageProcessingExecutorService();
+        if (sharedExecutorService != null) {
+            return new ScopedExecutorService(sharedExecutorService);
+        }
+
+        if (shouldProcessMessagesOnVirtualThreads()) {
+            final Optional<ExecutorService> virtualThreadExecutorService = VirtualThreads.newVirtualThreadPerTaskExecutor(
+                    getIdentifier() + "-message-processing-");
+            if (virtualThreadExecutorService.isPresent()) {
+                return virtualThreadExecutorService.get();
+            }
+            log.warn("Container '{}' is unable to process messages on virtual threads as they are not supported by this runtime", identifier);
+        }
         return Executors.newCachedThreadPool(threadFactory(getIdentifier() + "-message-processing-%d"));
     }
 
+    /**
+     * Build the {@link ExecutorService} that will run a single long-running part of the container, like the {@link MessageRetriever}.
+     *
+     * <p>If a {@link SharedContainerExecutors#getBackgroundExecutorService()} has been provided the task will be run on one of those threads instead of
+     * creating a new thread for it.
+     *
+     * @param threadName the name of the thread if a new thread is created
+     * @return the executor service that will be used to run the task
+     */
+    private ExecutorService buildBackgroundExecutorService(final String threadName) {
+        final ExecutorService sharedExecutorService = sharedExecutors.getBackgroundExecutorService();
+        if (sharedExecutorService != null) {
+            return new ScopedExecutorService(sharedExecutorService);
+        }
+        return Executors.newSingleThreadExecutor(threadFactory(threadName));
+    }
+
+    /**
+     * Build the budget that will limit the number of messages being processed across all of the containers using the same {@link SharedContainerExecutors}.
+     *
+     * @return the budget for this run of the container or null if there is no limit
+     */
+    @Nullable
+    private ConcurrentMessagesBudget buildConcurrentMessagesBudget() {
+        return Optional.ofNullable(sharedExecutors.getConcurrentMessagesSemaphore())
+                .map(ConcurrentMessagesBudget::new)
+                .orElse(null);
+    }
+
     /**
      * Get the amount of time in seconds that we should wait for the messages that are currently being processed to finish.
      *
@@ -397,6 +486,11 @@ public class CoreMessageListenerContainer implements MessageListenerContainer {
                 .orElse(DEFAULT_SHOULD_PROCESS_EXTRA_MESSAGES_ON_SHUTDOWN);
     }
 
+    private boolean shouldProcessMessagesOnVirtualThreads() {
+        return Optional.ofNullable(properties.shouldProcessMessagesOnVirtualThreads())
+                .orElse(DEFAULT_SHOULD_PROCESS_MESSAGES_ON_VIRTUAL_THREADS);
+    }
+
     /**
      * Similar to a {@link Runnable} but it allows for {@link InterruptedException}s to be thrown.
      */
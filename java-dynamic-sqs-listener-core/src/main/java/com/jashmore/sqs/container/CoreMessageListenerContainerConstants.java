@@ -20,4 +20,9 @@ class CoreMessageListenerContainerConstants {
      * completely shut down.
      */
     static boolean DEFAULT_SHOULD_PROCESS_EXTRA_MESSAGES_ON_SHUTDOWN = true;
+
+    /**
+     * The default setting for whether each message should be processed on a new virtual thread.
+     */
+    static boolean DEFAULT_SHOULD_PROCESS_MESSAGES_ON_VIRTUAL_THREADS = false;
 }
@@ -67,4 +67,19 @@ public interface CoreMessageListenerContainerProperties {
     @Nullable
     @PositiveOrZero
     Integer getMessageResolverShutdownTimeoutInSeconds();
+
+    /**
+     * Whether each message should be processed on a new virtual thread instead of a thread from a cached thread pool.
+     *
+     * <p>Virtual threads are much cheaper than platform threads when the processing of messages is mostly blocking I/O, e.g. JDBC or HTTP calls,
+     * allowing for the concurrency level to be much higher. This is only used if the runtime supports virtual threads, e.g. Java 21 or later, and
+     * will fallback to the cached thread pool otherwise. If a shared message processing executor has been provided via the
+     * {@link SharedContainerExecutors} it will be used instead.
+     *
+     * <p>If this value is null, it will default to {@link CoreMessageListenerContainerConstants#DEFAULT_SHOULD_PROCESS_MESSAGES_ON_VIRTUAL_THREADS}.
+     *
+     * @return whether messages should be processed on virtual threads
+     */
+    @Nullable
+    Boolean shouldProcessMessagesOnVirtualThreads();
 }
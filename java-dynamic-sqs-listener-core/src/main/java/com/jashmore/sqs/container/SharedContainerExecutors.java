@@ -0,0 +1,90 @@
+package com.jashmore.sqs.container;
+
+import com.google.common.base.Preconditions;
+
+import com.jashmore.sqs.util.concurrent.ScopedExecutorService;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Executors that can be shared between multiple {@link CoreMessageListenerContainer}s so that the number of threads processing messages grows with the
+ * load of the application instead of with the number of containers.
+ *
+ * <p>Each container will wrap the shared executors in a {@link ScopedExecutorService} so that it can still be shutdown, and have its own tasks interrupted,
+ * without impacting the other containers. The lifecycle of the shared executors is owned by the creator of this object and they should only be shutdown
+ * after all of the containers using them have stopped.
+ *
+ * <p>Any of the fields can be null and the container will fallback to creating its own executors for that part of the container.
+ */
+@Getter
+@ThreadSafe
+public class SharedContainerExecutors {
+    /**
+     * Shared executors that will not change any of the executors used by the containers.
+     */
+    public static final SharedContainerExecutors NONE = SharedContainerExecutors.builder().build();
+
+    /**
+     * The executor that will process the messages for all of the containers, e.g. a fixed size thread pool.
+     *
+     * <p>When this is null each container will create its own cached thread pool for processing messages.
+     */
+    @Nullable
+    private final ExecutorService messageProcessingExecutorService;
+
+    /**
+     * The executor that will run the long-running components of all of the containers, e.g. the {@link com.jashmore.sqs.broker.MessageBroker},
+     * {@link com.jashmore.sqs.retriever.MessageRetriever} and {@link com.jashmore.sqs.resolver.MessageResolver}.
+     *
+     * <p>As these components block their thread while the container is running this executor must be able to run a thread for each of them, e.g. a cached
+     * thread pool, otherwise the components of the containers started later would never run. Therefore sharing this executor does not reduce the number of
+     * threads used while the containers are running, each running container still uses a thread for each of its components, and it only allows these
+     * threads to be reused between containers and restarts. When this is null each container will create a single thread executor for each of the
+     * components.
+     *
+     * <p>A {@link ThreadPoolExecutor} with a bounded maximum pool size is rejected for this reason.
+     */
+    @Nullable
+    private final ExecutorService backgroundExecutorService;
+
+    /**
+     * Limits the number of messages that can be processed at once across all of the containers.
+     *
+     * <p>When this is null there is no global limit and the containers are only limited by their own {@link com.jashmore.sqs.broker.MessageBroker}.
+     */
+    @Nullable
+    @Getter(AccessLevel.PACKAGE)
+    private final Semaphore concurrentMessagesSemaphore;
+
+    /**
+     * Constructor.
+     *
+     * @param messageProcessingExecutorService the executor that will process all messages or null if each container should have its own
+     * @param backgroundExecutorService        the executor that will run the components of the containers or null if each container should have its own
+     * @param maximumConcurrentMessages        the maximum number of messages being processed across all containers or null if there is no limit
+     * @throws IllegalArgumentException if the background executor has a bounded number of threads or the maximum concurrent messages is not positive
+     */
+    @Builder
+    private SharedContainerExecutors(@Nullable final ExecutorService messageProcessingExecutorService,
+                                     @Nullable final ExecutorService backgroundExecutorService,
+                                     @Nullable final Integer maximumConcurrentMessages) {
+        Preconditions.checkArgument(maximumConcurrentMessages == null || maximumConcurrentMessages > 0, "maximumConcurrentMessages should be positive");
+        Preconditions.checkArgument(!isBoundedThreadPool(backgroundExecutorService),
+                "backgroundExecutorService should be able to create a thread for each component, e.g. a cached thread pool");
+
+        this.messageProcessingExecutorService = messageProcessingExecutorService;
+        this.backgroundExecutorService = backgroundExecutorService;
+        this.concurrentMessagesSemaphore = maximumConcurrentMessages != null ? new Semaphore(maximumConcurrentMessages) : null;
+    }
+
+    private static boolean isBoundedThreadPool(@Nullable final ExecutorService executorService) {
+        return executorService instanceof ThreadPoolExecutor && ((ThreadPoolExecutor) executorService).getMaximumPoolSize() != Integer.MAX_VALUE;
+    }
+}
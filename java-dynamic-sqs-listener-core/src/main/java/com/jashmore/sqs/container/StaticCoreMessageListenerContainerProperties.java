@@ -15,6 +15,7 @@ public class StaticCoreMessageListenerContainerProperties implements CoreMessage
     private final Integer messageProcessingShutdownTimeoutInSeconds;
     private final Integer messageRetrieverShutdownTimeoutInSeconds;
     private final Integer messageResolverShutdownTimeoutInSeconds;
+    private final Boolean shouldProcessMessagesOnVirtualThreads;
 
     @Nullable
     @Override
@@ -45,4 +46,10 @@ public class StaticCoreMessageListenerContainerProperties implements CoreMessage
     public Integer getMessageResolverShutdownTimeoutInSeconds() {
         return messageResolverShutdownTimeoutInSeconds;
     }
+
+    @Nullable
+    @Override
+    public Boolean shouldProcessMessagesOnVirtualThreads() {
+        return shouldProcessMessagesOnVirtualThreads;
+    }
 }
@@ -0,0 +1,39 @@
+package com.jashmore.sqs.container;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Provides access to the virtual threads added in Java 21 while this library is still built for Java 8.
+ */
+@Slf4j
+@UtilityClass
+class VirtualThreads {
+    /**
+     * Build an {@link ExecutorService} that will run each task on a new virtual thread if the runtime supports them.
+     *
+     * <p>The virtual thread APIs are obtained via reflection and therefore this will return an empty {@link Optional} when running on an older runtime,
+     * or one where virtual threads are a preview feature that has not been enabled.
+     *
+     * @param threadNamePrefix the prefix for the name of each thread, which will have an incrementing number appended to it
+     * @return the executor service using virtual threads or an empty {@link Optional} if they are not supported
+     */
+    static Optional<ExecutorService> newVirtualThreadPerTaskExecutor(final String threadNamePrefix) {
+        try {
+            final Class<?> threadBuilderClass = Class.forName("java.lang.Thread$Builder");
+            final Object threadBuilder = Thread.class.getMethod("ofVirtual").invoke(null);
+            threadBuilderClass.getMethod("name", String.class, long.class).invoke(threadBuilder, threadNamePrefix, 0L);
+            final ThreadFactory threadFactory = (ThreadFactory) threadBuilderClass.getMethod("factory").invoke(threadBuilder);
+            return Optional.of((ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, threadFactory));
+        } catch (final ClassNotFoundException | NoSuchMethodException | IllegalAccessException | InvocationTargetException exception) {
+            log.debug("Virtual threads are not supported by this runtime", exception);
+            return Optional.empty();
+        }
+    }
+}
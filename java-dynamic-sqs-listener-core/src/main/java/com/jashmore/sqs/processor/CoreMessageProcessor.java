@@ -1,24 +1,24 @@
 package com.jashmore.sqs.processor;
 
-import static java.util.stream.Collectors.toList;
-
 import com.jashmore.sqs.QueueProperties;
-import com.jashmore.sqs.argument.ArgumentResolver;
 import com.jashmore.sqs.argument.ArgumentResolverService;
+import com.jashmore.sqs.argument.BoundArgumentResolver;
 import com.jashmore.sqs.argument.DefaultMethodParameter;
 import com.jashmore.sqs.argument.MethodParameter;
 import com.jashmore.sqs.argument.visibility.DefaultVisibilityExtender;
 import com.jashmore.sqs.processor.argument.Acknowledge;
 import com.jashmore.sqs.processor.argument.VisibilityExtender;
 import com.jashmore.sqs.util.concurrent.CompletableFutureUtils;
+import com.jashmore.sqs.util.method.MethodInvoker;
+import com.jashmore.sqs.util.method.MethodInvokerUtils;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 import software.amazon.awssdk.services.sqs.model.Message;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.Arrays;
-import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.IntStream;
 import javax.annotation.concurrent.ThreadSafe;
@@ -26,17 +26,21 @@ import javax.annotation.concurrent.ThreadSafe;
 /**
  * Default implementation of the {@link MessageProcessor} that will simply resolve arguments, process the message and delete the
  * message from the queue if it was completed successfully.
+ *
+ * <p>The message listener method is bound to a {@link MethodHandle} when this processor is constructed so that each message is processed
+ * via a near direct call instead of a reflective {@link Method#invoke(Object, Object...)}. If the method is not accessible to this
+ * processor, for example it is not public, it will fall back to being invoked via reflection.
  */
 @ThreadSafe
 public class CoreMessageProcessor implements MessageProcessor {
     private final QueueProperties queueProperties;
     private final SqsAsyncClient sqsAsyncClient;
     private final Method messageConsumerMethod;
-    private final Object messageConsumerBean;
 
     // These are calculated in the constructor so that it is not recalculated each time a message is processed
-    private final List<InternalArgumentResolver> methodArgumentResolvers;
-    private final Class<?> returnType;
+    private final InternalArgumentResolver[] methodArgumentResolvers;
+    private final MethodInvoker methodInvoker;
+    private final boolean returnsCompletableFuture;
     private final boolean hasAcknowledgeParameter;
 
     public CoreMessageProcessor(final ArgumentResolverService argumentResolverService,
@@ -47,11 +51,11 @@ public class CoreMessageProcessor implements MessageProcessor {
         this.queueProperties = queueProperties;
         this.sqsAsyncClient = sqsAsyncClient;
         this.messageConsumerMethod = messageConsumerMethod;
-        this.messageConsumerBean = messageConsumerBean;
 
         this.methodArgumentResolvers = getArgumentResolvers(argumentResolverService);
+        this.methodInvoker = MethodInvokerUtils.bindMethodInvoker(MethodHandles.lookup(), messageConsumerMethod, messageConsumerBean);
         this.hasAcknowledgeParameter = hasAcknowledgeParameter();
-        this.returnType = messageConsumerMethod.getReturnType();
+        this.returnsCompletableFuture = CompletableFuture.class.isAssignableFrom(messageConsumerMethod.getReturnType());
     }
 
     @Override
@@ -60,9 +64,9 @@ public class CoreMessageProcessor implements MessageProcessor {
 
         final Object result;
         try {
-            result = messageConsumerMethod.invoke(messageConsumerBean, arguments);
-        } catch (final InvocationTargetException | IllegalAccessException | RuntimeException exception) {
-            return CompletableFutureUtils.completedExceptionally(new MessageProcessingException("Error processing message", exception));
+            result = methodInvoker.invoke(arguments);
+        } catch (final Throwable throwable) {
+            return CompletableFutureUtils.completedExceptionally(new MessageProcessingException("Error processing message", throwable));
         }
 
         if (hasAcknowledgeParameter) {
@@ -70,7 +74,7 @@ public class CoreMessageProcessor implements MessageProcessor {
             return CompletableFuture.completedFuture(null);
         }
 
-        if (CompletableFuture.class.isAssignableFrom(returnType)) {
+        if (returnsCompletableFuture) {
             final CompletableFuture<?> resultCompletableFuture = (CompletableFuture) result;
 
             if (resultCompletableFuture == null) {
@@ -92,12 +96,14 @@ public class CoreMessageProcessor implements MessageProcessor {
      * @return the array of arguments to call the method with
      */
     private Object[] getArguments(final Message message, final Runnable resolveMessageCallback) {
-        return methodArgumentResolvers.stream()
-                .map(resolver -> resolver.resolveArgument(message, resolveMessageCallback))
-                .toArray(Object[]::new);
+        final Object[] arguments = new Object[methodArgumentResolvers.length];
+        for (int i = 0; i < methodArgumentResolvers.length; ++i) {
+            arguments[i] = methodArgumentResolvers[i].resolveArgument(message, resolveMessageCallback);
+        }
+        return arguments;
     }
 
-    private List<InternalArgumentResolver> getArgumentResolvers(final ArgumentResolverService argumentResolverService) {
+    private InternalArgumentResolver[] getArgumentResolvers(final ArgumentResolverService argumentResolverService) {
         final Parameter[] parameters = messageConsumerMethod.getParameters();
         return IntStream.range(0, parameters.length)
                 .<InternalArgumentResolver>mapToObj(parameterIndex -> {
@@ -117,10 +123,11 @@ public class CoreMessageProcessor implements MessageProcessor {
                         return (message, resolveMessageCallback) -> new DefaultVisibilityExtender(sqsAsyncClient, queueProperties, message);
                     }
 
-                    final ArgumentResolver<?> argumentResolver = argumentResolverService.getArgumentResolver(methodParameter);
-                    return (message, resolveMessageCallback) -> argumentResolver.resolveArgumentForParameter(queueProperties, methodParameter, message);
+                    final BoundArgumentResolver<?> argumentResolver = argumentResolverService.getArgumentResolver(methodParameter)
+                            .bindToParameter(queueProperties, methodParameter);
+                    return (message, resolveMessageCallback) -> argumentResolver.resolveArgument(message);
                 })
-                .collect(toList());
+                .toArray(InternalArgumentResolver[]::new);
     }
 
     private boolean hasAcknowledgeParameter() {
@@ -0,0 +1,266 @@
+package com.jashmore.sqs.processor.backoff;
+
+import static com.jashmore.sqs.aws.AwsConstants.MAX_NUMBER_OF_MESSAGES_IN_BATCH;
+import static com.jashmore.sqs.processor.backoff.BackoffOnFailureMessageProcessorConstants.DEFAULT_INITIAL_BACKOFF_IN_SECONDS;
+import static com.jashmore.sqs.processor.backoff.BackoffOnFailureMessageProcessorConstants.DEFAULT_JITTER;
+import static com.jashmore.sqs.processor.backoff.BackoffOnFailureMessageProcessorConstants.DEFAULT_MAX_BACKOFF_IN_SECONDS;
+import static com.jashmore.sqs.processor.backoff.BackoffOnFailureMessageProcessorConstants.MAX_VISIBILITY_TIMEOUT_IN_SECONDS;
+import static java.util.stream.Collectors.toList;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
+import com.google.common.primitives.Doubles;
+
+import com.jashmore.sqs.QueueProperties;
+import com.jashmore.sqs.processor.MessageProcessingException;
+import com.jashmore.sqs.processor.MessageProcessor;
+import com.jashmore.sqs.util.concurrent.CompletableFutureUtils;
+import com.jashmore.sqs.util.properties.PropertyUtils;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+import java.util.stream.IntStream;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * {@link MessageProcessor} that will change the visibility timeout of any message that failed to be processed so that it is received again after an
+ * exponential backoff, instead of after the full visibility timeout that it was received with.
+ *
+ * <p>Without this, a message that failed to be processed will either not be retried until the visibility timeout expires, which may be much longer than
+ * needed for a temporary failure, or it will be retried straight away when a short visibility timeout is used, which can cause a message that will never
+ * succeed to be constantly reprocessed. The backoff starts at {@link BackoffOnFailureMessageProcessorProperties#getInitialBackoffInSeconds()} the first
+ * time a message is received and doubles for each further time that it has been received, as determined by the
+ * {@link MessageSystemAttributeName#APPROXIMATE_RECEIVE_COUNT} attribute, up to
+ * {@link BackoffOnFailureMessageProcessorProperties#getMaxBackoffInSeconds()}. A random proportion of each backoff, limited by
+ * {@link BackoffOnFailureMessageProcessorProperties#getBackoffJitter()}, is removed so that messages that failed at the same time are not all received
+ * again at the same time. If the message was retrieved without this attribute, it will be treated as the first time that the message was received.
+ *
+ * <p>The visibility of the failed messages is changed via {@link SqsAsyncClient#changeMessageVisibilityBatch(ChangeMessageVisibilityBatchRequest)}.
+ * When no requests are in flight, the visibility of a failed message is changed straight away. Otherwise, the messages that fail while the requests are in
+ * flight are buffered and sent together, in batches of up to {@link com.jashmore.sqs.aws.AwsConstants#MAX_NUMBER_OF_MESSAGES_IN_BATCH}, once the
+ * requests have completed. This means that a large number of failures, for example during an outage of a downstream service, results in a small number
+ * of requests to SQS without delaying the visibility change when failures are rare.
+ *
+ * <p>This processor does not use any threads of its own and therefore there is no need for it to be explicitly stopped.
+ */
+@Slf4j
+@ThreadSafe
+public class BackoffOnFailureMessageProcessor implements MessageProcessor {
+    private final MessageProcessor delegate;
+    private final QueueProperties queueProperties;
+    private final SqsAsyncClient sqsAsyncClient;
+    private final BackoffOnFailureMessageProcessorProperties properties;
+    private final DoubleSupplier randomSupplier;
+
+    private final Queue<VisibilityChange> pendingVisibilityChanges = new ConcurrentLinkedQueue<>();
+
+    @GuardedBy("this")
+    private boolean requestsInFlight;
+
+    public BackoffOnFailureMessageProcessor(final MessageProcessor delegate,
+                                            final QueueProperties queueProperties,
+                                            final SqsAsyncClient sqsAsyncClient,
+                                            final BackoffOnFailureMessageProcessorProperties properties) {
+        this(delegate, queueProperties, sqsAsyncClient, properties, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    @VisibleForTesting
+    BackoffOnFailureMessageProcessor(final MessageProcessor delegate,
+                                     final QueueProperties queueProperties,
+                                     final SqsAsyncClient sqsAsyncClient,
+                                     final BackoffOnFailureMessageProcessorProperties properties,
+                                     final DoubleSupplier randomSupplier) {
+        this.delegate = delegate;
+        this.queueProperties = queueProperties;
+        this.sqsAsyncClient = sqsAsyncClient;
+        this.properties = properties;
+        this.randomSupplier = randomSupplier;
+    }
+
+    @Override
+    public CompletableFuture<?> processMessage(final Message message, final Runnable resolveMessageCallback) throws MessageProcessingException {
+        final CompletableFuture<?> processingFuture;
+        try {
+            processingFuture = delegate.processMessage(message, resolveMessageCallback);
+        } catch (final RuntimeException runtimeException) {
+            backoffMessage(message);
+            throw runtimeException;
+        }
+
+        return processingFuture.whenComplete((ignoredResult, throwable) -> {
+            if (throwable != null) {
+                backoffMessage(message);
+            }
+        });
+    }
+
+    /**
+     * Queue the change of the visibility of the failed message and send it if there are no requests in flight.
+     *
+     * @param message the message that failed to be processed
+     */
+    private void backoffMessage(final Message message) {
+        try {
+            final int backoffInSeconds = calculateBackoffInSeconds(message);
+            log.debug("Message {} failed to be processed, it will be visible again in {} seconds", message.messageId(), backoffInSeconds);
+            pendingVisibilityChanges.add(new VisibilityChange(message, backoffInSeconds));
+            sendPendingVisibilityChanges();
+        } catch (final RuntimeException runtimeException) {
+            log.error("Error changing the visibility of message {} that failed to be processed", message.messageId(), runtimeException);
+        }
+    }
+
+    /**
+     * Send all of the pending visibility changes if there are no requests currently in flight.
+     *
+     * <p>When the requests have completed, this will be called again so that any visibility changes that were added while the requests were in flight are
+     * sent together.
+     */
+    private void sendPendingVisibilityChanges() {
+        final List<VisibilityChange> visibilityChanges = new ArrayList<>();
+        synchronized (this) {
+            if (requestsInFlight) {
+                return;
+            }
+
+            VisibilityChange visibilityChange = pendingVisibilityChanges.poll();
+            while (visibilityChange != null) {
+                visibilityChanges.add(visibilityChange);
+                visibilityChange = pendingVisibilityChanges.poll();
+            }
+
+            if (visibilityChanges.isEmpty()) {
+                return;
+            }
+            requestsInFlight = true;
+        }
+
+        log.debug("Changing the visibility of {} messages that failed to be processed", visibilityChanges.size());
+        final CompletableFuture<?>[] batchFutures = Lists.partition(visibilityChanges, MAX_NUMBER_OF_MESSAGES_IN_BATCH).stream()
+                .map(this::changeVisibilityOfBatch)
+                .toArray(CompletableFuture<?>[]::new);
+        CompletableFuture.allOf(batchFutures)
+                .whenComplete((ignoredResult, ignoredThrowable) -> {
+                    synchronized (this) {
+                        requestsInFlight = false;
+                    }
+                    sendPendingVisibilityChanges();
+                });
+    }
+
+    /**
+     * Change the visibility of the batch of messages.
+     *
+     * @param batchOfVisibilityChanges the visibility changes to send
+     * @return the future that will be resolved when the request has completed, which will never be completed exceptionally
+     */
+    private CompletableFuture<?> changeVisibilityOfBatch(final List<VisibilityChange> batchOfVisibilityChanges) {
+        final ChangeMessageVisibilityBatchRequest request = ChangeMessageVisibilityBatchRequest.builder()
+                .queueUrl(queueProperties.getQueueUrl())
+                .entries(IntStream.range(0, batchOfVisibilityChanges.size())
+                        .mapToObj(index -> ChangeMessageVisibilityBatchRequestEntry.builder()
+                                .id(String.valueOf(index))
+                                .receiptHandle(batchOfVisibilityChanges.get(index).getMessage().receiptHandle())
+                                .visibilityTimeout(batchOfVisibilityChanges.get(index).getVisibilityTimeoutInSeconds())
+                                .build())
+                        .collect(toList()))
+                .build();
+
+        CompletableFuture<ChangeMessageVisibilityBatchResponse> responseFuture;
+        try {
+            responseFuture = sqsAsyncClient.changeMessageVisibilityBatch(request);
+        } catch (final RuntimeException runtimeException) {
+            responseFuture = CompletableFutureUtils.completedExceptionally(runtimeException);
+        }
+
+        return responseFuture.handle((response, throwable) -> {
+            if (throwable != null) {
+                log.error("Error changing the visibility of {} messages that failed to be processed", batchOfVisibilityChanges.size(), throwable);
+                return null;
+            }
+
+            response.failed().forEach(entry -> log.warn("Unable to change the visibility of message with id {}: {}",
+                    batchOfVisibilityChanges.get(Integer.parseInt(entry.id())).getMessage().messageId(), entry.message()));
+            return null;
+        });
+    }
+
+    private int calculateBackoffInSeconds(final Message message) {
+        final int numberOfPreviousReceives = getApproximateReceiveCount(message) - 1;
+        final long maxBackoffInSeconds = Math.min(MAX_VISIBILITY_TIMEOUT_IN_SECONDS, getMaxBackoffInSeconds());
+        // limit the shift so that the backoff cannot overflow, the maximum will have been reached well before this anyway
+        final long exponentialBackoffInSeconds = ((long) getInitialBackoffInSeconds()) << Math.min(numberOfPreviousReceives, 30);
+        final long backoffInSeconds = Math.min(maxBackoffInSeconds, exponentialBackoffInSeconds);
+        return (int) (backoffInSeconds - (long) (backoffInSeconds * getJitter() * randomSupplier.getAsDouble()));
+    }
+
+    private int getApproximateReceiveCount(final Message message) {
+        final String approximateReceiveCount = message.attributes().get(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT);
+        if (approximateReceiveCount == null) {
+            log.debug("Message {} does not have the {} attribute, treating it as the first receive", message.messageId(),
+                    MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT);
+            return 1;
+        }
+
+        try {
+            return Math.max(1, Integer.parseInt(approximateReceiveCount));
+        } catch (final NumberFormatException numberFormatException) {
+            log.warn("Invalid {} attribute for message {}: {}", MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT, message.messageId(),
+                    approximateReceiveCount);
+            return 1;
+        }
+    }
+
+    private int getInitialBackoffInSeconds() {
+        return PropertyUtils.safelyGetPositiveIntegerValue(
+                "initialBackoffInSeconds",
+                properties::getInitialBackoffInSeconds,
+                DEFAULT_INITIAL_BACKOFF_IN_SECONDS
+        );
+    }
+
+    private int getMaxBackoffInSeconds() {
+        return PropertyUtils.safelyGetPositiveOrZeroIntegerValue(
+                "maxBackoffInSeconds",
+                properties::getMaxBackoffInSeconds,
+                DEFAULT_MAX_BACKOFF_IN_SECONDS
+        );
+    }
+
+    private double getJitter() {
+        return Doubles.constrainToRange(
+                PropertyUtils.safelyGetPositiveOrZeroDoubleValue("backoffJitter", properties::getBackoffJitter, DEFAULT_JITTER),
+                0,
+                1
+        );
+    }
+
+    /**
+     * Internal bean used for storing the change of visibility for a failed message until it is sent.
+     */
+    @Value
+    private static class VisibilityChange {
+        /**
+         * The message that failed to be processed.
+         */
+        private final Message message;
+        /**
+         * The visibility timeout to apply to the message.
+         */
+        private final int visibilityTimeoutInSeconds;
+    }
+}
@@ -0,0 +1,26 @@
+package com.jashmore.sqs.processor.backoff;
+
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+class BackoffOnFailureMessageProcessorConstants {
+    /**
+     * The default visibility timeout applied to a message that failed to be processed the first time that it was received.
+     */
+    static final int DEFAULT_INITIAL_BACKOFF_IN_SECONDS = 1;
+
+    /**
+     * The default maximum visibility timeout applied to a message that failed to be processed.
+     */
+    static final int DEFAULT_MAX_BACKOFF_IN_SECONDS = 900;
+
+    /**
+     * The default proportion of the backoff that can be randomly removed.
+     */
+    static final double DEFAULT_JITTER = 0.5;
+
+    /**
+     * The maximum visibility timeout that SQS allows for a message.
+     */
+    static final int MAX_VISIBILITY_TIMEOUT_IN_SECONDS = 43_200;
+}
@@ -0,0 +1,53 @@
+package com.jashmore.sqs.processor.backoff;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+/**
+ * Properties for configuring how long the {@link BackoffOnFailureMessageProcessor} will wait before a message that failed to be processed is received
+ * again.
+ *
+ * <p>These properties are obtained each time a message fails to be processed and therefore can be changed during execution.
+ */
+public interface BackoffOnFailureMessageProcessorProperties {
+    /**
+     * The number of seconds before a message that failed to be processed the first time it was received will be visible on the queue again.
+     *
+     * <p>This is doubled for each further time that the message has been received, as determined by the approximate receive count of the message.
+     *
+     * <p>If this value is null or not positive, {@link BackoffOnFailureMessageProcessorConstants#DEFAULT_INITIAL_BACKOFF_IN_SECONDS} will be used.
+     *
+     * @return the initial backoff in seconds or null if the default should be used
+     */
+    @Nullable
+    @Positive
+    Integer getInitialBackoffInSeconds();
+
+    /**
+     * The maximum number of seconds before a message that failed to be processed will be visible on the queue again.
+     *
+     * <p>If this value is null or negative, {@link BackoffOnFailureMessageProcessorConstants#DEFAULT_MAX_BACKOFF_IN_SECONDS} will be used and it will
+     * never be more than the maximum visibility timeout allowed by SQS of 12 hours.
+     *
+     * @return the maximum backoff in seconds or null if the default should be used
+     */
+    @Nullable
+    @PositiveOrZero
+    Integer getMaxBackoffInSeconds();
+
+    /**
+     * The proportion of each backoff that can be randomly removed, between 0 and 1.
+     *
+     * <p>This prevents messages that failed at the same time, for example due to an outage of a downstream service, from all being received again at
+     * the same time.
+     *
+     * <p>If this value is null or negative, {@link BackoffOnFailureMessageProcessorConstants#DEFAULT_JITTER} will be used and if it is greater than 1,
+     * 1 will be used.
+     *
+     * @return the jitter for the backoff or null if the default should be used
+     */
+    @Nullable
+    @PositiveOrZero
+    Double getBackoffJitter();
+}
@@ -0,0 +1,46 @@
+package com.jashmore.sqs.processor.backoff;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import net.jcip.annotations.ThreadSafe;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+/**
+ * Implementation that stores the value as non-mutable field values and therefore will return the same value on every call.
+ *
+ * <p>This implementation is thread safe, even though it doesn't need to be, due to it only returning immutable values.
+ */
+@ToString
+@EqualsAndHashCode
+@Builder(toBuilder = true)
+@ThreadSafe
+public final class StaticBackoffOnFailureMessageProcessorProperties implements BackoffOnFailureMessageProcessorProperties {
+    private final Integer initialBackoffInSeconds;
+    private final Integer maxBackoffInSeconds;
+    private final Double backoffJitter;
+
+    @Nullable
+    @Positive
+    @Override
+    public Integer getInitialBackoffInSeconds() {
+        return initialBackoffInSeconds;
+    }
+
+    @Nullable
+    @PositiveOrZero
+    @Override
+    public Integer getMaxBackoffInSeconds() {
+        return maxBackoffInSeconds;
+    }
+
+    @Nullable
+    @PositiveOrZero
+    @Override
+    public Double getBackoffJitter() {
+        return backoffJitter;
+    }
+}
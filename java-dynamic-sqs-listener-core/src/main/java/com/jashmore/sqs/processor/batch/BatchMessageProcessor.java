@@ -0,0 +1,316 @@
+package com.jashmore.sqs.processor.batch;
+
+import static com.jashmore.sqs.processor.batch.BatchMessageProcessorConstants.DEFAULT_BATCHING_PERIOD_IN_MS;
+import static com.jashmore.sqs.processor.batch.BatchMessageProcessorConstants.DEFAULT_BATCH_SIZE;
+
+import com.jashmore.sqs.QueueProperties;
+import com.jashmore.sqs.argument.ArgumentResolverService;
+import com.jashmore.sqs.argument.BoundArgumentResolver;
+import com.jashmore.sqs.argument.DefaultMethodParameter;
+import com.jashmore.sqs.argument.MethodParameter;
+import com.jashmore.sqs.argument.UnsupportedArgumentResolutionException;
+import com.jashmore.sqs.processor.MessageProcessingException;
+import com.jashmore.sqs.processor.MessageProcessor;
+import com.jashmore.sqs.util.method.MethodInvoker;
+import com.jashmore.sqs.util.method.MethodInvokerUtils;
+import com.jashmore.sqs.util.properties.PropertyUtils;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * {@link MessageProcessor} that groups the messages being processed into batches and calls the message listener method once for each batch.
+ *
+ * <p>Each parameter of the message listener method must be a {@link List} and the arguments for each element of the list are resolved per message via the
+ * {@link ArgumentResolverService}, with the index of each element corresponding to the same message across each of the parameters. For example, the
+ * following method will be called with the payload and message id of each message in the batch:
+ *
+ * <pre class="code">
+ * public void process(&#64;Payload List&lt;Request&gt; payloads, &#64;MessageId List&lt;String&gt; messageIds) {
+ *     // process the batch
+ * }
+ * </pre>
+ *
+ * <p>A batch is processed when {@link BatchMessageProcessorProperties#getBatchSize()} messages are waiting to be processed or when the first message in the
+ * batch has been waiting for {@link BatchMessageProcessorProperties#getBatchingPeriodInMs()}. As this processor will only receive as many messages at
+ * once as the {@link com.jashmore.sqs.broker.MessageBroker} allows to be processed concurrently, the concurrency of the broker should be at least the
+ * batch size otherwise the batch will never be filled.
+ *
+ * <p>If the arguments can not be resolved for a message it is excluded from the batch and is not resolved. Otherwise all of the messages in the batch are
+ * resolved if the method completes without throwing an exception, or the {@link CompletableFuture} returned by the method is completed. As all of these
+ * messages are resolved at the same time a batching {@link com.jashmore.sqs.resolver.MessageResolver} is able to delete them in a single request.
+ *
+ * <p>If the method throws any exception, or can not be called with the resolved arguments, all of the messages in the batch fail to be processed and none
+ * of them are resolved.
+ *
+ * <p>The {@link com.jashmore.sqs.processor.argument.Acknowledge} and {@link com.jashmore.sqs.processor.argument.VisibilityExtender} arguments are
+ * not supported by this processor.
+ */
+@Slf4j
+@ThreadSafe
+public class BatchMessageProcessor implements MessageProcessor {
+    private final QueueProperties queueProperties;
+    private final Method messageConsumerMethod;
+    private final BatchMessageProcessorProperties properties;
+
+    // These are calculated in the constructor so that it is not recalculated each time a batch is processed
+    private final ElementArgumentResolver[] elementArgumentResolvers;
+    private final MethodInvoker methodInvoker;
+    private final boolean returnsCompletableFuture;
+
+    /**
+     * The messages that are waiting for the batch to be filled before being processed.
+     */
+    @GuardedBy("this")
+    private List<BatchEntry> currentBatch = new ArrayList<>();
+
+    public BatchMessageProcessor(final ArgumentResolverService argumentResolverService,
+                                 final QueueProperties queueProperties,
+                                 final Method messageConsumerMethod,
+                                 final Object messageConsumerBean,
+                                 final BatchMessageProcessorProperties properties) {
+        this.queueProperties = queueProperties;
+        this.messageConsumerMethod = messageConsumerMethod;
+        this.properties = properties;
+
+        this.elementArgumentResolvers = getElementArgumentResolvers(argumentResolverService);
+        this.methodInvoker = MethodInvokerUtils.bindMethodInvoker(MethodHandles.lookup(), messageConsumerMethod, messageConsumerBean);
+        this.returnsCompletableFuture = CompletableFuture.class.isAssignableFrom(messageConsumerMethod.getReturnType());
+    }
+
+    /**
+     * Adds the message to the current batch, processing the batch if it is now full.
+     *
+     * <p>If this message is the first in the batch, this thread will wait until the batch has been filled by other messages or the batching period has
+     * elapsed, in which case this thread will process the batch.
+     *
+     * @param message                the message to process
+     * @param resolveMessageCallback the callback that should be run when the message was processed successfully
+     * @return future that is completed when the batch containing this message has been processed
+     */
+    @Override
+    public CompletableFuture<?> processMessage(final Message message, final Runnable resolveMessageCallback) throws MessageProcessingException {
+        final BatchEntry batchEntry = new BatchEntry(message, resolveMessageCallback, new CompletableFuture<>());
+        final List<BatchEntry> batchToProcess;
+        synchronized (this) {
+            final List<BatchEntry> batch = currentBatch;
+            batch.add(batchEntry);
+            if (batch.size() >= getBatchSize()) {
+                currentBatch = new ArrayList<>();
+                notifyAll();
+                batchToProcess = batch;
+            } else if (batch.size() == 1) {
+                waitForBatchToBeFilled(batch);
+                if (currentBatch != batch) {
+                    // another thread filled the batch and is processing it
+                    return batchEntry.future;
+                }
+                currentBatch = new ArrayList<>();
+                batchToProcess = batch;
+            } else {
+                return batchEntry.future;
+            }
+        }
+
+        processBatch(batchToProcess);
+        return batchEntry.future;
+    }
+
+    @GuardedBy("this")
+    private void waitForBatchToBeFilled(final List<BatchEntry> batch) {
+        final long batchingPeriodInNanoseconds = TimeUnit.MILLISECONDS.toNanos(getBatchingPeriodInMs());
+        final long batchingEndTime = System.nanoTime() + batchingPeriodInNanoseconds;
+        try {
+            long remainingNanoseconds = batchingPeriodInNanoseconds;
+            while (currentBatch == batch && remainingNanoseconds > 0) {
+                TimeUnit.NANOSECONDS.timedWait(this, remainingNanoseconds);
+                remainingNanoseconds = batchingEndTime - System.nanoTime();
+            }
+        } catch (final InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            if (currentBatch == batch) {
+                currentBatch = new ArrayList<>();
+                final MessageProcessingException exception = new MessageProcessingException("Interrupted while waiting for the batch to be filled",
+                        interruptedException);
+                batch.forEach(entry -> entry.future.completeExceptionally(exception));
+            }
+        }
+    }
+
+    /**
+     * Resolve the arguments for each message in the batch and call the message consumer method with them.
+     *
+     * @param batch the messages to process
+     */
+    private void processBatch(final List<BatchEntry> batch) {
+        final List<BatchEntry> resolvedEntries = new ArrayList<>(batch.size());
+        final List<List<Object>> arguments = new ArrayList<>(elementArgumentResolvers.length);
+        for (int i = 0; i < elementArgumentResolvers.length; ++i) {
+            arguments.add(new ArrayList<>(batch.size()));
+        }
+
+        for (final BatchEntry entry : batch) {
+            final Object[] elementArguments = new Object[elementArgumentResolvers.length];
+            try {
+                for (int i = 0; i < elementArgumentResolvers.length; ++i) {
+                    elementArguments[i] = elementArgumentResolvers[i].resolveArgument(entry.message);
+                }
+            } catch (final RuntimeException runtimeException) {
+                entry.future.completeExceptionally(new MessageProcessingException("Error resolving arguments for message", runtimeException));
+                continue;
+            }
+
+            resolvedEntries.add(entry);
+            for (int i = 0; i < elementArguments.length; ++i) {
+                arguments.get(i).add(elementArguments[i]);
+            }
+        }
+
+        if (resolvedEntries.isEmpty()) {
+            return;
+        }
+
+        log.debug("Processing batch of {} messages", resolvedEntries.size());
+        final Object result;
+        try {
+            result = methodInvoker.invoke(arguments.toArray());
+        } catch (final Throwable throwable) {
+            failEntries(resolvedEntries, new MessageProcessingException("Error processing batch of messages", throwable));
+            return;
+        }
+
+        if (!returnsCompletableFuture) {
+            resolveEntries(resolvedEntries);
+            return;
+        }
+
+        final CompletableFuture<?> resultCompletableFuture = (CompletableFuture<?>) result;
+        if (resultCompletableFuture == null) {
+            failEntries(resolvedEntries, new MessageProcessingException("Method returns CompletableFuture but null was returned"));
+            return;
+        }
+
+        resultCompletableFuture.whenComplete((ignoredResult, throwable) -> {
+            if (throwable != null) {
+                failEntries(resolvedEntries, new MessageProcessingException("Error processing batch of messages", throwable));
+            } else {
+                resolveEntries(resolvedEntries);
+            }
+        });
+    }
+
+    private static void resolveEntries(final List<BatchEntry> entries) {
+        entries.forEach(entry -> {
+            try {
+                entry.resolveMessageCallback.run();
+            } catch (final RuntimeException runtimeException) {
+                entry.future.completeExceptionally(new MessageProcessingException("Error resolving message", runtimeException));
+                return;
+            }
+            entry.future.complete(null);
+        });
+    }
+
+    private static void failEntries(final List<BatchEntry> entries, final MessageProcessingException exception) {
+        entries.forEach(entry -> entry.future.completeExceptionally(exception));
+    }
+
+    private ElementArgumentResolver[] getElementArgumentResolvers(final ArgumentResolverService argumentResolverService) {
+        final Parameter[] parameters = messageConsumerMethod.getParameters();
+        return IntStream.range(0, parameters.length)
+                .mapToObj(parameterIndex -> {
+                    final Parameter parameter = parameters[parameterIndex];
+                    final MethodParameter listMethodParameter = DefaultMethodParameter.builder()
+                            .method(messageConsumerMethod)
+                            .parameter(parameter)
+                            .parameterIndex(parameterIndex)
+                            .build();
+
+                    final Class<?> elementType = getListElementType(parameter)
+                            .orElseThrow(() -> new UnsupportedArgumentResolutionException(listMethodParameter));
+                    final Type elementGenericType = ((ParameterizedType) parameter.getParameterizedType()).getActualTypeArguments()[0];
+                    final MethodParameter elementMethodParameter = new ListElementMethodParameter(listMethodParameter, elementType, elementGenericType);
+                    final BoundArgumentResolver<?> argumentResolver = argumentResolverService.getArgumentResolver(elementMethodParameter)
+                            .bindToParameter(queueProperties, elementMethodParameter);
+                    return (ElementArgumentResolver) argumentResolver::resolveArgument;
+                })
+                .toArray(ElementArgumentResolver[]::new);
+    }
+
+    /**
+     * Get the type of the elements of the parameter if it is a {@link List}.
+     *
+     * @param parameter the parameter of the method
+     * @return the type of each element in the list or empty if the parameter is not a {@link List} with a known element type
+     */
+    private static Optional<Class<?>> getListElementType(final Parameter parameter) {
+        if (parameter.getType() != List.class || !(parameter.getParameterizedType() instanceof ParameterizedType)) {
+            return Optional.empty();
+        }
+
+        final Type elementType = ((ParameterizedType) parameter.getParameterizedType()).getActualTypeArguments()[0];
+        if (elementType instanceof Class) {
+            return Optional.of((Class<?>) elementType);
+        }
+
+        if (elementType instanceof ParameterizedType && ((ParameterizedType) elementType).getRawType() instanceof Class) {
+            return Optional.of((Class<?>) ((ParameterizedType) elementType).getRawType());
+        }
+
+        return Optional.empty();
+    }
+
+    private int getBatchSize() {
+        return PropertyUtils.safelyGetPositiveIntegerValue(
+                "batchSize",
+                properties::getBatchSize,
+                DEFAULT_BATCH_SIZE
+        );
+    }
+
+    private long getBatchingPeriodInMs() {
+        return PropertyUtils.safelyGetPositiveOrZeroLongValue(
+                "batchingPeriodInMs",
+                properties::getBatchingPeriodInMs,
+                DEFAULT_BATCHING_PERIOD_IN_MS
+        );
+    }
+
+    /**
+     * A message in the batch waiting to be processed.
+     */
+    @AllArgsConstructor
+    private static class BatchEntry {
+        private final Message message;
+        private final Runnable resolveMessageCallback;
+        private final CompletableFuture<Object> future;
+    }
+
+    /**
+     * Internal resolver for resolving the argument of a single element of a {@link List} parameter given the message.
+     */
+    @FunctionalInterface
+    interface ElementArgumentResolver {
+        /**
+         * Resolve the element of the argument for the message.
+         *
+         * @param message the message that is being processed
+         * @return the element that should be added to the {@link List} argument for the corresponding parameter
+         */
+        Object resolveArgument(final Message message);
+    }
+}
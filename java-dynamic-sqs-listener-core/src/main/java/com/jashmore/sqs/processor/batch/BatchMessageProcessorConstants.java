@@ -0,0 +1,17 @@
+package com.jashmore.sqs.processor.batch;
+
+import com.jashmore.sqs.aws.AwsConstants;
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+class BatchMessageProcessorConstants {
+    /**
+     * The default number of messages that will be processed together in a single batch.
+     */
+    static final int DEFAULT_BATCH_SIZE = AwsConstants.MAX_NUMBER_OF_MESSAGES_IN_BATCH;
+
+    /**
+     * The default amount of time that the first message in a batch will wait for the batch to be filled before it is processed.
+     */
+    static final long DEFAULT_BATCHING_PERIOD_IN_MS = 2_000L;
+}
@@ -0,0 +1,40 @@
+package com.jashmore.sqs.processor.batch;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+/**
+ * Properties for dynamically configuring how the {@link BatchMessageProcessor} groups messages into batches.
+ *
+ * <p>These properties will be consumed every time a message is processed and therefore the performance of this implementation should be considered.
+ */
+public interface BatchMessageProcessorProperties {
+    /**
+     * The maximum number of messages that will be processed together by a single call to the message listener method.
+     *
+     * <p>Once this many messages are waiting to be processed the batch will be processed straight away. To allow the batch to be filled the
+     * {@link com.jashmore.sqs.broker.MessageBroker} must be allowing at least this many messages to be processed concurrently.
+     *
+     * <p>Keeping this value less than or equal to {@link com.jashmore.sqs.aws.AwsConstants#MAX_NUMBER_OF_MESSAGES_IN_BATCH} will allow the messages in the
+     * batch to be deleted from the queue in a single request.
+     *
+     * <p>If this value is not positive, {@link BatchMessageProcessorConstants#DEFAULT_BATCH_SIZE} will be used instead.
+     *
+     * @return the maximum number of messages in each batch
+     */
+    @Positive
+    int getBatchSize();
+
+    /**
+     * The maximum period of time that the first message in a batch will wait for the batch to be filled before it is processed.
+     *
+     * <p>If this value is zero, the messages will be processed as soon as they are received unless enough messages are received concurrently to fill
+     * the batch. If this value is null or negative, {@link BatchMessageProcessorConstants#DEFAULT_BATCHING_PERIOD_IN_MS} will be used instead.
+     *
+     * @return the period in milliseconds to wait for the batch to be filled
+     */
+    @Nullable
+    @PositiveOrZero
+    Long getBatchingPeriodInMs();
+}
@@ -0,0 +1,53 @@
+package com.jashmore.sqs.processor.batch;
+
+import com.jashmore.sqs.argument.MethodParameter;
+import lombok.AllArgsConstructor;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
+import javax.annotation.Nonnull;
+import javax.validation.constraints.PositiveOrZero;
+
+/**
+ * {@link MethodParameter} for resolving a single element of a {@link java.util.List} parameter.
+ *
+ * <p>This allows for the {@link com.jashmore.sqs.argument.ArgumentResolver}s to resolve the argument for each message in a batch the same way as they
+ * would for a parameter of the element type.
+ */
+@AllArgsConstructor
+class ListElementMethodParameter implements MethodParameter {
+    private final MethodParameter listMethodParameter;
+    private final Class<?> elementType;
+    private final Type elementGenericType;
+
+    @Nonnull
+    @Override
+    public Method getMethod() {
+        return listMethodParameter.getMethod();
+    }
+
+    @Nonnull
+    @Override
+    public Parameter getParameter() {
+        return listMethodParameter.getParameter();
+    }
+
+    @PositiveOrZero
+    @Override
+    public int getParameterIndex() {
+        return listMethodParameter.getParameterIndex();
+    }
+
+    @Nonnull
+    @Override
+    public Class<?> getArgumentType() {
+        return elementType;
+    }
+
+    @Nonnull
+    @Override
+    public Type getArgumentGenericType() {
+        return elementGenericType;
+    }
+}
@@ -0,0 +1,48 @@
+package com.jashmore.sqs.processor.batch;
+
+import com.google.common.base.Preconditions;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import net.jcip.annotations.ThreadSafe;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+/**
+ * Implementation that stores the value as non-mutable field values and therefore will return the same value on every call.
+ *
+ * <p>This implementation is thread safe, even though it doesn't need to be, due to it only returning immutable values.
+ */
+@ToString
+@EqualsAndHashCode
+@Builder(toBuilder = true)
+@ThreadSafe
+public final class StaticBatchMessageProcessorProperties implements BatchMessageProcessorProperties {
+    private final Integer batchSize;
+    private final Long batchingPeriodInMs;
+
+    public StaticBatchMessageProcessorProperties(final Integer batchSize,
+                                                 final Long batchingPeriodInMs) {
+        Preconditions.checkArgument(batchSize != null && batchSize > 0, "batchSize should be greater than zero");
+        Preconditions.checkArgument(batchingPeriodInMs == null || batchingPeriodInMs >= 0, "batchingPeriodInMs should be null or not negative");
+
+        this.batchSize = batchSize;
+        this.batchingPeriodInMs = batchingPeriodInMs;
+    }
+
+    @Positive
+    @Override
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    @Nullable
+    @PositiveOrZero
+    @Override
+    public Long getBatchingPeriodInMs() {
+        return batchingPeriodInMs;
+    }
+}
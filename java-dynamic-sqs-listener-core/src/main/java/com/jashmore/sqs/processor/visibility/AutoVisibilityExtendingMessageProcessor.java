@@ -0,0 +1,242 @@
+package com.jashmore.sqs.processor.visibility;
+
+import static com.jashmore.sqs.aws.AwsConstants.MAX_NUMBER_OF_MESSAGES_IN_BATCH;
+import static com.jashmore.sqs.processor.visibility.AutoVisibilityExtendingMessageProcessorConstants.DEFAULT_BUFFER_TIME_IN_SECONDS;
+import static com.jashmore.sqs.processor.visibility.AutoVisibilityExtendingMessageProcessorConstants.DEFAULT_CHECK_PERIOD_IN_MILLISECONDS;
+import static java.util.stream.Collectors.toList;
+
+import com.google.common.collect.Lists;
+
+import com.jashmore.sqs.QueueProperties;
+import com.jashmore.sqs.processor.MessageProcessingException;
+import com.jashmore.sqs.processor.MessageProcessor;
+import com.jashmore.sqs.util.message.MessageVisibilityDeadlines;
+import com.jashmore.sqs.util.properties.PropertyUtils;
+import com.jashmore.sqs.util.thread.ThreadUtils;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * {@link MessageProcessor} that will automatically extend the visibility of any message that is taking a long time to process so that it does not
+ * become visible on the queue again and be processed a second time.
+ *
+ * <p>Each message that is being processed by the delegate {@link MessageProcessor} is tracked until the processing of the message has completed. A
+ * background thread will periodically check for the messages that are nearing their visibility timeout and will extend them together via
+ * {@link SqsAsyncClient#changeMessageVisibilityBatch(ChangeMessageVisibilityBatchRequest)} in batches of up to
+ * {@link com.jashmore.sqs.aws.AwsConstants#MAX_NUMBER_OF_MESSAGES_IN_BATCH} messages. This reduces the number of calls made to SQS compared to
+ * each message individually extending its visibility via a {@link com.jashmore.sqs.processor.argument.VisibilityExtender}.
+ *
+ * <p>By default the visibility timeout of a message is assumed to have started when the message started to be processed. If the message could have been
+ * waiting to be processed for a while, for example in the queue of a {@link com.jashmore.sqs.retriever.prefetch.PrefetchingMessageRetriever}, the
+ * {@link MessageVisibilityDeadlines} that the retriever records the messages in should be provided so that the first extension is scheduled from when
+ * the message was received instead. A message that already has less than the buffer time remaining will be extended at the next check.
+ *
+ * <p>The background thread is only running while there are messages being processed and therefore there is no need for this processor to be explicitly
+ * stopped.
+ */
+@Slf4j
+@ThreadSafe
+public class AutoVisibilityExtendingMessageProcessor implements MessageProcessor {
+    private final MessageProcessor delegate;
+    private final QueueProperties queueProperties;
+    private final SqsAsyncClient sqsAsyncClient;
+    private final MessageVisibilityDeadlines visibilityDeadlines;
+    private final String threadNameFormat;
+
+    // These are calculated in the constructor so that it is not recalculated each time a message is processed
+    private final int visibilityTimeoutInSeconds;
+    private final long bufferTimeInNanoseconds;
+    private final long extensionPeriodInNanoseconds;
+    private final long coalescingPeriodInNanoseconds;
+    private final long checkPeriodInMilliseconds;
+
+    /**
+     * The time, in terms of {@link System#nanoTime()}, that each of the messages being processed should have their visibility extended.
+     */
+    private final Map<Message, Long> messageExtensionTimes = new ConcurrentHashMap<>();
+
+    /**
+     * The service running the background thread that extends the visibility of messages, this will be null when no messages are being processed.
+     */
+    @GuardedBy("this")
+    private ScheduledExecutorService scheduledExecutorService;
+
+    public AutoVisibilityExtendingMessageProcessor(final MessageProcessor delegate,
+                                                   final QueueProperties queueProperties,
+                                                   final SqsAsyncClient sqsAsyncClient,
+                                                   final AutoVisibilityExtendingMessageProcessorProperties properties) {
+        this(delegate, queueProperties, sqsAsyncClient, properties, new MessageVisibilityDeadlines());
+    }
+
+    /**
+     * Constructor that schedules the first extension of each message from the visibility deadline recorded for it, if there is one.
+     *
+     * @param delegate            the processor that will process the messages
+     * @param queueProperties     the properties of the queue
+     * @param sqsAsyncClient      the client for communicating with SQS
+     * @param properties          the properties for configuring this processor
+     * @param visibilityDeadlines the visibility deadlines recorded when the messages were received
+     */
+    public AutoVisibilityExtendingMessageProcessor(final MessageProcessor delegate,
+                                                   final QueueProperties queueProperties,
+                                                   final SqsAsyncClient sqsAsyncClient,
+                                                   final AutoVisibilityExtendingMessageProcessorProperties properties,
+                                                   final MessageVisibilityDeadlines visibilityDeadlines) {
+        this.delegate = delegate;
+        this.queueProperties = queueProperties;
+        this.sqsAsyncClient = sqsAsyncClient;
+        this.visibilityDeadlines = visibilityDeadlines;
+        this.threadNameFormat = Thread.currentThread().getName() + "-visibility-extender";
+
+        this.visibilityTimeoutInSeconds = properties.getVisibilityTimeoutInSeconds();
+        final int bufferTimeInSeconds = Math.min(visibilityTimeoutInSeconds / 2, PropertyUtils.safelyGetPositiveOrZeroIntegerValue(
+                "bufferTimeInSeconds",
+                properties::getBufferTimeInSeconds,
+                DEFAULT_BUFFER_TIME_IN_SECONDS
+        ));
+        this.bufferTimeInNanoseconds = TimeUnit.SECONDS.toNanos(bufferTimeInSeconds);
+        this.extensionPeriodInNanoseconds = TimeUnit.SECONDS.toNanos(visibilityTimeoutInSeconds - bufferTimeInSeconds);
+        this.coalescingPeriodInNanoseconds = TimeUnit.SECONDS.toNanos(bufferTimeInSeconds) / 2;
+        this.checkPeriodInMilliseconds = PropertyUtils.safelyGetPositiveLongValue(
+                "checkPeriodInMilliseconds",
+                properties::getCheckPeriodInMilliseconds,
+                DEFAULT_CHECK_PERIOD_IN_MILLISECONDS
+        );
+    }
+
+    @Override
+    public CompletableFuture<?> processMessage(final Message message, final Runnable resolveMessageCallback) throws MessageProcessingException {
+        messageExtensionTimes.put(message, getFirstExtensionTime(message));
+        startBackgroundThreadIfNotRunning();
+
+        final CompletableFuture<?> processingFuture;
+        try {
+            processingFuture = delegate.processMessage(message, resolveMessageCallback);
+        } catch (final RuntimeException runtimeException) {
+            messageExtensionTimes.remove(message);
+            throw runtimeException;
+        }
+
+        return processingFuture.whenComplete((ignoredResult, ignoredThrowable) -> messageExtensionTimes.remove(message));
+    }
+
+    /**
+     * Get the time, in terms of {@link System#nanoTime()}, that the message should first have its visibility extended.
+     *
+     * @param message the message that is starting to be processed
+     * @return the time to first extend the visibility of the message
+     */
+    private long getFirstExtensionTime(final Message message) {
+        final Long visibilityDeadline = visibilityDeadlines.getVisibilityDeadline(message);
+        if (visibilityDeadline == null) {
+            return System.nanoTime() + extensionPeriodInNanoseconds;
+        }
+
+        // This may already have passed if the message has been waiting to be processed, in which case it will be extended at the next check
+        return visibilityDeadline - bufferTimeInNanoseconds;
+    }
+
+    private synchronized void startBackgroundThreadIfNotRunning() {
+        if (scheduledExecutorService == null) {
+            log.debug("Starting background thread for extending the visibility of messages");
+            scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(ThreadUtils.threadFactory(threadNameFormat));
+            scheduledExecutorService.scheduleAtFixedRate(this::extendMessagesNearingVisibilityTimeout,
+                    checkPeriodInMilliseconds, checkPeriodInMilliseconds, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the background thread if there are no more messages being processed.
+     *
+     * <p>This is synchronized with {@link #startBackgroundThreadIfNotRunning()} so that a message that has just started processing will either be seen by
+     * this check or it will start a new background thread.
+     *
+     * @return whether the background thread was stopped
+     */
+    private synchronized boolean stopBackgroundThreadIfNoMessagesBeingProcessed() {
+        if (!messageExtensionTimes.isEmpty() || scheduledExecutorService == null) {
+            return false;
+        }
+
+        log.debug("Stopping background thread for extending the visibility of messages as no messages are being processed");
+        scheduledExecutorService.shutdown();
+        scheduledExecutorService = null;
+        return true;
+    }
+
+    /**
+     * Extends the visibility of the messages that will need to be extended before the next check.
+     *
+     * <p>When there are messages that need to be extended, any other messages that would need to be extended within half of the buffer time are also
+     * extended so that more messages are included in each batch and less requests are made to SQS.
+     *
+     * <p>Any exception is caught so that the periodic execution of this check is not cancelled.
+     */
+    private void extendMessagesNearingVisibilityTimeout() {
+        try {
+            if (stopBackgroundThreadIfNoMessagesBeingProcessed()) {
+                return;
+            }
+
+            final long now = System.nanoTime();
+            final long nextCheckTime = now + TimeUnit.MILLISECONDS.toNanos(checkPeriodInMilliseconds);
+            final boolean anyMessagesNeedExtending = messageExtensionTimes.values().stream()
+                    .anyMatch(extensionTime -> extensionTime - nextCheckTime <= 0);
+            if (!anyMessagesNeedExtending) {
+                return;
+            }
+
+            final long coalescingTime = nextCheckTime + coalescingPeriodInNanoseconds;
+            final List<Message> messagesToExtend = messageExtensionTimes.entrySet().stream()
+                    .filter(entry -> entry.getValue() - coalescingTime <= 0)
+                    .map(Map.Entry::getKey)
+                    .collect(toList());
+
+            log.debug("Extending the visibility of {} messages", messagesToExtend.size());
+            final long nextExtensionTime = now + extensionPeriodInNanoseconds;
+            messagesToExtend.forEach(message -> messageExtensionTimes.computeIfPresent(message, (ignoredMessage, ignoredTime) -> nextExtensionTime));
+            Lists.partition(messagesToExtend, MAX_NUMBER_OF_MESSAGES_IN_BATCH)
+                    .forEach(this::extendVisibilityOfBatch);
+        } catch (final RuntimeException runtimeException) {
+            log.error("Error extending the visibility of messages", runtimeException);
+        }
+    }
+
+    private void extendVisibilityOfBatch(final List<Message> batchOfMessages) {
+        final ChangeMessageVisibilityBatchRequest request = ChangeMessageVisibilityBatchRequest.builder()
+                .queueUrl(queueProperties.getQueueUrl())
+                .entries(IntStream.range(0, batchOfMessages.size())
+                        .mapToObj(index -> ChangeMessageVisibilityBatchRequestEntry.builder()
+                                .id(String.valueOf(index))
+                                .receiptHandle(batchOfMessages.get(index).receiptHandle())
+                                .visibilityTimeout(visibilityTimeoutInSeconds)
+                                .build())
+                        .collect(toList()))
+                .build();
+
+        sqsAsyncClient.changeMessageVisibilityBatch(request)
+                .whenComplete((response, throwable) -> {
+                    if (throwable != null) {
+                        log.error("Error extending the visibility of {} messages", batchOfMessages.size(), throwable);
+                        return;
+                    }
+
+                    response.failed().forEach(entry -> log.warn("Unable to extend the visibility of message with id {}: {}",
+                            batchOfMessages.get(Integer.parseInt(entry.id())).messageId(), entry.message()));
+                });
+    }
+}
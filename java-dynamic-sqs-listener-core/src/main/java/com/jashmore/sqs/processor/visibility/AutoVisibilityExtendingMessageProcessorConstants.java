@@ -0,0 +1,16 @@
+package com.jashmore.sqs.processor.visibility;
+
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+class AutoVisibilityExtendingMessageProcessorConstants {
+    /**
+     * The default number of seconds before the visibility timeout of a message expires that the visibility of the message will be extended.
+     */
+    static final int DEFAULT_BUFFER_TIME_IN_SECONDS = 10;
+
+    /**
+     * The default period between checks for messages that are nearing their visibility timeout.
+     */
+    static final long DEFAULT_CHECK_PERIOD_IN_MILLISECONDS = 1_000L;
+}
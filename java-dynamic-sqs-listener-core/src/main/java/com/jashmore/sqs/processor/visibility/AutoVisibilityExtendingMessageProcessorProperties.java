@@ -0,0 +1,57 @@
+package com.jashmore.sqs.processor.visibility;
+
+import com.jashmore.sqs.aws.AwsConstants;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+/**
+ * Properties for configuring how the {@link AutoVisibilityExtendingMessageProcessor} extends the visibility of messages that are being processed.
+ *
+ * <p>These properties are only consumed once when the {@link AutoVisibilityExtendingMessageProcessor} is constructed.
+ */
+public interface AutoVisibilityExtendingMessageProcessorProperties {
+    /**
+     * The visibility timeout that the messages were retrieved with and that will be applied to the message each time its visibility is extended.
+     *
+     * <p>This should match the visibility timeout used by the retriever, or the default visibility timeout of the queue if the retriever does not set one,
+     * otherwise the message may become visible before its visibility is extended.
+     *
+     * @return the visibility timeout of messages in seconds
+     */
+    @Positive
+    int getVisibilityTimeoutInSeconds();
+
+    /**
+     * The number of seconds before the visibility timeout of a message expires that the visibility of the message should be extended.
+     *
+     * <p>As the processor only knows when a message started processing, and not when it was retrieved from SQS, this should also take into account how
+     * long a message may be waiting before it is processed, for example if it has been prefetched.
+     *
+     * <p>If this value is greater than half of the {@link #getVisibilityTimeoutInSeconds()}, half of the visibility timeout will be used so that the
+     * visibility is not being constantly extended. If this value is null or negative,
+     * {@link AutoVisibilityExtendingMessageProcessorConstants#DEFAULT_BUFFER_TIME_IN_SECONDS} will be used instead.
+     *
+     * @return the buffer time in seconds before the visibility timeout expires
+     */
+    @Nullable
+    @PositiveOrZero
+    Integer getBufferTimeInSeconds();
+
+    /**
+     * The period between checks for messages that are nearing their visibility timeout.
+     *
+     * <p>All of the messages that are found to be nearing their visibility timeout in a single check are extended together in batches of
+     * {@link AwsConstants#MAX_NUMBER_OF_MESSAGES_IN_BATCH}. This period should be much smaller than the {@link #getVisibilityTimeoutInSeconds()} minus
+     * the {@link #getBufferTimeInSeconds()}, otherwise the visibility of the messages will be extended on every check.
+     *
+     * <p>If this value is null or not positive, {@link AutoVisibilityExtendingMessageProcessorConstants#DEFAULT_CHECK_PERIOD_IN_MILLISECONDS} will be
+     * used instead.
+     *
+     * @return the period between checks in milliseconds
+     */
+    @Nullable
+    @Positive
+    Long getCheckPeriodInMilliseconds();
+}
@@ -0,0 +1,61 @@
+package com.jashmore.sqs.processor.visibility;
+
+import com.google.common.base.Preconditions;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import net.jcip.annotations.ThreadSafe;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+/**
+ * Implementation that stores the value as non-mutable field values and therefore will return the same value on every call.
+ *
+ * <p>This implementation is thread safe, even though it doesn't need to be, due to it only returning immutable values.
+ */
+@ToString
+@EqualsAndHashCode
+@Builder(toBuilder = true)
+@ThreadSafe
+public final class StaticAutoVisibilityExtendingMessageProcessorProperties implements AutoVisibilityExtendingMessageProcessorProperties {
+    private final Integer visibilityTimeoutInSeconds;
+    private final Integer bufferTimeInSeconds;
+    private final Long checkPeriodInMilliseconds;
+
+    public StaticAutoVisibilityExtendingMessageProcessorProperties(final Integer visibilityTimeoutInSeconds,
+                                                                   final Integer bufferTimeInSeconds,
+                                                                   final Long checkPeriodInMilliseconds) {
+        Preconditions.checkArgument(visibilityTimeoutInSeconds != null && visibilityTimeoutInSeconds > 0,
+                "visibilityTimeoutInSeconds should be greater than zero");
+        Preconditions.checkArgument(bufferTimeInSeconds == null || bufferTimeInSeconds >= 0, "bufferTimeInSeconds should be null or not negative");
+        Preconditions.checkArgument(checkPeriodInMilliseconds == null || checkPeriodInMilliseconds > 0,
+                "checkPeriodInMilliseconds should be null or greater than zero");
+
+        this.visibilityTimeoutInSeconds = visibilityTimeoutInSeconds;
+        this.bufferTimeInSeconds = bufferTimeInSeconds;
+        this.checkPeriodInMilliseconds = checkPeriodInMilliseconds;
+    }
+
+    @Positive
+    @Override
+    public int getVisibilityTimeoutInSeconds() {
+        return visibilityTimeoutInSeconds;
+    }
+
+    @Nullable
+    @PositiveOrZero
+    @Override
+    public Integer getBufferTimeInSeconds() {
+        return bufferTimeInSeconds;
+    }
+
+    @Nullable
+    @Positive
+    @Override
+    public Long getCheckPeriodInMilliseconds() {
+        return checkPeriodInMilliseconds;
+    }
+}
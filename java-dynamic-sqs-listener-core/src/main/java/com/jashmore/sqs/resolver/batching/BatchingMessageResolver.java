@@ -1,35 +1,46 @@
 package com.jashmore.sqs.resolver.batching;
 
 import static com.jashmore.sqs.aws.AwsConstants.MAX_NUMBER_OF_MESSAGES_IN_BATCH;
+import static com.jashmore.sqs.resolver.batching.BatchingMessageResolverConstants.DEFAULT_MAX_CONCURRENT_DELETE_REQUESTS;
+import static com.jashmore.sqs.resolver.batching.BatchingMessageResolverConstants.DEFAULT_MAX_DELETE_RETRIES;
+import static com.jashmore.sqs.resolver.batching.BatchingMessageResolverConstants.INITIAL_DELETE_RETRY_BACKOFF_IN_MS;
+import static com.jashmore.sqs.resolver.batching.BatchingMessageResolverConstants.INVALID_RECEIPT_HANDLE_ERROR_CODE;
+import static com.jashmore.sqs.resolver.batching.BatchingMessageResolverConstants.MAX_DELETE_RETRY_BACKOFF_IN_MS;
+import static com.jashmore.sqs.resolver.batching.BatchingMessageResolverConstants.THROTTLING_ERROR_CODES;
 
-import com.google.common.collect.Maps;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Queues;
-import com.google.common.collect.Sets;
 import com.google.common.primitives.Ints;
 
 import com.jashmore.sqs.QueueProperties;
 import com.jashmore.sqs.resolver.MessageResolver;
-import com.jashmore.sqs.util.thread.ThreadUtils;
+import com.jashmore.sqs.util.concurrent.CompletableFutureUtils;
+import com.jashmore.sqs.util.properties.PropertyUtils;
 import lombok.AllArgsConstructor;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
-import software.amazon.awssdk.core.exception.SdkInterruptedException;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
 import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
 import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
 import software.amazon.awssdk.services.sqs.model.Message;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -39,6 +50,16 @@ import javax.annotation.concurrent.ThreadSafe;
  * <p>This uses a {@link BlockingQueue} to store all of the messages that need to be resolved and once the timeout provided by
  * {@link BatchingMessageResolverProperties#getBufferingTimeInMs()} is reached or the number of messages goes above
  * {@link BatchingMessageResolverProperties#getBufferingSizeLimit()}, the messages are sent out to be deleted.
+ *
+ * <p>The batches are sent directly via the {@link SqsAsyncClient} from the thread running this resolver and multiple batches can be in flight at the
+ * same time, up to {@link BatchingMessageResolverProperties#getMaxConcurrentDeleteRequests()}. When this limit has been reached the messages will be
+ * buffered until one of the requests has completed, at which point any full batches will be sent straight away. This allows for the rate of
+ * deletions to keep up with the rate that messages are processed without creating a thread for each batch.
+ *
+ * <p>When individual entries in a batch fail to be deleted due to a retriable error, e.g. throttling or an internal error in SQS, the messages are
+ * added to a later batch after an exponential backoff, up to {@link BatchingMessageResolverProperties#getMaxDeleteRetries()} times. Otherwise these
+ * messages would become visible again in the queue and be processed a second time. Failures of the entire request are not retried here as they are
+ * already retried by the {@link SqsAsyncClient}.
  */
 @Slf4j
 @ThreadSafe
@@ -48,6 +69,11 @@ public class BatchingMessageResolver implements MessageResolver {
     private final BatchingMessageResolverProperties properties;
 
     private final BlockingQueue<MessageResolutionBean> messagesToBeResolved;
+    private final DelayQueue<MessageDeletionRetry> retriesToBeSent;
+
+    private final LongAdder numberOfRetriedDeletions = new LongAdder();
+    private final LongAdder numberOfFailedDeletions = new LongAdder();
+    private final LongAdder numberOfInvalidReceiptHandleFailures = new LongAdder();
 
     /**
      * Builds a {@link BatchingMessageResolver} that will perform a deletion of a message every time a single message is received.
@@ -78,12 +104,13 @@ public class BatchingMessageResolver implements MessageResolver {
         this.properties = properties;
 
         this.messagesToBeResolved = new LinkedBlockingQueue<>();
+        this.retriesToBeSent = new DelayQueue<>();
     }
 
     @Override
     public CompletableFuture<?> resolveMessage(final Message message) {
         final CompletableFuture<Object> completableFuture = new CompletableFuture<>();
-        messagesToBeResolved.add(new MessageResolutionBean(message, completableFuture));
+        messagesToBeResolved.add(new MessageResolutionBean(message, completableFuture, 0));
         return completableFuture;
     }
 
@@ -91,38 +118,48 @@ public class BatchingMessageResolver implements MessageResolver {
     public void run() {
         log.info("Started MessageResolver background thread");
         boolean continueProcessing = true;
-        final ExecutorService executorService = buildExecutorServiceForSendingBatchDeletion();
-        // all of the batches currently being sent so that they can be waited on during shutdown
-        final Set<CompletableFuture<?>> batchesBeingPublished = Sets.newConcurrentHashSet();
+        // all of the batches currently being sent so that they can be waited on during shutdown and so that the number in flight can be limited
+        final Set<CompletableFuture<?>> batchesBeingPublished = new HashSet<>();
         while (continueProcessing) {
-            final List<MessageResolutionBean> batchOfMessagesToResolve = new LinkedList<>();
+            final int batchSize = getBatchSize();
+            final List<MessageResolutionBean> batchOfMessagesToResolve = new ArrayList<>(batchSize);
             try {
-                final int batchSize = getBatchSize();
-                final long bufferingTimeInMs = getBufferingTimeInMs();
-                log.trace("Waiting {}ms for {} messages to be submitted for deletion", bufferingTimeInMs, batchSize);
-                Queues.drain(messagesToBeResolved, batchOfMessagesToResolve, batchSize, bufferingTimeInMs, TimeUnit.MILLISECONDS);
+                waitForFreeDeleteRequestSlot(batchesBeingPublished);
+                fillBatch(batchOfMessagesToResolve, batchSize, batchesBeingPublished);
             } catch (final InterruptedException interruptedException) {
                 log.info("Shutting down MessageResolver");
                 // Do nothing, we still want to send the current batch of messages
                 continueProcessing = false;
             }
 
+            // The SqsAsyncClient will fail the request if the thread is interrupted so the interruption is cleared before it is sent
+            if (Thread.interrupted()) {
+                log.info("Shutting down MessageResolver");
+                continueProcessing = false;
+            }
+
             if (!batchOfMessagesToResolve.isEmpty()) {
-                log.debug("Sending batch deletion for {} messages", batchOfMessagesToResolve.size());
-                final CompletableFuture<?> completableFuture = submitMessageDeletionBatch(batchOfMessagesToResolve, executorService);
-                batchesBeingPublished.add(completableFuture);
-                completableFuture
-                        .whenComplete((response, throwable) -> batchesBeingPublished.remove(completableFuture));
+                submitMessageDeletionBatch(batchOfMessagesToResolve, batchesBeingPublished);
             }
         }
+
         try {
-            log.debug("Waiting for {} batches to complete", batchesBeingPublished.size());
-            CompletableFuture.allOf(batchesBeingPublished.toArray(new CompletableFuture<?>[0]))
-                    .get();
-            executorService.shutdownNow();
+            // retries are sent without waiting for their backoff so that the shutdown is not delayed. As sending the remaining messages can result in
+            // more retries, this continues until there are no more messages or retries remaining
+            List<MessageResolutionBean> remainingMessagesToResolve = drainRemainingMessagesToResolve();
+            do {
+                Lists.partition(remainingMessagesToResolve, getBatchSize())
+                        .forEach(batchOfMessagesToResolve -> submitMessageDeletionBatch(batchOfMessagesToResolve, batchesBeingPublished));
+                waitForAllBatchesToComplete(batchesBeingPublished);
+                remainingMessagesToResolve = drainRemainingMessagesToResolve();
+            } while (!remainingMessagesToResolve.isEmpty());
             log.info("MessageResolver has been successfully stopped");
         } catch (final InterruptedException interruptedException) {
             log.warn("Thread interrupted while waiting for message batches to be completed");
+            drainRemainingMessagesToResolve()
+                    .forEach(bean -> bean.getCompletableFuture().completeExceptionally(
+                            new RuntimeException("MessageResolver stopped before the message could be deleted")
+                    ));
             Thread.currentThread().interrupt();
         } catch (final ExecutionException executionException) {
             log.error("Error waiting for all message batches to be published", executionException.getCause());
@@ -130,18 +167,149 @@ public class BatchingMessageResolver implements MessageResolver {
     }
 
     /**
-     * Build the {@link ExecutorService} to send the batch message delete messages.
+     * Get the number of times that the deletion of a message has been retried due to a retriable failure of the entry in the batch.
+     *
+     * @return the number of retried deletions
+     */
+    public long getNumberOfRetriedDeletions() {
+        return numberOfRetriedDeletions.sum();
+    }
+
+    /**
+     * Get the number of messages that failed to be deleted, excluding those that failed due to an invalid receipt handle.
+     *
+     * <p>This includes messages that failed with a retriable error but had already been retried the maximum number of times.
+     *
+     * @return the number of failed deletions
+     */
+    public long getNumberOfFailedDeletions() {
+        return numberOfFailedDeletions.sum();
+    }
+
+    /**
+     * Get the number of messages that failed to be deleted because their receipt handle was invalid, e.g. because the message had been received again
+     * after its visibility timeout expired.
      *
-     * <p>This is needed because when a thread is interrupted while using the {@link SqsAsyncClient} a {@link SdkInterruptedException} is thrown which is
-     * ultimately not what we want. We instead want to know that this has been done and wait for the delete requests to eventually finish. Therefore,
-     * running it on extra threads provides this extra safety.
+     * @return the number of deletions that failed due to an invalid receipt handle
+     */
+    public long getNumberOfInvalidReceiptHandleFailures() {
+        return numberOfInvalidReceiptHandleFailures.sum();
+    }
+
+    /**
+     * Fill the batch with messages to resolve and any retries that are ready to be sent, until the batch is full or the buffering time has passed.
      *
-     * <p>The extra service also allows for multiple batches to be sent concurrently.
+     * <p>The buffering time is split into shorter waits while there are retries waiting for their backoff or batches in flight that could fail, so
+     * that the retries can be added to this batch once they are ready instead of waiting for the next message to be resolved.
      *
-     * @return the service for running message deletion on a separate thread
+     * @param batchOfMessagesToResolve the batch to add the messages to
+     * @param batchSize                the maximum number of messages in the batch
+     * @param batchesBeingPublished    the batches that are currently being sent
+     * @throws InterruptedException if the thread was interrupted while waiting
      */
-    private ExecutorService buildExecutorServiceForSendingBatchDeletion() {
-        return Executors.newCachedThreadPool(ThreadUtils.threadFactory(Thread.currentThread().getName() + "-batch-delete-%d"));
+    private void fillBatch(final List<MessageResolutionBean> batchOfMessagesToResolve,
+                           final int batchSize,
+                           final Set<CompletableFuture<?>> batchesBeingPublished) throws InterruptedException {
+        final long bufferingTimeInMs = getBufferingTimeInMs();
+        log.trace("Waiting {}ms for {} messages to be submitted for deletion", bufferingTimeInMs, batchSize);
+        final long bufferingTimeInNanos = TimeUnit.MILLISECONDS.toNanos(bufferingTimeInMs);
+        final long startTime = System.nanoTime();
+        drainRetriesReadyToBeSent(batchOfMessagesToResolve, batchSize);
+        long remainingBufferingTimeInNanos = bufferingTimeInNanos;
+        do {
+            final long timeToWaitInNanos = Math.min(remainingBufferingTimeInNanos, getMaxTimeToWaitForRetriesInNanos(batchesBeingPublished));
+            Queues.drain(messagesToBeResolved, batchOfMessagesToResolve, batchSize - batchOfMessagesToResolve.size(), timeToWaitInNanos,
+                    TimeUnit.NANOSECONDS);
+            drainRetriesReadyToBeSent(batchOfMessagesToResolve, batchSize);
+            remainingBufferingTimeInNanos = bufferingTimeInNanos - (System.nanoTime() - startTime);
+        } while (batchOfMessagesToResolve.size() < batchSize && remainingBufferingTimeInNanos > 0);
+    }
+
+    /**
+     * Get the maximum time that the thread should wait for messages before checking whether there are any retries ready to be sent.
+     *
+     * @param batchesBeingPublished the batches that are currently being sent
+     * @return the time to wait in nanoseconds
+     */
+    private long getMaxTimeToWaitForRetriesInNanos(final Set<CompletableFuture<?>> batchesBeingPublished) {
+        final MessageDeletionRetry nextRetry = retriesToBeSent.peek();
+        if (nextRetry != null) {
+            return Math.max(0, nextRetry.getDelay(TimeUnit.NANOSECONDS));
+        }
+
+        synchronized (batchesBeingPublished) {
+            if (!batchesBeingPublished.isEmpty()) {
+                return TimeUnit.MILLISECONDS.toNanos(INITIAL_DELETE_RETRY_BACKOFF_IN_MS);
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Add any retries that have finished their backoff to the batch, without exceeding the size of the batch.
+     *
+     * @param batchOfMessagesToResolve the batch to add the retries to
+     * @param batchSize                the maximum number of messages in the batch
+     */
+    private void drainRetriesReadyToBeSent(final List<MessageResolutionBean> batchOfMessagesToResolve, final int batchSize) {
+        final int maximumNumberOfRetries = batchSize - batchOfMessagesToResolve.size();
+        if (maximumNumberOfRetries <= 0) {
+            return;
+        }
+
+        final List<MessageDeletionRetry> retries = new ArrayList<>(maximumNumberOfRetries);
+        retriesToBeSent.drainTo(retries, maximumNumberOfRetries);
+        retries.forEach(retry -> batchOfMessagesToResolve.add(retry.getMessageResolutionBean()));
+    }
+
+    /**
+     * Drain all of the messages that are waiting to be resolved, including retries that have not finished their backoff.
+     *
+     * @return the messages to resolve
+     */
+    private List<MessageResolutionBean> drainRemainingMessagesToResolve() {
+        final List<MessageResolutionBean> remainingMessagesToResolve = new ArrayList<>();
+        messagesToBeResolved.drainTo(remainingMessagesToResolve);
+        final Iterator<MessageDeletionRetry> retryIterator = retriesToBeSent.iterator();
+        while (retryIterator.hasNext()) {
+            remainingMessagesToResolve.add(retryIterator.next().getMessageResolutionBean());
+            retryIterator.remove();
+        }
+        return remainingMessagesToResolve;
+    }
+
+    /**
+     * Block until all of the batches that are currently being sent have completed.
+     *
+     * @param batchesBeingPublished the batches that are currently being sent
+     * @throws InterruptedException if the thread was interrupted while waiting
+     * @throws ExecutionException   if there was an error handling the response of a batch
+     */
+    private void waitForAllBatchesToComplete(final Set<CompletableFuture<?>> batchesBeingPublished) throws InterruptedException, ExecutionException {
+        final CompletableFuture<?>[] batchesToWaitFor;
+        synchronized (batchesBeingPublished) {
+            batchesToWaitFor = batchesBeingPublished.toArray(new CompletableFuture<?>[0]);
+        }
+        log.debug("Waiting for {} batches to complete", batchesToWaitFor.length);
+        CompletableFuture.allOf(batchesToWaitFor)
+                .get();
+    }
+
+    /**
+     * Block until there are less than the maximum number of requests to delete messages in flight.
+     *
+     * <p>While this is blocked, messages to be resolved will be buffered in the internal queue and therefore when a request completes, full batches can
+     * be sent straight away without waiting for the buffering time.
+     *
+     * @param batchesBeingPublished the batches that are currently being sent
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    private void waitForFreeDeleteRequestSlot(final Set<CompletableFuture<?>> batchesBeingPublished) throws InterruptedException {
+        synchronized (batchesBeingPublished) {
+            while (batchesBeingPublished.size() >= getMaxConcurrentDeleteRequests()) {
+                batchesBeingPublished.wait();
+            }
+        }
     }
 
     /**
@@ -162,50 +330,147 @@ public class BatchingMessageResolver implements MessageResolver {
         return Math.max(0, properties.getBufferingTimeInMs());
     }
 
+    /**
+     * Get the maximum number of requests to delete messages that can be in flight at the same time.
+     *
+     * @return the maximum number of concurrent requests
+     */
+    private int getMaxConcurrentDeleteRequests() {
+        return PropertyUtils.safelyGetPositiveIntegerValue(
+                "maxConcurrentDeleteRequests",
+                properties::getMaxConcurrentDeleteRequests,
+                DEFAULT_MAX_CONCURRENT_DELETE_REQUESTS
+        );
+    }
+
+    /**
+     * Get the maximum number of times that the deletion of a message should be retried.
+     *
+     * @return the maximum number of retries
+     */
+    private int getMaxDeleteRetries() {
+        return PropertyUtils.safelyGetPositiveOrZeroIntegerValue(
+                "maxDeleteRetries",
+                properties::getMaxDeleteRetries,
+                DEFAULT_MAX_DELETE_RETRIES
+        );
+    }
+
     /**
      * Submit the batch of messages to be resolved asynchronously.
      *
      * <p>When the batch is completed successfully (or unsuccessfully), the futures for each message will be completed.
      *
      * @param batchOfMessagesToResolve the messages to resolve
+     * @param batchesBeingPublished    the batches that are currently being sent, which this batch will be added to until it completes
+     */
+    private void submitMessageDeletionBatch(final List<MessageResolutionBean> batchOfMessagesToResolve,
+                                            final Set<CompletableFuture<?>> batchesBeingPublished) {
+        log.debug("Sending batch deletion for {} messages", batchOfMessagesToResolve.size());
+        final Map<String, MessageResolutionBean> messagesInBatch = batchOfMessagesToResolve.stream()
+                .collect(Collectors.toMap(bean -> bean.getMessage().messageId(), Function.identity()));
+
+        CompletableFuture<DeleteMessageBatchResponse> deleteFuture;
+        try {
+            deleteFuture = sqsAsyncClient.deleteMessageBatch(buildBatchDeleteMessageRequest(batchOfMessagesToResolve));
+        } catch (final RuntimeException runtimeException) {
+            deleteFuture = CompletableFutureUtils.completedExceptionally(runtimeException);
+        }
+
+        // the batch is only completed once the response has been handled so that any retries have been added before waiting for the batches finishes
+        final CompletableFuture<?> batchFuture = deleteFuture.handle((response, exception) -> {
+            handleDeletionResponse(messagesInBatch, response, exception);
+            return null;
+        });
+        synchronized (batchesBeingPublished) {
+            batchesBeingPublished.add(batchFuture);
+        }
+        batchFuture.whenComplete((ignored, throwable) -> {
+            synchronized (batchesBeingPublished) {
+                batchesBeingPublished.remove(batchFuture);
+                batchesBeingPublished.notifyAll();
+            }
+        });
+    }
+
+    /**
+     * Complete the futures for each message in the batch based on the response to the request or schedule the message to be retried.
+     *
+     * @param messagesInBatch the messages in the batch, keyed by the message ID that was used as the ID of the entry
+     * @param response        the response of the request or null if it failed
+     * @param exception       the exception of the request if it failed
+     */
+    private void handleDeletionResponse(final Map<String, MessageResolutionBean> messagesInBatch,
+                                        final DeleteMessageBatchResponse response,
+                                        final Throwable exception) {
+        if (exception != null) {
+            log.error("Error deleting messages", exception);
+
+            messagesInBatch.values()
+                    .forEach(bean -> bean.getCompletableFuture().completeExceptionally(exception));
+            return;
+        }
+
+        log.debug("{} messages successfully deleted, {} failed", response.successful().size(), response.failed().size());
+
+        response.successful().stream()
+                .map(entry -> messagesInBatch.remove(entry.id()))
+                .forEach(bean -> bean.getCompletableFuture().complete("completed"));
+
+        response.failed()
+                .forEach(entry -> handleFailedDeletion(messagesInBatch.remove(entry.id()), entry));
+
+        if (!messagesInBatch.isEmpty()) {
+            log.error("{} messages were not handled in the deletion. This could be a bug in the AWS SDK", messagesInBatch.size());
+            messagesInBatch.values()
+                    .forEach(bean -> bean.getCompletableFuture().completeExceptionally(
+                            new RuntimeException("Message not handled by batch delete. This should not happen")
+                    ));
+        }
+    }
+
+    /**
+     * Handle an entry in the batch that failed to be deleted, retrying it after a backoff if the error is retriable.
+     *
+     * @param bean  the message that failed to be deleted
+     * @param entry the details about the failure
      */
-    private CompletableFuture<?> submitMessageDeletionBatch(final List<MessageResolutionBean> batchOfMessagesToResolve,
-                                                            final ExecutorService executorService) {
-        final Map<String, CompletableFuture<Object>> messageCompletableFutures = batchOfMessagesToResolve.stream()
-                .map(bean -> Maps.immutableEntry(bean.getMessage().messageId(), bean.getCompletableFuture()))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-
-        return CompletableFuture.supplyAsync(() -> buildBatchDeleteMessageRequest(batchOfMessagesToResolve))
-                .thenComposeAsync(sqsAsyncClient::deleteMessageBatch, executorService)
-                .whenComplete((response, exception) -> {
-                    if (exception != null) {
-                        log.error("Error deleting messages", exception);
-
-                        messageCompletableFutures.values()
-                                .forEach(completableFuture -> completableFuture.completeExceptionally(exception));
-                        return;
-                    }
-
-                    log.debug("{} messages successfully deleted, {} failed", response.successful().size(), response.failed().size());
-
-                    response.successful().stream()
-                            .map(entry -> messageCompletableFutures.remove(entry.id()))
-                            .forEach(completableFuture -> completableFuture.complete("completed"));
-
-                    response.failed()
-                            .forEach(entry -> {
-                                final CompletableFuture<?> completableFuture = messageCompletableFutures.remove(entry.id());
-                                completableFuture.completeExceptionally(new RuntimeException(entry.message()));
-                            });
-
-                    if (!messageCompletableFutures.isEmpty()) {
-                        log.error("{} messages were not handled in the deletion. This could be a bug in the AWS SDK", messageCompletableFutures.size());
-                        messageCompletableFutures.values()
-                                .forEach(completableFuture -> completableFuture.completeExceptionally(
-                                        new RuntimeException("Message not handled by batch delete. This should not happen")
-                                ));
-                    }
-                });
+    private void handleFailedDeletion(final MessageResolutionBean bean, final BatchResultErrorEntry entry) {
+        final String messageId = bean.getMessage().messageId();
+        if (isRetriable(entry)) {
+            if (bean.getNumberOfRetries() < getMaxDeleteRetries()) {
+                final long backoffInMs = Math.min(MAX_DELETE_RETRY_BACKOFF_IN_MS,
+                        INITIAL_DELETE_RETRY_BACKOFF_IN_MS << Math.min(bean.getNumberOfRetries(), 30));
+                log.debug("Retrying deletion of message {} in {}ms after error {}: {}", messageId, backoffInMs, entry.code(), entry.message());
+                numberOfRetriedDeletions.increment();
+                retriesToBeSent.add(new MessageDeletionRetry(
+                        new MessageResolutionBean(bean.getMessage(), bean.getCompletableFuture(), bean.getNumberOfRetries() + 1),
+                        System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffInMs)
+                ));
+                return;
+            }
+
+            log.error("Unable to delete message {} after {} retries due to error {}: {}", messageId, bean.getNumberOfRetries(), entry.code(),
+                    entry.message());
+            numberOfFailedDeletions.increment();
+        } else if (INVALID_RECEIPT_HANDLE_ERROR_CODE.equals(entry.code())) {
+            log.warn("Unable to delete message {} as the receipt handle is invalid: {}", messageId, entry.message());
+            numberOfInvalidReceiptHandleFailures.increment();
+        } else {
+            log.error("Unable to delete message {} due to error {}: {}", messageId, entry.code(), entry.message());
+            numberOfFailedDeletions.increment();
+        }
+        bean.getCompletableFuture().completeExceptionally(new RuntimeException(entry.message()));
+    }
+
+    /**
+     * Determine whether the failed entry could succeed if it was retried, which is the case for errors in SQS and for throttling.
+     *
+     * @param entry the details about the failure
+     * @return whether the deletion should be retried
+     */
+    private static boolean isRetriable(final BatchResultErrorEntry entry) {
+        return !Boolean.TRUE.equals(entry.senderFault()) || THROTTLING_ERROR_CODES.contains(entry.code());
     }
 
     private DeleteMessageBatchRequest buildBatchDeleteMessageRequest(final List<MessageResolutionBean> batchOfMessagesToResolve) {
@@ -236,5 +501,35 @@ public class BatchingMessageResolver implements MessageResolver {
          * The future that should be resolved when the message is successfully or unsuccessfully deleted.
          */
         private final CompletableFuture<Object> completableFuture;
+        /**
+         * The number of times that the deletion of this message has already been retried.
+         */
+        private final int numberOfRetries;
+    }
+
+    /**
+     * Internal bean used for storing a message whose deletion should be retried once the backoff has passed.
+     */
+    @Value
+    @AllArgsConstructor
+    private static class MessageDeletionRetry implements Delayed {
+        /**
+         * The message to be resolved.
+         */
+        private final MessageResolutionBean messageResolutionBean;
+        /**
+         * The time, in terms of {@link System#nanoTime()}, that the deletion should be retried.
+         */
+        private final long retryTimeInNanos;
+
+        @Override
+        public long getDelay(final TimeUnit unit) {
+            return unit.convert(retryTimeInNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(final Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
     }
 }
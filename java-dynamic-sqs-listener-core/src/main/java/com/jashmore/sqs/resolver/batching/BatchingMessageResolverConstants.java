@@ -0,0 +1,40 @@
+package com.jashmore.sqs.resolver.batching;
+
+import com.google.common.collect.ImmutableSet;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.Set;
+
+@UtilityClass
+class BatchingMessageResolverConstants {
+    /**
+     * The default maximum number of requests to delete messages that can be in flight at the same time.
+     */
+    static final int DEFAULT_MAX_CONCURRENT_DELETE_REQUESTS = 10;
+
+    /**
+     * The default maximum number of times that the deletion of a message will be retried when it failed due to a retriable error.
+     */
+    static final int DEFAULT_MAX_DELETE_RETRIES = 3;
+
+    /**
+     * The time to wait before the first retry of the deletion of a message, which is doubled for each further retry.
+     */
+    static final long INITIAL_DELETE_RETRY_BACKOFF_IN_MS = 100;
+
+    /**
+     * The maximum time to wait before retrying the deletion of a message.
+     */
+    static final long MAX_DELETE_RETRY_BACKOFF_IN_MS = 5_000;
+
+    /**
+     * The error codes for failed entries that were caused by throttling and therefore should be retried even though they are marked as sender faults.
+     */
+    static final Set<String> THROTTLING_ERROR_CODES = ImmutableSet.of("Throttling", "ThrottlingException", "RequestThrottled");
+
+    /**
+     * The error code for failed entries that were caused by the receipt handle of the message being invalid, e.g. because it has expired.
+     */
+    static final String INVALID_RECEIPT_HANDLE_ERROR_CODE = "ReceiptHandleIsInvalid";
+}
@@ -2,9 +2,11 @@ package com.jashmore.sqs.resolver.batching;
 
 import com.jashmore.sqs.aws.AwsConstants;
 
+import javax.annotation.Nullable;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
 
 /**
  * Properties used for configuring the {@link BatchingMessageResolver} specifically the size of the buffer that should be used.
@@ -32,4 +34,38 @@ public interface BatchingMessageResolverProperties {
     @Min(1)
     @Max(AwsConstants.MAX_NUMBER_OF_MESSAGES_IN_BATCH)
     int getBufferingSizeLimit();
+
+    /**
+     * The maximum number of requests to delete messages that can be in flight to SQS at the same time.
+     *
+     * <p>With a single request in flight, messages can never be deleted faster than one round trip to SQS for every
+     * {@link AwsConstants#MAX_NUMBER_OF_MESSAGES_IN_BATCH} messages, which can cause the deletion of messages to fall behind the processing of them for
+     * high volume queues. When this limit is reached, messages will be buffered until one of the requests has completed.
+     *
+     * <p>This value is obtained before each batch is sent and therefore can be changed during execution. If this value is null or not positive,
+     * {@link BatchingMessageResolverConstants#DEFAULT_MAX_CONCURRENT_DELETE_REQUESTS} will be used.
+     *
+     * @return the maximum number of concurrent requests to delete messages or null if the default should be used
+     */
+    @Nullable
+    @Positive
+    Integer getMaxConcurrentDeleteRequests();
+
+    /**
+     * The maximum number of times that the deletion of a message will be retried when it failed due to a retriable error in a batch.
+     *
+     * <p>A batch request to delete messages can succeed while some of the individual entries fail, for example due to throttling or an internal error in
+     * SQS. These messages will be added to the next batch of messages to be deleted after an exponential backoff, starting at
+     * {@link BatchingMessageResolverConstants#INITIAL_DELETE_RETRY_BACKOFF_IN_MS} and doubling for each further retry up to
+     * {@link BatchingMessageResolverConstants#MAX_DELETE_RETRY_BACKOFF_IN_MS}. Entries that failed due to an error with the request, e.g. an invalid
+     * receipt handle, will not be retried as they will never succeed.
+     *
+     * <p>This value is obtained each time an entry fails and therefore can be changed during execution. If this value is null or negative,
+     * {@link BatchingMessageResolverConstants#DEFAULT_MAX_DELETE_RETRIES} will be used and if it is zero, failed entries will not be retried.
+     *
+     * @return the maximum number of retries for the deletion of a message or null if the default should be used
+     */
+    @Nullable
+    @PositiveOrZero
+    Integer getMaxDeleteRetries();
 }
@@ -14,6 +14,8 @@ import javax.validation.constraints.Positive;
 public class StaticBatchingMessageResolverProperties implements BatchingMessageResolverProperties {
     private final long bufferingTimeInMs;
     private final int bufferingSizeLimit;
+    private final Integer maxConcurrentDeleteRequests;
+    private final Integer maxDeleteRetries;
 
     @Positive
     @Override
@@ -27,4 +29,14 @@ public class StaticBatchingMessageResolverProperties implements BatchingMessageR
     public int getBufferingSizeLimit() {
         return bufferingSizeLimit;
     }
+
+    @Override
+    public Integer getMaxConcurrentDeleteRequests() {
+        return maxConcurrentDeleteRequests;
+    }
+
+    @Override
+    public Integer getMaxDeleteRetries() {
+        return maxDeleteRetries;
+    }
 }
@@ -0,0 +1,52 @@
+package com.jashmore.sqs.resolver.claimcheck;
+
+import com.jashmore.sqs.claimcheck.BlobPointer;
+import com.jashmore.sqs.claimcheck.BlobStore;
+import com.jashmore.sqs.claimcheck.ClaimCheckUtils;
+import com.jashmore.sqs.resolver.MessageResolver;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * {@link MessageResolver} that deletes the blob containing the payload of a message using the claim-check pattern once the delegate
+ * {@link MessageResolver} has deleted the message from the queue.
+ *
+ * <p>The blob is only deleted after the message has been deleted so that the payload is still available if the message is processed again. A failure
+ * to delete the blob is logged but does not fail the resolution of the message, as the message itself has been deleted.
+ *
+ * @see ClaimCheckUtils#getBlobPointer(Message) for the format of the pointer
+ */
+@Slf4j
+@ThreadSafe
+@AllArgsConstructor
+public class ClaimCheckMessageResolver implements MessageResolver {
+    private final MessageResolver delegate;
+    private final BlobStore blobStore;
+
+    @Override
+    public CompletableFuture<?> resolveMessage(final Message message) {
+        final CompletableFuture<?> resolveMessageFuture = delegate.resolveMessage(message);
+        final Optional<BlobPointer> blobPointer = ClaimCheckUtils.getBlobPointer(message);
+        if (!blobPointer.isPresent()) {
+            return resolveMessageFuture;
+        }
+
+        return resolveMessageFuture.thenCompose(ignored -> blobStore.deleteBlob(blobPointer.get())
+                .handle((result, throwable) -> {
+                    if (throwable != null) {
+                        log.error("Error deleting blob {} for message: {}", blobPointer.get(), message.messageId(), throwable);
+                    }
+                    return null;
+                }));
+    }
+
+    @Override
+    public void run() {
+        delegate.run();
+    }
+}
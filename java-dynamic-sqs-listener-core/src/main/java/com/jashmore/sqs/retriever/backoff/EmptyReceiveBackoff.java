@@ -0,0 +1,142 @@
+package com.jashmore.sqs.retriever.backoff;
+
+import static com.jashmore.sqs.retriever.backoff.EmptyReceiveBackoffConstants.DEFAULT_JITTER;
+import static com.jashmore.sqs.retriever.backoff.EmptyReceiveBackoffConstants.DEFAULT_MAX_BACKOFF_TIME_IN_MILLISECONDS;
+import static com.jashmore.sqs.retriever.backoff.EmptyReceiveBackoffConstants.INITIAL_BACKOFF_TIME_IN_MILLISECONDS;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.primitives.Doubles;
+
+import com.jashmore.sqs.util.properties.PropertyUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Keeps track of the number of consecutive requests for messages that returned no messages so that a
+ * {@link com.jashmore.sqs.retriever.MessageRetriever} can stop constantly polling a queue that is idle.
+ *
+ * <p>Once the number of consecutive empty receives reaches the configured threshold, a backoff is started that doubles with each further empty receive,
+ * starting at {@link EmptyReceiveBackoffConstants#INITIAL_BACKOFF_TIME_IN_MILLISECONDS}, up to the configured maximum. A random proportion of each
+ * backoff, limited by the configured jitter, is removed so that multiple listeners do not all poll at the same time. As soon as a request returns any
+ * messages the backoff is reset so that the queue is polled at full speed again.
+ *
+ * <p>This is only accessed by the thread running the retriever and therefore is not thread safe.
+ */
+@Slf4j
+@NotThreadSafe
+public class EmptyReceiveBackoff {
+    private final Supplier<Integer> emptyReceivesBeforeBackoffSupplier;
+    private final Supplier<Long> maxBackoffTimeInMillisecondsSupplier;
+    private final Supplier<Double> jitterSupplier;
+    private final DoubleSupplier randomSupplier;
+    private final LongSupplier currentTimeInMillisecondsSupplier;
+
+    private int numberOfConsecutiveEmptyReceives;
+    private long backoffDeadlineInMilliseconds;
+
+    /**
+     * Constructor.
+     *
+     * @param emptyReceivesBeforeBackoffSupplier   supplies the number of consecutive empty receives before backing off, where null or a non-positive value
+     *                                             disables the backoff
+     * @param maxBackoffTimeInMillisecondsSupplier supplies the maximum time to backoff for, where null will use a default of one minute
+     * @param jitterSupplier                       supplies the proportion between 0 and 1 of the backoff that can be randomly removed, where null will
+     *                                             use a default of 0.5
+     */
+    public EmptyReceiveBackoff(final Supplier<Integer> emptyReceivesBeforeBackoffSupplier,
+                               final Supplier<Long> maxBackoffTimeInMillisecondsSupplier,
+                               final Supplier<Double> jitterSupplier) {
+        this(
+                emptyReceivesBeforeBackoffSupplier,
+                maxBackoffTimeInMillisecondsSupplier,
+                jitterSupplier,
+                () -> ThreadLocalRandom.current().nextDouble(),
+                System::currentTimeMillis
+        );
+    }
+
+    @VisibleForTesting
+    EmptyReceiveBackoff(final Supplier<Integer> emptyReceivesBeforeBackoffSupplier,
+                        final Supplier<Long> maxBackoffTimeInMillisecondsSupplier,
+                        final Supplier<Double> jitterSupplier,
+                        final DoubleSupplier randomSupplier,
+                        final LongSupplier currentTimeInMillisecondsSupplier) {
+        this.emptyReceivesBeforeBackoffSupplier = emptyReceivesBeforeBackoffSupplier;
+        this.maxBackoffTimeInMillisecondsSupplier = maxBackoffTimeInMillisecondsSupplier;
+        this.jitterSupplier = jitterSupplier;
+        this.randomSupplier = randomSupplier;
+        this.currentTimeInMillisecondsSupplier = currentTimeInMillisecondsSupplier;
+    }
+
+    /**
+     * Record the result of a request for messages, starting or extending the backoff if the queue is idle and resetting it if any messages were received.
+     *
+     * @param numberOfMessagesReceived the number of messages received by the request
+     */
+    public void recordReceive(final int numberOfMessagesReceived) {
+        if (numberOfMessagesReceived > 0) {
+            if (numberOfConsecutiveEmptyReceives > 0) {
+                log.debug("Messages received after {} empty receives, resetting backoff", numberOfConsecutiveEmptyReceives);
+            }
+            numberOfConsecutiveEmptyReceives = 0;
+            backoffDeadlineInMilliseconds = 0;
+            return;
+        }
+
+        numberOfConsecutiveEmptyReceives++;
+        final int emptyReceivesBeforeBackoff = getEmptyReceivesBeforeBackoff();
+        if (emptyReceivesBeforeBackoff <= 0 || numberOfConsecutiveEmptyReceives < emptyReceivesBeforeBackoff) {
+            return;
+        }
+
+        final long backoffTimeInMilliseconds = calculateBackoffTimeInMilliseconds(numberOfConsecutiveEmptyReceives - emptyReceivesBeforeBackoff);
+        log.debug("{} consecutive empty receives, backing off for {}ms", numberOfConsecutiveEmptyReceives, backoffTimeInMilliseconds);
+        backoffDeadlineInMilliseconds = currentTimeInMillisecondsSupplier.getAsLong() + backoffTimeInMilliseconds;
+    }
+
+    /**
+     * Get the time remaining before the next request for messages should be made.
+     *
+     * @return the remaining backoff time in milliseconds, which will be zero if no backoff is needed
+     */
+    public long getRemainingBackoffTimeInMilliseconds() {
+        return Math.max(0, backoffDeadlineInMilliseconds - currentTimeInMillisecondsSupplier.getAsLong());
+    }
+
+    private long calculateBackoffTimeInMilliseconds(final int numberOfBackoffs) {
+        final long maxBackoffTimeInMilliseconds = getMaxBackoffTimeInMilliseconds();
+        // limit the shift so that the backoff time cannot overflow, the maximum will have been reached well before this anyway
+        final long exponentialBackoffTimeInMilliseconds = INITIAL_BACKOFF_TIME_IN_MILLISECONDS << Math.min(numberOfBackoffs, 30);
+        final long backoffTimeInMilliseconds = Math.min(maxBackoffTimeInMilliseconds, exponentialBackoffTimeInMilliseconds);
+        return backoffTimeInMilliseconds - (long) (backoffTimeInMilliseconds * getJitter() * randomSupplier.getAsDouble());
+    }
+
+    private int getEmptyReceivesBeforeBackoff() {
+        return PropertyUtils.safelyGetIntegerValue(
+                "emptyReceivesBeforeIdleBackoff",
+                emptyReceivesBeforeBackoffSupplier,
+                0
+        );
+    }
+
+    private long getMaxBackoffTimeInMilliseconds() {
+        return PropertyUtils.safelyGetPositiveOrZeroLongValue(
+                "maxIdleBackoffTimeInMilliseconds",
+                maxBackoffTimeInMillisecondsSupplier,
+                DEFAULT_MAX_BACKOFF_TIME_IN_MILLISECONDS
+        );
+    }
+
+    private double getJitter() {
+        return Doubles.constrainToRange(
+                PropertyUtils.safelyGetPositiveOrZeroDoubleValue("idleBackoffJitter", jitterSupplier, DEFAULT_JITTER),
+                0,
+                1
+        );
+    }
+}
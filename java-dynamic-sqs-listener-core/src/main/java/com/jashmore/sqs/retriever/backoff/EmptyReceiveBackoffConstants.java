@@ -0,0 +1,21 @@
+package com.jashmore.sqs.retriever.backoff;
+
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+class EmptyReceiveBackoffConstants {
+    /**
+     * The backoff time after the first empty receive that triggers the backoff, which is doubled for each subsequent empty receive.
+     */
+    static final long INITIAL_BACKOFF_TIME_IN_MILLISECONDS = 1_000;
+
+    /**
+     * The default maximum time to backoff between requests for messages when the queue is empty.
+     */
+    static final long DEFAULT_MAX_BACKOFF_TIME_IN_MILLISECONDS = 60_000;
+
+    /**
+     * The default proportion of the backoff time that will be randomly removed to spread out the requests of multiple listeners.
+     */
+    static final double DEFAULT_JITTER = 0.5;
+}
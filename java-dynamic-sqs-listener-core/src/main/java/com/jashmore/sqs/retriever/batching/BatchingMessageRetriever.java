@@ -4,6 +4,7 @@ import static com.jashmore.sqs.aws.AwsConstants.MAX_SQS_RECEIVE_WAIT_TIME_IN_SEC
 import static com.jashmore.sqs.retriever.batching.BatchingMessageRetrieverConstants.DEFAULT_BACKOFF_TIME_IN_MS;
 import static com.jashmore.sqs.retriever.batching.BatchingMessageRetrieverConstants.DEFAULT_BATCHING_PERIOD_IN_MS;
 import static com.jashmore.sqs.retriever.batching.BatchingMessageRetrieverConstants.DEFAULT_BATCHING_TRIGGER;
+import static java.util.stream.Collectors.toList;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
@@ -14,18 +15,22 @@ import com.jashmore.sqs.QueueProperties;
 import com.jashmore.sqs.aws.AwsConstants;
 import com.jashmore.sqs.broker.concurrent.ConcurrentMessageBrokerProperties;
 import com.jashmore.sqs.retriever.MessageRetriever;
+import com.jashmore.sqs.retriever.backoff.EmptyReceiveBackoff;
 import com.jashmore.sqs.util.properties.PropertyUtils;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.exception.SdkInterruptedException;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
 import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.LinkedBlockingDeque;
@@ -37,14 +42,23 @@ import java.util.concurrent.TimeUnit;
  *
  * <p>The advantage of this retriever is that the overall number of times that the SQS queue is queried are reduced but the overall throughput is reduced
  * because threads are waiting for the batch to be let through to get messages.
+ *
+ * <p>If {@link BatchingMessageRetrieverProperties#getEmptyReceivesBeforeIdleBackoff()} has been set, the retriever will wait between requests for messages
+ * once the queue has been empty for that many consecutive requests, reducing the number of requests made to idle queues.
  */
 @Slf4j
 public class BatchingMessageRetriever implements MessageRetriever {
+    /**
+     * Requests all of the attributes when none have been provided in the properties.
+     */
+    private static final List<String> ALL_ATTRIBUTE_NAMES = ImmutableList.of(QueueAttributeName.ALL.toString());
+
     private final QueueProperties queueProperties;
     private final SqsAsyncClient sqsAsyncClient;
     private final BatchingMessageRetrieverProperties properties;
 
     private final LinkedBlockingDeque<CompletableFuture<Message>> futuresWaitingForMessages;
+    private final EmptyReceiveBackoff emptyReceiveBackoff;
 
     public BatchingMessageRetriever(final QueueProperties queueProperties,
                                     final SqsAsyncClient sqsAsyncClient,
@@ -54,6 +68,11 @@ public class BatchingMessageRetriever implements MessageRetriever {
         this.properties = properties;
 
         this.futuresWaitingForMessages = new LinkedBlockingDeque<>();
+        this.emptyReceiveBackoff = new EmptyReceiveBackoff(
+                properties::getEmptyReceivesBeforeIdleBackoff,
+                properties::getMaxIdleBackoffTimeInMilliseconds,
+                properties::getIdleBackoffJitter
+        );
     }
 
     @Override
@@ -124,6 +143,9 @@ public class BatchingMessageRetriever implements MessageRetriever {
             }
             // Any threads that weren't completed send back for processing again
             futuresWaitingForMessages.addAll(messagesToObtain);
+
+            emptyReceiveBackoff.recordReceive(messages.size());
+            performIdleBackoff();
         }
         futuresWaitingForMessages.forEach(future -> future.cancel(true));
         log.info("MessageRetriever has been successfully stopped");
@@ -156,6 +178,21 @@ public class BatchingMessageRetriever implements MessageRetriever {
         }
     }
 
+    private void performIdleBackoff() {
+        final long idleBackoffTimeInMilliseconds = emptyReceiveBackoff.getRemainingBackoffTimeInMilliseconds();
+        if (idleBackoffTimeInMilliseconds <= 0) {
+            return;
+        }
+
+        try {
+            log.debug("Queue is idle, backing off for {}ms", idleBackoffTimeInMilliseconds);
+            Thread.sleep(idleBackoffTimeInMilliseconds);
+        } catch (final InterruptedException interruptedException) {
+            log.debug("Thread interrupted during idle backoff period");
+            Thread.currentThread().interrupt();
+        }
+    }
+
     /**
      * Get the number of seconds that the thread should wait when there was an error trying to organise a thread to process.
      *
@@ -193,8 +230,8 @@ public class BatchingMessageRetriever implements MessageRetriever {
     private ReceiveMessageRequest buildReceiveMessageRequest(final int numberOfMessagesToObtain) {
         final ReceiveMessageRequest.Builder requestBuilder = ReceiveMessageRequest.builder()
                 .queueUrl(queueProperties.getQueueUrl())
-                .attributeNames(QueueAttributeName.ALL)
-                .messageAttributeNames(QueueAttributeName.ALL.toString())
+                .attributeNamesWithStrings(getMessageSystemAttributeNames())
+                .messageAttributeNames(getMessageAttributeNames())
                 .maxNumberOfMessages(numberOfMessagesToObtain)
                 .waitTimeSeconds(MAX_SQS_RECEIVE_WAIT_TIME_IN_SECONDS);
 
@@ -214,6 +251,32 @@ public class BatchingMessageRetriever implements MessageRetriever {
         return requestBuilder.build();
     }
 
+    /**
+     * Get the names of the message system attributes to request, falling back to all of them if none were provided.
+     *
+     * @return the names of the message system attributes
+     */
+    private Collection<String> getMessageSystemAttributeNames() {
+        final Set<MessageSystemAttributeName> messageSystemAttributeNames = properties.getMessageSystemAttributeNames();
+        if (messageSystemAttributeNames == null) {
+            return ALL_ATTRIBUTE_NAMES;
+        }
+
+        return messageSystemAttributeNames.stream()
+                .map(MessageSystemAttributeName::toString)
+                .collect(toList());
+    }
+
+    /**
+     * Get the names of the message attributes to request, falling back to all of them if none were provided.
+     *
+     * @return the names of the message attributes
+     */
+    private Collection<String> getMessageAttributeNames() {
+        final Set<String> messageAttributeNames = properties.getMessageAttributeNames();
+        return messageAttributeNames != null ? messageAttributeNames : ALL_ATTRIBUTE_NAMES;
+    }
+
     /**
      * Safely get the polling period in milliseconds, default to zero if no value is defined and logging a warning indicating that not setting a value
      * could cause this retriever to block forever if the number of threads never reaches
@@ -1,8 +1,10 @@
 package com.jashmore.sqs.retriever.batching;
 
 import com.jashmore.sqs.aws.AwsConstants;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
 
+import java.util.Set;
 import javax.annotation.Nullable;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Positive;
@@ -81,4 +83,80 @@ public interface BatchingMessageRetrieverProperties {
     @Nullable
     @PositiveOrZero
     Long getErrorBackoffTimeInMilliseconds();
+
+    /**
+     * The number of consecutive requests for messages that returned no messages before the retriever will start to backoff between requests.
+     *
+     * <p>Without this, an idle queue will be constantly polled with a new long polling request as soon as the previous one returns without any messages,
+     * which costs a request to SQS every 20 seconds regardless of whether there are any messages. When this is set, the retriever will wait between
+     * requests once this number of consecutive empty receives has been reached, starting at one second and doubling for each further empty receive up to
+     * {@link #getMaxIdleBackoffTimeInMilliseconds()}. As soon as any messages are received the retriever will go back to requesting messages without
+     * waiting.
+     *
+     * <p>Note that messages sent to the queue while the retriever is backing off will not be received until the backoff has finished and therefore the
+     * maximum backoff time should be set based on the latency that can be tolerated for the first message of a burst.
+     *
+     * <p>If this value is null, zero or negative the retriever will never backoff when the queue is empty.
+     *
+     * @return the number of consecutive empty receives before backing off or null if the retriever should never backoff
+     * @see com.jashmore.sqs.retriever.backoff.EmptyReceiveBackoff for more details about the backoff
+     */
+    @Nullable
+    @Positive
+    Integer getEmptyReceivesBeforeIdleBackoff();
+
+    /**
+     * The maximum time that the retriever will wait between requests for messages when the queue is idle.
+     *
+     * <p>If this value is null or negative, a maximum of one minute will be used.
+     *
+     * @return the maximum backoff time in milliseconds or null if the default should be used
+     * @see #getEmptyReceivesBeforeIdleBackoff() for more details about when this backoff is used
+     */
+    @Nullable
+    @PositiveOrZero
+    Long getMaxIdleBackoffTimeInMilliseconds();
+
+    /**
+     * The proportion of each backoff between requests for messages when the queue is idle that can be randomly removed, between 0 and 1.
+     *
+     * <p>This prevents multiple listeners that started backing off at the same time from all polling their queues at the same time.
+     *
+     * <p>If this value is null or negative, 0.5 will be used and if it is greater than 1, 1 will be used.
+     *
+     * @return the jitter for the backoff or null if the default should be used
+     * @see #getEmptyReceivesBeforeIdleBackoff() for more details about when this backoff is used
+     */
+    @Nullable
+    @PositiveOrZero
+    Double getIdleBackoffJitter();
+
+    /**
+     * The names of the message attributes that should be downloaded with each message.
+     *
+     * <p>Downloading all of the message attributes increases the size of each response from SQS and the cost of unmarshalling it, which is wasted when
+     * the message listener does not use them. {@link com.jashmore.sqs.util.message.RequiredAttributeNamesUtils} can be used to determine the message
+     * attributes that are needed by a message listener method.
+     *
+     * <p>If this value is null, all of the message attributes will be downloaded.
+     *
+     * @return the names of the message attributes to download or null if all of them should be downloaded
+     * @see ReceiveMessageRequest#messageAttributeNames() for where this is applied against
+     */
+    @Nullable
+    Set<String> getMessageAttributeNames();
+
+    /**
+     * The message system attributes, e.g. {@link MessageSystemAttributeName#APPROXIMATE_RECEIVE_COUNT}, that should be downloaded with each message.
+     *
+     * <p>{@link com.jashmore.sqs.util.message.RequiredAttributeNamesUtils} can be used to determine the message system attributes that are needed by a
+     * message listener method.
+     *
+     * <p>If this value is null, all of the message system attributes will be downloaded.
+     *
+     * @return the message system attributes to download or null if all of them should be downloaded
+     * @see ReceiveMessageRequest#attributeNames() for where this is applied against
+     */
+    @Nullable
+    Set<MessageSystemAttributeName> getMessageSystemAttributeNames();
 }
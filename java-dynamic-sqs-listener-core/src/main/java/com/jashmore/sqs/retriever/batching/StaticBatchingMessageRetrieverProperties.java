@@ -2,7 +2,9 @@ package com.jashmore.sqs.retriever.batching;
 
 import lombok.Builder;
 import lombok.Value;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
 
+import java.util.Set;
 import javax.annotation.Nullable;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
@@ -17,6 +19,11 @@ public class StaticBatchingMessageRetrieverProperties implements BatchingMessage
     private final Long batchingPeriodInMs;
     private final Integer messageVisibilityTimeoutInSeconds;
     private final Long errorBackoffTimeInMilliseconds;
+    private final Integer emptyReceivesBeforeIdleBackoff;
+    private final Long maxIdleBackoffTimeInMilliseconds;
+    private final Double idleBackoffJitter;
+    private final Set<String> messageAttributeNames;
+    private final Set<MessageSystemAttributeName> messageSystemAttributeNames;
 
     @Positive
     @Override
@@ -44,4 +51,37 @@ public class StaticBatchingMessageRetrieverProperties implements BatchingMessage
     public Long getErrorBackoffTimeInMilliseconds() {
         return errorBackoffTimeInMilliseconds;
     }
+
+    @Nullable
+    @Positive
+    @Override
+    public Integer getEmptyReceivesBeforeIdleBackoff() {
+        return emptyReceivesBeforeIdleBackoff;
+    }
+
+    @Nullable
+    @PositiveOrZero
+    @Override
+    public Long getMaxIdleBackoffTimeInMilliseconds() {
+        return maxIdleBackoffTimeInMilliseconds;
+    }
+
+    @Nullable
+    @PositiveOrZero
+    @Override
+    public Double getIdleBackoffJitter() {
+        return idleBackoffJitter;
+    }
+
+    @Nullable
+    @Override
+    public Set<String> getMessageAttributeNames() {
+        return messageAttributeNames;
+    }
+
+    @Nullable
+    @Override
+    public Set<MessageSystemAttributeName> getMessageSystemAttributeNames() {
+        return messageSystemAttributeNames;
+    }
 }
@@ -0,0 +1,215 @@
+package com.jashmore.sqs.retriever.multiplex;
+
+import static com.jashmore.sqs.retriever.multiplex.MultiplexingMessageRetrieverConstants.DEFAULT_MAX_PREFETCHED_MESSAGES;
+import static java.util.stream.Collectors.toList;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import com.jashmore.sqs.QueueProperties;
+import com.jashmore.sqs.aws.AwsConstants;
+import com.jashmore.sqs.retriever.MessageRetriever;
+import com.jashmore.sqs.util.concurrent.CompletableFutureUtils;
+import com.jashmore.sqs.util.properties.PropertyUtils;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The {@link MessageRetriever} for a single queue that has its messages requested by a {@link MultiplexingMessageRetriever}.
+ *
+ * <p>This retriever does not request any messages itself and instead its {@link #run()} method will register the queue with the multiplexer and wait until
+ * the thread has been interrupted. The messages that are received by the multiplexer are stored in a local buffer until they are retrieved.
+ *
+ * <p>Note that this means each queue still parks the thread that its container runs this retriever on until the container is stopped. Only the requests
+ * to SQS, and their connections, are shared between the queues and the thread count will still grow with the number of queues.
+ */
+@Slf4j
+@ThreadSafe
+class MultiplexedQueueMessageRetriever implements MessageRetriever {
+    /**
+     * Requests all of the attributes when none have been provided in the properties.
+     */
+    private static final List<String> ALL_ATTRIBUTE_NAMES = ImmutableList.of(QueueAttributeName.ALL.toString());
+
+    private final MultiplexingMessageRetriever multiplexingMessageRetriever;
+    private final SqsAsyncClient sqsAsyncClient;
+    private final QueueProperties queueProperties;
+    private final MultiplexedQueueProperties properties;
+
+    private final Object lock = new Object();
+    @GuardedBy("lock")
+    private final Queue<Message> messages = new LinkedList<>();
+    @GuardedBy("lock")
+    private final Queue<CompletableFuture<Message>> futuresWaitingForMessages = new LinkedList<>();
+
+    MultiplexedQueueMessageRetriever(final MultiplexingMessageRetriever multiplexingMessageRetriever,
+                                     final SqsAsyncClient sqsAsyncClient,
+                                     final QueueProperties queueProperties,
+                                     final MultiplexedQueueProperties properties) {
+        Preconditions.checkNotNull(multiplexingMessageRetriever, "multiplexingMessageRetriever");
+        Preconditions.checkNotNull(sqsAsyncClient, "sqsAsyncClient");
+        Preconditions.checkNotNull(queueProperties, "queueProperties");
+        Preconditions.checkNotNull(properties, "properties");
+
+        this.multiplexingMessageRetriever = multiplexingMessageRetriever;
+        this.sqsAsyncClient = sqsAsyncClient;
+        this.queueProperties = queueProperties;
+        this.properties = properties;
+    }
+
+    @Override
+    public CompletableFuture<Message> retrieveMessage() {
+        final CompletableFuture<Message> completableFuture = new CompletableFuture<>();
+        final boolean wasBufferFull;
+        synchronized (lock) {
+            wasBufferFull = messages.size() >= getMaxPrefetchedMessages();
+            final Message message = messages.poll();
+            if (message == null) {
+                futuresWaitingForMessages.add(completableFuture);
+                return completableFuture;
+            }
+            completableFuture.complete(message);
+        }
+
+        if (wasBufferFull) {
+            // there is now space for more messages so the multiplexer may be able to request more for this queue
+            multiplexingMessageRetriever.wakeUp();
+        }
+        return completableFuture;
+    }
+
+    @Override
+    public List<Message> run() {
+        log.info("Started MessageRetriever for queue: {}", queueProperties.getQueueUrl());
+        multiplexingMessageRetriever.register(this);
+        try {
+            while (true) {
+                Thread.sleep(Long.MAX_VALUE);
+            }
+        } catch (final InterruptedException interruptedException) {
+            log.debug("Thread interrupted while waiting for messages. Exiting...");
+        }
+
+        multiplexingMessageRetriever.deregister(this);
+        synchronized (lock) {
+            futuresWaitingForMessages.forEach(future -> future.cancel(true));
+            futuresWaitingForMessages.clear();
+            final List<Message> messagesNotRetrieved = ImmutableList.copyOf(messages);
+            messages.clear();
+            return messagesNotRetrieved;
+        }
+    }
+
+    /**
+     * Get the URL of the queue that this retriever is for.
+     *
+     * @return the URL of the queue
+     */
+    String getQueueUrl() {
+        return queueProperties.getQueueUrl();
+    }
+
+    /**
+     * Get the number of messages that should be requested for this queue so that the buffer of messages will be filled.
+     *
+     * @return the number of messages to request, which will be zero if the buffer is already full
+     */
+    int getNumberOfMessagesToRequest() {
+        synchronized (lock) {
+            return Math.max(0, Math.min(AwsConstants.MAX_NUMBER_OF_MESSAGES_FROM_SQS, getMaxPrefetchedMessages() - messages.size()));
+        }
+    }
+
+    /**
+     * Add the messages received for this queue, completing any futures that are waiting for a message before buffering the rest.
+     *
+     * @param receivedMessages the messages that were received
+     */
+    void addMessages(final List<Message> receivedMessages) {
+        synchronized (lock) {
+            for (final Message message : receivedMessages) {
+                boolean messageConsumed = false;
+                CompletableFuture<Message> future;
+                while (!messageConsumed && (future = futuresWaitingForMessages.poll()) != null) {
+                    // the future may have been cancelled by the consumer in which case the message is given to the next one
+                    messageConsumed = future.complete(message);
+                }
+                if (!messageConsumed) {
+                    messages.add(message);
+                }
+            }
+        }
+    }
+
+    /**
+     * Send the request to SQS to download more messages for this queue.
+     *
+     * @param waitTimeInSeconds the time to wait for messages to be available
+     * @return the future that will be resolved with the response from SQS, or rejected if there was an error
+     */
+    CompletableFuture<ReceiveMessageResponse> requestMessages(final int waitTimeInSeconds) {
+        try {
+            return sqsAsyncClient.receiveMessage(buildReceiveMessageRequest(getNumberOfMessagesToRequest(), waitTimeInSeconds));
+        } catch (final RuntimeException exception) {
+            return CompletableFutureUtils.completedExceptionally(exception);
+        }
+    }
+
+    private ReceiveMessageRequest buildReceiveMessageRequest(final int numberOfMessagesToObtain, final int waitTimeInSeconds) {
+        log.debug("Retrieving {} messages asynchronously for queue: {}", numberOfMessagesToObtain, queueProperties.getQueueUrl());
+        final ReceiveMessageRequest.Builder requestBuilder = ReceiveMessageRequest.builder()
+                .queueUrl(queueProperties.getQueueUrl())
+                .attributeNamesWithStrings(getMessageSystemAttributeNames())
+                .messageAttributeNames(getMessageAttributeNames())
+                .waitTimeSeconds(waitTimeInSeconds)
+                .maxNumberOfMessages(numberOfMessagesToObtain);
+        final Integer visibilityTimeoutInSeconds = properties.getMessageVisibilityTimeoutInSeconds();
+        if (visibilityTimeoutInSeconds != null) {
+            if (visibilityTimeoutInSeconds <= 0) {
+                log.warn("Non-positive visibilityTimeoutInSeconds provided: {}", visibilityTimeoutInSeconds);
+            } else {
+                requestBuilder.visibilityTimeout(visibilityTimeoutInSeconds);
+            }
+        }
+
+        return requestBuilder.build();
+    }
+
+    private Collection<String> getMessageSystemAttributeNames() {
+        final Set<MessageSystemAttributeName> messageSystemAttributeNames = properties.getMessageSystemAttributeNames();
+        if (messageSystemAttributeNames == null) {
+            return ALL_ATTRIBUTE_NAMES;
+        }
+
+        return messageSystemAttributeNames.stream()
+                .map(MessageSystemAttributeName::toString)
+                .collect(toList());
+    }
+
+    private Collection<String> getMessageAttributeNames() {
+        final Set<String> messageAttributeNames = properties.getMessageAttributeNames();
+        return messageAttributeNames != null ? messageAttributeNames : ALL_ATTRIBUTE_NAMES;
+    }
+
+    private int getMaxPrefetchedMessages() {
+        return PropertyUtils.safelyGetPositiveIntegerValue(
+                "maxPrefetchedMessages",
+                properties::getMaxPrefetchedMessages,
+                DEFAULT_MAX_PREFETCHED_MESSAGES
+        );
+    }
+}
@@ -0,0 +1,60 @@
+package com.jashmore.sqs.retriever.multiplex;
+
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+
+import java.util.Set;
+import javax.annotation.Nullable;
+import javax.validation.constraints.Positive;
+
+/**
+ * Properties for a single queue that has its messages retrieved by the {@link MultiplexingMessageRetriever}.
+ */
+public interface MultiplexedQueueProperties {
+    /**
+     * The total number of messages that can be pulled from the server for this queue and not currently being processed.
+     *
+     * <p>If this value is null or not positive, {@link MultiplexingMessageRetrieverConstants#DEFAULT_MAX_PREFETCHED_MESSAGES} will be used.
+     *
+     * @return the maximum number of prefetched messages or null if the default should be used
+     */
+    @Nullable
+    @Positive
+    Integer getMaxPrefetchedMessages();
+
+    /**
+     * The visibility timeout for the message.
+     *
+     * <p>E.g. the number of seconds that a message can be kept before it is assumed that it wasn't completed and will be put back onto the queue
+     *
+     * <p>If this value is null, no visibility timeout will be set on the message retrieval.
+     *
+     * @return the visibility timeout for messages where null means to use the SQS default visibility timeout
+     * @see ReceiveMessageRequest#visibilityTimeout() for where this is applied against
+     */
+    @Nullable
+    @Positive
+    Integer getMessageVisibilityTimeoutInSeconds();
+
+    /**
+     * The names of the message attributes that should be downloaded with each message.
+     *
+     * <p>If this value is null, all of the message attributes will be downloaded.
+     *
+     * @return the names of the message attributes to download or null if all of them should be downloaded
+     * @see ReceiveMessageRequest#messageAttributeNames() for where this is applied against
+     */
+    @Nullable
+    Set<String> getMessageAttributeNames();
+
+    /**
+     * The message system attributes, e.g. {@link MessageSystemAttributeName#APPROXIMATE_RECEIVE_COUNT}, that should be downloaded with each message.
+     *
+     * <p>If this value is null, all of the message system attributes will be downloaded.
+     *
+     * @return the message system attributes to download or null if all of them should be downloaded
+     * @see ReceiveMessageRequest#attributeNames() for where this is applied against
+     */
+    @Nullable
+    Set<MessageSystemAttributeName> getMessageSystemAttributeNames();
+}
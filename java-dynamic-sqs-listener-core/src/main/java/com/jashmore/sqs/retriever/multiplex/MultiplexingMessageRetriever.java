@@ -0,0 +1,421 @@
+package com.jashmore.sqs.retriever.multiplex;
+
+import static com.jashmore.sqs.aws.AwsConstants.MAX_SQS_RECEIVE_WAIT_TIME_IN_SECONDS;
+import static com.jashmore.sqs.retriever.multiplex.MultiplexingMessageRetrieverConstants.DEFAULT_CONTENDED_WAIT_TIME_IN_SECONDS;
+import static com.jashmore.sqs.retriever.multiplex.MultiplexingMessageRetrieverConstants.DEFAULT_ERROR_BACKOFF_TIMEOUT_IN_MILLISECONDS;
+import static com.jashmore.sqs.retriever.multiplex.MultiplexingMessageRetrieverConstants.DEFAULT_MAX_CONCURRENT_RECEIVE_REQUESTS;
+import static com.jashmore.sqs.retriever.multiplex.MultiplexingMessageRetrieverConstants.MAX_DEREGISTER_WAIT_TIME_IN_SECONDS;
+
+import com.google.common.base.Preconditions;
+
+import com.jashmore.sqs.QueueProperties;
+import com.jashmore.sqs.retriever.MessageRetriever;
+import com.jashmore.sqs.util.properties.PropertyUtils;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Retrieves the messages for many queues using a single event loop thread and a bounded number of requests to SQS, instead of each queue's
+ * {@link MessageRetriever} thread holding onto its own long polling requests.
+ *
+ * <p>Each queue obtains a {@link MessageRetriever} from {@link #messageRetrieverForQueue(QueueProperties, SqsAsyncClient, MultiplexedQueueProperties)}
+ * which is used by its container as normal. While that retriever is running it will be registered with this multiplexer, which will keep its local buffer
+ * of messages filled up to the {@link MultiplexedQueueProperties#getMaxPrefetchedMessages()} limit. As the container still runs that retriever on its own
+ * thread, which is parked until the container is stopped, this reduces the number of requests and connections to SQS but not the number of threads.
+ *
+ * <p>All of the work is done on a single event loop thread which is started by {@link #start()} and stopped by {@link #stop()}. This thread will send
+ * requests for messages for the queues that have space for more messages, in a round robin order so that a busy queue cannot starve the other queues,
+ * while making sure that there are never more than {@link MultiplexingMessageRetrieverProperties#getMaxConcurrentReceiveRequests()} requests in flight.
+ * Each queue will only have a single request in flight at any time.
+ *
+ * <p>When there are more queues ready for a request than there are requests available, the requests will use the shorter
+ * {@link MultiplexingMessageRetrieverProperties#getContendedWaitTimeInSeconds()} wait time so that the requests for empty queues do not block the other
+ * queues from being polled for the full long polling time.
+ */
+@Slf4j
+@ThreadSafe
+public class MultiplexingMessageRetriever {
+    private static final String EVENT_LOOP_THREAD_NAME = "multiplexing-message-retriever";
+
+    private final MultiplexingMessageRetrieverProperties properties;
+    private final BlockingQueue<Runnable> tasks = new LinkedBlockingQueue<>();
+    private final Object lifecycleLock = new Object();
+
+    /**
+     * The thread running the event loop, which is kept until the event loop has finished stopping so that no tasks are run on other threads before then.
+     */
+    @GuardedBy("lifecycleLock")
+    private Thread eventLoopThread;
+
+    @GuardedBy("lifecycleLock")
+    private boolean stopping;
+
+    // The following fields are only accessed by the event loop thread, or while holding the lifecycleLock when the event loop is not running
+    private final List<MultiplexedQueueMessageRetriever> registeredQueues = new ArrayList<>();
+    private final Map<MultiplexedQueueMessageRetriever, CompletableFuture<ReceiveMessageResponse>> requestsInFlight = new HashMap<>();
+    private final Map<MultiplexedQueueMessageRetriever, Long> backoffDeadlines = new HashMap<>();
+    private int nextQueueIndex;
+
+    public MultiplexingMessageRetriever(final MultiplexingMessageRetrieverProperties properties) {
+        Preconditions.checkNotNull(properties, "properties");
+
+        this.properties = properties;
+    }
+
+    /**
+     * Build the {@link MessageRetriever} for a queue that will have its messages retrieved by this multiplexer.
+     *
+     * <p>The queue will only have messages requested for it while the returned retriever is running.
+     *
+     * @param queueProperties the details of the queue
+     * @param sqsAsyncClient  the client that will be used to request the messages for the queue
+     * @param properties      the properties for how messages are retrieved for this queue
+     * @return the retriever for the queue
+     */
+    public MessageRetriever messageRetrieverForQueue(final QueueProperties queueProperties,
+                                                     final SqsAsyncClient sqsAsyncClient,
+                                                     final MultiplexedQueueProperties properties) {
+        return new MultiplexedQueueMessageRetriever(this, sqsAsyncClient, queueProperties, properties);
+    }
+
+    /**
+     * Start the event loop thread that requests messages for the registered queues.
+     *
+     * <p>If it has already been started this will do nothing. If it is currently being stopped, this will wait for it to stop before starting it again.
+     */
+    public void start() {
+        while (true) {
+            final Thread stoppingThread;
+            synchronized (lifecycleLock) {
+                if (eventLoopThread == null) {
+                    eventLoopThread = new Thread(this::runEventLoop, EVENT_LOOP_THREAD_NAME);
+                    eventLoopThread.setDaemon(true);
+                    eventLoopThread.start();
+                    return;
+                }
+
+                if (!stopping) {
+                    return;
+                }
+                stoppingThread = eventLoopThread;
+            }
+
+            // the previous event loop needs to finish stopping before a new one can be started
+            try {
+                stoppingThread.join();
+            } catch (final InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Stop the event loop thread, cancelling any requests for messages that are in flight, and wait for it to finish.
+     *
+     * <p>Any queues that are still registered will keep the messages that have already been retrieved but will not have any more messages requested until
+     * this multiplexer is started again.
+     *
+     * @throws InterruptedException if the thread was interrupted while waiting for the event loop to stop
+     */
+    public void stop() throws InterruptedException {
+        final Thread thread;
+        synchronized (lifecycleLock) {
+            thread = eventLoopThread;
+            if (thread == null) {
+                return;
+            }
+            // the thread is only cleared by the event loop once it has stopped so that any tasks submitted until then are run by the event loop
+            stopping = true;
+            thread.interrupt();
+        }
+        thread.join();
+    }
+
+    /**
+     * Register the queue so that messages will start to be requested for it.
+     *
+     * @param queue the queue to register
+     */
+    void register(final MultiplexedQueueMessageRetriever queue) {
+        submit(() -> {
+            log.debug("Registering queue: {}", queue.getQueueUrl());
+            registeredQueues.add(queue);
+        });
+    }
+
+    /**
+     * Deregister the queue so that no more messages are requested for it, blocking until any request in flight for the queue has completed.
+     *
+     * <p>The request in flight is not cancelled as any messages that SQS has already returned for it would be lost and stay invisible until their
+     * visibility timeout expires. Instead the messages are added to the queue so that they can be returned by its retriever.
+     *
+     * @param queue the queue to deregister
+     */
+    void deregister(final MultiplexedQueueMessageRetriever queue) {
+        final CompletableFuture<CompletableFuture<ReceiveMessageResponse>> requestInFlight = new CompletableFuture<>();
+        submit(() -> {
+            try {
+                log.debug("Deregistering queue: {}", queue.getQueueUrl());
+                final int index = registeredQueues.indexOf(queue);
+                if (index >= 0) {
+                    registeredQueues.remove(index);
+                    if (index < nextQueueIndex) {
+                        nextQueueIndex--;
+                    }
+                }
+                backoffDeadlines.remove(queue);
+                requestInFlight.complete(requestsInFlight.remove(queue));
+            } finally {
+                requestInFlight.complete(null);
+            }
+        });
+        // this waits on the calling thread so that the event loop can keep requesting messages for the other queues
+        waitForRequestToComplete(queue, requestInFlight.join());
+    }
+
+    /**
+     * Wake up the event loop so that it can check whether any more messages should be requested, e.g. when a queue has space for more messages.
+     */
+    void wakeUp() {
+        submit(() -> { });
+    }
+
+    private void submit(final Runnable task) {
+        synchronized (lifecycleLock) {
+            if (eventLoopThread == null) {
+                // no event loop is running, or it has finished stopping, so the state can be safely modified while holding the lock
+                task.run();
+            } else {
+                tasks.add(task);
+            }
+        }
+    }
+
+    private void runEventLoop() {
+        log.info("Started MultiplexingMessageRetriever");
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                requestMessagesForReadyQueues();
+
+                final Runnable task = tasks.poll(getMillisecondsUntilNextBackoffDeadline(), TimeUnit.MILLISECONDS);
+                if (task != null) {
+                    runTask(task);
+                    Runnable nextTask;
+                    while ((nextTask = tasks.poll()) != null) {
+                        runTask(nextTask);
+                    }
+                }
+            }
+        } catch (final InterruptedException interruptedException) {
+            log.debug("Thread interrupted while waiting for tasks. Exiting...");
+        } finally {
+            synchronized (lifecycleLock) {
+                final Map<MultiplexedQueueMessageRetriever, CompletableFuture<ReceiveMessageResponse>> requestsToCancel = new HashMap<>(requestsInFlight);
+                requestsInFlight.clear();
+                requestsToCancel.forEach(this::cancelRequest);
+                // any remaining tasks, e.g. registrations submitted while stopping, need to be run so that they are not lost
+                Runnable task;
+                while ((task = tasks.poll()) != null) {
+                    task.run();
+                }
+                eventLoopThread = null;
+                stopping = false;
+            }
+            log.info("MultiplexingMessageRetriever has been successfully stopped");
+        }
+    }
+
+    /**
+     * Run the task on the event loop, making sure that a failure does not stop the event loop from requesting messages for all of the other queues.
+     *
+     * @param task the task to run
+     */
+    private void runTask(final Runnable task) {
+        try {
+            task.run();
+        } catch (final RuntimeException runtimeException) {
+            log.error("Unexpected error running task in MultiplexingMessageRetriever event loop", runtimeException);
+        }
+    }
+
+    /**
+     * Send requests for messages for the queues that are ready, starting from the queue after the last one that was sent a request.
+     *
+     * <p>If there is an error checking or requesting messages for a queue, that queue will backoff while the other queues continue to be polled.
+     */
+    private void requestMessagesForReadyQueues() {
+        final int numberOfAvailableRequests = getMaxConcurrentReceiveRequests() - requestsInFlight.size();
+        if (numberOfAvailableRequests <= 0 || registeredQueues.isEmpty()) {
+            return;
+        }
+
+        final long now = System.currentTimeMillis();
+        final int numberOfQueues = registeredQueues.size();
+        final List<Integer> readyQueueIndexes = new ArrayList<>();
+        for (int offset = 0; offset < numberOfQueues; ++offset) {
+            final int index = (nextQueueIndex + offset) % numberOfQueues;
+            final MultiplexedQueueMessageRetriever queue = registeredQueues.get(index);
+            try {
+                if (isReadyForRequest(queue, now)) {
+                    readyQueueIndexes.add(index);
+                }
+            } catch (final RuntimeException runtimeException) {
+                backoff(queue, runtimeException);
+            }
+        }
+        if (readyQueueIndexes.isEmpty()) {
+            return;
+        }
+
+        final int waitTimeInSeconds = readyQueueIndexes.size() > numberOfAvailableRequests ? getContendedWaitTimeInSeconds()
+                : MAX_SQS_RECEIVE_WAIT_TIME_IN_SECONDS;
+        for (final int index : readyQueueIndexes.subList(0, Math.min(numberOfAvailableRequests, readyQueueIndexes.size()))) {
+            final MultiplexedQueueMessageRetriever queue = registeredQueues.get(index);
+            try {
+                requestMessages(queue, waitTimeInSeconds);
+            } catch (final RuntimeException runtimeException) {
+                backoff(queue, runtimeException);
+            }
+            nextQueueIndex = (index + 1) % numberOfQueues;
+        }
+    }
+
+    private boolean isReadyForRequest(final MultiplexedQueueMessageRetriever queue, final long now) {
+        return !requestsInFlight.containsKey(queue)
+                && backoffDeadlines.getOrDefault(queue, 0L) <= now
+                && queue.getNumberOfMessagesToRequest() > 0;
+    }
+
+    private void requestMessages(final MultiplexedQueueMessageRetriever queue, final int waitTimeInSeconds) {
+        backoffDeadlines.remove(queue);
+        final CompletableFuture<ReceiveMessageResponse> receiveMessageFuture = queue.requestMessages(waitTimeInSeconds);
+        requestsInFlight.put(queue, receiveMessageFuture);
+        receiveMessageFuture.whenComplete((response, throwable) -> submit(() -> onRequestCompleted(queue, receiveMessageFuture, response, throwable)));
+    }
+
+    private void onRequestCompleted(final MultiplexedQueueMessageRetriever queue,
+                                    final CompletableFuture<ReceiveMessageResponse> receiveMessageFuture,
+                                    final ReceiveMessageResponse response,
+                                    final Throwable throwable) {
+        if (!requestsInFlight.remove(queue, receiveMessageFuture)) {
+            // the queue has been deregistered, which will have handled the result of this request
+            return;
+        }
+
+        if (throwable != null) {
+            backoff(queue, (throwable instanceof CompletionException && throwable.getCause() != null) ? throwable.getCause() : throwable);
+            return;
+        }
+
+        try {
+            log.debug("Received {} messages for queue: {}", response.messages().size(), queue.getQueueUrl());
+            queue.addMessages(response.messages());
+        } catch (final RuntimeException runtimeException) {
+            backoff(queue, runtimeException);
+        }
+    }
+
+    /**
+     * Stop requesting messages for the queue for the backoff time due to an error retrieving its messages.
+     *
+     * @param queue     the queue that had the error
+     * @param exception the cause of the error
+     */
+    private void backoff(final MultiplexedQueueMessageRetriever queue, final Throwable exception) {
+        log.error("Exception thrown when retrieving messages for queue: {}", queue.getQueueUrl(), exception);
+        backoffDeadlines.put(queue, System.currentTimeMillis() + getBackoffTimeInMs());
+    }
+
+    /**
+     * Wait for the request for messages of a queue that has been deregistered to complete, adding any messages that were received to the queue.
+     *
+     * @param queue                the queue that the request was for
+     * @param receiveMessageFuture the request to wait for, which can be null if there was no request in flight
+     */
+    private void waitForRequestToComplete(final MultiplexedQueueMessageRetriever queue,
+                                          final CompletableFuture<ReceiveMessageResponse> receiveMessageFuture) {
+        if (receiveMessageFuture == null) {
+            return;
+        }
+
+        try {
+            queue.addMessages(receiveMessageFuture.get(MAX_DEREGISTER_WAIT_TIME_IN_SECONDS, TimeUnit.SECONDS).messages());
+        } catch (final InterruptedException interruptedException) {
+            log.debug("Thread interrupted while waiting for request for messages to complete for queue: {}", queue.getQueueUrl());
+            cancelRequest(queue, receiveMessageFuture);
+            Thread.currentThread().interrupt();
+        } catch (final TimeoutException timeoutException) {
+            log.warn("Request for messages did not complete in time for queue: {}", queue.getQueueUrl());
+            cancelRequest(queue, receiveMessageFuture);
+        } catch (final CancellationException | ExecutionException exception) {
+            log.debug("Request for messages for queue being deregistered did not complete successfully: {}", queue.getQueueUrl(), exception);
+        }
+    }
+
+    /**
+     * Cancel the request for messages, making sure that the messages are not lost if the request had already completed.
+     *
+     * @param queue                the queue that the request was for
+     * @param receiveMessageFuture the request to cancel, which can be null if there was no request in flight
+     */
+    private void cancelRequest(final MultiplexedQueueMessageRetriever queue, final CompletableFuture<ReceiveMessageResponse> receiveMessageFuture) {
+        if (receiveMessageFuture == null || receiveMessageFuture.cancel(true)) {
+            return;
+        }
+
+        try {
+            queue.addMessages(receiveMessageFuture.join().messages());
+        } catch (final CancellationException | CompletionException exception) {
+            log.debug("Request for messages being cancelled did not complete successfully", exception);
+        }
+    }
+
+    private long getMillisecondsUntilNextBackoffDeadline() {
+        final long now = System.currentTimeMillis();
+        return backoffDeadlines.values().stream()
+                .mapToLong(deadline -> Math.max(0, deadline - now))
+                .min()
+                .orElse(Long.MAX_VALUE);
+    }
+
+    private int getMaxConcurrentReceiveRequests() {
+        return PropertyUtils.safelyGetPositiveIntegerValue(
+                "maxConcurrentReceiveRequests",
+                properties::getMaxConcurrentReceiveRequests,
+                DEFAULT_MAX_CONCURRENT_RECEIVE_REQUESTS
+        );
+    }
+
+    private int getContendedWaitTimeInSeconds() {
+        return Math.min(MAX_SQS_RECEIVE_WAIT_TIME_IN_SECONDS, PropertyUtils.safelyGetPositiveOrZeroIntegerValue(
+                "contendedWaitTimeInSeconds",
+                properties::getContendedWaitTimeInSeconds,
+                DEFAULT_CONTENDED_WAIT_TIME_IN_SECONDS
+        ));
+    }
+
+    private int getBackoffTimeInMs() {
+        return PropertyUtils.safelyGetPositiveOrZeroIntegerValue(
+                "errorBackoffTimeInMilliseconds",
+                properties::getErrorBackoffTimeInMilliseconds,
+                DEFAULT_ERROR_BACKOFF_TIMEOUT_IN_MILLISECONDS
+        );
+    }
+}
@@ -0,0 +1,32 @@
+package com.jashmore.sqs.retriever.multiplex;
+
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+class MultiplexingMessageRetrieverConstants {
+    /**
+     * The default number of requests for messages that can be in flight at the same time across all of the queues.
+     */
+    static final int DEFAULT_MAX_CONCURRENT_RECEIVE_REQUESTS = 10;
+
+    /**
+     * The default wait time for a request for messages when there are more queues ready for a request than there are requests available.
+     */
+    static final int DEFAULT_CONTENDED_WAIT_TIME_IN_SECONDS = 1;
+
+    /**
+     * The default backoff timeout for a queue when there is an error retrieving its messages.
+     */
+    static final int DEFAULT_ERROR_BACKOFF_TIMEOUT_IN_MILLISECONDS = 10_000;
+
+    /**
+     * The default number of messages that can be prefetched for each queue.
+     */
+    static final int DEFAULT_MAX_PREFETCHED_MESSAGES = 10;
+
+    /**
+     * The maximum time to wait for the request in flight for a queue to complete when it is deregistered, which allows for the maximum long polling time
+     * as well as the time taken to send the request and receive the response.
+     */
+    static final int MAX_DEREGISTER_WAIT_TIME_IN_SECONDS = 30;
+}
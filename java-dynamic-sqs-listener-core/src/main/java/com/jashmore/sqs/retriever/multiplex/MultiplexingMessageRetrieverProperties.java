@@ -0,0 +1,49 @@
+package com.jashmore.sqs.retriever.multiplex;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+public interface MultiplexingMessageRetrieverProperties {
+    /**
+     * The maximum number of requests for messages that can be in flight to SQS at the same time across all of the queues.
+     *
+     * <p>This limits the number of connections that are needed for the long polling of messages, regardless of how many queues are being listened to.
+     *
+     * <p>This value is obtained before each request for messages and therefore can be changed during execution. If this value is null or not positive,
+     * {@link MultiplexingMessageRetrieverConstants#DEFAULT_MAX_CONCURRENT_RECEIVE_REQUESTS} will be used.
+     *
+     * @return the maximum number of concurrent requests for messages or null if the default should be used
+     */
+    @Nullable
+    @Positive
+    Integer getMaxConcurrentReceiveRequests();
+
+    /**
+     * The wait time in seconds used for a request for messages when there are more queues ready for a request than there are requests available.
+     *
+     * <p>An empty queue holds onto a request for the full long poll, which would make the other queues wait for this time before they could be polled.
+     * When the requests are contended, this shorter wait time is used so that the requests are cycled between all of the queues. When the requests are
+     * not contended, the maximum wait time of {@link com.jashmore.sqs.aws.AwsConstants#MAX_SQS_RECEIVE_WAIT_TIME_IN_SECONDS} is used.
+     *
+     * <p>If this value is null or negative, {@link MultiplexingMessageRetrieverConstants#DEFAULT_CONTENDED_WAIT_TIME_IN_SECONDS} will be used.
+     *
+     * @return the wait time in seconds for contended requests or null if the default should be used
+     */
+    @Nullable
+    @PositiveOrZero
+    Integer getContendedWaitTimeInSeconds();
+
+    /**
+     * If there was an error retrieving messages for a queue, that queue will not be polled again for this many milliseconds, which prevents constant
+     * requests that achieve nothing. The other queues will continue to be polled during this time.
+     *
+     * <p>If this value is null or negative, {@link MultiplexingMessageRetrieverConstants#DEFAULT_ERROR_BACKOFF_TIMEOUT_IN_MILLISECONDS} will be used
+     * as the backoff period.
+     *
+     * @return the backoff time in milliseconds or null if the default backoff time should be used
+     */
+    @Nullable
+    @PositiveOrZero
+    Integer getErrorBackoffTimeInMilliseconds();
+}
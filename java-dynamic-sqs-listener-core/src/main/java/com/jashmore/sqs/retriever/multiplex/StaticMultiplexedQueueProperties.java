@@ -0,0 +1,38 @@
+package com.jashmore.sqs.retriever.multiplex;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+
+import java.util.Set;
+
+@Builder(toBuilder = true)
+@ToString
+@EqualsAndHashCode
+public class StaticMultiplexedQueueProperties implements MultiplexedQueueProperties {
+    private final Integer maxPrefetchedMessages;
+    private final Integer messageVisibilityTimeoutInSeconds;
+    private final Set<String> messageAttributeNames;
+    private final Set<MessageSystemAttributeName> messageSystemAttributeNames;
+
+    @Override
+    public Integer getMaxPrefetchedMessages() {
+        return maxPrefetchedMessages;
+    }
+
+    @Override
+    public Integer getMessageVisibilityTimeoutInSeconds() {
+        return messageVisibilityTimeoutInSeconds;
+    }
+
+    @Override
+    public Set<String> getMessageAttributeNames() {
+        return messageAttributeNames;
+    }
+
+    @Override
+    public Set<MessageSystemAttributeName> getMessageSystemAttributeNames() {
+        return messageSystemAttributeNames;
+    }
+}
@@ -0,0 +1,29 @@
+package com.jashmore.sqs.retriever.multiplex;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+@Builder(toBuilder = true)
+@ToString
+@EqualsAndHashCode
+public class StaticMultiplexingMessageRetrieverProperties implements MultiplexingMessageRetrieverProperties {
+    private final Integer maxConcurrentReceiveRequests;
+    private final Integer contendedWaitTimeInSeconds;
+    private final Integer errorBackoffTimeInMilliseconds;
+
+    @Override
+    public Integer getMaxConcurrentReceiveRequests() {
+        return maxConcurrentReceiveRequests;
+    }
+
+    @Override
+    public Integer getContendedWaitTimeInSeconds() {
+        return contendedWaitTimeInSeconds;
+    }
+
+    @Override
+    public Integer getErrorBackoffTimeInMilliseconds() {
+        return errorBackoffTimeInMilliseconds;
+    }
+}
@@ -1,32 +1,54 @@
 package com.jashmore.sqs.retriever.prefetch;
 
+import static com.jashmore.sqs.aws.AwsConstants.MAX_NUMBER_OF_MESSAGES_IN_BATCH;
 import static com.jashmore.sqs.aws.AwsConstants.MAX_SQS_RECEIVE_WAIT_TIME_IN_SECONDS;
 import static com.jashmore.sqs.retriever.prefetch.PrefetchingMessageRetrieverConstants.DEFAULT_ERROR_BACKOFF_TIMEOUT_IN_MILLISECONDS;
+import static com.jashmore.sqs.retriever.prefetch.PrefetchingMessageRetrieverConstants.DEFAULT_MAX_CONCURRENT_RECEIVE_REQUESTS;
+import static com.jashmore.sqs.retriever.prefetch.PrefetchingMessageRetrieverConstants.DEFAULT_PREFETCHED_MESSAGE_EXPIRY_BUFFER_PERCENTAGE;
+import static java.util.stream.Collectors.toList;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 
 import com.jashmore.sqs.QueueProperties;
 import com.jashmore.sqs.aws.AwsConstants;
 import com.jashmore.sqs.retriever.MessageRetriever;
+import com.jashmore.sqs.retriever.backoff.EmptyReceiveBackoff;
 import com.jashmore.sqs.retriever.prefetch.util.PrefetchingMessageFutureConsumerQueue;
+import com.jashmore.sqs.util.concurrent.CompletableFutureUtils;
+import com.jashmore.sqs.util.message.MessageVisibilityDeadlines;
 import com.jashmore.sqs.util.properties.PropertyUtils;
 import javafx.util.Pair;
+import lombok.AllArgsConstructor;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.exception.SdkInterruptedException;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
 import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
 import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import javax.annotation.Nullable;
 
 /**
  * Message retriever that allows for the prefetching of messages for faster throughput by making sure that there are always messages in a queue locally to be
@@ -56,29 +78,75 @@ import java.util.concurrent.ExecutionException;
  *     <li>This process repeats as more messages are consumed and placed onto the queues.</li>
  * </ol>
  *
+ * <p>By default only a single request for messages will be in flight at any time, meaning that the queue can never be drained faster than one round trip
+ * to SQS for every 10 messages. For high volume queues, {@link PrefetchingMessageRetrieverProperties#getMaxConcurrentReceiveRequests()} can be increased to
+ * allow for multiple requests to be in flight at the same time. The total number of messages requested by these requests, including the messages already
+ * prefetched, will still never exceed the {@link PrefetchingMessageRetriever#maxPrefetchedMessages} limit.
+ *
+ * <p>If {@link PrefetchingMessageRetrieverProperties#getMaxPrefetchedBytes()} has been set, the prefetching will also block while the total size of the
+ * prefetched messages has reached this limit, which allows for the memory used by the prefetched messages to be bounded regardless of their size.
+ *
+ * <p>If {@link PrefetchingMessageRetrieverProperties#getEmptyReceivesBeforeIdleBackoff()} has been set, the retriever will wait between requests for
+ * messages once the queue has been empty for that many consecutive requests, reducing the number of requests made to idle queues. Any requests that were
+ * already in flight will still be handled during this backoff.
+ *
  * <p>Note that because these messages are being prefetched they could be in the internal queue for a long period and could even remain in the prefetched queue
  * after the visibility timeout for the message has expired. This could cause it to be placed in the dead letter queue or attempted again at a future time.
+ * To prevent this, when {@link PrefetchingMessageRetrieverProperties#getMessageVisibilityTimeoutInSeconds()} has been set the time that each message
+ * was received is tracked and messages whose visibility timeout has expired will be skipped instead of being given to a consumer. These messages, and the
+ * messages that are close to expiring, as configured by {@link PrefetchingMessageRetrieverProperties#getPrefetchedMessageExpiryBufferInSeconds()}, are
+ * released back to the queue in batches so that they can be received again straight away.
  */
 @Slf4j
 public class PrefetchingMessageRetriever implements MessageRetriever {
+    /**
+     * Requests all of the attributes when none have been provided in the properties.
+     */
+    private static final List<String> ALL_ATTRIBUTE_NAMES = ImmutableList.of(QueueAttributeName.ALL.toString());
+
     private final SqsAsyncClient sqsAsyncClient;
     private final QueueProperties queueProperties;
     private final PrefetchingMessageRetrieverProperties properties;
 
     private final PrefetchingMessageFutureConsumerQueue pairConsumerQueue;
     private final int maxPrefetchedMessages;
+    private final EmptyReceiveBackoff emptyReceiveBackoff;
 
+    /**
+     * The time that the visibility timeout of each prefetched message will expire.
+     *
+     * <p>This is only populated when a visibility timeout has been provided in the properties as otherwise the visibility timeout of the messages is not known.
+     */
+    private final MessageVisibilityDeadlines visibilityDeadlines;
 
     public PrefetchingMessageRetriever(final SqsAsyncClient sqsAsyncClient,
                                        final QueueProperties queueProperties,
                                        final PrefetchingMessageRetrieverProperties properties) {
+        this(sqsAsyncClient, queueProperties, properties, new MessageVisibilityDeadlines());
+    }
+
+    /**
+     * Constructor that records the visibility deadlines of the received messages in the provided {@link MessageVisibilityDeadlines}, allowing them to be
+     * shared with other components like the {@link com.jashmore.sqs.processor.visibility.AutoVisibilityExtendingMessageProcessor}.
+     *
+     * @param sqsAsyncClient      the client for communicating with SQS
+     * @param queueProperties     the properties of the queue
+     * @param properties          the properties for configuring this retriever
+     * @param visibilityDeadlines where the visibility deadlines of the received messages will be recorded
+     */
+    public PrefetchingMessageRetriever(final SqsAsyncClient sqsAsyncClient,
+                                       final QueueProperties queueProperties,
+                                       final PrefetchingMessageRetrieverProperties properties,
+                                       final MessageVisibilityDeadlines visibilityDeadlines) {
         Preconditions.checkNotNull(sqsAsyncClient, "sqsAsyncClient");
         Preconditions.checkNotNull(queueProperties, "queueProperties");
         Preconditions.checkNotNull(properties, "properties");
+        Preconditions.checkNotNull(visibilityDeadlines, "visibilityDeadlines");
 
         this.sqsAsyncClient = sqsAsyncClient;
         this.queueProperties = queueProperties;
         this.properties = properties;
+        this.visibilityDeadlines = visibilityDeadlines;
 
         this.maxPrefetchedMessages = properties.getMaxPrefetchedMessages();
         final int desiredMinPrefetchedMessages = properties.getDesiredMinPrefetchedMessages();
@@ -86,14 +154,27 @@ public class PrefetchingMessageRetriever implements MessageRetriever {
         Preconditions.checkArgument(maxPrefetchedMessages >= desiredMinPrefetchedMessages,
                 "maxPrefetchedMessages should be greater than or equal to desiredMinPrefetchedMessages");
         Preconditions.checkArgument(desiredMinPrefetchedMessages > 0, "desiredMinPrefetchedMessages must be greater than zero");
+        final Long maxPrefetchedBytes = properties.getMaxPrefetchedBytes();
+        Preconditions.checkArgument(maxPrefetchedBytes == null || maxPrefetchedBytes > 0, "maxPrefetchedBytes must be greater than zero");
 
-        pairConsumerQueue = new PrefetchingMessageFutureConsumerQueue(desiredMinPrefetchedMessages);
+        pairConsumerQueue = new PrefetchingMessageFutureConsumerQueue(desiredMinPrefetchedMessages, maxPrefetchedBytes);
+        this.emptyReceiveBackoff = new EmptyReceiveBackoff(
+                properties::getEmptyReceivesBeforeIdleBackoff,
+                properties::getMaxIdleBackoffTimeInMilliseconds,
+                properties::getIdleBackoffJitter
+        );
     }
 
     @Override
     public CompletableFuture<Message> retrieveMessage() {
         final CompletableFuture<Message> completableFuture = new CompletableFuture<>();
-        pairConsumerQueue.pushCompletableFuture(completableFuture);
+        final Integer visibilityTimeoutInSeconds = properties.getMessageVisibilityTimeoutInSeconds();
+        if (visibilityTimeoutInSeconds == null || visibilityTimeoutInSeconds <= 0) {
+            // The visibility timeout of the messages is not known so they can be given straight to the consumer
+            pairConsumerQueue.pushCompletableFuture(completableFuture);
+        } else {
+            completeWithUnexpiredMessage(completableFuture);
+        }
         return completableFuture;
     }
 
@@ -102,15 +183,72 @@ public class PrefetchingMessageRetriever implements MessageRetriever {
         log.info("Started MessageRetriever");
 
         final List<Message> listsNotPublished = new LinkedList<>();
+        final Set<CompletableFuture<ReceiveMessageResponse>> requestsInFlight = new HashSet<>();
+        final BlockingQueue<ReceiveMessageResult> completedRequests = new LinkedBlockingQueue<>();
+        int numberOfMessagesRequested = 0;
         while (!Thread.currentThread().isInterrupted()) {
             try {
-                pairConsumerQueue.blockUntilFreeSlotForMessage();
-                final List<Message> messages = CompletableFuture.supplyAsync(this::buildReceiveMessageRequest)
-                        .thenCompose(sqsAsyncClient::receiveMessage)
-                        .thenApply(ReceiveMessageResponse::messages)
-                        .get();
+                ReceiveMessageResult completedRequest = completedRequests.poll();
+                if (completedRequest == null) {
+                    final long idleBackoffTimeInMilliseconds = emptyReceiveBackoff.getRemainingBackoffTimeInMilliseconds();
+                    if (idleBackoffTimeInMilliseconds > 0) {
+                        // The queue is idle so no more messages are requested until the backoff has finished but any requests in flight are still handled
+                        log.debug("Queue is idle, backing off for {}ms", idleBackoffTimeInMilliseconds);
+                        completedRequest = completedRequests.poll(idleBackoffTimeInMilliseconds, TimeUnit.MILLISECONDS);
+                        if (completedRequest == null) {
+                            continue;
+                        }
+                    } else {
+                        if (requestsInFlight.size() < getMaxConcurrentReceiveRequests()) {
+                            pairConsumerQueue.blockUntilFreeSlotForMessage();
+                            final int numberOfPrefetchSlotsLeft = maxPrefetchedMessages - pairConsumerQueue.getNumberOfBatchedMessages()
+                                    - numberOfMessagesRequested;
+                            final int numberOfMessagesToObtain = Math.min(AwsConstants.MAX_NUMBER_OF_MESSAGES_FROM_SQS, numberOfPrefetchSlotsLeft);
+                            if (numberOfMessagesToObtain > 0) {
+                                final Integer visibilityTimeoutInSeconds = properties.getMessageVisibilityTimeoutInSeconds();
+                                final CompletableFuture<ReceiveMessageResponse> receiveMessageFuture = requestMessages(
+                                        numberOfMessagesToObtain, visibilityTimeoutInSeconds
+                                );
+                                requestsInFlight.add(receiveMessageFuture);
+                                numberOfMessagesRequested += numberOfMessagesToObtain;
+                                receiveMessageFuture.whenComplete((response, throwable) -> {
+                                    if (response != null && visibilityTimeoutInSeconds != null && visibilityTimeoutInSeconds > 0) {
+                                        // The visibility timeout starts when SQS returns the messages, which for a long poll can be many seconds after
+                                        // the request was sent, so the deadline is taken when the response arrives
+                                        response.messages().forEach(message -> visibilityDeadlines.recordReceived(message, visibilityTimeoutInSeconds));
+                                    }
+                                    completedRequests.add(new ReceiveMessageResult(receiveMessageFuture, numberOfMessagesToObtain, response, throwable));
+                                });
+                                continue;
+                            }
+                        }
+
+                        // We can't request any more messages until one of the requests in flight has completed
+                        completedRequest = completedRequests.take();
+                    }
+                }
+
+                requestsInFlight.remove(completedRequest.getReceiveMessageFuture());
+                numberOfMessagesRequested -= completedRequest.getNumberOfMessagesRequested();
+
+                final Throwable throwable = completedRequest.getThrowable();
+                if (throwable != null) {
+                    final Throwable exception = (throwable instanceof CompletionException && throwable.getCause() != null) ? throwable.getCause() : throwable;
+                    // Supposedly the SqsAsyncClient can get interrupted and this will remove the interrupted status from the thread and then wrap it
+                    // in it's own version of the interrupted exception...If this happens when the retriever is being shut down it will keep on processing
+                    // because it does not realise it is being shut down, therefore we have to check for this and quit if necessary
+                    if (exception instanceof SdkClientException && exception.getCause() instanceof SdkInterruptedException) {
+                        log.debug("Thread interrupted receiving messages");
+                        break;
+                    }
+                    log.error("Exception thrown when retrieving messages", exception);
+                    performBackoff();
+                    continue;
+                }
 
+                final List<Message> messages = completedRequest.getResponse().messages();
                 log.debug("Received {} messages", messages.size());
+                emptyReceiveBackoff.recordReceive(messages.size());
 
                 final ListIterator<Message> messageListIterator = messages.listIterator();
                 while (messageListIterator.hasNext()) {
@@ -128,22 +266,20 @@ public class PrefetchingMessageRetriever implements MessageRetriever {
             } catch (final InterruptedException exception) {
                 log.debug("Thread interrupted while requesting messages. Exiting...");
                 break;
-            } catch (final ExecutionException | RuntimeException exception) {
-                // Supposedly the SqsAsyncClient can get interrupted and this will remove the interrupted status from the thread and then wrap it
-                // in it's own version of the interrupted exception...If this happens when the retriever is being shut down it will keep on processing
-                // because it does not realise it is being shut down, therefore we have to check for this and quit if necessary
-                if (exception instanceof ExecutionException) {
-                    final Throwable executionExceptionCause = exception.getCause();
-                    if (executionExceptionCause instanceof SdkClientException && executionExceptionCause.getCause() instanceof SdkInterruptedException) {
-                        log.debug("Thread interrupted receiving messages");
-                        break;
-                    }
-                }
+            } catch (final RuntimeException exception) {
                 log.error("Exception thrown when retrieving messages", exception);
                 performBackoff();
             }
         }
 
+        requestsInFlight.forEach(future -> future.cancel(true));
+        ReceiveMessageResult completedRequest;
+        while ((completedRequest = completedRequests.poll()) != null) {
+            if (completedRequest.getResponse() != null) {
+                listsNotPublished.addAll(completedRequest.getResponse().messages());
+            }
+        }
+
         final Pair<Queue<CompletableFuture<Message>>, Queue<Message>> pairQueue = pairConsumerQueue.drain();
         final Queue<CompletableFuture<Message>> extraThreads = pairQueue.getKey();
         extraThreads.forEach(future -> future.cancel(true));
@@ -153,23 +289,173 @@ public class PrefetchingMessageRetriever implements MessageRetriever {
                 .build();
     }
 
+    /**
+     * Get a snapshot of the number of messages that have been prefetched and are waiting to be processed.
+     *
+     * @return the number of prefetched messages
+     */
+    public int getNumberOfPrefetchedMessages() {
+        return pairConsumerQueue.getNumberOfBatchedMessages();
+    }
+
+    /**
+     * Get a snapshot of the total size in bytes of the messages that have been prefetched and are waiting to be processed.
+     *
+     * <p>This will always be zero if {@link PrefetchingMessageRetrieverProperties#getMaxPrefetchedBytes()} has not been set as the size of the messages
+     * are only calculated when there is a limit.
+     *
+     * @return the size of the prefetched messages in bytes
+     */
+    public long getNumberOfPrefetchedBytes() {
+        return pairConsumerQueue.getNumberOfBatchedBytes();
+    }
+
+    /**
+     * Complete the consumer's future with the next prefetched message whose visibility timeout is not about to expire.
+     *
+     * <p>Any messages that were skipped because they were about to expire are released back to the queue in batches once a message has been found or there
+     * are no more prefetched messages.
+     *
+     * @param consumerFuture the future of the consumer that is waiting for a message
+     */
+    private void completeWithUnexpiredMessage(final CompletableFuture<Message> consumerFuture) {
+        final List<Message> messagesToRelease = new ArrayList<>();
+        try {
+            while (true) {
+                final CompletableFuture<Message> prefetchedMessageFuture = new CompletableFuture<>();
+                pairConsumerQueue.pushCompletableFuture(prefetchedMessageFuture);
+                if (!prefetchedMessageFuture.isDone()) {
+                    // There are no prefetched messages so this message will be checked when it is placed onto the queue
+                    prefetchedMessageFuture.whenComplete((message, throwable) -> {
+                        if (throwable != null) {
+                            consumerFuture.cancel(true);
+                            return;
+                        }
+
+                        final List<Message> messagesToReleaseLater = new ArrayList<>(1);
+                        if (!completeIfUnexpired(message, consumerFuture, messagesToReleaseLater)) {
+                            releaseMessages(messagesToReleaseLater);
+                            completeWithUnexpiredMessage(consumerFuture);
+                        }
+                    });
+                    return;
+                }
+
+                if (prefetchedMessageFuture.isCompletedExceptionally()) {
+                    consumerFuture.cancel(true);
+                    return;
+                }
+
+                if (completeIfUnexpired(prefetchedMessageFuture.join(), consumerFuture, messagesToRelease)) {
+                    return;
+                }
+            }
+        } finally {
+            releaseMessages(messagesToRelease);
+        }
+    }
+
+    /**
+     * Complete the consumer's future with the message if its visibility timeout is not about to expire.
+     *
+     * @param message           the prefetched message
+     * @param consumerFuture    the future of the consumer that is waiting for a message
+     * @param messagesToRelease the messages that should be released back to the queue, which this message will be added to if it is about to expire
+     * @return whether the message was used for the consumer
+     */
+    private boolean completeIfUnexpired(final Message message, final CompletableFuture<Message> consumerFuture, final List<Message> messagesToRelease) {
+        final Long visibilityDeadline = visibilityDeadlines.getVisibilityDeadline(message);
+        if (visibilityDeadline != null) {
+            final long remainingVisibilityTimeoutInNanoseconds = visibilityDeadline - System.nanoTime();
+            if (remainingVisibilityTimeoutInNanoseconds <= 0) {
+                // The message may not have been received by another consumer yet so it is still released to make sure that it is visible again
+                log.warn("Skipping prefetched message {} as its visibility timeout has expired", message.messageId());
+                messagesToRelease.add(message);
+                return false;
+            }
+
+            if (remainingVisibilityTimeoutInNanoseconds < TimeUnit.SECONDS.toNanos(getPrefetchedMessageExpiryBufferInSeconds())) {
+                log.debug("Releasing prefetched message {} as its visibility timeout is about to expire", message.messageId());
+                messagesToRelease.add(message);
+                return false;
+            }
+        }
+
+        if (!consumerFuture.complete(message)) {
+            // The consumer is no longer waiting for the message so let it be received again straight away
+            messagesToRelease.add(message);
+        }
+        return true;
+    }
+
+    /**
+     * Release the messages back to the queue by setting their visibility timeout to zero.
+     *
+     * @param messages the messages to release
+     */
+    private void releaseMessages(final List<Message> messages) {
+        Lists.partition(messages, MAX_NUMBER_OF_MESSAGES_IN_BATCH)
+                .forEach(this::releaseBatch);
+    }
+
+    private void releaseBatch(final List<Message> batchOfMessages) {
+        final ChangeMessageVisibilityBatchRequest request = ChangeMessageVisibilityBatchRequest.builder()
+                .queueUrl(queueProperties.getQueueUrl())
+                .entries(IntStream.range(0, batchOfMessages.size())
+                        .mapToObj(index -> ChangeMessageVisibilityBatchRequestEntry.builder()
+                                .id(String.valueOf(index))
+                                .receiptHandle(batchOfMessages.get(index).receiptHandle())
+                                .visibilityTimeout(0)
+                                .build())
+                        .collect(toList()))
+                .build();
+
+        try {
+            sqsAsyncClient.changeMessageVisibilityBatch(request)
+                    .whenComplete((response, throwable) -> {
+                        if (throwable != null) {
+                            log.error("Error releasing {} prefetched messages", batchOfMessages.size(), throwable);
+                            return;
+                        }
+
+                        response.failed().forEach(entry -> log.warn("Unable to release prefetched message with id {}: {}",
+                                batchOfMessages.get(Integer.parseInt(entry.id())).messageId(), entry.message()));
+                    });
+        } catch (final RuntimeException runtimeException) {
+            log.error("Error releasing {} prefetched messages", batchOfMessages.size(), runtimeException);
+        }
+    }
+
+    /**
+     * Send the request to SQS to download more messages.
+     *
+     * @param numberOfMessagesToObtain   the number of messages to request
+     * @param visibilityTimeoutInSeconds the visibility timeout for the messages or null if the queue's default should be used
+     * @return the future that will be resolved with the response from SQS, or rejected if there was an error
+     */
+    private CompletableFuture<ReceiveMessageResponse> requestMessages(final int numberOfMessagesToObtain, @Nullable final Integer visibilityTimeoutInSeconds) {
+        try {
+            return sqsAsyncClient.receiveMessage(buildReceiveMessageRequest(numberOfMessagesToObtain, visibilityTimeoutInSeconds));
+        } catch (final RuntimeException exception) {
+            return CompletableFutureUtils.completedExceptionally(exception);
+        }
+    }
+
     /**
      * Build the request that will download the messages from SQS.
      *
+     * @param numberOfMessagesToObtain   the number of messages to request
+     * @param visibilityTimeoutInSeconds the visibility timeout for the messages or null if the queue's default should be used
      * @return the request that will be sent to SQS
      */
-    private ReceiveMessageRequest buildReceiveMessageRequest() {
-        final int numberOfPrefetchSlotsLeft = maxPrefetchedMessages - pairConsumerQueue.getNumberOfBatchedMessages();
-        final int numberOfMessagesToObtain = Math.min(AwsConstants.MAX_NUMBER_OF_MESSAGES_FROM_SQS, numberOfPrefetchSlotsLeft);
-
+    private ReceiveMessageRequest buildReceiveMessageRequest(final int numberOfMessagesToObtain, @Nullable final Integer visibilityTimeoutInSeconds) {
         log.debug("Retrieving {} messages asynchronously", numberOfMessagesToObtain);
         final ReceiveMessageRequest.Builder requestBuilder = ReceiveMessageRequest.builder()
                 .queueUrl(queueProperties.getQueueUrl())
-                .attributeNames(QueueAttributeName.ALL)
-                .messageAttributeNames(QueueAttributeName.ALL.toString())
+                .attributeNamesWithStrings(getMessageSystemAttributeNames())
+                .messageAttributeNames(getMessageAttributeNames())
                 .waitTimeSeconds(MAX_SQS_RECEIVE_WAIT_TIME_IN_SECONDS)
                 .maxNumberOfMessages(numberOfMessagesToObtain);
-        final Integer visibilityTimeoutInSeconds = properties.getMessageVisibilityTimeoutInSeconds();
         if (visibilityTimeoutInSeconds != null) {
             if (visibilityTimeoutInSeconds <= 0) {
                 log.warn("Non-positive visibilityTimeoutInSeconds provided: {}", visibilityTimeoutInSeconds);
@@ -181,6 +467,32 @@ public class PrefetchingMessageRetriever implements MessageRetriever {
         return requestBuilder.build();
     }
 
+    /**
+     * Get the names of the message system attributes to request, falling back to all of them if none were provided.
+     *
+     * @return the names of the message system attributes
+     */
+    private Collection<String> getMessageSystemAttributeNames() {
+        final Set<MessageSystemAttributeName> messageSystemAttributeNames = properties.getMessageSystemAttributeNames();
+        if (messageSystemAttributeNames == null) {
+            return ALL_ATTRIBUTE_NAMES;
+        }
+
+        return messageSystemAttributeNames.stream()
+                .map(MessageSystemAttributeName::toString)
+                .collect(toList());
+    }
+
+    /**
+     * Get the names of the message attributes to request, falling back to all of them if none were provided.
+     *
+     * @return the names of the message attributes
+     */
+    private Collection<String> getMessageAttributeNames() {
+        final Set<String> messageAttributeNames = properties.getMessageAttributeNames();
+        return messageAttributeNames != null ? messageAttributeNames : ALL_ATTRIBUTE_NAMES;
+    }
+
     private void performBackoff() {
         try {
             final long errorBackoffTimeInMilliseconds = getBackoffTimeInMs();
@@ -192,6 +504,38 @@ public class PrefetchingMessageRetriever implements MessageRetriever {
         }
     }
 
+    /**
+     * Get the maximum number of requests for messages that can be in flight at the same time.
+     *
+     * @return the maximum number of concurrent requests
+     */
+    private int getMaxConcurrentReceiveRequests() {
+        return PropertyUtils.safelyGetPositiveIntegerValue(
+                "maxConcurrentReceiveRequests",
+                properties::getMaxConcurrentReceiveRequests,
+                DEFAULT_MAX_CONCURRENT_RECEIVE_REQUESTS
+        );
+    }
+
+    /**
+     * Get the number of seconds of the visibility timeout that a prefetched message must have remaining for it to be given to a consumer.
+     *
+     * <p>If this has not been provided a proportion of the visibility timeout of the messages is used, as defined by
+     * {@link PrefetchingMessageRetrieverConstants#DEFAULT_PREFETCHED_MESSAGE_EXPIRY_BUFFER_PERCENTAGE}.
+     *
+     * @return the minimum remaining visibility timeout in seconds
+     */
+    private int getPrefetchedMessageExpiryBufferInSeconds() {
+        final Integer visibilityTimeoutInSeconds = properties.getMessageVisibilityTimeoutInSeconds();
+        final int defaultExpiryBufferInSeconds = (visibilityTimeoutInSeconds != null && visibilityTimeoutInSeconds > 0)
+                ? visibilityTimeoutInSeconds * DEFAULT_PREFETCHED_MESSAGE_EXPIRY_BUFFER_PERCENTAGE / 100 : 0;
+        return PropertyUtils.safelyGetPositiveOrZeroIntegerValue(
+                "prefetchedMessageExpiryBufferInSeconds",
+                properties::getPrefetchedMessageExpiryBufferInSeconds,
+                defaultExpiryBufferInSeconds
+        );
+    }
+
     /**
      * Get the amount of time in milliseconds that the thread should wait after a failure to get messages.
      *
@@ -207,4 +551,28 @@ public class PrefetchingMessageRetriever implements MessageRetriever {
                 DEFAULT_ERROR_BACKOFF_TIMEOUT_IN_MILLISECONDS
         );
     }
+
+    /**
+     * The result of a request for messages that has completed, which is passed back to the thread running the retriever to be processed.
+     */
+    @Value
+    @AllArgsConstructor
+    private static class ReceiveMessageResult {
+        /**
+         * The future for the request which is used to remove it from the requests in flight.
+         */
+        private final CompletableFuture<ReceiveMessageResponse> receiveMessageFuture;
+        /**
+         * The number of messages that were requested.
+         */
+        private final int numberOfMessagesRequested;
+        /**
+         * The response from SQS, or null if the request failed.
+         */
+        private final ReceiveMessageResponse response;
+        /**
+         * The exception thrown by the request, or null if the request was successful.
+         */
+        private final Throwable throwable;
+    }
 }
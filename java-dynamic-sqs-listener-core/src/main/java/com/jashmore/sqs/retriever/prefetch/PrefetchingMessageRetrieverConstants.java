@@ -8,4 +8,14 @@ class PrefetchingMessageRetrieverConstants {
      * The default backoff timeout for when there is an error retrieving messages.
      */
     static final int DEFAULT_ERROR_BACKOFF_TIMEOUT_IN_MILLISECONDS = 10_000;
+
+    /**
+     * The default number of requests for messages that can be in flight at the same time.
+     */
+    static final int DEFAULT_MAX_CONCURRENT_RECEIVE_REQUESTS = 1;
+
+    /**
+     * The default percentage of the visibility timeout that a prefetched message must have remaining for it to be given to a consumer.
+     */
+    static final int DEFAULT_PREFETCHED_MESSAGE_EXPIRY_BUFFER_PERCENTAGE = 10;
 }
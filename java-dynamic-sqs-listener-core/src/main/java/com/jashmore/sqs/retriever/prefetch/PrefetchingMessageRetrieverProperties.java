@@ -1,7 +1,9 @@
 package com.jashmore.sqs.retriever.prefetch;
 
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
 
+import java.util.Set;
 import javax.annotation.Nullable;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
@@ -46,6 +48,30 @@ public interface PrefetchingMessageRetrieverProperties {
     @Positive
     int getMaxPrefetchedMessages();
 
+    /**
+     * The total size in bytes of the messages that can be prefetched and not currently being processed.
+     *
+     * <p>As the size of messages can vary greatly, from a few bytes to hundreds of kilobytes, limiting the prefetched messages only by their count can
+     * either limit the throughput for small messages or use a large amount of memory for large messages. When this value is set, no more messages will
+     * be requested while the size of the prefetched messages, calculated by {@link com.jashmore.sqs.util.message.MessageSizeUtils}, is at or above this
+     * limit. The {@link #getMaxPrefetchedMessages()} will still be used as a limit on the number of messages.
+     *
+     * <p>As the size of the messages is not known until they have been received, this limit can be exceeded by the size of the messages received by the
+     * requests that were already in flight when the limit was reached.
+     *
+     * <p>This value is not able to be dynamic during the execution as it impacts the underlying internal queue that stores prefetched messages.
+     *
+     * <p>Constraints on this field include:
+     * <ul>
+     *     <li>this value must be null or greater than 0</li>
+     * </ul>
+     *
+     * @return the maximum size of the prefetched messages in bytes or null if the size should not be limited
+     */
+    @Nullable
+    @Positive
+    Long getMaxPrefetchedBytes();
+
     /**
      * The visibility timeout for the message.
      *
@@ -60,6 +86,24 @@ public interface PrefetchingMessageRetrieverProperties {
     @Positive
     Integer getMessageVisibilityTimeoutInSeconds();
 
+    /**
+     * The number of seconds of the visibility timeout that a prefetched message must have remaining for it to be given to a consumer.
+     *
+     * <p>Messages can wait in the prefetched queue for a long period and if their visibility timeout has expired they may already be being processed by
+     * another consumer. When {@link #getMessageVisibilityTimeoutInSeconds()} has been set, the retriever will track when each message was received and
+     * will never give a message whose visibility timeout has expired to a consumer. Messages that have expired or have less than this many seconds
+     * remaining will be released back to the queue by setting their visibility timeout to zero, in batches, so that they can be received again straight
+     * away instead of being processed without enough time to finish.
+     *
+     * <p>This value is obtained each time a message is given to a consumer and therefore can be changed during execution. If this value is null or negative,
+     * {@link PrefetchingMessageRetrieverConstants#DEFAULT_PREFETCHED_MESSAGE_EXPIRY_BUFFER_PERCENTAGE} percent of the visibility timeout will be used.
+     *
+     * @return the minimum remaining visibility timeout in seconds or null if the default should be used
+     */
+    @Nullable
+    @PositiveOrZero
+    Integer getPrefetchedMessageExpiryBufferInSeconds();
+
     /**
      * If there was an error retrieving a message from the remote server, the retriever will backoff and try again after this many milliseconds, which
      * prevents constant cycling of this thread that achieves nothing.
@@ -72,4 +116,97 @@ public interface PrefetchingMessageRetrieverProperties {
     @Nullable
     @PositiveOrZero
     Integer getErrorBackoffTimeInMilliseconds();
+
+    /**
+     * The maximum number of requests for messages that can be in flight to SQS at the same time.
+     *
+     * <p>With a single request, a queue can never be drained faster than one round trip to SQS for every
+     * {@link com.jashmore.sqs.aws.AwsConstants#MAX_NUMBER_OF_MESSAGES_FROM_SQS} messages. Increasing this allows for multiple requests to be made
+     * concurrently which can increase the throughput of high volume queues. Regardless of this value, the total number of messages requested by the in
+     * flight requests and the number of messages already prefetched will never exceed {@link #getMaxPrefetchedMessages()}.
+     *
+     * <p>This value is obtained before each request for messages and therefore can be changed during execution. If this value is null or not positive,
+     * {@link PrefetchingMessageRetrieverConstants#DEFAULT_MAX_CONCURRENT_RECEIVE_REQUESTS} will be used.
+     *
+     * @return the maximum number of concurrent requests for messages or null if the default should be used
+     */
+    @Nullable
+    @Positive
+    Integer getMaxConcurrentReceiveRequests();
+
+    /**
+     * The number of consecutive requests for messages that returned no messages before the retriever will start to backoff between requests.
+     *
+     * <p>Without this, an idle queue will be constantly polled with a new long polling request as soon as the previous one returns without any messages,
+     * which costs a request to SQS every 20 seconds regardless of whether there are any messages. When this is set, the retriever will wait between
+     * requests once this number of consecutive empty receives has been reached, starting at one second and doubling for each further empty receive up to
+     * {@link #getMaxIdleBackoffTimeInMilliseconds()}. As soon as any messages are received the retriever will go back to requesting messages without
+     * waiting.
+     *
+     * <p>Note that messages sent to the queue while the retriever is backing off will not be received until the backoff has finished and therefore the
+     * maximum backoff time should be set based on the latency that can be tolerated for the first message of a burst.
+     *
+     * <p>If this value is null, zero or negative the retriever will never backoff when the queue is empty.
+     *
+     * @return the number of consecutive empty receives before backing off or null if the retriever should never backoff
+     * @see com.jashmore.sqs.retriever.backoff.EmptyReceiveBackoff for more details about the backoff
+     */
+    @Nullable
+    @Positive
+    Integer getEmptyReceivesBeforeIdleBackoff();
+
+    /**
+     * The maximum time that the retriever will wait between requests for messages when the queue is idle.
+     *
+     * <p>If this value is null or negative, a maximum of one minute will be used.
+     *
+     * @return the maximum backoff time in milliseconds or null if the default should be used
+     * @see #getEmptyReceivesBeforeIdleBackoff() for more details about when this backoff is used
+     */
+    @Nullable
+    @PositiveOrZero
+    Long getMaxIdleBackoffTimeInMilliseconds();
+
+    /**
+     * The proportion of each backoff between requests for messages when the queue is idle that can be randomly removed, between 0 and 1.
+     *
+     * <p>This prevents multiple listeners that started backing off at the same time from all polling their queues at the same time.
+     *
+     * <p>If this value is null or negative, 0.5 will be used and if it is greater than 1, 1 will be used.
+     *
+     * @return the jitter for the backoff or null if the default should be used
+     * @see #getEmptyReceivesBeforeIdleBackoff() for more details about when this backoff is used
+     */
+    @Nullable
+    @PositiveOrZero
+    Double getIdleBackoffJitter();
+
+    /**
+     * The names of the message attributes that should be downloaded with each message.
+     *
+     * <p>Downloading all of the message attributes increases the size of each response from SQS and the cost of unmarshalling it, which is wasted when
+     * the message listener does not use them. {@link com.jashmore.sqs.util.message.RequiredAttributeNamesUtils} can be used to determine the message
+     * attributes that are needed by a message listener method.
+     *
+     * <p>If this value is null, all of the message attributes will be downloaded.
+     *
+     * @return the names of the message attributes to download or null if all of them should be downloaded
+     * @see ReceiveMessageRequest#messageAttributeNames() for where this is applied against
+     */
+    @Nullable
+    Set<String> getMessageAttributeNames();
+
+    /**
+     * The message system attributes, e.g. {@link MessageSystemAttributeName#APPROXIMATE_RECEIVE_COUNT}, that should be downloaded with each message.
+     *
+     * <p>{@link com.jashmore.sqs.util.message.RequiredAttributeNamesUtils} can be used to determine the message system attributes that are needed by a
+     * message listener method.
+     *
+     * <p>If this value is null, all of the message system attributes will be downloaded.
+     *
+     * @return the message system attributes to download or null if all of them should be downloaded
+     * @see ReceiveMessageRequest#attributeNames() for where this is applied against
+     */
+    @Nullable
+    Set<MessageSystemAttributeName> getMessageSystemAttributeNames();
 }
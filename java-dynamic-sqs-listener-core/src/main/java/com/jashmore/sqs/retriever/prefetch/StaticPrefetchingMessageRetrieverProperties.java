@@ -4,7 +4,9 @@ import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.NonNull;
 import lombok.ToString;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
 
+import java.util.Set;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
@@ -17,8 +19,16 @@ public class StaticPrefetchingMessageRetrieverProperties implements PrefetchingM
     private final Integer desiredMinPrefetchedMessages;
     @NonNull
     private final Integer maxPrefetchedMessages;
+    private final Long maxPrefetchedBytes;
     private final Integer messageVisibilityTimeoutInSeconds;
+    private final Integer prefetchedMessageExpiryBufferInSeconds;
     private final Integer errorBackoffTimeInMilliseconds;
+    private final Integer maxConcurrentReceiveRequests;
+    private final Integer emptyReceivesBeforeIdleBackoff;
+    private final Long maxIdleBackoffTimeInMilliseconds;
+    private final Double idleBackoffJitter;
+    private final Set<String> messageAttributeNames;
+    private final Set<MessageSystemAttributeName> messageSystemAttributeNames;
 
     @Override
     public @Positive @NotNull int getDesiredMinPrefetchedMessages() {
@@ -30,13 +40,53 @@ public class StaticPrefetchingMessageRetrieverProperties implements PrefetchingM
         return maxPrefetchedMessages;
     }
 
+    @Override
+    public Long getMaxPrefetchedBytes() {
+        return maxPrefetchedBytes;
+    }
+
     @Override
     public Integer getMessageVisibilityTimeoutInSeconds() {
         return messageVisibilityTimeoutInSeconds;
     }
 
+    @Override
+    public Integer getPrefetchedMessageExpiryBufferInSeconds() {
+        return prefetchedMessageExpiryBufferInSeconds;
+    }
+
     @Override
     public Integer getErrorBackoffTimeInMilliseconds() {
         return errorBackoffTimeInMilliseconds;
     }
+
+    @Override
+    public Integer getMaxConcurrentReceiveRequests() {
+        return maxConcurrentReceiveRequests;
+    }
+
+    @Override
+    public Integer getEmptyReceivesBeforeIdleBackoff() {
+        return emptyReceivesBeforeIdleBackoff;
+    }
+
+    @Override
+    public Long getMaxIdleBackoffTimeInMilliseconds() {
+        return maxIdleBackoffTimeInMilliseconds;
+    }
+
+    @Override
+    public Double getIdleBackoffJitter() {
+        return idleBackoffJitter;
+    }
+
+    @Override
+    public Set<String> getMessageAttributeNames() {
+        return messageAttributeNames;
+    }
+
+    @Override
+    public Set<MessageSystemAttributeName> getMessageSystemAttributeNames() {
+        return messageSystemAttributeNames;
+    }
 }
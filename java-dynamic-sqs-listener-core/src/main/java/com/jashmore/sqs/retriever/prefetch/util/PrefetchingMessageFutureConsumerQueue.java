@@ -1,5 +1,8 @@
 package com.jashmore.sqs.retriever.prefetch.util;
 
+import com.google.common.base.Preconditions;
+
+import com.jashmore.sqs.util.message.MessageSizeUtils;
 import javafx.util.Pair;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.awssdk.services.sqs.model.Message;
@@ -7,9 +10,15 @@ import software.amazon.awssdk.services.sqs.model.Message;
 import java.util.LinkedList;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -24,20 +33,57 @@ import javax.annotation.concurrent.ThreadSafe;
  * state where both types are batched as that implies that they should have had that message resolve that corresponding future. The order of each object
  * should also be maintained in that the first future should be resolved with the first message received.
  *
- * <p>For performance reasons, the {@link CompletableFuture} is resolved outside of obtaining the {@link #lock}.
+ * <p>To reduce contention between the threads submitting {@link CompletableFuture}s and the thread submitting {@link Message}s, this implementation does not
+ * use any locks. Instead, the {@link #balance} is atomically incremented for each {@link Message} and decremented for each {@link CompletableFuture} and
+ * the previous value determines whether there is a waiting object of the other type to be matched with. If there is, that object is taken from its queue,
+ * otherwise the new object is added to its own queue. As the object being matched may still be in the process of being added to its queue by another
+ * thread, taking the object will spin until it has been added, which is only for the few instructions between updating the balance and adding it.
+ *
+ * <p>The {@link Message}s are stored in a bounded array ring buffer, as the number of messages is limited to the capacity, and the
+ * {@link CompletableFuture}s are stored in an unbounded lock-free queue. Threads pushing {@link Message}s are parked while the queue is at capacity
+ * and they are unparked when a {@link CompletableFuture} takes one of the messages.
+ *
+ * <p>An optional byte capacity can also be provided which limits the total size of the {@link Message}s stored, as calculated by
+ * {@link MessageSizeUtils#calculateSizeInBytes(Message)}. Unlike the message capacity, this does not block {@link Message}s being pushed as they have
+ * already been downloaded and are therefore already in memory. Instead, {@link #blockUntilFreeSlotForMessage()} will block until there is both a free slot
+ * and the size of the stored messages is below the byte capacity so that no more messages are downloaded until some have been consumed.
  *
- * <p>This implementation must be thread safe as there can be multiple threads submitting {@link CompletableFuture}s concurrently, though it is assumed that
- * there is only a single thread submitting {@link Message}s.
+ * <p>This implementation is thread safe for multiple threads submitting {@link CompletableFuture}s and {@link Message}s concurrently, though it is expected
+ * that there is only a single thread submitting {@link Message}s.
  */
 @Slf4j
 @ThreadSafe
 public class PrefetchingMessageFutureConsumerQueue {
-    private final Queue<CompletableFuture<Message>> futureQueue;
-    private final Queue<Message> messageQueue;
-    private final Integer messageCapacity;
+    private static final int MAX_MESSAGE_CAPACITY = 1 << 29;
 
-    private final ReentrantLock lock = new ReentrantLock();
-    private final Condition messageQueueNotFull = lock.newCondition();
+    private final int messageCapacity;
+    private final boolean hasByteCapacity;
+    private final long byteCapacity;
+
+    /**
+     * The number of {@link Message}s waiting for a {@link CompletableFuture} if positive, or the negative of the number of {@link CompletableFuture}s
+     * waiting for a {@link Message}.
+     */
+    private final AtomicInteger balance = new AtomicInteger();
+    private final AtomicLong batchedBytes = new AtomicLong();
+    private final Queue<CompletableFuture<Message>> futureQueue = new ConcurrentLinkedQueue<>();
+    private final Queue<Thread> threadsWaitingForFreeSlot = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Ring buffer of messages where the sequence of each slot determines whether it is ready to be written to or read from.
+     *
+     * <p>A slot at index {@code i} can be written to for position {@code p} when its sequence is {@code p} and it can be read from once the sequence has been
+     * updated to {@code p + 1}. Once read, the sequence is moved to {@code p + ringSize} which is the next position that will write to that slot.
+     *
+     * <p>The size of each message is stored alongside it when there is a byte capacity so that it only needs to be calculated once. As it is written before
+     * the sequence is updated and read after the sequence has been read, it does not need to be an atomic array.
+     */
+    private final AtomicReferenceArray<Message> messageSlots;
+    private final long[] messageSlotSizes;
+    private final AtomicLongArray messageSlotSequences;
+    private final int messageSlotMask;
+    private final AtomicLong messageWritePosition = new AtomicLong();
+    private final AtomicLong messageReadPosition = new AtomicLong();
 
     /**
      * Constructor.
@@ -46,9 +92,37 @@ public class PrefetchingMessageFutureConsumerQueue {
      *     {@link #pushCompletableFuture(CompletableFuture)} is called
      */
     public PrefetchingMessageFutureConsumerQueue(final Integer messageCapacity) {
-        this.futureQueue = new LinkedList<>();
-        this.messageQueue = new LinkedList<>();
+        this(messageCapacity, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param messageCapacity the maximum number of messages to batch before {@link #pushMessage(Message)} blocks until
+     *     {@link #pushCompletableFuture(CompletableFuture)} is called
+     * @param byteCapacity    the total size of the batched messages in bytes at which {@link #blockUntilFreeSlotForMessage()} will block until messages
+     *                        have been consumed, or null if the size of the messages should not be limited
+     */
+    public PrefetchingMessageFutureConsumerQueue(final Integer messageCapacity, @Nullable final Long byteCapacity) {
+        Preconditions.checkNotNull(messageCapacity, "messageCapacity");
+        Preconditions.checkArgument(messageCapacity > 0, "messageCapacity must be greater than zero");
+        Preconditions.checkArgument(messageCapacity <= MAX_MESSAGE_CAPACITY, "messageCapacity must be less than or equal to " + MAX_MESSAGE_CAPACITY);
+        Preconditions.checkArgument(byteCapacity == null || byteCapacity > 0, "byteCapacity must be greater than zero");
+
         this.messageCapacity = messageCapacity;
+        this.hasByteCapacity = byteCapacity != null;
+        this.byteCapacity = byteCapacity != null ? byteCapacity : Long.MAX_VALUE;
+
+        // There can briefly be more messages in the ring than the capacity while a future that has taken a message from the balance has not yet read it,
+        // so the ring is made larger than the capacity to make it unlikely that writing a message needs to wait for a slot to be read
+        final int ringSize = Integer.highestOneBit(messageCapacity) << 1;
+        this.messageSlots = new AtomicReferenceArray<>(ringSize);
+        this.messageSlotSizes = hasByteCapacity ? new long[ringSize] : null;
+        this.messageSlotSequences = new AtomicLongArray(ringSize);
+        for (int i = 0; i < ringSize; ++i) {
+            messageSlotSequences.set(i, i);
+        }
+        this.messageSlotMask = ringSize - 1;
     }
 
     /**
@@ -58,24 +132,13 @@ public class PrefetchingMessageFutureConsumerQueue {
      * @param completableFuture the future to include in the queue
      */
     public void pushCompletableFuture(@Nonnull CompletableFuture<Message> completableFuture) {
-        final Message message;
-        lock.lock();
-        try {
-            message = messageQueue.poll();
+        if (balance.getAndDecrement() > 0) {
+            final Message message = takeMessage();
             // We took a message of the queue resulting in it not being full anymore so we should signal this
-            if (message != null && (messageQueue.size() + 1 == messageCapacity)) {
-                messageQueueNotFull.signal();
-            }
-
-            if (message == null) {
-                futureQueue.add(completableFuture);
-            }
-        } finally {
-            lock.unlock();
-        }
-
-        if (message != null) {
+            unparkThreadsWaitingForFreeSlot();
             completableFuture.complete(message);
+        } else {
+            futureQueue.add(completableFuture);
         }
     }
 
@@ -87,44 +150,38 @@ public class PrefetchingMessageFutureConsumerQueue {
      * {@link CompletableFuture} is pushed by the {@link #pushCompletableFuture(CompletableFuture)} method.
      *
      * @param message the message to add
-     * @throws InterruptedException if the thread was interrupted while waiting for the lock or adding a message onto the internal message queue
+     * @throws InterruptedException if the thread was interrupted while waiting for a free slot in the internal message queue
      */
     public void pushMessage(@Nonnull final Message message) throws InterruptedException {
-        CompletableFuture<Message> completableFuture;
-        lock.lockInterruptibly();
-        try {
-            // Keep waiting for an empty slot in the message queue. Note that each iteration rechecks if a future was added in the case that multiple futures
-            // were added since an empty slot opened
-            while ((completableFuture = futureQueue.poll()) == null && messageQueue.size() == messageCapacity) {
-                messageQueueNotFull.await();
-            }
+        throwIfInterrupted();
 
-            if (completableFuture == null) {
-                messageQueue.add(message);
+        int previousBalance;
+        while (true) {
+            previousBalance = balance.get();
+            if (previousBalance >= messageCapacity) {
+                waitUntil(this::hasFreeSlotForMessage);
+            } else if (balance.compareAndSet(previousBalance, previousBalance + 1)) {
+                break;
             }
-        } finally {
-            lock.unlock();
         }
 
-        if (completableFuture != null) {
-            completableFuture.complete(message);
+        if (previousBalance < 0) {
+            takeCompletableFuture().complete(message);
+        } else {
+            putMessage(message);
         }
     }
 
     /**
-     * This will block the current thread until there is an available slot in the message queue.
+     * This will block the current thread until there is an available slot in the message queue and, if there is a byte capacity, the total size of the
+     * batched messages is below this capacity.
      *
      * @throws InterruptedException if the thread was interrupted while waiting for a slot
      */
     public void blockUntilFreeSlotForMessage() throws InterruptedException {
-        lock.lockInterruptibly();
-        try {
-            while (messageQueue.size() == messageCapacity) {
-                messageQueueNotFull.await();
-            }
-        } finally {
-            lock.unlock();
-        }
+        throwIfInterrupted();
+
+        waitUntil(this::hasCapacityForMoreMessages);
     }
 
     /**
@@ -133,7 +190,18 @@ public class PrefetchingMessageFutureConsumerQueue {
      * @return the total messages batched
      */
     public int getNumberOfBatchedMessages() {
-        return messageQueue.size();
+        return Math.max(0, balance.get());
+    }
+
+    /**
+     * Get a snapshot of the total size in bytes of the {@link Message}s that are currently batched.
+     *
+     * <p>This will always be zero if there is no byte capacity for this queue as the size of the messages are not calculated.
+     *
+     * @return the total size of the messages batched
+     */
+    public long getNumberOfBatchedBytes() {
+        return batchedBytes.get();
     }
 
     /**
@@ -145,18 +213,127 @@ public class PrefetchingMessageFutureConsumerQueue {
      * @return the queues of futures and messages that were in this queue
      */
     public Pair<Queue<CompletableFuture<Message>>, Queue<Message>> drain() {
-        lock.lock();
+        final LinkedList<CompletableFuture<Message>> drainedFutures = new LinkedList<>();
+        final LinkedList<Message> drainedMessages = new LinkedList<>();
+        while (true) {
+            final int currentBalance = balance.get();
+            if (currentBalance > 0) {
+                if (balance.compareAndSet(currentBalance, currentBalance - 1)) {
+                    drainedMessages.add(takeMessage());
+                }
+            } else if (currentBalance < 0) {
+                if (balance.compareAndSet(currentBalance, currentBalance + 1)) {
+                    drainedFutures.add(takeCompletableFuture());
+                }
+            } else {
+                break;
+            }
+        }
+        unparkThreadsWaitingForFreeSlot();
+        return new Pair<>(drainedFutures, drainedMessages);
+    }
+
+    private boolean hasFreeSlotForMessage() {
+        return balance.get() < messageCapacity;
+    }
+
+    private boolean hasCapacityForMoreMessages() {
+        return hasFreeSlotForMessage() && batchedBytes.get() < byteCapacity;
+    }
+
+    /**
+     * Park the current thread until the condition is met, which should only become true when a message has been taken from the queue.
+     *
+     * <p>The thread is registered as waiting before the condition is checked so that a thread taking a message after this check will see that it needs to be
+     * unparked. If it was unparked before it is parked, the park will return immediately.
+     */
+    private void waitUntil(final BooleanSupplier condition) throws InterruptedException {
+        if (condition.getAsBoolean()) {
+            return;
+        }
+
+        final Thread currentThread = Thread.currentThread();
+        threadsWaitingForFreeSlot.add(currentThread);
         try {
-            final LinkedList<CompletableFuture<Message>> copiedFutureList = new LinkedList<>(futureQueue);
-            final LinkedList<Message> copiedMessageList = new LinkedList<>(messageQueue);
-            futureQueue.clear();
-            messageQueue.clear();
-            return new Pair<>(
-                    copiedFutureList,
-                    copiedMessageList
-            );
+            while (!condition.getAsBoolean()) {
+                LockSupport.park(this);
+                throwIfInterrupted();
+            }
         } finally {
-            lock.unlock();
+            threadsWaitingForFreeSlot.remove(currentThread);
+        }
+    }
+
+    private void unparkThreadsWaitingForFreeSlot() {
+        if (!threadsWaitingForFreeSlot.isEmpty()) {
+            threadsWaitingForFreeSlot.forEach(LockSupport::unpark);
+        }
+    }
+
+    /**
+     * Take a {@link CompletableFuture} that the balance has shown to be waiting, spinning until the thread that pushed it has added it to the queue.
+     */
+    private CompletableFuture<Message> takeCompletableFuture() {
+        CompletableFuture<Message> completableFuture;
+        while ((completableFuture = futureQueue.poll()) == null) {
+            Thread.yield();
+        }
+        return completableFuture;
+    }
+
+    private void putMessage(final Message message) {
+        final long sizeInBytes = hasByteCapacity ? MessageSizeUtils.calculateSizeInBytes(message) : 0;
+        long position = messageWritePosition.get();
+        while (true) {
+            final int index = (int) position & messageSlotMask;
+            final long difference = messageSlotSequences.get(index) - position;
+            if (difference == 0) {
+                if (messageWritePosition.compareAndSet(position, position + 1)) {
+                    if (hasByteCapacity) {
+                        batchedBytes.addAndGet(sizeInBytes);
+                        messageSlotSizes[index] = sizeInBytes;
+                    }
+                    messageSlots.set(index, message);
+                    messageSlotSequences.set(index, position + 1);
+                    return;
+                }
+            } else if (difference < 0) {
+                // the slot from the previous lap of the ring has not been read yet
+                Thread.yield();
+            }
+            position = messageWritePosition.get();
+        }
+    }
+
+    /**
+     * Take a {@link Message} that the balance has shown to be waiting, spinning until the thread that pushed it has written it to the ring.
+     */
+    private Message takeMessage() {
+        long position = messageReadPosition.get();
+        while (true) {
+            final int index = (int) position & messageSlotMask;
+            final long difference = messageSlotSequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (messageReadPosition.compareAndSet(position, position + 1)) {
+                    final Message message = messageSlots.get(index);
+                    messageSlots.set(index, null);
+                    if (hasByteCapacity) {
+                        batchedBytes.addAndGet(-messageSlotSizes[index]);
+                    }
+                    messageSlotSequences.set(index, position + messageSlotMask + 1);
+                    return message;
+                }
+            } else if (difference < 0) {
+                // the message has not been written to the slot yet
+                Thread.yield();
+            }
+            position = messageReadPosition.get();
+        }
+    }
+
+    private static void throwIfInterrupted() throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
         }
     }
 }
@@ -0,0 +1,132 @@
+package com.jashmore.sqs.retriever.release;
+
+import static com.jashmore.sqs.aws.AwsConstants.MAX_NUMBER_OF_MESSAGES_IN_BATCH;
+import static java.util.stream.Collectors.toList;
+
+import com.google.common.collect.Lists;
+
+import com.jashmore.sqs.QueueProperties;
+import com.jashmore.sqs.retriever.MessageRetriever;
+import com.jashmore.sqs.util.concurrent.CompletableFutureUtils;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * {@link MessageRetriever} that releases any messages that were retrieved but not processed by the delegate {@link MessageRetriever} back to the queue
+ * when it is stopped.
+ *
+ * <p>Without this, the extra messages returned by {@link MessageRetriever#run()} are either processed during the shutdown of the container, which delays
+ * the shutdown, or are left in the queue as invisible until their visibility timeout expires, which delays their processing by other consumers. This
+ * retriever instead sets the visibility timeout of these messages to zero via
+ * {@link SqsAsyncClient#changeMessageVisibilityBatch(ChangeMessageVisibilityBatchRequest)}, with each batch of up to
+ * {@link com.jashmore.sqs.aws.AwsConstants#MAX_NUMBER_OF_MESSAGES_IN_BATCH} messages being sent in parallel, so that they can be received by another
+ * consumer straight away.
+ *
+ * <p>Only the messages that could not be released are returned from {@link #run()} and therefore the container will only process those messages if it
+ * has been configured to process any extra messages on shutdown.
+ */
+@Slf4j
+@ThreadSafe
+@AllArgsConstructor
+public class ReleaseOnShutdownMessageRetriever implements MessageRetriever {
+    private final MessageRetriever delegate;
+    private final QueueProperties queueProperties;
+    private final SqsAsyncClient sqsAsyncClient;
+
+    /**
+     * Get the retriever that this retriever delegates to, for example so that metrics can be recorded for the underlying retriever.
+     *
+     * @return the delegate retriever
+     */
+    public MessageRetriever getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public CompletableFuture<Message> retrieveMessage() {
+        return delegate.retrieveMessage();
+    }
+
+    @Override
+    public List<Message> run() {
+        final List<Message> extraMessages = delegate.run();
+        if (extraMessages.isEmpty()) {
+            return extraMessages;
+        }
+
+        // The delegate will usually exit due to the thread being interrupted and the SqsAsyncClient will fail the requests if the thread is still
+        // interrupted so the interruption is cleared while the messages are released and restored afterwards
+        final boolean wasInterrupted = Thread.interrupted();
+        try {
+            log.info("Releasing {} extra messages back to the queue", extraMessages.size());
+            final List<CompletableFuture<List<Message>>> batchFutures = Lists.partition(extraMessages, MAX_NUMBER_OF_MESSAGES_IN_BATCH).stream()
+                    .map(this::releaseBatch)
+                    .collect(toList());
+
+            return batchFutures.stream()
+                    .map(CompletableFuture::join)
+                    .flatMap(List::stream)
+                    .collect(toList());
+        } finally {
+            if (wasInterrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Release the batch of messages back to the queue.
+     *
+     * @param batchOfMessages the messages to release
+     * @return the future that will be resolved with the messages that could not be released
+     */
+    private CompletableFuture<List<Message>> releaseBatch(final List<Message> batchOfMessages) {
+        final ChangeMessageVisibilityBatchRequest request = ChangeMessageVisibilityBatchRequest.builder()
+                .queueUrl(queueProperties.getQueueUrl())
+                .entries(IntStream.range(0, batchOfMessages.size())
+                        .mapToObj(index -> ChangeMessageVisibilityBatchRequestEntry.builder()
+                                .id(String.valueOf(index))
+                                .receiptHandle(batchOfMessages.get(index).receiptHandle())
+                                .visibilityTimeout(0)
+                                .build())
+                        .collect(toList()))
+                .build();
+
+        CompletableFuture<ChangeMessageVisibilityBatchResponse> responseFuture;
+        try {
+            responseFuture = sqsAsyncClient.changeMessageVisibilityBatch(request);
+        } catch (final RuntimeException runtimeException) {
+            responseFuture = CompletableFutureUtils.completedExceptionally(runtimeException);
+        }
+
+        return responseFuture.handle((response, throwable) -> {
+            if (throwable != null) {
+                log.error("Error releasing {} extra messages", batchOfMessages.size(), throwable);
+                return batchOfMessages;
+            }
+
+            if (response.failed().isEmpty()) {
+                return Collections.<Message>emptyList();
+            }
+
+            return response.failed().stream()
+                    .map(entry -> {
+                        final Message message = batchOfMessages.get(Integer.parseInt(entry.id()));
+                        log.warn("Unable to release extra message with id {}: {}", message.messageId(), entry.message());
+                        return message;
+                    })
+                    .collect(toList());
+        });
+    }
+}
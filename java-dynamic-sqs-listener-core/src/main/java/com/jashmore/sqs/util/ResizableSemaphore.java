@@ -33,4 +33,15 @@ public class ResizableSemaphore extends Semaphore {
         }
         this.maximumPermits = permits;
     }
+
+    /**
+     * Get a snapshot of the number of permits that are currently acquired.
+     *
+     * <p>If the permit size was recently reduced this may be greater than the maximum number of permits until the extra permits are released.
+     *
+     * @return the number of permits currently in use
+     */
+    public int getPermitsInUse() {
+        return maximumPermits - availablePermits();
+    }
 }
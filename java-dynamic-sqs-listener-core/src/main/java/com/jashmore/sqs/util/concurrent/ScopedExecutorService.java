@@ -0,0 +1,132 @@
+package com.jashmore.sqs.util.concurrent;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * {@link java.util.concurrent.ExecutorService} that runs its tasks on a shared {@link Executor} but can be shutdown independently of it.
+ *
+ * <p>Shutting down this service will only stop it from accepting new tasks and {@link #shutdownNow()} will only interrupt the tasks that were submitted
+ * through this service, leaving the shared {@link Executor} and any other tasks running on it untouched. This allows for multiple components to share the
+ * same threads while still being able to wait for their own tasks to finish, e.g. via {@link #awaitTermination(long, TimeUnit)}.
+ *
+ * <p>Tasks that have been submitted but have not started running when {@link #shutdownNow()} is called will not be run.
+ */
+@ThreadSafe
+public class ScopedExecutorService extends AbstractExecutorService {
+    private final Executor delegate;
+    private final Object lock = new Object();
+
+    @GuardedBy("lock")
+    private final Set<Thread> runningThreads = new HashSet<>();
+    @GuardedBy("lock")
+    private int numberOfUnfinishedTasks;
+    @GuardedBy("lock")
+    private boolean isShutdown;
+    @GuardedBy("lock")
+    private boolean isInterrupted;
+
+    public ScopedExecutorService(final Executor delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        synchronized (lock) {
+            if (isShutdown) {
+                throw new RejectedExecutionException("ExecutorService has been shutdown");
+            }
+            numberOfUnfinishedTasks++;
+        }
+
+        try {
+            delegate.execute(() -> runTask(command));
+        } catch (final RuntimeException runtimeException) {
+            finishTask(null);
+            throw runtimeException;
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        synchronized (lock) {
+            isShutdown = true;
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        synchronized (lock) {
+            isShutdown = true;
+            isInterrupted = true;
+            runningThreads.forEach(Thread::interrupt);
+        }
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        synchronized (lock) {
+            return isShutdown;
+        }
+    }
+
+    @Override
+    public boolean isTerminated() {
+        synchronized (lock) {
+            return isShutdown && numberOfUnfinishedTasks == 0;
+        }
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (lock) {
+            while (!(isShutdown && numberOfUnfinishedTasks == 0)) {
+                final long remainingNanoseconds = deadline - System.nanoTime();
+                if (remainingNanoseconds <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(lock, remainingNanoseconds);
+            }
+            return true;
+        }
+    }
+
+    private void runTask(final Runnable command) {
+        final Thread currentThread = Thread.currentThread();
+        synchronized (lock) {
+            if (isInterrupted) {
+                finishTask(null);
+                return;
+            }
+            runningThreads.add(currentThread);
+        }
+
+        try {
+            command.run();
+        } finally {
+            finishTask(currentThread);
+            // make sure an interruption of this task does not leak into the next task run by the shared thread
+            Thread.interrupted();
+        }
+    }
+
+    private void finishTask(final Thread thread) {
+        synchronized (lock) {
+            if (thread != null) {
+                runningThreads.remove(thread);
+            }
+            numberOfUnfinishedTasks--;
+            lock.notifyAll();
+        }
+    }
+}
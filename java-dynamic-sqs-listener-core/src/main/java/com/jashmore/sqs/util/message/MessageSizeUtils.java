@@ -0,0 +1,74 @@
+package com.jashmore.sqs.util.message;
+
+import lombok.experimental.UtilityClass;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+import java.util.Map;
+
+@UtilityClass
+public class MessageSizeUtils {
+    /**
+     * Calculate the approximate size of the {@link Message} in bytes, which is the size of the body, the message attributes and the message system
+     * attributes when encoded as UTF-8.
+     *
+     * <p>This is similar to how SQS calculates the size of a message for its size limits but also includes the system attributes as these are also
+     * downloaded and kept in memory with the message.
+     *
+     * @param message the message to calculate the size of
+     * @return the size of the message in bytes
+     */
+    public static long calculateSizeInBytes(final Message message) {
+        long sizeInBytes = utf8Length(message.body());
+        for (final Map.Entry<String, MessageAttributeValue> entry : message.messageAttributes().entrySet()) {
+            sizeInBytes += utf8Length(entry.getKey()) + calculateSizeInBytes(entry.getValue());
+        }
+        for (final Map.Entry<String, String> entry : message.attributesAsStrings().entrySet()) {
+            sizeInBytes += utf8Length(entry.getKey()) + utf8Length(entry.getValue());
+        }
+        return sizeInBytes;
+    }
+
+    private static long calculateSizeInBytes(final MessageAttributeValue value) {
+        long sizeInBytes = utf8Length(value.dataType()) + utf8Length(value.stringValue()) + length(value.binaryValue());
+        for (final String stringValue : value.stringListValues()) {
+            sizeInBytes += utf8Length(stringValue);
+        }
+        for (final SdkBytes binaryValue : value.binaryListValues()) {
+            sizeInBytes += length(binaryValue);
+        }
+        return sizeInBytes;
+    }
+
+    private static long length(final SdkBytes bytes) {
+        return bytes == null ? 0 : bytes.asByteBuffer().remaining();
+    }
+
+    /**
+     * Calculate the number of bytes the string would be encoded into using UTF-8 without having to encode it.
+     */
+    private static long utf8Length(final String value) {
+        if (value == null) {
+            return 0;
+        }
+
+        final int numberOfCharacters = value.length();
+        long sizeInBytes = numberOfCharacters;
+        for (int i = 0; i < numberOfCharacters; ++i) {
+            final char character = value.charAt(i);
+            if (character >= 0x80) {
+                if (character < 0x800) {
+                    sizeInBytes += 1;
+                } else if (Character.isHighSurrogate(character) && i + 1 < numberOfCharacters && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    // the surrogate pair is encoded as 4 bytes in total
+                    sizeInBytes += 2;
+                    ++i;
+                } else {
+                    sizeInBytes += 2;
+                }
+            }
+        }
+        return sizeInBytes;
+    }
+}
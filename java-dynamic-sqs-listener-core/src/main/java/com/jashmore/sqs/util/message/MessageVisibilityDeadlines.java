@@ -0,0 +1,49 @@
+package com.jashmore.sqs.util.message;
+
+import com.google.common.collect.MapMaker;
+
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Tracks the time that the visibility timeout of each received message will expire so that it can be shared between the components of a container.
+ *
+ * <p>For example, a {@link com.jashmore.sqs.retriever.prefetch.PrefetchingMessageRetriever} records when each message was received and a
+ * {@link com.jashmore.sqs.processor.visibility.AutoVisibilityExtendingMessageProcessor} uses this to extend the visibility of a message that spent
+ * most of its visibility timeout waiting in the prefetched queue before it started to be processed.
+ *
+ * <p>The messages are weakly referenced and compared by identity, so a deadline is forgotten once the message is no longer used and there is no need to
+ * remove the deadline after the message has been processed.
+ */
+@ThreadSafe
+public class MessageVisibilityDeadlines {
+    /**
+     * The time, in terms of {@link System#nanoTime()}, that the visibility timeout of each message will expire.
+     */
+    private final ConcurrentMap<Message, Long> visibilityDeadlines = new MapMaker().weakKeys().makeMap();
+
+    /**
+     * Record that the message has just been received with the provided visibility timeout.
+     *
+     * @param message                    the message that was received
+     * @param visibilityTimeoutInSeconds the visibility timeout of the message
+     */
+    public void recordReceived(final Message message, final int visibilityTimeoutInSeconds) {
+        visibilityDeadlines.put(message, System.nanoTime() + TimeUnit.SECONDS.toNanos(visibilityTimeoutInSeconds));
+    }
+
+    /**
+     * Get the time, in terms of {@link System#nanoTime()}, that the visibility timeout of the message will expire.
+     *
+     * @param message the message to get the deadline for
+     * @return the visibility deadline or null if it is not known
+     */
+    @Nullable
+    public Long getVisibilityDeadline(final Message message) {
+        return visibilityDeadlines.get(message);
+    }
+}
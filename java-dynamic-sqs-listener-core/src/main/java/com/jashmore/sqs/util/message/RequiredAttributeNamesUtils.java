@@ -0,0 +1,142 @@
+package com.jashmore.sqs.util.message;
+
+import com.jashmore.sqs.argument.ArgumentResolver;
+import com.jashmore.sqs.argument.ArgumentResolverService;
+import com.jashmore.sqs.argument.DefaultMethodParameter;
+import com.jashmore.sqs.argument.MethodParameter;
+import com.jashmore.sqs.argument.UnsupportedArgumentResolutionException;
+import com.jashmore.sqs.argument.attribute.MessageAttribute;
+import com.jashmore.sqs.argument.attribute.MessageSystemAttribute;
+import com.jashmore.sqs.argument.messageid.MessageId;
+import com.jashmore.sqs.argument.payload.Payload;
+import com.jashmore.sqs.argument.payload.PayloadArgumentResolver;
+import com.jashmore.sqs.processor.argument.Acknowledge;
+import com.jashmore.sqs.processor.argument.VisibilityExtender;
+import com.jashmore.sqs.util.annotation.AnnotationUtils;
+import lombok.experimental.UtilityClass;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Utility methods for determining the message attributes and message system attributes that are needed to resolve the arguments of a message listener
+ * method, so that only those attributes need to be downloaded with each message.
+ *
+ * <p>Only the parameters that can be resolved by the core {@link com.jashmore.sqs.argument.ArgumentResolver}s without the attributes, e.g. a
+ * {@link Payload @Payload} or {@link MessageId @MessageId} parameter, or that only need the attribute named in their annotation, e.g. a
+ * {@link MessageAttribute @MessageAttribute} parameter, are known. If any other parameter is present, like the whole
+ * {@link software.amazon.awssdk.services.sqs.model.Message} or one resolved by a custom {@link com.jashmore.sqs.argument.ArgumentResolver}, all of the
+ * attributes may be needed and therefore no set of attribute names is returned.
+ *
+ * <p>As the body of the message may have been encoded, a {@link Payload @Payload} parameter also requires the message attributes needed by the
+ * {@link com.jashmore.sqs.argument.payload.mapper.PayloadMapper} of the {@link PayloadArgumentResolver} that resolves it, for example the attribute
+ * containing the encoding of the body. If the parameter is resolved by a different {@link ArgumentResolver} or the mapper does not know which
+ * attributes it needs, all of the attributes may be needed.
+ */
+@UtilityClass
+public class RequiredAttributeNamesUtils {
+    /**
+     * Determine the names of the message attributes needed to resolve the arguments of the message listener method.
+     *
+     * @param method                  the message listener method
+     * @param argumentResolverService the service that will resolve the arguments of the method
+     * @return the names of the message attributes needed or an empty {@link Optional} if all of them may be needed
+     */
+    public static Optional<Set<String>> getRequiredMessageAttributeNames(final Method method, final ArgumentResolverService argumentResolverService) {
+        final Optional<Set<String>> optionalAttributeNames = getRequiredAttributeNames(method, MessageAttribute.class, MessageAttribute::value);
+        if (!optionalAttributeNames.isPresent()) {
+            return Optional.empty();
+        }
+
+        final Set<String> attributeNames = optionalAttributeNames.get();
+        for (final MethodParameter methodParameter : getMethodParameters(method)) {
+            if (!AnnotationUtils.findParameterAnnotation(methodParameter, Payload.class).isPresent()) {
+                continue;
+            }
+
+            final Optional<Set<String>> payloadAttributeNames = getRequiredPayloadMessageAttributeNames(methodParameter, argumentResolverService);
+            if (!payloadAttributeNames.isPresent()) {
+                return Optional.empty();
+            }
+            attributeNames.addAll(payloadAttributeNames.get());
+        }
+        return Optional.of(Collections.unmodifiableSet(attributeNames));
+    }
+
+    /**
+     * Determine the message system attributes needed to resolve the arguments of the message listener method.
+     *
+     * @param method the message listener method
+     * @return the message system attributes needed or an empty {@link Optional} if all of them may be needed
+     */
+    public static Optional<Set<MessageSystemAttributeName>> getRequiredMessageSystemAttributeNames(final Method method) {
+        return getRequiredAttributeNames(method, MessageSystemAttribute.class, MessageSystemAttribute::value)
+                .map(names -> names.isEmpty() ? EnumSet.noneOf(MessageSystemAttributeName.class) : EnumSet.copyOf(names))
+                .map(Collections::unmodifiableSet);
+    }
+
+    private static <A extends Annotation, T> Optional<Set<T>> getRequiredAttributeNames(final Method method,
+                                                                                      final Class<A> attributeAnnotationClass,
+                                                                                      final Function<A, T> attributeNameExtractor) {
+        final Set<T> attributeNames = new HashSet<>();
+        for (final MethodParameter methodParameter : getMethodParameters(method)) {
+            final Optional<A> attributeAnnotation = AnnotationUtils.findParameterAnnotation(methodParameter, attributeAnnotationClass);
+            if (attributeAnnotation.isPresent()) {
+                attributeNames.add(attributeNameExtractor.apply(attributeAnnotation.get()));
+            } else if (!isResolvableWithoutOtherAttributes(methodParameter)) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(attributeNames);
+    }
+
+    private static Optional<Set<String>> getRequiredPayloadMessageAttributeNames(final MethodParameter methodParameter,
+                                                                                final ArgumentResolverService argumentResolverService) {
+        final ArgumentResolver<?> argumentResolver;
+        try {
+            argumentResolver = argumentResolverService.getArgumentResolver(methodParameter);
+        } catch (final UnsupportedArgumentResolutionException unsupportedArgumentResolutionException) {
+            // the container will fail to be built when binding the arguments so all attributes are assumed to be needed
+            return Optional.empty();
+        }
+
+        if (!(argumentResolver instanceof PayloadArgumentResolver)) {
+            return Optional.empty();
+        }
+
+        return ((PayloadArgumentResolver) argumentResolver).getRequiredMessageAttributeNames();
+    }
+
+    private static List<MethodParameter> getMethodParameters(final Method method) {
+        final Parameter[] parameters = method.getParameters();
+        final List<MethodParameter> methodParameters = new ArrayList<>(parameters.length);
+        for (int parameterIndex = 0; parameterIndex < parameters.length; ++parameterIndex) {
+            methodParameters.add(DefaultMethodParameter.builder()
+                    .method(method)
+                    .parameter(parameters[parameterIndex])
+                    .parameterIndex(parameterIndex)
+                    .build());
+        }
+        return methodParameters;
+    }
+
+    private static boolean isResolvableWithoutOtherAttributes(final MethodParameter methodParameter) {
+        final Class<?> parameterType = methodParameter.getParameter().getType();
+        return Acknowledge.class.isAssignableFrom(parameterType)
+                || VisibilityExtender.class.isAssignableFrom(parameterType)
+                || AnnotationUtils.findParameterAnnotation(methodParameter, Payload.class).isPresent()
+                || AnnotationUtils.findParameterAnnotation(methodParameter, MessageId.class).isPresent()
+                || AnnotationUtils.findParameterAnnotation(methodParameter, MessageAttribute.class).isPresent()
+                || AnnotationUtils.findParameterAnnotation(methodParameter, MessageSystemAttribute.class).isPresent();
+    }
+}
@@ -0,0 +1,18 @@
+package com.jashmore.sqs.util.method;
+
+/**
+ * Invoker for calling a method, bound to the bean that it belongs to, with the provided arguments.
+ *
+ * @see MethodInvokerUtils#bindMethodInvoker(java.lang.invoke.MethodHandles.Lookup, java.lang.reflect.Method, Object) for building an invoker for a method
+ */
+@FunctionalInterface
+public interface MethodInvoker {
+    /**
+     * Invoke the method.
+     *
+     * @param arguments the arguments to call the method with
+     * @return the value returned by the method
+     * @throws Throwable any exception thrown by the method, or if the method could not be called with these arguments
+     */
+    Object invoke(final Object[] arguments) throws Throwable;
+}
@@ -0,0 +1,43 @@
+package com.jashmore.sqs.util.method;
+
+import lombok.experimental.UtilityClass;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+@UtilityClass
+public class MethodInvokerUtils {
+    /**
+     * Bind the method, and bean if it is not a static method, to a {@link MethodHandle} that takes the array of arguments so that each call is a near
+     * direct call instead of a reflective {@link Method#invoke(Object, Object...)}.
+     *
+     * <p>The method is looked up with the access of the provided {@link MethodHandles.Lookup}, which should be the caller's own
+     * {@link MethodHandles#lookup()}, so the method can be called wherever the caller would have been able to call it via reflection. If the method is
+     * not accessible, for example it is not public, a {@link MethodInvoker} is returned which will fail when it is invoked, the same as if the method
+     * was invoked via reflection.
+     *
+     * @param lookup the lookup of the caller used to access the method
+     * @param method the method to bind
+     * @param bean   the bean that the method should be invoked on, ignored if the method is static
+     * @return the invoker for calling the method
+     */
+    public static MethodInvoker bindMethodInvoker(final MethodHandles.Lookup lookup, final Method method, final Object bean) {
+        final MethodHandle unboundMethodHandle;
+        try {
+            unboundMethodHandle = lookup.unreflect(method);
+        } catch (final IllegalAccessException illegalAccessException) {
+            return arguments -> {
+                throw illegalAccessException;
+            };
+        }
+
+        final MethodHandle boundMethodHandle = Modifier.isStatic(method.getModifiers()) ? unboundMethodHandle : unboundMethodHandle.bindTo(bean);
+        final MethodHandle methodHandle = boundMethodHandle
+                .asSpreader(Object[].class, method.getParameterCount())
+                .asType(MethodType.methodType(Object.class, Object[].class));
+        return arguments -> (Object) methodHandle.invokeExact(arguments);
+    }
+}
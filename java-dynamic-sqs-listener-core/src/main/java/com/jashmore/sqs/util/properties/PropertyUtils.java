@@ -87,6 +87,30 @@ public class PropertyUtils {
         return safelyGetValue(propertyName, valueSupplier, defaultValue, aInteger -> aInteger >= 0);
     }
 
+    /**
+     * Safely get a double value by returning a default value if there was an error getting the value, the value is null or the value is negative or zero.
+     *
+     * @param propertyName  the name of the property obtaining the value from, this is used for log messages
+     * @param valueSupplier the supplier that will provide the original value
+     * @param defaultValue  the default value if the supplier throws an exception or is null
+     * @return the double value for this property
+     */
+    public double safelyGetPositiveDoubleValue(final String propertyName, final Supplier<Double> valueSupplier, final double defaultValue) {
+        return safelyGetValue(propertyName, valueSupplier, defaultValue, aDouble -> aDouble > 0);
+    }
+
+    /**
+     * Safely get a double value by returning a default value if there was an error getting the value, the value is null or the value is negative.
+     *
+     * @param propertyName  the name of the property obtaining the value from, this is used for log messages
+     * @param valueSupplier the supplier that will provide the original value
+     * @param defaultValue  the default value if the supplier throws an exception or is null
+     * @return the double value for this property
+     */
+    public double safelyGetPositiveOrZeroDoubleValue(final String propertyName, final Supplier<Double> valueSupplier, final double defaultValue) {
+        return safelyGetValue(propertyName, valueSupplier, defaultValue, aDouble -> aDouble >= 0);
+    }
+
     @Nonnull
     private <T> T safelyGetValue(final String propertyName,
                                  final Supplier<T> valueSupplier,
@@ -6,6 +6,7 @@ import com.google.common.collect.ImmutableMap;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jashmore.sqs.argument.ArgumentResolutionException;
+import com.jashmore.sqs.argument.BoundArgumentResolver;
 import com.jashmore.sqs.argument.DefaultMethodParameter;
 import com.jashmore.sqs.argument.MethodParameter;
 import lombok.Builder;
@@ -18,7 +19,9 @@ import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.sqs.model.Message;
 import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
 
+import java.io.InputStream;
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
 
 @Slf4j
 class MessageAttributeArgumentResolverTest {
@@ -515,10 +518,95 @@ class MessageAttributeArgumentResolverTest {
         assertThat(exception).hasMessage("Failure to parse binary bytes to '" + MyPojo.class.getName() + "'");
     }
 
+    @Test
+    void binaryMessageAttributeCanBeConsumedAsSdkBytesByteBufferAndInputStream() throws Exception {
+        // arrange
+        final SdkBytes binaryValue = SdkBytes.fromUtf8String("some string");
+        final Message message = Message.builder()
+                .messageAttributes(ImmutableMap.of(
+                        "bytes", MessageAttributeValue.builder()
+                                .dataType(MessageAttributeDataTypes.BINARY.getValue())
+                                .binaryValue(binaryValue)
+                                .build()
+                ))
+                .build();
+        final Method method = MessageAttributeArgumentResolverTest.class.getMethod("consumeBinary", SdkBytes.class, ByteBuffer.class, InputStream.class);
+
+        // act
+        final Object sdkBytes = messageAttributeArgumentResolver.resolveArgumentForParameter(null, getParameter(method, 0), message);
+        final Object byteBuffer = messageAttributeArgumentResolver.resolveArgumentForParameter(null, getParameter(method, 1), message);
+        final Object inputStream = messageAttributeArgumentResolver.resolveArgumentForParameter(null, getParameter(method, 2), message);
+
+        // assert
+        assertThat(sdkBytes).isSameAs(binaryValue);
+        assertThat(byteBuffer).isEqualTo(ByteBuffer.wrap("some string".getBytes()));
+        assertThat(((ByteBuffer) byteBuffer).isReadOnly()).isTrue();
+        assertThat(SdkBytes.fromInputStream((InputStream) inputStream)).isEqualTo(binaryValue);
+    }
+
+    @Test
+    void boundResolverCanResolveArgumentsForMultipleMessages() throws Exception {
+        final Method method = MessageAttributeArgumentResolverTest.class.getMethod("consume", MyPojo.class);
+        final MethodParameter methodParameter = DefaultMethodParameter.builder()
+                .method(method)
+                .parameter(method.getParameters()[0])
+                .parameterIndex(0)
+                .build();
+        final BoundArgumentResolver<Object> boundArgumentResolver = messageAttributeArgumentResolver.bindToParameter(null, methodParameter);
+
+        // act
+        final Object firstValue = boundArgumentResolver.resolveArgument(buildPojoMessage("first"));
+        final Object secondValue = boundArgumentResolver.resolveArgument(buildPojoMessage("second"));
+
+        // assert
+        assertThat(firstValue).isEqualTo(MyPojo.builder().name("first").build());
+        assertThat(secondValue).isEqualTo(MyPojo.builder().name("second").build());
+    }
+
+    @Test
+    void bindingToParameterWithoutMessageAttributeAnnotationThrowsArgumentResolutionException() throws Exception {
+        final Method method = MessageAttributeArgumentResolverTest.class.getMethod("consumeWithoutAnnotation", String.class);
+        final MethodParameter methodParameter = DefaultMethodParameter.builder()
+                .method(method)
+                .parameter(method.getParameters()[0])
+                .parameterIndex(0)
+                .build();
+
+        // act
+        final ArgumentResolutionException exception = Assertions.assertThrows(ArgumentResolutionException.class,
+                () -> messageAttributeArgumentResolver.bindToParameter(null, methodParameter));
+
+        // assert
+        assertThat(exception).hasMessage("Parameter passed in does not contain the MessageAttribute annotation when it should");
+    }
+
+    private static MethodParameter getParameter(final Method method, final int index) {
+        return DefaultMethodParameter.builder()
+                .method(method)
+                .parameter(method.getParameters()[index])
+                .parameterIndex(index)
+                .build();
+    }
+
+    private static Message buildPojoMessage(final String name) {
+        return Message.builder()
+                .messageAttributes(ImmutableMap.of(
+                        "pojo", MessageAttributeValue.builder()
+                                .dataType(MessageAttributeDataTypes.STRING.getValue())
+                                .stringValue("{\"name\":\"" + name + "\"}")
+                                .build()
+                ))
+                .build();
+    }
+
     @SuppressWarnings( {"unused", "WeakerAccess"})
     public void consume(@MessageAttribute("string") final String messageAttribute) {
     }
 
+    @SuppressWarnings( {"unused", "WeakerAccess"})
+    public void consumeWithoutAnnotation(final String messageAttribute) {
+    }
+
     @SuppressWarnings( {"unused", "WeakerAccess"})
     public void consumeWithRequiredAttribute(@MessageAttribute(value = "string", required = true) final String messageAttribute) {
     }
@@ -549,6 +637,13 @@ class MessageAttributeArgumentResolverTest {
 
     }
 
+    @SuppressWarnings( {"unused", "WeakerAccess"})
+    public void consumeBinary(@MessageAttribute("bytes") final SdkBytes sdkBytes,
+                              @MessageAttribute("bytes") final ByteBuffer byteBuffer,
+                              @MessageAttribute("bytes") final InputStream inputStream) {
+
+    }
+
     @Value
     @Builder
     @SuppressWarnings("WeakerAccess")
@@ -10,6 +10,7 @@ import static software.amazon.awssdk.services.sqs.model.MessageSystemAttributeNa
 import com.google.common.collect.ImmutableMap;
 
 import com.jashmore.sqs.argument.ArgumentResolutionException;
+import com.jashmore.sqs.argument.BoundArgumentResolver;
 import com.jashmore.sqs.argument.DefaultMethodParameter;
 import com.jashmore.sqs.argument.MethodParameter;
 import org.junit.jupiter.api.Test;
@@ -332,6 +333,42 @@ public class MessageSystemAttributeArgumentResolverTest {
         assertThat(canResolve).isFalse();
     }
 
+    @Test
+    public void boundResolverCanResolveArgumentsForMultipleMessages() throws Exception {
+        final Method method = MessageSystemAttributeArgumentResolverTest.class.getMethod("consume", Long.class);
+        final MethodParameter methodParameter = DefaultMethodParameter.builder()
+                .method(method)
+                .parameter(method.getParameters()[0])
+                .parameterIndex(0)
+                .build();
+        final BoundArgumentResolver<Object> boundArgumentResolver = messageSystemAttributeArgumentResolver.bindToParameter(null, methodParameter);
+
+        // act
+        final Object firstValue = boundArgumentResolver.resolveArgument(Message.builder().attributes(ImmutableMap.of(SENT_TIMESTAMP, "1")).build());
+        final Object secondValue = boundArgumentResolver.resolveArgument(Message.builder().attributes(ImmutableMap.of(SENT_TIMESTAMP, "2")).build());
+
+        // assert
+        assertThat(firstValue).isEqualTo(1L);
+        assertThat(secondValue).isEqualTo(2L);
+    }
+
+    @Test
+    public void bindingToParameterWithoutMessageSystemAttributeAnnotationThrowsArgumentResolutionException() throws Exception {
+        final Method method = MessageSystemAttributeArgumentResolverTest.class.getMethod("consume", String.class, String.class);
+        final MethodParameter methodParameter = DefaultMethodParameter.builder()
+                .method(method)
+                .parameter(method.getParameters()[0])
+                .parameterIndex(0)
+                .build();
+
+        // act
+        final ArgumentResolutionException exception = assertThrows(ArgumentResolutionException.class,
+                () -> messageSystemAttributeArgumentResolver.bindToParameter(null, methodParameter));
+
+        // assert
+        assertThat(exception).hasMessage("Parameter passed in does not contain the MessageSystemAttribute annotation when it should");
+    }
+
     public void consume(@MessageSystemAttribute(SENDER_ID) final String senderId) {
     }
 
@@ -6,6 +6,7 @@ import static org.mockito.Mockito.when;
 
 import com.jashmore.sqs.QueueProperties;
 import com.jashmore.sqs.argument.ArgumentResolutionException;
+import com.jashmore.sqs.argument.BoundArgumentResolver;
 import com.jashmore.sqs.argument.DefaultMethodParameter;
 import com.jashmore.sqs.argument.MethodParameter;
 import com.jashmore.sqs.argument.payload.mapper.PayloadMapper;
@@ -18,6 +19,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.services.sqs.model.Message;
 
 import java.lang.reflect.Method;
+import java.util.List;
 
 @ExtendWith(MockitoExtension.class)
 class PayloadArgumentResolverTest {
@@ -87,6 +89,63 @@ class PayloadArgumentResolverTest {
         assertThat(argument).isEqualTo(parsedObject);
     }
 
+    @Test
+    void boundResolverMapsPayloadToGenericTypeOfParameter() throws Exception {
+        // arrange
+        final Method method = PayloadArgumentResolverTest.class.getMethod("genericMethod", List.class);
+        final MethodParameter parameter = DefaultMethodParameter.builder()
+                .method(method)
+                .parameter(method.getParameters()[0])
+                .parameterIndex(0)
+                .build();
+        final Message message = Message.builder().build();
+        final Pojo parsedObject = new Pojo("test");
+        when(payloadMapper.bind(method.getGenericParameterTypes()[0])).thenReturn(messageToMap -> parsedObject);
+
+        // act
+        final BoundArgumentResolver<Object> boundArgumentResolver = payloadArgumentResolver.bindToParameter(queueProperties, parameter);
+        final Object argument = boundArgumentResolver.resolveArgument(message);
+
+        // assert
+        assertThat(argument).isEqualTo(parsedObject);
+    }
+
+    @Test
+    void payloadMapperThatCannotBindToParameterThrowsArgumentResolutionException() {
+        // arrange
+        final MethodParameter parameter = getParameter(1);
+        when(payloadMapper.bind(Pojo.class)).thenThrow(new PayloadMappingException("Error"));
+
+        // act
+        final ArgumentResolutionException exception = assertThrows(ArgumentResolutionException.class,
+                () -> payloadArgumentResolver.bindToParameter(queueProperties, parameter));
+
+        // assert
+        assertThat(exception.getCause()).isInstanceOf(PayloadMappingException.class);
+    }
+
+    @Test
+    void boundPayloadThatFailsToBeBuiltThrowsArgumentResolutionException() {
+        // arrange
+        final MethodParameter parameter = getParameter(1);
+        when(payloadMapper.bind(Pojo.class)).thenReturn(message -> {
+            throw new PayloadMappingException("Error");
+        });
+        final BoundArgumentResolver<Object> boundArgumentResolver = payloadArgumentResolver.bindToParameter(queueProperties, parameter);
+
+        // act
+        final ArgumentResolutionException exception = assertThrows(ArgumentResolutionException.class,
+                () -> boundArgumentResolver.resolveArgument(Message.builder().build()));
+
+        // assert
+        assertThat(exception.getCause()).isInstanceOf(PayloadMappingException.class);
+    }
+
+    @SuppressWarnings( {"unused"})
+    public void genericMethod(@Payload final List<Pojo> payloads) {
+
+    }
+
     @SuppressWarnings( {"unused"})
     public void method(@Payload final String payloadString, @Payload final Pojo payloadPojo, final String parameterWithNoPayloadAnnotation) {
 
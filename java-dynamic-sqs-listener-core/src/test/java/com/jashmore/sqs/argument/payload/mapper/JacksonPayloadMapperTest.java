@@ -6,15 +6,33 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jashmore.sqs.argument.payload.mapper.decoder.ContentEncodingPayloadDecoder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
 
 @ExtendWith(MockitoExtension.class)
 class JacksonPayloadMapperTest {
@@ -67,6 +85,153 @@ class JacksonPayloadMapperTest {
         assertThat(exception.getCause()).isInstanceOf(IOException.class);
     }
 
+    @Test
+    void boundStringPayloadResolvesWithMessageBody() {
+        // arrange
+        final BoundPayloadMapper boundPayloadMapper = new JacksonPayloadMapper(new ObjectMapper()).bind(String.class);
+
+        // act
+        final Object argument = boundPayloadMapper.map(Message.builder().body("body").build());
+
+        // assert
+        assertThat(argument).isEqualTo("body");
+    }
+
+    @Test
+    void rawBytesOfPayloadCanBeObtainedWithoutDeserialisation() {
+        // arrange
+        final Message message = Message.builder().body("{\"name\":\"value\"}").build();
+        final SdkBytes expectedBytes = SdkBytes.fromUtf8String(message.body());
+
+        // act
+        final Object sdkBytes = payloadMapper.bind(SdkBytes.class).map(message);
+        final Object byteBuffer = payloadMapper.bind(ByteBuffer.class).map(message);
+        final Object inputStream = payloadMapper.map(message, InputStream.class);
+
+        // assert
+        assertThat(sdkBytes).isEqualTo(expectedBytes);
+        assertThat(byteBuffer).isEqualTo(expectedBytes.asByteBuffer());
+        assertThat(SdkBytes.fromInputStream((InputStream) inputStream)).isEqualTo(expectedBytes);
+    }
+
+    @Test
+    void boundPayloadMapperCanMapToGenericTypes() {
+        // arrange
+        final BoundPayloadMapper boundPayloadMapper = new JacksonPayloadMapper(new ObjectMapper())
+                .bind(new TypeReference<Map<String, List<Integer>>>() { }.getType());
+
+        // act
+        final Object firstArgument = boundPayloadMapper.map(Message.builder().body("{\"first\":[1,2]}").build());
+        final Object secondArgument = boundPayloadMapper.map(Message.builder().body("{\"second\":[3]}").build());
+
+        // assert
+        assertThat(firstArgument).isEqualTo(ImmutableMap.of("first", ImmutableList.of(1, 2)));
+        assertThat(secondArgument).isEqualTo(ImmutableMap.of("second", ImmutableList.of(3)));
+    }
+
+    @Test
+    void errorBuildingBoundPayloadThrowsPayloadMappingException() {
+        // arrange
+        final BoundPayloadMapper boundPayloadMapper = new JacksonPayloadMapper(new ObjectMapper())
+                .bind(new TypeReference<List<Integer>>() { }.getType());
+        final Message message = Message.builder().body("{\"not\":\"a list\"}").build();
+
+        // act
+        final PayloadMappingException exception = assertThrows(PayloadMappingException.class, () -> boundPayloadMapper.map(message));
+
+        // assert
+        assertThat(exception.getCause()).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void compressedPayloadIsDecodedBeforeBeingMapped() throws IOException {
+        // arrange
+        final BoundPayloadMapper boundPayloadMapper = new JacksonPayloadMapper(new ObjectMapper(), new ContentEncodingPayloadDecoder())
+                .bind(new TypeReference<List<Integer>>() { }.getType());
+        final Message message = buildGzipMessage("[1,2,3]");
+
+        // act
+        final Object argument = boundPayloadMapper.map(message);
+
+        // assert
+        assertThat(argument).isEqualTo(ImmutableList.of(1, 2, 3));
+    }
+
+    @Test
+    void compressedPayloadCanBeMappedToAString() throws IOException {
+        // arrange
+        final PayloadMapper decodingPayloadMapper = new JacksonPayloadMapper(new ObjectMapper(), new ContentEncodingPayloadDecoder());
+        final Message message = buildGzipMessage("body");
+
+        // act
+        final Object argument = decodingPayloadMapper.map(message, String.class);
+
+        // assert
+        assertThat(argument).isEqualTo("body");
+    }
+
+    @Test
+    void payloadWithoutContentEncodingIsMappedWhenDecodingIsEnabled() {
+        // arrange
+        final BoundPayloadMapper boundPayloadMapper = new JacksonPayloadMapper(new ObjectMapper(), new ContentEncodingPayloadDecoder())
+                .bind(new TypeReference<List<Integer>>() { }.getType());
+
+        // act
+        final Object argument = boundPayloadMapper.map(Message.builder().body("[1,2,3]").build());
+
+        // assert
+        assertThat(argument).isEqualTo(ImmutableList.of(1, 2, 3));
+    }
+
+    @Test
+    void noMessageAttributesAreRequiredWhenDecodingIsDisabled() {
+        // act
+        final Optional<Set<String>> attributeNames = payloadMapper.getRequiredMessageAttributeNames();
+
+        // assert
+        assertThat(attributeNames).contains(ImmutableSet.of());
+    }
+
+    @Test
+    void messageAttributesOfThePayloadDecoderAreRequiredWhenDecodingIsEnabled() {
+        // arrange
+        final PayloadMapper decodingPayloadMapper = new JacksonPayloadMapper(new ObjectMapper(), new ContentEncodingPayloadDecoder());
+
+        // act
+        final Optional<Set<String>> attributeNames = decodingPayloadMapper.getRequiredMessageAttributeNames();
+
+        // assert
+        assertThat(attributeNames).contains(ImmutableSet.of(ContentEncodingPayloadDecoder.DEFAULT_CONTENT_ENCODING_ATTRIBUTE_NAME));
+    }
+
+    @Test
+    void errorParsingDecodedPayloadThrowsPayloadMappingException() throws IOException {
+        // arrange
+        final BoundPayloadMapper boundPayloadMapper = new JacksonPayloadMapper(new ObjectMapper(), new ContentEncodingPayloadDecoder())
+                .bind(new TypeReference<List<Integer>>() { }.getType());
+        final Message message = buildGzipMessage("{\"not\":\"a list\"}");
+
+        // act
+        final PayloadMappingException exception = assertThrows(PayloadMappingException.class, () -> boundPayloadMapper.map(message));
+
+        // assert
+        assertThat(exception.getCause()).isInstanceOf(IOException.class);
+    }
+
+    private static Message buildGzipMessage(final String body) throws IOException {
+        final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(byteArrayOutputStream)) {
+            gzipOutputStream.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return Message.builder()
+                .body(Base64.getEncoder().encodeToString(byteArrayOutputStream.toByteArray()))
+                .messageAttributes(ImmutableMap.of(
+                        ContentEncodingPayloadDecoder.DEFAULT_CONTENT_ENCODING_ATTRIBUTE_NAME,
+                        MessageAttributeValue.builder().dataType("String").stringValue("gzip").build()
+                ))
+                .build();
+    }
+
     @SuppressWarnings("WeakerAccess")
     public static class Pojo {
         private final String field;
@@ -0,0 +1,98 @@
+package com.jashmore.sqs.argument.payload.mapper.decoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jashmore.sqs.argument.payload.mapper.JacksonPayloadMapper;
+import com.jashmore.sqs.argument.payload.mapper.PayloadMapper;
+import com.jashmore.sqs.argument.payload.mapper.PayloadMappingException;
+import com.jashmore.sqs.claimcheck.BlobPointer;
+import com.jashmore.sqs.claimcheck.BlobStore;
+import com.jashmore.sqs.claimcheck.FileSystemBlobStore;
+import com.jashmore.sqs.util.concurrent.CompletableFutureUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+@ExtendWith(MockitoExtension.class)
+class ClaimCheckPayloadDecoderTest {
+    private static final Message POINTER_MESSAGE = Message.builder()
+            .body("[\"software.amazon.payloadoffloading.PayloadS3Pointer\",{\"s3BucketName\":\"bucket\",\"s3Key\":\"key\"}]")
+            .build();
+
+    @Mock
+    private BlobStore blobStore;
+
+    @Test
+    void messageWithoutPointerIsNotDecoded() {
+        // arrange
+        final ClaimCheckPayloadDecoder payloadDecoder = new ClaimCheckPayloadDecoder(blobStore);
+
+        // act
+        final Optional<InputStream> decodedBody = payloadDecoder.decode(Message.builder().body("body").build());
+
+        // assert
+        assertThat(decodedBody).isEmpty();
+        verifyNoMoreInteractions(blobStore);
+    }
+
+    @Test
+    void payloadIsObtainedFromTheBlobStore() {
+        // arrange
+        final InputStream blobInputStream = new ByteArrayInputStream("payload".getBytes(StandardCharsets.UTF_8));
+        when(blobStore.getBlob(new BlobPointer("bucket", "key"))).thenReturn(CompletableFuture.completedFuture(blobInputStream));
+        final ClaimCheckPayloadDecoder payloadDecoder = new ClaimCheckPayloadDecoder(blobStore);
+
+        // act
+        final Optional<InputStream> decodedBody = payloadDecoder.decode(POINTER_MESSAGE);
+
+        // assert
+        assertThat(decodedBody).containsSame(blobInputStream);
+    }
+
+    @Test
+    void failureToObtainPayloadFromBlobStoreThrowsPayloadMappingException() {
+        // arrange
+        final IOException fetchException = new IOException("Expected Test Exception");
+        when(blobStore.getBlob(new BlobPointer("bucket", "key"))).thenReturn(CompletableFutureUtils.completedExceptionally(fetchException));
+        final ClaimCheckPayloadDecoder payloadDecoder = new ClaimCheckPayloadDecoder(blobStore);
+
+        // act
+        final PayloadMappingException exception = assertThrows(PayloadMappingException.class, () -> payloadDecoder.decode(POINTER_MESSAGE));
+
+        // assert
+        assertThat(exception.getCause()).isSameAs(fetchException);
+    }
+
+    @Test
+    void payloadInBlobStoreCanBeMappedByJackson(@TempDir final Path rootDirectory) throws IOException {
+        // arrange
+        Files.createDirectories(rootDirectory.resolve("bucket"));
+        Files.write(rootDirectory.resolve("bucket").resolve("key"), "{\"name\":\"value\"}".getBytes(StandardCharsets.UTF_8));
+        final PayloadMapper payloadMapper = new JacksonPayloadMapper(new ObjectMapper(),
+                new ClaimCheckPayloadDecoder(new FileSystemBlobStore(rootDirectory)));
+
+        // act
+        final Object payload = payloadMapper.map(POINTER_MESSAGE, Map.class);
+
+        // assert
+        assertThat(payload).isEqualTo(Collections.singletonMap("name", "value"));
+    }
+}
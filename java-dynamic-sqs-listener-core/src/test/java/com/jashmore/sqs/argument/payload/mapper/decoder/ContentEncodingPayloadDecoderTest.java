@@ -0,0 +1,142 @@
+package com.jashmore.sqs.argument.payload.mapper.decoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import com.jashmore.sqs.argument.payload.mapper.PayloadMappingException;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+class ContentEncodingPayloadDecoderTest {
+    private final ContentEncodingPayloadDecoder payloadDecoder = new ContentEncodingPayloadDecoder();
+
+    @Test
+    void messageWithoutContentEncodingIsNotDecoded() {
+        // arrange
+        final Message message = Message.builder().body("body").build();
+
+        // act
+        final Optional<InputStream> decodedBody = payloadDecoder.decode(message);
+
+        // assert
+        assertThat(decodedBody).isEmpty();
+    }
+
+    @Test
+    void gzipEncodedBodyIsDecoded() throws IOException {
+        // arrange
+        final Message message = buildEncodedMessage("gzip", encode("body", GZIPOutputStream::new));
+
+        // act
+        final Optional<InputStream> decodedBody = payloadDecoder.decode(message);
+
+        // assert
+        assertThat(decodedBody).hasValueSatisfying(inputStream -> assertThat(SdkBytes.fromInputStream(inputStream).asUtf8String()).isEqualTo("body"));
+    }
+
+    @Test
+    void deflateEncodedBodyIsDecoded() throws IOException {
+        // arrange
+        final Message message = buildEncodedMessage("deflate", encode("body", DeflaterOutputStream::new));
+
+        // act
+        final Optional<InputStream> decodedBody = payloadDecoder.decode(message);
+
+        // assert
+        assertThat(decodedBody).hasValueSatisfying(inputStream -> assertThat(SdkBytes.fromInputStream(inputStream).asUtf8String()).isEqualTo("body"));
+    }
+
+    @Test
+    void customContentDecodersAndAttributeNameCanBeUsed() {
+        // arrange
+        final ContentEncodingPayloadDecoder customPayloadDecoder = new ContentEncodingPayloadDecoder("encoding", ImmutableMap.of("identity", inputStream -> inputStream));
+        final Message message = Message.builder()
+                .body(Base64.getEncoder().encodeToString("body".getBytes(StandardCharsets.UTF_8)))
+                .messageAttributes(ImmutableMap.of("encoding", MessageAttributeValue.builder().dataType("String").stringValue("identity").build()))
+                .build();
+
+        // act
+        final Optional<InputStream> decodedBody = customPayloadDecoder.decode(message);
+
+        // assert
+        assertThat(decodedBody).hasValueSatisfying(inputStream -> assertThat(SdkBytes.fromInputStream(inputStream).asUtf8String()).isEqualTo("body"));
+    }
+
+    @Test
+    void contentEncodingAttributeIsTheOnlyRequiredMessageAttribute() {
+        // arrange
+        final ContentEncodingPayloadDecoder customPayloadDecoder = new ContentEncodingPayloadDecoder("encoding", ImmutableMap.of());
+
+        // act
+        final Optional<Set<String>> defaultAttributeNames = payloadDecoder.getRequiredMessageAttributeNames();
+        final Optional<Set<String>> customAttributeNames = customPayloadDecoder.getRequiredMessageAttributeNames();
+
+        // assert
+        assertThat(defaultAttributeNames).contains(ImmutableSet.of(ContentEncodingPayloadDecoder.DEFAULT_CONTENT_ENCODING_ATTRIBUTE_NAME));
+        assertThat(customAttributeNames).contains(ImmutableSet.of("encoding"));
+    }
+
+    @Test
+    void unsupportedContentEncodingThrowsPayloadMappingException() {
+        // arrange
+        final Message message = buildEncodedMessage("unknown", "body");
+
+        // act
+        final PayloadMappingException exception = assertThrows(PayloadMappingException.class, () -> payloadDecoder.decode(message));
+
+        // assert
+        assertThat(exception).hasMessage("Unsupported content encoding 'unknown' for the message body");
+    }
+
+    @Test
+    void bodyThatIsNotEncodedCorrectlyThrowsPayloadMappingException() {
+        // arrange
+        final Message message = buildEncodedMessage("gzip", Base64.getEncoder().encodeToString("not gzip".getBytes(StandardCharsets.UTF_8)));
+
+        // act
+        final PayloadMappingException exception = assertThrows(PayloadMappingException.class, () -> payloadDecoder.decode(message));
+
+        // assert
+        assertThat(exception.getCause()).isInstanceOf(ZipException.class);
+    }
+
+    static Message buildEncodedMessage(final String contentEncoding, final String body) {
+        return Message.builder()
+                .body(body)
+                .messageAttributes(ImmutableMap.of(
+                        ContentEncodingPayloadDecoder.DEFAULT_CONTENT_ENCODING_ATTRIBUTE_NAME,
+                        MessageAttributeValue.builder().dataType("String").stringValue(contentEncoding).build()
+                ))
+                .build();
+    }
+
+    static String encode(final String body, final EncodingStreamFactory encodingStreamFactory) throws IOException {
+        final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try (OutputStream outputStream = encodingStreamFactory.create(byteArrayOutputStream)) {
+            outputStream.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return Base64.getEncoder().encodeToString(byteArrayOutputStream.toByteArray());
+    }
+
+    @FunctionalInterface
+    interface EncodingStreamFactory {
+        OutputStream create(OutputStream outputStream) throws IOException;
+    }
+}
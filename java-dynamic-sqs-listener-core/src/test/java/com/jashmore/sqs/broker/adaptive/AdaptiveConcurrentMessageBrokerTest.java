@@ -0,0 +1,161 @@
+package com.jashmore.sqs.broker.adaptive;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jashmore.sqs.broker.MessageBroker;
+import com.jashmore.sqs.util.concurrent.CompletableFutureUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+class AdaptiveConcurrentMessageBrokerTest {
+    private static final StaticAdaptiveConcurrentMessageBrokerProperties DEFAULT_PROPERTIES = StaticAdaptiveConcurrentMessageBrokerProperties.builder()
+            .minimumConcurrencyLevel(1)
+            .maximumConcurrencyLevel(5)
+            .concurrencyPollingRateInMilliseconds(100L)
+            .errorBackoffTimeInMilliseconds(0L)
+            .build();
+
+    private ExecutorService brokerExecutorService;
+    private ExecutorService messageExecutingExecutorService;
+
+    @BeforeEach
+    void setUp() {
+        brokerExecutorService = Executors.newCachedThreadPool();
+        messageExecutingExecutorService = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        brokerExecutorService.shutdownNow();
+        messageExecutingExecutorService.shutdownNow();
+    }
+
+    @Test
+    void initialConcurrencyLevelIsUsedBeforeAnyMessagesAreProcessed() throws InterruptedException {
+        // arrange
+        final CountDownLatch messagesProcessingLatch = new CountDownLatch(3);
+        final AdaptiveConcurrentMessageBroker broker = new AdaptiveConcurrentMessageBroker(DEFAULT_PROPERTIES.toBuilder()
+                .initialConcurrencyLevel(3)
+                .build());
+
+        // act
+        runBrokerProcessMessageOnThread(
+                broker,
+                () -> CompletableFuture.completedFuture(Message.builder().build()),
+                processingMessageWillBlockUntilInterrupted(messagesProcessingLatch)
+        );
+
+        // assert
+        assertThat(messagesProcessingLatch.await(30, SECONDS)).isTrue();
+        assertThat(broker.getCurrentConcurrencyLevel()).isEqualTo(3);
+    }
+
+    @Test
+    void successfullyProcessedMessagesWillIncreaseConcurrencyToMaximum() throws InterruptedException {
+        // arrange
+        final CountDownLatch messagesProcessingLatch = new CountDownLatch(100);
+        final AdaptiveConcurrentMessageBroker broker = new AdaptiveConcurrentMessageBroker(DEFAULT_PROPERTIES);
+
+        // act
+        runBrokerProcessMessageOnThread(
+                broker,
+                () -> CompletableFuture.completedFuture(Message.builder().build()),
+                message -> CompletableFuture.runAsync(() -> {
+                    try {
+                        Thread.sleep(10);
+                    } catch (final InterruptedException interruptedException) {
+                        Thread.currentThread().interrupt();
+                    }
+                    messagesProcessingLatch.countDown();
+                }, messageExecutingExecutorService)
+        );
+
+        // assert
+        assertThat(messagesProcessingLatch.await(30, SECONDS)).isTrue();
+        assertThat(broker.getCurrentConcurrencyLevel()).isEqualTo(5);
+    }
+
+    @Test
+    void failingMessagesWillDecreaseConcurrencyToMinimum() throws InterruptedException {
+        // arrange
+        final CountDownLatch messagesProcessingLatch = new CountDownLatch(100);
+        final AdaptiveConcurrentMessageBroker broker = new AdaptiveConcurrentMessageBroker(DEFAULT_PROPERTIES.toBuilder()
+                .initialConcurrencyLevel(5)
+                .build());
+
+        // act
+        runBrokerProcessMessageOnThread(
+                broker,
+                () -> CompletableFuture.completedFuture(Message.builder().build()),
+                message -> {
+                    messagesProcessingLatch.countDown();
+                    return CompletableFutureUtils.completedExceptionally(new RuntimeException("Expected Test Exception"));
+                }
+        );
+
+        // assert
+        assertThat(messagesProcessingLatch.await(30, SECONDS)).isTrue();
+        assertThat(broker.getCurrentConcurrencyLevel()).isEqualTo(1);
+    }
+
+    @Test
+    void exceptionThrownWhileRetrievingMessageWillStillAllowMoreMessagesToRetrieved() throws InterruptedException {
+        // arrange
+        final AtomicInteger numberOfAttempts = new AtomicInteger(0);
+        final CountDownLatch messageProcessingLatch = new CountDownLatch(1);
+        final AdaptiveConcurrentMessageBroker broker = new AdaptiveConcurrentMessageBroker(DEFAULT_PROPERTIES);
+
+        // act
+        runBrokerProcessMessageOnThread(
+                broker,
+                () -> {
+                    if (numberOfAttempts.getAndIncrement() == 0) {
+                        throw new RuntimeException("Expected Test Exception");
+                    }
+                    return CompletableFuture.completedFuture(Message.builder().build());
+                },
+                processingMessageWillBlockUntilInterrupted(messageProcessingLatch)
+        );
+
+        // assert
+        assertThat(messageProcessingLatch.await(30, SECONDS)).isTrue();
+    }
+
+    private Future<?> runBrokerProcessMessageOnThread(final MessageBroker broker,
+                                                      final Supplier<CompletableFuture<Message>> messageRetriever,
+                                                      final Function<Message, CompletableFuture<?>> messageConsumer) {
+        return brokerExecutorService.submit(() -> {
+            final ExecutorService executorService = Executors.newCachedThreadPool();
+            try {
+                broker.processMessages(executorService, messageRetriever, messageConsumer);
+            } catch (InterruptedException e) {
+                // do nothing
+            } finally {
+                executorService.shutdownNow();
+            }
+        });
+    }
+
+    private Function<Message, CompletableFuture<?>> processingMessageWillBlockUntilInterrupted(final CountDownLatch messageProcessingLatch) {
+        return (message) -> CompletableFuture.runAsync(() -> {
+            messageProcessingLatch.countDown();
+            try {
+                Thread.sleep(Long.MAX_VALUE);
+            } catch (final InterruptedException interruptedException) {
+                //expected
+            }
+        }, messageExecutingExecutorService);
+    }
+}
@@ -0,0 +1,143 @@
+package com.jashmore.sqs.broker.adaptive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class AimdConcurrencyLimitTest {
+    private static final long LATENCY = 1_000_000L;
+
+    @Test
+    void initialLimitIsConstrainedToBounds() {
+        // act
+        final AimdConcurrencyLimit limit = new AimdConcurrencyLimit(50, 1, 10);
+
+        // assert
+        assertThat(limit.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void healthyWindowWithHighUtilisationIncreasesLimitByOne() {
+        // arrange
+        final AimdConcurrencyLimit limit = new AimdConcurrencyLimit(2, 1, 10);
+
+        // act
+        limit.recordSample(LATENCY, true, 2);
+        limit.recordSample(LATENCY, true, 2);
+
+        // assert
+        assertThat(limit.getLimit()).isEqualTo(3);
+    }
+
+    @Test
+    void healthyWindowWithLowUtilisationDoesNotIncreaseLimit() {
+        // arrange
+        final AimdConcurrencyLimit limit = new AimdConcurrencyLimit(6, 1, 10);
+
+        // act
+        for (int i = 0; i < 6; ++i) {
+            limit.recordSample(LATENCY, true, 1);
+        }
+
+        // assert
+        assertThat(limit.getLimit()).isEqualTo(6);
+    }
+
+    @Test
+    void limitWillNotIncreaseAboveMaximum() {
+        // arrange
+        final AimdConcurrencyLimit limit = new AimdConcurrencyLimit(2, 1, 2);
+
+        // act
+        limit.recordSample(LATENCY, true, 2);
+        limit.recordSample(LATENCY, true, 2);
+
+        // assert
+        assertThat(limit.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void windowWithTooManyErrorsDecreasesLimit() {
+        // arrange
+        final AimdConcurrencyLimit limit = new AimdConcurrencyLimit(5, 1, 10);
+
+        // act
+        for (int i = 0; i < 5; ++i) {
+            limit.recordSample(LATENCY, i != 0, 5);
+        }
+
+        // assert
+        assertThat(limit.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void limitWillNotDecreaseBelowMinimum() {
+        // arrange
+        final AimdConcurrencyLimit limit = new AimdConcurrencyLimit(2, 2, 10);
+
+        // act
+        limit.recordSample(LATENCY, false, 2);
+        limit.recordSample(LATENCY, false, 2);
+
+        // assert
+        assertThat(limit.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void latencyIncreasingAboveToleranceOfBaselineDecreasesLimit() {
+        // arrange
+        final AimdConcurrencyLimit limit = new AimdConcurrencyLimit(1, 1, 20);
+        for (int i = 0; i < 10; ++i) {
+            limit.recordSample(LATENCY, true, limit.getLimit());
+        }
+        final int limitBeforeLatencyIncrease = limit.getLimit();
+
+        // act
+        for (int i = 0; i < limitBeforeLatencyIncrease; ++i) {
+            limit.recordSample(LATENCY * 3, true, limitBeforeLatencyIncrease);
+        }
+
+        // assert
+        assertThat(limit.getLimit()).isLessThan(limitBeforeLatencyIncrease);
+    }
+
+    @Test
+    void latencyWithinToleranceOfBaselineKeepsIncreasingLimit() {
+        // arrange
+        final AimdConcurrencyLimit limit = new AimdConcurrencyLimit(1, 1, 20);
+        limit.recordSample(LATENCY, true, 1);
+        final int limitBefore = limit.getLimit();
+
+        // act
+        for (int i = 0; i < limitBefore; ++i) {
+            limit.recordSample((long) (LATENCY * 1.5), true, limitBefore);
+        }
+
+        // assert
+        assertThat(limit.getLimit()).isEqualTo(limitBefore + 1);
+    }
+
+    @Test
+    void configuringNewBoundsConstrainsTheCurrentLimit() {
+        // arrange
+        final AimdConcurrencyLimit limit = new AimdConcurrencyLimit(8, 1, 10);
+
+        // act
+        limit.configure(1, 5, 2.0, 0.1);
+
+        // assert
+        assertThat(limit.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void maximumLowerThanMinimumWillUseMinimum() {
+        // arrange
+        final AimdConcurrencyLimit limit = new AimdConcurrencyLimit(1, 1, 10);
+
+        // act
+        limit.configure(3, 2, 2.0, 0.1);
+
+        // assert
+        assertThat(limit.getLimit()).isEqualTo(3);
+    }
+}
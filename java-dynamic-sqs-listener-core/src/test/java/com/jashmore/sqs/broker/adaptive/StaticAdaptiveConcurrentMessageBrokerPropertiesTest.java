@@ -0,0 +1,52 @@
+package com.jashmore.sqs.broker.adaptive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class StaticAdaptiveConcurrentMessageBrokerPropertiesTest {
+    @Test
+    void valuesReturnedFromConstructor() {
+        // act
+        final StaticAdaptiveConcurrentMessageBrokerProperties properties = StaticAdaptiveConcurrentMessageBrokerProperties.builder()
+                .initialConcurrencyLevel(2)
+                .minimumConcurrencyLevel(1)
+                .maximumConcurrencyLevel(5)
+                .latencyToleranceRatio(1.5)
+                .errorRateThreshold(0.2)
+                .concurrencyPollingRateInMilliseconds(100L)
+                .errorBackoffTimeInMilliseconds(200L)
+                .build();
+
+        // assert
+        assertThat(properties.getInitialConcurrencyLevel()).isEqualTo(2);
+        assertThat(properties.getMinimumConcurrencyLevel()).isEqualTo(1);
+        assertThat(properties.getMaximumConcurrencyLevel()).isEqualTo(5);
+        assertThat(properties.getLatencyToleranceRatio()).isEqualTo(1.5);
+        assertThat(properties.getErrorRateThreshold()).isEqualTo(0.2);
+        assertThat(properties.getConcurrencyPollingRateInMilliseconds()).isEqualTo(100L);
+        assertThat(properties.getErrorBackoffTimeInMilliseconds()).isEqualTo(200L);
+    }
+
+    @Test
+    void missingMaximumConcurrencyLevelThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> StaticAdaptiveConcurrentMessageBrokerProperties.builder().build());
+    }
+
+    @Test
+    void minimumConcurrencyLevelGreaterThanMaximumThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> StaticAdaptiveConcurrentMessageBrokerProperties.builder()
+                .minimumConcurrencyLevel(5)
+                .maximumConcurrencyLevel(2)
+                .build());
+    }
+
+    @Test
+    void errorRateThresholdGreaterThanOneThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> StaticAdaptiveConcurrentMessageBrokerProperties.builder()
+                .maximumConcurrencyLevel(2)
+                .errorRateThreshold(1.5)
+                .build());
+    }
+}
@@ -0,0 +1,78 @@
+package com.jashmore.sqs.claimcheck;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.Optional;
+
+class ClaimCheckUtilsTest {
+    @Test
+    void bodyThatIsNotAPointerHasNoBlobPointer() {
+        // arrange
+        final Message message = Message.builder().body("[\"some\",\"array\"]").build();
+
+        // act
+        final Optional<BlobPointer> blobPointer = ClaimCheckUtils.getBlobPointer(message);
+
+        // assert
+        assertThat(blobPointer).isEmpty();
+    }
+
+    @Test
+    void payloadPointerOfExtendedClientCanBeObtained() {
+        // arrange
+        final Message message = Message.builder()
+                .body("[\"software.amazon.payloadoffloading.PayloadS3Pointer\",{\"s3BucketName\":\"bucket\",\"s3Key\":\"key\"}]")
+                .build();
+
+        // act
+        final Optional<BlobPointer> blobPointer = ClaimCheckUtils.getBlobPointer(message);
+
+        // assert
+        assertThat(blobPointer).contains(new BlobPointer("bucket", "key"));
+    }
+
+    @Test
+    void messagePointerOfLegacyExtendedClientCanBeObtained() {
+        // arrange
+        final Message message = Message.builder()
+                .body("[\"com.amazon.sqs.javamessaging.MessageS3Pointer\",{\"s3BucketName\":\"bucket\",\"s3Key\":\"key\"}]")
+                .build();
+
+        // act
+        final Optional<BlobPointer> blobPointer = ClaimCheckUtils.getBlobPointer(message);
+
+        // assert
+        assertThat(blobPointer).contains(new BlobPointer("bucket", "key"));
+    }
+
+    @Test
+    void pointerWithoutKeyHasNoBlobPointer() {
+        // arrange
+        final Message message = Message.builder()
+                .body("[\"software.amazon.payloadoffloading.PayloadS3Pointer\",{\"s3BucketName\":\"bucket\"}]")
+                .build();
+
+        // act
+        final Optional<BlobPointer> blobPointer = ClaimCheckUtils.getBlobPointer(message);
+
+        // assert
+        assertThat(blobPointer).isEmpty();
+    }
+
+    @Test
+    void invalidJsonPointerHasNoBlobPointer() {
+        // arrange
+        final Message message = Message.builder()
+                .body("[\"software.amazon.payloadoffloading.PayloadS3Pointer\",{")
+                .build();
+
+        // act
+        final Optional<BlobPointer> blobPointer = ClaimCheckUtils.getBlobPointer(message);
+
+        // assert
+        assertThat(blobPointer).isEmpty();
+    }
+}
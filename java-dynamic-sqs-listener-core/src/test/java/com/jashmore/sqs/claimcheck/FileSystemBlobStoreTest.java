@@ -0,0 +1,77 @@
+package com.jashmore.sqs.claimcheck;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.core.SdkBytes;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+
+class FileSystemBlobStoreTest {
+    @TempDir
+    Path rootDirectory;
+
+    private FileSystemBlobStore blobStore;
+
+    @BeforeEach
+    void setUp() {
+        blobStore = new FileSystemBlobStore(rootDirectory);
+    }
+
+    @Test
+    void contentOfBlobCanBeObtained() throws Exception {
+        // arrange
+        Files.createDirectories(rootDirectory.resolve("bucket"));
+        Files.write(rootDirectory.resolve("bucket").resolve("key"), "payload".getBytes(StandardCharsets.UTF_8));
+
+        // act
+        final String content;
+        try (InputStream inputStream = blobStore.getBlob(new BlobPointer("bucket", "key")).get()) {
+            content = SdkBytes.fromInputStream(inputStream).asUtf8String();
+        }
+
+        // assert
+        assertThat(content).isEqualTo("payload");
+    }
+
+    @Test
+    void gettingBlobThatDoesNotExistCompletesExceptionally() {
+        // act
+        final ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> blobStore.getBlob(new BlobPointer("bucket", "key")).get());
+
+        // assert
+        assertThat(exception.getCause()).isInstanceOf(NoSuchFileException.class);
+    }
+
+    @Test
+    void blobCanBeDeleted() throws Exception {
+        // arrange
+        final Path blobPath = Files.createDirectories(rootDirectory.resolve("bucket")).resolve("key");
+        Files.write(blobPath, "payload".getBytes(StandardCharsets.UTF_8));
+
+        // act
+        blobStore.deleteBlob(new BlobPointer("bucket", "key")).get();
+
+        // assert
+        assertThat(blobPath).doesNotExist();
+    }
+
+    @Test
+    void blobOutsideOfTheRootDirectoryCannotBeObtained() {
+        // act
+        final ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> blobStore.getBlob(new BlobPointer("..", "other")).get());
+
+        // assert
+        assertThat(exception.getCause()).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,96 @@
+package com.jashmore.sqs.container;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+class ConcurrentMessagesBudgetTest {
+    private final Message message = Message.builder().build();
+
+    @Test
+    void processingMessageWillTakePermitUntilProcessingHasFinished() {
+        // arrange
+        final Semaphore semaphore = new Semaphore(2);
+        final ConcurrentMessagesBudget budget = new ConcurrentMessagesBudget(semaphore);
+        final Function<Message, CompletableFuture<?>> messageProcessor = budget.limitMessageProcessor(message -> new CompletableFuture<>());
+
+        // act
+        messageProcessor.apply(message);
+
+        // assert
+        assertThat(semaphore.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void permitIsReturnedWhenMessageHasBeenProcessed() {
+        // arrange
+        final Semaphore semaphore = new Semaphore(2);
+        final ConcurrentMessagesBudget budget = new ConcurrentMessagesBudget(semaphore);
+        final CompletableFuture<Object> processingFuture = new CompletableFuture<>();
+        final Function<Message, CompletableFuture<?>> messageProcessor = budget.limitMessageProcessor(message -> processingFuture);
+        messageProcessor.apply(message);
+        assertThat(semaphore.availablePermits()).isEqualTo(1);
+
+        // act
+        processingFuture.complete("result");
+
+        // assert
+        assertThat(semaphore.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void permitIsReturnedWhenProcessorThrowsException() {
+        // arrange
+        final Semaphore semaphore = new Semaphore(2);
+        final ConcurrentMessagesBudget budget = new ConcurrentMessagesBudget(semaphore);
+        final Function<Message, CompletableFuture<?>> messageProcessor = budget.limitMessageProcessor(message -> {
+            throw new RuntimeException("Expected Test Exception");
+        });
+
+        // act
+        assertThrows(RuntimeException.class, () -> messageProcessor.apply(message));
+
+        // assert
+        assertThat(semaphore.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void interruptionWaitingForPermitReturnsCancelledFutureWithoutProcessingTheMessage() {
+        // arrange
+        final ConcurrentMessagesBudget budget = new ConcurrentMessagesBudget(new Semaphore(0));
+        final Function<Message, CompletableFuture<?>> messageProcessor = budget.limitMessageProcessor(message -> {
+            throw new IllegalStateException("Message should not be processed");
+        });
+        Thread.currentThread().interrupt();
+
+        // act
+        final CompletableFuture<?> processingFuture = messageProcessor.apply(message);
+
+        // assert
+        assertThat(processingFuture).isCancelled();
+        assertThat(Thread.interrupted()).isTrue();
+    }
+
+    @Test
+    void releasingAllPermitsReturnsOnlyThePermitsHeldByTheBudget() {
+        // arrange
+        final Semaphore semaphore = new Semaphore(3);
+        final ConcurrentMessagesBudget budget = new ConcurrentMessagesBudget(semaphore);
+        final ConcurrentMessagesBudget otherBudget = new ConcurrentMessagesBudget(semaphore);
+        budget.limitMessageProcessor(message -> new CompletableFuture<>()).apply(message);
+        budget.limitMessageProcessor(message -> new CompletableFuture<>()).apply(message);
+        otherBudget.limitMessageProcessor(message -> new CompletableFuture<>()).apply(message);
+
+        // act
+        budget.releaseAll();
+
+        // assert
+        assertThat(semaphore.availablePermits()).isEqualTo(2);
+    }
+}
@@ -1,19 +1,29 @@
 package com.jashmore.sqs.container;
 
+import static com.jashmore.sqs.util.thread.ThreadTestUtils.isVirtualThread;
+import static com.jashmore.sqs.util.thread.ThreadTestUtils.runtimeSupportsVirtualThreads;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableList;
 
 import com.jashmore.sqs.broker.MessageBroker;
+import com.jashmore.sqs.broker.concurrent.ConcurrentMessageBroker;
+import com.jashmore.sqs.broker.concurrent.ConcurrentMessageBrokerProperties;
+import com.jashmore.sqs.broker.concurrent.StaticConcurrentMessageBrokerProperties;
 import com.jashmore.sqs.processor.MessageProcessor;
 import com.jashmore.sqs.resolver.MessageResolver;
 import com.jashmore.sqs.retriever.MessageRetriever;
+import com.jashmore.sqs.util.thread.ThreadUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -26,6 +36,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BooleanSupplier;
@@ -217,6 +228,146 @@ class CoreMessageListenerContainerTest {
         assertThat(retrieverThreadName.get()).matches("container-id-message-processing-\\d+");
     }
 
+    @Test
+    void processingMessagesOnVirtualThreadsWillFallbackToPlatformThreadsWhenTheyAreNotSupported() {
+        // arrange
+        assumeFalse(runtimeSupportsVirtualThreads(), "Virtual threads are supported by this runtime");
+        final AtomicReference<Thread> processingThread = new AtomicReference<>();
+        doAnswer(invocation -> {
+            processingThread.set(Thread.currentThread());
+            return null;
+        }).when(messageProcessor).processMessage(any(Message.class), any(Runnable.class));
+        when(messageRetriever.retrieveMessage())
+                .thenReturn(CompletableFuture.completedFuture(Message.builder().build()))
+                .thenReturn(STUB_MESSAGE_BROKER_DONE);
+        final CoreMessageListenerContainer container = buildContainer("container-id", new StubMessageBroker(), messageResolver, messageProcessor,
+                messageRetriever, DEFAULT_PROPERTIES.toBuilder().shouldProcessMessagesOnVirtualThreads(true).build());
+
+        // act
+        container.runContainer();
+
+        // assert
+        assertThat(isVirtualThread(processingThread.get())).isFalse();
+        assertThat(processingThread.get().getName()).matches("container-id-message-processing-\\d+");
+    }
+
+    @Test
+    void messagesWillBeProcessedOnSharedMessageProcessingExecutorServiceWhenProvided() {
+        // arrange
+        final ExecutorService sharedExecutorService = Executors.newFixedThreadPool(2, ThreadUtils.threadFactory("shared-processing-%d"));
+        final AtomicReference<String> processingThreadName = new AtomicReference<>();
+        doAnswer(invocation -> {
+            processingThreadName.set(Thread.currentThread().getName());
+            return null;
+        }).when(messageProcessor).processMessage(any(Message.class), any(Runnable.class));
+        when(messageRetriever.retrieveMessage())
+                .thenReturn(CompletableFuture.completedFuture(Message.builder().build()))
+                .thenReturn(STUB_MESSAGE_BROKER_DONE);
+        final CoreMessageListenerContainer container = new CoreMessageListenerContainer("container-id", StubMessageBroker::new,
+                () -> messageRetriever, () -> messageProcessor, () -> messageResolver,
+                DEFAULT_PROPERTIES.toBuilder().shouldInterruptThreadsProcessingMessagesOnShutdown(false).build(),
+                SharedContainerExecutors.builder().messageProcessingExecutorService(sharedExecutorService).build());
+
+        try {
+            // act
+            container.runContainer();
+
+            // assert
+            assertThat(processingThreadName.get()).matches("shared-processing-\\d+");
+            assertThat(sharedExecutorService.isShutdown()).isFalse();
+        } finally {
+            sharedExecutorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void componentsWillBeRunOnSharedBackgroundExecutorServiceWhenProvided() {
+        // arrange
+        final ExecutorService sharedExecutorService = Executors.newCachedThreadPool(ThreadUtils.threadFactory("shared-background-%d"));
+        final AtomicReference<String> resolverThreadName = new AtomicReference<>();
+        when(messageRetriever.retrieveMessage())
+                .thenReturn(STUB_MESSAGE_BROKER_DONE);
+        doAnswer(invocation -> {
+            resolverThreadName.set(Thread.currentThread().getName());
+            return null;
+        }).when(messageResolver).run();
+        final CoreMessageListenerContainer container = new CoreMessageListenerContainer("container-id", StubMessageBroker::new,
+                () -> messageRetriever, () -> messageProcessor, () -> messageResolver, DEFAULT_PROPERTIES,
+                SharedContainerExecutors.builder().backgroundExecutorService(sharedExecutorService).build());
+
+        try {
+            // act
+            container.runContainer();
+
+            // assert
+            assertThat(resolverThreadName.get()).matches("shared-background-\\d+");
+            assertThat(sharedExecutorService.isShutdown()).isFalse();
+        } finally {
+            sharedExecutorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void allPermitsForConcurrentMessagesAreReturnedWhenTheContainerStops() {
+        // arrange
+        final SharedContainerExecutors sharedExecutors = SharedContainerExecutors.builder().maximumConcurrentMessages(5).build();
+        when(messageRetriever.retrieveMessage())
+                .thenReturn(CompletableFuture.completedFuture(Message.builder().build()))
+                .thenReturn(CompletableFuture.completedFuture(Message.builder().build()))
+                .thenReturn(STUB_MESSAGE_BROKER_DONE);
+        when(messageProcessor.processMessage(any(Message.class), any(Runnable.class))).thenReturn(new CompletableFuture<>());
+        final CoreMessageListenerContainer container = new CoreMessageListenerContainer("container-id", StubMessageBroker::new,
+                () -> messageRetriever, () -> messageProcessor, () -> messageResolver,
+                DEFAULT_PROPERTIES.toBuilder().shouldInterruptThreadsProcessingMessagesOnShutdown(false).build(), sharedExecutors);
+
+        // act
+        container.runContainer();
+
+        // assert
+        verify(messageProcessor, times(2)).processMessage(any(Message.class), any(Runnable.class));
+        assertThat(sharedExecutors.getConcurrentMessagesSemaphore().availablePermits()).isEqualTo(5);
+    }
+
+    @Test
+    void idleContainerWillNotHoldThePermitsForConcurrentMessagesNeededByBusyContainer() throws Exception {
+        // arrange
+        final SharedContainerExecutors sharedExecutors = SharedContainerExecutors.builder().maximumConcurrentMessages(2).build();
+        final ConcurrentMessageBrokerProperties brokerProperties = StaticConcurrentMessageBrokerProperties.builder()
+                .concurrencyLevel(2)
+                .preferredConcurrencyPollingRateInMilliseconds(100L)
+                .build();
+        final CountDownLatch idleContainerRequestedMessagesLatch = new CountDownLatch(2);
+        final MessageRetriever idleMessageRetriever = mock(MessageRetriever.class);
+        when(idleMessageRetriever.retrieveMessage()).thenAnswer(invocation -> {
+            idleContainerRequestedMessagesLatch.countDown();
+            return new CompletableFuture<>();
+        });
+        final MessageRetriever busyMessageRetriever = mock(MessageRetriever.class);
+        when(busyMessageRetriever.retrieveMessage()).thenAnswer(invocation -> CompletableFuture.completedFuture(Message.builder().build()));
+        final CountDownLatch busyContainerProcessedMessagesLatch = new CountDownLatch(10);
+        when(messageProcessor.processMessage(any(Message.class), any(Runnable.class))).thenAnswer(invocation -> {
+            busyContainerProcessedMessagesLatch.countDown();
+            return CompletableFuture.completedFuture(null);
+        });
+        final CoreMessageListenerContainer idleContainer = new CoreMessageListenerContainer("idle", () -> new ConcurrentMessageBroker(brokerProperties),
+                () -> idleMessageRetriever, () -> messageProcessor, () -> messageResolver, DEFAULT_PROPERTIES, sharedExecutors);
+        final CoreMessageListenerContainer busyContainer = new CoreMessageListenerContainer("busy", () -> new ConcurrentMessageBroker(brokerProperties),
+                () -> busyMessageRetriever, () -> messageProcessor, () -> messageResolver, DEFAULT_PROPERTIES, sharedExecutors);
+        idleContainer.start();
+        assertThat(idleContainerRequestedMessagesLatch.await(5, SECONDS)).isTrue();
+
+        try {
+            // act
+            busyContainer.start();
+
+            // assert
+            assertThat(busyContainerProcessedMessagesLatch.await(5, SECONDS)).isTrue();
+        } finally {
+            busyContainer.stop();
+            idleContainer.stop();
+        }
+    }
+
     @Test
     void anyExtraMessagesLeftoverByAsyncMessageRetrieverWillNotBeProcessedOnShutdownWhenPropertyIsFalse() {
         // arrange
@@ -0,0 +1,58 @@
+package com.jashmore.sqs.container;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+class SharedContainerExecutorsTest {
+    private ExecutorService executorService;
+
+    @AfterEach
+    void tearDown() {
+        if (executorService != null) {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void backgroundExecutorServiceWithBoundedNumberOfThreadsIsRejected() {
+        // arrange
+        executorService = Executors.newFixedThreadPool(2);
+
+        // act
+        final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> SharedContainerExecutors.builder().backgroundExecutorService(executorService).build());
+
+        // assert
+        assertThat(exception).hasMessageContaining("backgroundExecutorService");
+    }
+
+    @Test
+    void backgroundExecutorServiceThatCanCreateAThreadForEachComponentIsAccepted() {
+        // arrange
+        executorService = Executors.newCachedThreadPool();
+
+        // act
+        final SharedContainerExecutors sharedExecutors = SharedContainerExecutors.builder().backgroundExecutorService(executorService).build();
+
+        // assert
+        assertThat(sharedExecutors.getBackgroundExecutorService()).isSameAs(executorService);
+    }
+
+    @Test
+    void messageProcessingExecutorServiceCanHaveBoundedNumberOfThreads() {
+        // arrange
+        executorService = Executors.newFixedThreadPool(2);
+
+        // act
+        final SharedContainerExecutors sharedExecutors = SharedContainerExecutors.builder().messageProcessingExecutorService(executorService).build();
+
+        // assert
+        assertThat(sharedExecutors.getMessageProcessingExecutorService()).isSameAs(executorService);
+    }
+}
@@ -0,0 +1,45 @@
+package com.jashmore.sqs.container;
+
+import static com.jashmore.sqs.util.thread.ThreadTestUtils.isVirtualThread;
+import static com.jashmore.sqs.util.thread.ThreadTestUtils.runtimeSupportsVirtualThreads;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+class VirtualThreadsTest {
+    @Test
+    void virtualThreadExecutorIsOnlyProvidedWhenTheRuntimeSupportsVirtualThreads() throws Exception {
+        // arrange
+        final boolean runtimeSupportsVirtualThreads = runtimeSupportsVirtualThreads();
+
+        // act
+        final Optional<ExecutorService> executorService = VirtualThreads.newVirtualThreadPerTaskExecutor("virtual-");
+
+        // assert
+        assertThat(executorService.isPresent()).isEqualTo(runtimeSupportsVirtualThreads);
+    }
+
+    @Test
+    void virtualThreadExecutorWillRunTasksOnNamedVirtualThreads() throws Exception {
+        // arrange
+        assumeTrue(runtimeSupportsVirtualThreads(), "Virtual threads are not supported by this runtime");
+        final Optional<ExecutorService> executorService = VirtualThreads.newVirtualThreadPerTaskExecutor("virtual-");
+        assertThat(executorService).isPresent();
+
+        try {
+            // act
+            final Thread thread = executorService.get().submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+
+            // assert
+            assertThat(isVirtualThread(thread)).isTrue();
+            assertThat(thread.getName()).isEqualTo("virtual-0");
+        } finally {
+            executorService.ifPresent(ExecutorService::shutdownNow);
+        }
+    }
+}
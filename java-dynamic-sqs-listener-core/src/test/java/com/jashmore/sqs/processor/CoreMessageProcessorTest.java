@@ -22,6 +22,7 @@ import com.jashmore.sqs.processor.argument.Acknowledge;
 import com.jashmore.sqs.processor.argument.VisibilityExtender;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -48,10 +49,10 @@ class CoreMessageProcessorTest {
     @Mock
     private SqsAsyncClient sqsAsyncClient;
 
-    @Mock
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
     private ArgumentResolver<String> mockArgumentResolver;
 
-    @Mock
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
     private ArgumentResolver<CompletableFuture<Object>> completableFutureArgumentResolver;
 
     @Test
@@ -238,6 +239,67 @@ class CoreMessageProcessorTest {
         assertThat(exception.getCause()).isInstanceOf(MessageProcessingException.class);
     }
 
+    @Test
+    void exceptionThrownByMethodIsTheCauseOfTheMessageProcessingException() {
+        // arrange
+        final Method method = getMethodThatThrowsException();
+        final Message message = Message.builder().receiptHandle("handle").build();
+        doReturn(mockArgumentResolver).when(argumentResolverService).getArgumentResolver(any(MethodParameter.class));
+        when(mockArgumentResolver.resolveArgumentForParameter(eq(QUEUE_PROPERTIES), any(), eq(message)))
+                .thenReturn("payload");
+        final MessageProcessor processor = new CoreMessageProcessor(argumentResolverService, QUEUE_PROPERTIES,
+                sqsAsyncClient, method, BEAN);
+
+        // act
+        final ExecutionException exception = assertThrows(ExecutionException.class, () -> processor.processMessage(message, NO_OP).get());
+
+        // assert
+        assertThat(exception.getCause()).isInstanceOf(MessageProcessingException.class);
+        assertThat(exception.getCause()).hasCauseInstanceOf(RuntimeException.class);
+        assertThat(exception.getCause().getCause()).hasMessage("error");
+    }
+
+    @Test
+    void staticMethodCanBeUsedToProcessMessage() throws Exception {
+        // arrange
+        final Method method = CoreMessageProcessorTest.class.getMethod("staticMethodReturningCompletableFuture", CompletableFuture.class);
+        final Message message = Message.builder().receiptHandle("handle").build();
+        doReturn(completableFutureArgumentResolver).when(argumentResolverService).getArgumentResolver(any());
+        when(completableFutureArgumentResolver.resolveArgumentForParameter(eq(QUEUE_PROPERTIES), any(MethodParameter.class), eq(message)))
+                .thenReturn(CompletableFuture.completedFuture("value"));
+        final MessageProcessor processor = new CoreMessageProcessor(argumentResolverService, QUEUE_PROPERTIES,
+                sqsAsyncClient, method, null);
+        final Runnable messageResolvedRunnable = mock(Runnable.class);
+
+        // act
+        processor.processMessage(message, messageResolvedRunnable).get();
+
+        // assert
+        verify(messageResolvedRunnable).run();
+    }
+
+    @Test
+    void methodThatIsNotAccessibleWillFailToProcessMessage() throws Exception {
+        // arrange
+        final Method method = CoreMessageProcessorTest.class.getDeclaredMethod("privateMethod", String.class);
+        final Message message = Message.builder().receiptHandle("handle").build();
+        doReturn(mockArgumentResolver).when(argumentResolverService).getArgumentResolver(any(MethodParameter.class));
+        when(mockArgumentResolver.resolveArgumentForParameter(eq(QUEUE_PROPERTIES), any(), eq(message)))
+                .thenReturn("payload");
+        final MessageProcessor processor = new CoreMessageProcessor(argumentResolverService, QUEUE_PROPERTIES,
+                sqsAsyncClient, method, BEAN);
+        final Runnable messageResolvedRunnable = mock(Runnable.class);
+
+        // act
+        final ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> processor.processMessage(message, messageResolvedRunnable).get());
+
+        // assert
+        assertThat(exception.getCause()).isInstanceOf(MessageProcessingException.class);
+        assertThat(exception.getCause()).hasCauseInstanceOf(IllegalAccessException.class);
+        verify(messageResolvedRunnable, never()).run();
+    }
+
     @SuppressWarnings("unused")
     public void methodWithNoAcknowledge(@Payload String payload, @Payload String payloadTwo) {
 
@@ -258,6 +320,16 @@ class CoreMessageProcessorTest {
         return futureToReturn;
     }
 
+    @SuppressWarnings("WeakerAccess")
+    public static CompletableFuture<?> staticMethodReturningCompletableFuture(CompletableFuture<?> futureToReturn) {
+        return futureToReturn;
+    }
+
+    @SuppressWarnings("unused")
+    private void privateMethod(@Payload String payload) {
+
+    }
+
     @SuppressWarnings("unused")
     public void methodThatThrowsException(@Payload String payload) {
         throw new RuntimeException("error");
@@ -0,0 +1,247 @@
+package com.jashmore.sqs.processor.backoff;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.jashmore.sqs.QueueProperties;
+import com.jashmore.sqs.processor.MessageProcessingException;
+import com.jashmore.sqs.processor.MessageProcessor;
+import com.jashmore.sqs.util.concurrent.CompletableFutureUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+@ExtendWith(MockitoExtension.class)
+class BackoffOnFailureMessageProcessorTest {
+    private static final QueueProperties QUEUE_PROPERTIES = QueueProperties.builder()
+            .queueUrl("queueUrl")
+            .build();
+    private static final Runnable NO_OP = () -> {
+    };
+    private static final StaticBackoffOnFailureMessageProcessorProperties DEFAULT_PROPERTIES = StaticBackoffOnFailureMessageProcessorProperties.builder()
+            .initialBackoffInSeconds(5)
+            .maxBackoffInSeconds(60)
+            .backoffJitter(0.0)
+            .build();
+
+    @Mock
+    private MessageProcessor delegate;
+
+    @Mock
+    private SqsAsyncClient sqsAsyncClient;
+
+    @Test
+    void resultOfDelegateIsReturned() throws Exception {
+        // arrange
+        final Message message = buildMessage("id", 1);
+        when(delegate.processMessage(message, NO_OP)).thenAnswer(invocation -> CompletableFuture.completedFuture("result"));
+        final MessageProcessor processor = new BackoffOnFailureMessageProcessor(delegate, QUEUE_PROPERTIES, sqsAsyncClient, DEFAULT_PROPERTIES);
+
+        // act
+        final Object result = processor.processMessage(message, NO_OP).get();
+
+        // assert
+        assertThat(result).isEqualTo("result");
+        verify(sqsAsyncClient, never()).changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class));
+    }
+
+    @Test
+    void failureToProcessMessageIsReturnedAfterTheVisibilityIsChanged() {
+        // arrange
+        final Message message = buildMessage("id", 1);
+        final MessageProcessingException expectedException = new MessageProcessingException("Expected Test Exception");
+        when(delegate.processMessage(message, NO_OP)).thenAnswer(invocation -> CompletableFutureUtils.completedExceptionally(expectedException));
+        mockSuccessfulVisibilityChanges();
+        final MessageProcessor processor = new BackoffOnFailureMessageProcessor(delegate, QUEUE_PROPERTIES, sqsAsyncClient, DEFAULT_PROPERTIES);
+
+        // act
+        final ExecutionException exception = assertThrows(ExecutionException.class, () -> processor.processMessage(message, NO_OP).get());
+
+        // assert
+        assertThat(exception).hasCause(expectedException);
+        final ArgumentCaptor<ChangeMessageVisibilityBatchRequest> requestCaptor = ArgumentCaptor.forClass(ChangeMessageVisibilityBatchRequest.class);
+        verify(sqsAsyncClient).changeMessageVisibilityBatch(requestCaptor.capture());
+        assertThat(requestCaptor.getValue().queueUrl()).isEqualTo("queueUrl");
+        assertThat(requestCaptor.getValue().entries()).containsExactly(ChangeMessageVisibilityBatchRequestEntry.builder()
+                .id("0")
+                .receiptHandle("handle-id")
+                .visibilityTimeout(5)
+                .build());
+    }
+
+    @Test
+    void exceptionThrownByDelegateIsRethrownAfterTheVisibilityIsChanged() {
+        // arrange
+        final Message message = buildMessage("id", 1);
+        final MessageProcessingException expectedException = new MessageProcessingException("Expected Test Exception");
+        when(delegate.processMessage(message, NO_OP)).thenThrow(expectedException);
+        mockSuccessfulVisibilityChanges();
+        final MessageProcessor processor = new BackoffOnFailureMessageProcessor(delegate, QUEUE_PROPERTIES, sqsAsyncClient, DEFAULT_PROPERTIES);
+
+        // act
+        final MessageProcessingException exception = assertThrows(MessageProcessingException.class, () -> processor.processMessage(message, NO_OP));
+
+        // assert
+        assertThat(exception).isSameAs(expectedException);
+        verify(sqsAsyncClient).changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class));
+    }
+
+    @Test
+    void backoffDoublesForEachTimeTheMessageHasBeenReceived() {
+        // arrange
+        final Message message = buildMessage("id", 4);
+
+        // act
+        final int visibilityTimeout = failMessageAndGetVisibilityTimeout(message, DEFAULT_PROPERTIES);
+
+        // assert
+        assertThat(visibilityTimeout).isEqualTo(40);
+    }
+
+    @Test
+    void backoffIsLimitedToTheMaximumBackoff() {
+        // arrange
+        final Message message = buildMessage("id", 100);
+
+        // act
+        final int visibilityTimeout = failMessageAndGetVisibilityTimeout(message, DEFAULT_PROPERTIES);
+
+        // assert
+        assertThat(visibilityTimeout).isEqualTo(60);
+    }
+
+    @Test
+    void messageWithoutTheReceiveCountIsTreatedAsTheFirstReceive() {
+        // arrange
+        final Message message = Message.builder().messageId("id").receiptHandle("handle-id").build();
+
+        // act
+        final int visibilityTimeout = failMessageAndGetVisibilityTimeout(message, DEFAULT_PROPERTIES);
+
+        // assert
+        assertThat(visibilityTimeout).isEqualTo(5);
+    }
+
+    @Test
+    void nullPropertiesWillUseTheDefaultBackoff() {
+        // arrange
+        final Message message = buildMessage("id", 2);
+
+        // act
+        final int visibilityTimeout = failMessageAndGetVisibilityTimeout(message, StaticBackoffOnFailureMessageProcessorProperties.builder()
+                .backoffJitter(0.0)
+                .build());
+
+        // assert
+        assertThat(visibilityTimeout).isEqualTo(2);
+    }
+
+    @Test
+    void randomProportionOfTheBackoffLimitedByTheJitterIsRemoved() {
+        // arrange
+        final Message message = buildMessage("id", 2);
+        when(delegate.processMessage(message, NO_OP)).thenAnswer(invocation -> CompletableFutureUtils.completedExceptionally(new RuntimeException()));
+        mockSuccessfulVisibilityChanges();
+        final MessageProcessor processor = new BackoffOnFailureMessageProcessor(delegate, QUEUE_PROPERTIES, sqsAsyncClient,
+                DEFAULT_PROPERTIES.toBuilder().backoffJitter(0.5).build(), () -> 0.5);
+
+        // act
+        processor.processMessage(message, NO_OP);
+
+        // assert
+        final ArgumentCaptor<ChangeMessageVisibilityBatchRequest> requestCaptor = ArgumentCaptor.forClass(ChangeMessageVisibilityBatchRequest.class);
+        verify(sqsAsyncClient).changeMessageVisibilityBatch(requestCaptor.capture());
+        assertThat(requestCaptor.getValue().entries().get(0).visibilityTimeout()).isEqualTo(8);
+    }
+
+    @Test
+    void failuresWhileARequestIsInFlightAreSentTogetherInBatchesOfTenOnceItCompletes() {
+        // arrange
+        when(delegate.processMessage(any(Message.class), any(Runnable.class)))
+                .thenAnswer(invocation -> CompletableFutureUtils.completedExceptionally(new RuntimeException("Expected Test Exception")));
+        final CompletableFuture<ChangeMessageVisibilityBatchResponse> firstResponse = new CompletableFuture<>();
+        when(sqsAsyncClient.changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class)))
+                .thenReturn(firstResponse)
+                .thenReturn(CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder().build()));
+        final MessageProcessor processor = new BackoffOnFailureMessageProcessor(delegate, QUEUE_PROPERTIES, sqsAsyncClient, DEFAULT_PROPERTIES);
+        processor.processMessage(buildMessage("first", 1), NO_OP);
+        for (int i = 0; i < 12; ++i) {
+            processor.processMessage(buildMessage("id" + i, 1), NO_OP);
+        }
+        verify(sqsAsyncClient, times(1)).changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class));
+
+        // act
+        firstResponse.complete(ChangeMessageVisibilityBatchResponse.builder().build());
+
+        // assert
+        final ArgumentCaptor<ChangeMessageVisibilityBatchRequest> requestCaptor = ArgumentCaptor.forClass(ChangeMessageVisibilityBatchRequest.class);
+        verify(sqsAsyncClient, times(3)).changeMessageVisibilityBatch(requestCaptor.capture());
+        final List<ChangeMessageVisibilityBatchRequest> requests = requestCaptor.getAllValues();
+        assertThat(requests.get(0).entries()).hasSize(1);
+        assertThat(requests.get(1).entries()).hasSize(10);
+        assertThat(requests.get(2).entries()).hasSize(2);
+    }
+
+    @Test
+    void errorChangingTheVisibilityDoesNotStopLaterFailuresBeingSent() {
+        // arrange
+        when(delegate.processMessage(any(Message.class), any(Runnable.class)))
+                .thenAnswer(invocation -> CompletableFutureUtils.completedExceptionally(new RuntimeException("Expected Test Exception")));
+        when(sqsAsyncClient.changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class)))
+                .thenThrow(new RuntimeException("Expected Test Exception"))
+                .thenReturn(CompletableFutureUtils.completedExceptionally(new RuntimeException("Expected Test Exception")))
+                .thenReturn(CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder().build()));
+        final MessageProcessor processor = new BackoffOnFailureMessageProcessor(delegate, QUEUE_PROPERTIES, sqsAsyncClient, DEFAULT_PROPERTIES);
+
+        // act
+        processor.processMessage(buildMessage("first", 1), NO_OP);
+        processor.processMessage(buildMessage("second", 1), NO_OP);
+        processor.processMessage(buildMessage("third", 1), NO_OP);
+
+        // assert
+        verify(sqsAsyncClient, times(3)).changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class));
+    }
+
+    private int failMessageAndGetVisibilityTimeout(final Message message, final BackoffOnFailureMessageProcessorProperties properties) {
+        when(delegate.processMessage(message, NO_OP)).thenAnswer(invocation -> CompletableFutureUtils.completedExceptionally(new RuntimeException()));
+        mockSuccessfulVisibilityChanges();
+        final MessageProcessor processor = new BackoffOnFailureMessageProcessor(delegate, QUEUE_PROPERTIES, sqsAsyncClient, properties);
+
+        processor.processMessage(message, NO_OP);
+
+        final ArgumentCaptor<ChangeMessageVisibilityBatchRequest> requestCaptor = ArgumentCaptor.forClass(ChangeMessageVisibilityBatchRequest.class);
+        verify(sqsAsyncClient).changeMessageVisibilityBatch(requestCaptor.capture());
+        return requestCaptor.getValue().entries().get(0).visibilityTimeout();
+    }
+
+    private void mockSuccessfulVisibilityChanges() {
+        when(sqsAsyncClient.changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder().build()));
+    }
+
+    private static Message buildMessage(final String id, final int approximateReceiveCount) {
+        return Message.builder()
+                .messageId(id)
+                .receiptHandle("handle-" + id)
+                .attributes(Collections.singletonMap(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT, String.valueOf(approximateReceiveCount)))
+                .build();
+    }
+}
@@ -0,0 +1,296 @@
+package com.jashmore.sqs.processor.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.jashmore.sqs.QueueProperties;
+import com.jashmore.sqs.argument.ArgumentResolverService;
+import com.jashmore.sqs.argument.DelegatingArgumentResolverService;
+import com.jashmore.sqs.argument.UnsupportedArgumentResolutionException;
+import com.jashmore.sqs.argument.message.MessageArgumentResolver;
+import com.jashmore.sqs.argument.payload.Payload;
+import com.jashmore.sqs.argument.payload.PayloadArgumentResolver;
+import com.jashmore.sqs.argument.payload.mapper.JacksonPayloadMapper;
+import com.jashmore.sqs.processor.MessageProcessingException;
+import com.jashmore.sqs.processor.MessageProcessor;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+class BatchMessageProcessorTest {
+    private static final QueueProperties QUEUE_PROPERTIES = QueueProperties.builder()
+            .queueUrl("queueUrl")
+            .build();
+
+    private final ArgumentResolverService argumentResolverService = new DelegatingArgumentResolverService(ImmutableSet.of(
+            new PayloadArgumentResolver(new JacksonPayloadMapper(new ObjectMapper())),
+            new MessageArgumentResolver()
+    ));
+
+    private ExecutorService executorService;
+
+    private final List<List<?>> batchesProcessed = new CopyOnWriteArrayList<>();
+
+    private CompletableFuture<?> futureToReturn;
+
+    @BeforeEach
+    void setUp() {
+        executorService = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void fullBatchOfMessagesIsProcessedInSingleInvocation() throws Exception {
+        // arrange
+        final MessageProcessor processor = buildProcessor("payloadMethod", 5, 10_000L);
+        final AtomicInteger numberOfMessagesResolved = new AtomicInteger();
+
+        // act
+        final List<CompletableFuture<?>> futures = processConcurrently(processor, messages(5), numberOfMessagesResolved::incrementAndGet);
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+
+        // assert
+        assertThat(batchesProcessed).hasSize(1);
+        assertThat(batchesProcessed.get(0)).extracting("value").containsExactlyInAnyOrder("0", "1", "2", "3", "4");
+        assertThat(numberOfMessagesResolved).hasValue(5);
+    }
+
+    @Test
+    void partialBatchIsProcessedWhenBatchingPeriodElapses() throws Exception {
+        // arrange
+        final MessageProcessor processor = buildProcessor("payloadMethod", 5, 100L);
+        final AtomicInteger numberOfMessagesResolved = new AtomicInteger();
+
+        // act
+        final List<CompletableFuture<?>> futures = processConcurrently(processor, messages(2), numberOfMessagesResolved::incrementAndGet);
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+
+        // assert
+        final int totalMessagesProcessed = batchesProcessed.stream().mapToInt(List::size).sum();
+        assertThat(totalMessagesProcessed).isEqualTo(2);
+        assertThat(numberOfMessagesResolved).hasValue(2);
+    }
+
+    @Test
+    void messageArgumentsCanBeResolvedForEachElement() throws Exception {
+        // arrange
+        final MessageProcessor processor = buildProcessor("messageMethod", 1, 0L);
+        final Message message = Message.builder().body("{\"value\": \"test\"}").build();
+
+        // act
+        processor.processMessage(message, () -> {
+        }).get(5, TimeUnit.SECONDS);
+
+        // assert
+        assertThat(batchesProcessed).containsExactly(ImmutableList.of(message));
+    }
+
+    @Test
+    void parameterThatIsNotAListCanNotBeResolved() throws Exception {
+        // arrange
+        final Method method = BatchMessageProcessorTest.class.getMethod("nonListMethod", String.class);
+
+        // act
+        assertThrows(UnsupportedArgumentResolutionException.class, () -> new BatchMessageProcessor(argumentResolverService, QUEUE_PROPERTIES, method, this,
+                StaticBatchMessageProcessorProperties.builder().batchSize(1).build()));
+    }
+
+    @Test
+    void messageThatFailsArgumentResolutionIsExcludedFromBatch() throws Exception {
+        // arrange
+        final MessageProcessor processor = buildProcessor("payloadMethod", 2, 10_000L);
+        final List<Message> messages = new ArrayList<>();
+        messages.add(Message.builder().body("{\"value\": \"valid\"}").build());
+        messages.add(Message.builder().body("invalid").build());
+        final AtomicInteger numberOfMessagesResolved = new AtomicInteger();
+
+        // act
+        final List<CompletableFuture<?>> futures = processConcurrently(processor, messages, numberOfMessagesResolved::incrementAndGet);
+
+        // assert
+        final List<Boolean> failedFutures = new ArrayList<>();
+        for (final CompletableFuture<?> future : futures) {
+            try {
+                future.get(5, TimeUnit.SECONDS);
+                failedFutures.add(false);
+            } catch (final ExecutionException executionException) {
+                assertThat(executionException).hasCauseInstanceOf(MessageProcessingException.class);
+                failedFutures.add(true);
+            }
+        }
+        assertThat(failedFutures).containsExactlyInAnyOrder(true, false);
+        assertThat(batchesProcessed).hasSize(1);
+        assertThat(batchesProcessed.get(0)).extracting("value").containsExactly("valid");
+        assertThat(numberOfMessagesResolved).hasValue(1);
+    }
+
+    @Test
+    void exceptionThrownByMethodWillNotResolveMessages() throws Exception {
+        // arrange
+        final MessageProcessor processor = buildProcessor("throwingMethod", 1, 0L);
+        final AtomicInteger numberOfMessagesResolved = new AtomicInteger();
+
+        // act
+        final CompletableFuture<?> future = processor.processMessage(messages(1).get(0), numberOfMessagesResolved::incrementAndGet);
+
+        // assert
+        final ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertThat(exception).hasCauseInstanceOf(MessageProcessingException.class);
+        assertThat(exception.getCause()).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(numberOfMessagesResolved).hasValue(0);
+    }
+
+    @Test
+    void exceptionThrownWhenResolvingMessageWillFailThatMessage() throws Exception {
+        // arrange
+        final MessageProcessor processor = buildProcessor("payloadMethod", 1, 0L);
+
+        // act
+        final CompletableFuture<?> future = processor.processMessage(messages(1).get(0), () -> {
+            throw new IllegalStateException("Expected Test Exception");
+        });
+
+        // assert
+        final ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertThat(exception).hasCauseInstanceOf(MessageProcessingException.class);
+        assertThat(exception.getCause()).hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void errorThrownByMethodWillFailAllMessagesInTheBatch() throws Exception {
+        // arrange
+        final MessageProcessor processor = buildProcessor("errorThrowingMethod", 2, 0L);
+        final AtomicInteger numberOfMessagesResolved = new AtomicInteger();
+
+        // act
+        final List<CompletableFuture<?>> futures = processConcurrently(processor, messages(2), numberOfMessagesResolved::incrementAndGet);
+
+        // assert
+        for (final CompletableFuture<?> future : futures) {
+            final ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+            assertThat(exception).hasCauseInstanceOf(MessageProcessingException.class);
+            assertThat(exception.getCause()).hasCauseInstanceOf(AssertionError.class);
+        }
+        assertThat(numberOfMessagesResolved).hasValue(0);
+    }
+
+    @Test
+    void messagesAreResolvedWhenCompletableFutureReturnedIsCompleted() throws Exception {
+        // arrange
+        futureToReturn = new CompletableFuture<>();
+        final MessageProcessor processor = buildProcessor("completableFutureMethod", 1, 0L);
+        final AtomicInteger numberOfMessagesResolved = new AtomicInteger();
+
+        // act
+        final CompletableFuture<?> future = processor.processMessage(messages(1).get(0), numberOfMessagesResolved::incrementAndGet);
+        assertThat(future).isNotDone();
+        assertThat(numberOfMessagesResolved).hasValue(0);
+        futureToReturn.complete(null);
+
+        // assert
+        future.get(5, TimeUnit.SECONDS);
+        assertThat(numberOfMessagesResolved).hasValue(1);
+    }
+
+    @Test
+    void messagesAreNotResolvedWhenCompletableFutureReturnedIsRejected() throws Exception {
+        // arrange
+        futureToReturn = new CompletableFuture<>();
+        final MessageProcessor processor = buildProcessor("completableFutureMethod", 1, 0L);
+        final AtomicInteger numberOfMessagesResolved = new AtomicInteger();
+
+        // act
+        final CompletableFuture<?> future = processor.processMessage(messages(1).get(0), numberOfMessagesResolved::incrementAndGet);
+        futureToReturn.completeExceptionally(new RuntimeException("Expected Test Exception"));
+
+        // assert
+        final ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertThat(exception).hasCauseInstanceOf(MessageProcessingException.class);
+        assertThat(numberOfMessagesResolved).hasValue(0);
+    }
+
+    private MessageProcessor buildProcessor(final String methodName, final int batchSize, final long batchingPeriodInMs) throws Exception {
+        final Method method = BatchMessageProcessorTest.class.getMethod(methodName, List.class);
+        return new BatchMessageProcessor(argumentResolverService, QUEUE_PROPERTIES, method, this, StaticBatchMessageProcessorProperties.builder()
+                .batchSize(batchSize)
+                .batchingPeriodInMs(batchingPeriodInMs)
+                .build());
+    }
+
+    private List<CompletableFuture<?>> processConcurrently(final MessageProcessor processor,
+                                                           final List<Message> messages,
+                                                           final Runnable resolveMessageCallback) throws Exception {
+        final List<Future<CompletableFuture<?>>> submittedFutures = messages.stream()
+                .map(message -> executorService.<CompletableFuture<?>>submit(() -> processor.processMessage(message, resolveMessageCallback)))
+                .collect(Collectors.toList());
+
+        final List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (final Future<CompletableFuture<?>> submittedFuture : submittedFutures) {
+            futures.add(submittedFuture.get(5, TimeUnit.SECONDS));
+        }
+        return futures;
+    }
+
+    private static List<Message> messages(final int numberOfMessages) {
+        return IntStream.range(0, numberOfMessages)
+                .mapToObj(index -> Message.builder().body("{\"value\": \"" + index + "\"}").build())
+                .collect(Collectors.toList());
+    }
+
+    public void payloadMethod(@Payload final List<Pojo> payloads) {
+        batchesProcessed.add(payloads);
+    }
+
+    public void messageMethod(final List<Message> messages) {
+        batchesProcessed.add(messages);
+    }
+
+    public void throwingMethod(@Payload final List<Pojo> payloads) {
+        throw new IllegalStateException("Expected Test Exception");
+    }
+
+    public void errorThrowingMethod(@Payload final List<Pojo> payloads) {
+        throw new AssertionError("Expected Test Error");
+    }
+
+    public CompletableFuture<?> completableFutureMethod(@Payload final List<Pojo> payloads) {
+        batchesProcessed.add(payloads);
+        return futureToReturn;
+    }
+
+    public void nonListMethod(@Payload final String payload) {
+
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Pojo {
+        private String value;
+    }
+}
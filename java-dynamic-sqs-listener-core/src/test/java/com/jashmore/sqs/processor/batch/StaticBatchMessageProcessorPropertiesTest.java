@@ -0,0 +1,34 @@
+package com.jashmore.sqs.processor.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class StaticBatchMessageProcessorPropertiesTest {
+    @Test
+    void valuesReturnedFromConstructor() {
+        // act
+        final StaticBatchMessageProcessorProperties properties = StaticBatchMessageProcessorProperties.builder()
+                .batchSize(10)
+                .batchingPeriodInMs(500L)
+                .build();
+
+        // assert
+        assertThat(properties.getBatchSize()).isEqualTo(10);
+        assertThat(properties.getBatchingPeriodInMs()).isEqualTo(500L);
+    }
+
+    @Test
+    void missingBatchSizeThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> StaticBatchMessageProcessorProperties.builder().build());
+    }
+
+    @Test
+    void negativeBatchingPeriodThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> StaticBatchMessageProcessorProperties.builder()
+                .batchSize(10)
+                .batchingPeriodInMs(-1L)
+                .build());
+    }
+}
@@ -0,0 +1,242 @@
+package com.jashmore.sqs.processor.visibility;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.jashmore.sqs.QueueProperties;
+import com.jashmore.sqs.processor.MessageProcessingException;
+import com.jashmore.sqs.processor.MessageProcessor;
+import com.jashmore.sqs.util.message.MessageVisibilityDeadlines;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+@ExtendWith(MockitoExtension.class)
+class AutoVisibilityExtendingMessageProcessorTest {
+    private static final QueueProperties QUEUE_PROPERTIES = QueueProperties.builder()
+            .queueUrl("queueUrl")
+            .build();
+    private static final Runnable NO_OP = () -> {
+    };
+
+    @Mock
+    private MessageProcessor delegate;
+
+    @Mock
+    private SqsAsyncClient sqsAsyncClient;
+
+    @Test
+    void resultOfDelegateIsReturned() throws Exception {
+        // arrange
+        final Message message = Message.builder().receiptHandle("handle").build();
+        when(delegate.processMessage(message, NO_OP)).thenAnswer(invocation -> CompletableFuture.completedFuture("result"));
+        final MessageProcessor processor = new AutoVisibilityExtendingMessageProcessor(delegate, QUEUE_PROPERTIES, sqsAsyncClient,
+                StaticAutoVisibilityExtendingMessageProcessorProperties.builder().visibilityTimeoutInSeconds(30).build());
+
+        // act
+        final Object result = processor.processMessage(message, NO_OP).get();
+
+        // assert
+        assertThat(result).isEqualTo("result");
+    }
+
+    @Test
+    void exceptionThrownByDelegateIsRethrown() {
+        // arrange
+        final Message message = Message.builder().receiptHandle("handle").build();
+        final MessageProcessingException expectedException = new MessageProcessingException("expected");
+        when(delegate.processMessage(message, NO_OP)).thenThrow(expectedException);
+        final MessageProcessor processor = new AutoVisibilityExtendingMessageProcessor(delegate, QUEUE_PROPERTIES, sqsAsyncClient,
+                StaticAutoVisibilityExtendingMessageProcessorProperties.builder().visibilityTimeoutInSeconds(30).build());
+
+        // act
+        final MessageProcessingException exception = assertThrows(MessageProcessingException.class, () -> processor.processMessage(message, NO_OP));
+
+        // assert
+        assertThat(exception).isSameAs(expectedException);
+    }
+
+    @Test
+    void messageStillBeingProcessedWhenNearingVisibilityTimeoutWillHaveVisibilityExtended() {
+        // arrange
+        final Message message = Message.builder().messageId("id").receiptHandle("handle").build();
+        when(delegate.processMessage(message, NO_OP)).thenAnswer(invocation -> new CompletableFuture<>());
+        when(sqsAsyncClient.changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder().build()));
+        final MessageProcessor processor = new AutoVisibilityExtendingMessageProcessor(delegate, QUEUE_PROPERTIES, sqsAsyncClient,
+                StaticAutoVisibilityExtendingMessageProcessorProperties.builder()
+                        .visibilityTimeoutInSeconds(1)
+                        .checkPeriodInMilliseconds(50L)
+                        .build());
+
+        // act
+        processor.processMessage(message, NO_OP);
+
+        // assert
+        final ArgumentCaptor<ChangeMessageVisibilityBatchRequest> requestCaptor = ArgumentCaptor.forClass(ChangeMessageVisibilityBatchRequest.class);
+        verify(sqsAsyncClient, timeout(5000)).changeMessageVisibilityBatch(requestCaptor.capture());
+        final ChangeMessageVisibilityBatchRequest request = requestCaptor.getValue();
+        assertThat(request.queueUrl()).isEqualTo("queueUrl");
+        assertThat(request.entries()).hasSize(1);
+        assertThat(request.entries().get(0).receiptHandle()).isEqualTo("handle");
+        assertThat(request.entries().get(0).visibilityTimeout()).isEqualTo(1);
+    }
+
+    @Test
+    void messagesNearingVisibilityTimeoutAreExtendedTogetherInBatchesOfTen() {
+        // arrange
+        when(delegate.processMessage(any(Message.class), any(Runnable.class))).thenAnswer(invocation -> new CompletableFuture<>());
+        when(sqsAsyncClient.changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder().build()));
+        final MessageProcessor processor = new AutoVisibilityExtendingMessageProcessor(delegate, QUEUE_PROPERTIES, sqsAsyncClient,
+                StaticAutoVisibilityExtendingMessageProcessorProperties.builder()
+                        .visibilityTimeoutInSeconds(2)
+                        .bufferTimeInSeconds(1)
+                        .checkPeriodInMilliseconds(100L)
+                        .build());
+
+        // act
+        for (int i = 0; i < 15; ++i) {
+            processor.processMessage(Message.builder().messageId("id" + i).receiptHandle("handle" + i).build(), NO_OP);
+        }
+
+        // assert
+        final ArgumentCaptor<ChangeMessageVisibilityBatchRequest> requestCaptor = ArgumentCaptor.forClass(ChangeMessageVisibilityBatchRequest.class);
+        verify(sqsAsyncClient, timeout(5000).atLeast(2)).changeMessageVisibilityBatch(requestCaptor.capture());
+        final List<ChangeMessageVisibilityBatchRequest> firstRequests = requestCaptor.getAllValues().subList(0, 2);
+        final List<Integer> batchSizes = firstRequests.stream()
+                .map(request -> request.entries().size())
+                .collect(Collectors.toList());
+        assertThat(batchSizes).containsExactlyInAnyOrder(10, 5);
+        final List<String> receiptHandles = firstRequests.stream()
+                .flatMap(request -> request.entries().stream())
+                .map(ChangeMessageVisibilityBatchRequestEntry::receiptHandle)
+                .collect(Collectors.toList());
+        assertThat(receiptHandles).hasSize(15).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void messageThatHasFinishedProcessingWillNotHaveVisibilityExtended() {
+        // arrange
+        final Message message = Message.builder().messageId("id").receiptHandle("handle").build();
+        when(delegate.processMessage(message, NO_OP)).thenAnswer(invocation -> CompletableFuture.completedFuture(null));
+        final MessageProcessor processor = new AutoVisibilityExtendingMessageProcessor(delegate, QUEUE_PROPERTIES, sqsAsyncClient,
+                StaticAutoVisibilityExtendingMessageProcessorProperties.builder()
+                        .visibilityTimeoutInSeconds(1)
+                        .checkPeriodInMilliseconds(50L)
+                        .build());
+
+        // act
+        processor.processMessage(message, NO_OP);
+
+        // assert
+        verify(sqsAsyncClient, after(1500).never()).changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class));
+    }
+
+    @Test
+    void messageStillBeingProcessedWillContinueToHaveVisibilityExtended() {
+        // arrange
+        final Message message = Message.builder().messageId("id").receiptHandle("handle").build();
+        when(delegate.processMessage(message, NO_OP)).thenAnswer(invocation -> new CompletableFuture<>());
+        when(sqsAsyncClient.changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder().build()));
+        final MessageProcessor processor = new AutoVisibilityExtendingMessageProcessor(delegate, QUEUE_PROPERTIES, sqsAsyncClient,
+                StaticAutoVisibilityExtendingMessageProcessorProperties.builder()
+                        .visibilityTimeoutInSeconds(1)
+                        .checkPeriodInMilliseconds(50L)
+                        .build());
+
+        // act
+        processor.processMessage(message, NO_OP);
+
+        // assert
+        verify(sqsAsyncClient, timeout(5000).atLeast(2)).changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class));
+    }
+
+    @Test
+    void messageThatWaitedToBeProcessedIsExtendedFromWhenItWasReceived() {
+        // arrange
+        final Message message = Message.builder().messageId("id").receiptHandle("handle").build();
+        final MessageVisibilityDeadlines visibilityDeadlines = new MessageVisibilityDeadlines();
+        visibilityDeadlines.recordReceived(message, 5);
+        when(delegate.processMessage(message, NO_OP)).thenAnswer(invocation -> new CompletableFuture<>());
+        when(sqsAsyncClient.changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder().build()));
+        final MessageProcessor processor = new AutoVisibilityExtendingMessageProcessor(delegate, QUEUE_PROPERTIES, sqsAsyncClient,
+                StaticAutoVisibilityExtendingMessageProcessorProperties.builder()
+                        .visibilityTimeoutInSeconds(30)
+                        .bufferTimeInSeconds(10)
+                        .checkPeriodInMilliseconds(50L)
+                        .build(),
+                visibilityDeadlines);
+
+        // act
+        processor.processMessage(message, NO_OP);
+
+        // assert
+        final ArgumentCaptor<ChangeMessageVisibilityBatchRequest> requestCaptor = ArgumentCaptor.forClass(ChangeMessageVisibilityBatchRequest.class);
+        verify(sqsAsyncClient, timeout(1000)).changeMessageVisibilityBatch(requestCaptor.capture());
+        assertThat(requestCaptor.getValue().entries().get(0).visibilityTimeout()).isEqualTo(30);
+    }
+
+    @Test
+    void messageWithoutARecordedVisibilityDeadlineIsExtendedFromWhenProcessingStarted() {
+        // arrange
+        final Message message = Message.builder().messageId("id").receiptHandle("handle").build();
+        when(delegate.processMessage(message, NO_OP)).thenAnswer(invocation -> new CompletableFuture<>());
+        final MessageProcessor processor = new AutoVisibilityExtendingMessageProcessor(delegate, QUEUE_PROPERTIES, sqsAsyncClient,
+                StaticAutoVisibilityExtendingMessageProcessorProperties.builder()
+                        .visibilityTimeoutInSeconds(30)
+                        .bufferTimeInSeconds(10)
+                        .checkPeriodInMilliseconds(50L)
+                        .build(),
+                new MessageVisibilityDeadlines());
+
+        // act
+        processor.processMessage(message, NO_OP);
+
+        // assert
+        verify(sqsAsyncClient, after(500).never()).changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class));
+    }
+
+    @Test
+    void failureToExtendVisibilityWillNotStopFutureExtensions() {
+        // arrange
+        final Message message = Message.builder().messageId("id").receiptHandle("handle").build();
+        when(delegate.processMessage(message, NO_OP)).thenAnswer(invocation -> new CompletableFuture<>());
+        final CompletableFuture<ChangeMessageVisibilityBatchResponse> failedResponse = new CompletableFuture<>();
+        failedResponse.completeExceptionally(new RuntimeException("Expected Test Exception"));
+        when(sqsAsyncClient.changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class)))
+                .thenReturn(failedResponse)
+                .thenThrow(new RuntimeException("Expected Test Exception"))
+                .thenReturn(CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder().build()));
+        final MessageProcessor processor = new AutoVisibilityExtendingMessageProcessor(delegate, QUEUE_PROPERTIES, sqsAsyncClient,
+                StaticAutoVisibilityExtendingMessageProcessorProperties.builder()
+                        .visibilityTimeoutInSeconds(1)
+                        .checkPeriodInMilliseconds(50L)
+                        .build());
+
+        // act
+        processor.processMessage(message, NO_OP);
+
+        // assert
+        verify(sqsAsyncClient, timeout(10_000).atLeast(3)).changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class));
+    }
+}
@@ -0,0 +1,44 @@
+package com.jashmore.sqs.processor.visibility;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class StaticAutoVisibilityExtendingMessageProcessorPropertiesTest {
+    @Test
+    void valuesReturnedFromConstructor() {
+        // act
+        final StaticAutoVisibilityExtendingMessageProcessorProperties properties = StaticAutoVisibilityExtendingMessageProcessorProperties.builder()
+                .visibilityTimeoutInSeconds(30)
+                .bufferTimeInSeconds(5)
+                .checkPeriodInMilliseconds(100L)
+                .build();
+
+        // assert
+        assertThat(properties.getVisibilityTimeoutInSeconds()).isEqualTo(30);
+        assertThat(properties.getBufferTimeInSeconds()).isEqualTo(5);
+        assertThat(properties.getCheckPeriodInMilliseconds()).isEqualTo(100L);
+    }
+
+    @Test
+    void missingVisibilityTimeoutThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> StaticAutoVisibilityExtendingMessageProcessorProperties.builder().build());
+    }
+
+    @Test
+    void negativeBufferTimeThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> StaticAutoVisibilityExtendingMessageProcessorProperties.builder()
+                .visibilityTimeoutInSeconds(30)
+                .bufferTimeInSeconds(-1)
+                .build());
+    }
+
+    @Test
+    void zeroCheckPeriodThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> StaticAutoVisibilityExtendingMessageProcessorProperties.builder()
+                .visibilityTimeoutInSeconds(30)
+                .checkPeriodInMilliseconds(0L)
+                .build());
+    }
+}
@@ -1,9 +1,12 @@
 package com.jashmore.sqs.resolver.batching;
 
 import static com.jashmore.sqs.util.thread.ThreadTestUtils.waitUntilThreadInState;
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -13,6 +16,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
@@ -191,6 +195,7 @@ class BatchingMessageResolverTest {
                     return CompletableFuture.completedFuture(DeleteMessageBatchResponse.builder()
                             .failed(BatchResultErrorEntry.builder()
                                     .id("id")
+                                    .senderFault(true)
                                     .message("Expected Test Error")
                                     .build())
                             .build());
@@ -360,13 +365,11 @@ class BatchingMessageResolverTest {
                 .build();
         final BatchingMessageResolver batchingMessageResolver = new BatchingMessageResolver(QUEUE_PROPERTIES, sqsAsyncClient, properties);
         final CountDownLatch batchBeingDeletedLatch = new CountDownLatch(2);
-        final CountDownLatch blockDeleteMessage = new CountDownLatch(1);
         when(sqsAsyncClient.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
                 .thenAnswer(invocation -> {
                     log.debug("Received batch to delete");
                     batchBeingDeletedLatch.countDown();
-                    blockDeleteMessage.await();
-                    throw new RuntimeException("Expected Test Exception");
+                    return new CompletableFuture<>();
                 });
         batchingMessageResolver.resolveMessage(Message.builder()
                 .messageId("id")
@@ -392,12 +395,11 @@ class BatchingMessageResolverTest {
                 .build();
         final BatchingMessageResolver batchingMessageResolver = new BatchingMessageResolver(QUEUE_PROPERTIES, sqsAsyncClient, properties);
         final CountDownLatch batchBeingDeletedLatch = new CountDownLatch(1);
-        final CountDownLatch blockDeleteMessage = new CountDownLatch(1);
+        final CompletableFuture<DeleteMessageBatchResponse> deleteMessageBatchFuture = new CompletableFuture<>();
         when(sqsAsyncClient.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
                 .thenAnswer(invocation -> {
                     batchBeingDeletedLatch.countDown();
-                    blockDeleteMessage.await();
-                    throw new RuntimeException("Expected Test Exception");
+                    return deleteMessageBatchFuture;
                 });
         batchingMessageResolver.resolveMessage(Message.builder()
                 .messageId("id")
@@ -413,7 +415,249 @@ class BatchingMessageResolverTest {
         // assert
         Thread.sleep(500);
         waitUntilThreadInState(resolverThread, Thread.State.WAITING);
-        blockDeleteMessage.countDown();
+        deleteMessageBatchFuture.completeExceptionally(new RuntimeException("Expected Test Exception"));
         waitUntilThreadInState(resolverThread, Thread.State.TERMINATED);
     }
-}
\ No newline at end of file
+
+    @Test
+    void numberOfDeleteRequestsInFlightIsLimitedByTheMaxConcurrentDeleteRequests() throws Exception {
+        // arrange
+        final StaticBatchingMessageResolverProperties properties = DEFAULT_BATCHING_PROPERTIES.toBuilder()
+                .bufferingSizeLimit(1)
+                .maxConcurrentDeleteRequests(1)
+                .build();
+        final BatchingMessageResolver batchingMessageResolver = new BatchingMessageResolver(QUEUE_PROPERTIES, sqsAsyncClient, properties);
+        final CompletableFuture<DeleteMessageBatchResponse> firstDeleteMessageBatchFuture = new CompletableFuture<>();
+        when(sqsAsyncClient.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+                .thenReturn(firstDeleteMessageBatchFuture)
+                .thenReturn(new CompletableFuture<>());
+        batchingMessageResolver.resolveMessage(Message.builder().messageId("id").receiptHandle("handle").build());
+        batchingMessageResolver.resolveMessage(Message.builder().messageId("id2").receiptHandle("handle2").build());
+        final Thread resolverThread = new Thread(batchingMessageResolver::run);
+        resolverThread.start();
+        try {
+            verify(sqsAsyncClient, timeout(1000)).deleteMessageBatch(any(DeleteMessageBatchRequest.class));
+            waitUntilThreadInState(resolverThread, Thread.State.WAITING);
+            verify(sqsAsyncClient, times(1)).deleteMessageBatch(any(DeleteMessageBatchRequest.class));
+
+            // act
+            firstDeleteMessageBatchFuture.complete(DeleteMessageBatchResponse.builder().build());
+
+            // assert
+            verify(sqsAsyncClient, timeout(1000).times(2)).deleteMessageBatch(any(DeleteMessageBatchRequest.class));
+        } finally {
+            resolverThread.interrupt();
+        }
+    }
+
+    @Test
+    void whenThereIsABacklogOfMessagesAllFullBatchesAreSentImmediately() throws Exception {
+        // arrange
+        final StaticBatchingMessageResolverProperties properties = DEFAULT_BATCHING_PROPERTIES.toBuilder()
+                .bufferingTimeInMs(100_000)
+                .bufferingSizeLimit(10)
+                .build();
+        final BatchingMessageResolver batchingMessageResolver = new BatchingMessageResolver(QUEUE_PROPERTIES, sqsAsyncClient, properties);
+        when(sqsAsyncClient.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+                .thenAnswer(invocation -> new CompletableFuture<>());
+        for (int i = 0; i < 25; ++i) {
+            batchingMessageResolver.resolveMessage(Message.builder().messageId("id" + i).receiptHandle("handle" + i).build());
+        }
+
+        // act
+        executorService.submit(batchingMessageResolver::run);
+
+        // assert
+        final ArgumentCaptor<DeleteMessageBatchRequest> requestCaptor = ArgumentCaptor.forClass(DeleteMessageBatchRequest.class);
+        verify(sqsAsyncClient, timeout(1000).times(2)).deleteMessageBatch(requestCaptor.capture());
+        assertThat(requestCaptor.getAllValues()).allSatisfy(request -> assertThat(request.entries()).hasSize(10));
+    }
+
+    @Test
+    void remainingMessagesAreSentWhenTheResolverIsShutdown() throws Exception {
+        // arrange
+        final StaticBatchingMessageResolverProperties properties = DEFAULT_BATCHING_PROPERTIES.toBuilder()
+                .bufferingSizeLimit(1)
+                .maxConcurrentDeleteRequests(1)
+                .build();
+        final BatchingMessageResolver batchingMessageResolver = new BatchingMessageResolver(QUEUE_PROPERTIES, sqsAsyncClient, properties);
+        when(sqsAsyncClient.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(DeleteMessageBatchResponse.builder()
+                        .successful(invocation.<DeleteMessageBatchRequest>getArgument(0).entries().stream()
+                                .map(entry -> DeleteMessageBatchResultEntry.builder().id(entry.id()).build())
+                                .collect(toList()))
+                        .build()))
+                .thenAnswer(invocation -> new CompletableFuture<>());
+        final CompletableFuture<?> firstMessageResolvedFuture = batchingMessageResolver.resolveMessage(
+                Message.builder().messageId("id").receiptHandle("handle").build()
+        );
+        final Thread resolverThread = new Thread(batchingMessageResolver::run);
+        resolverThread.start();
+        firstMessageResolvedFuture.get(5, TimeUnit.SECONDS);
+        batchingMessageResolver.resolveMessage(Message.builder().messageId("id2").receiptHandle("handle2").build());
+        verify(sqsAsyncClient, timeout(1000).times(2)).deleteMessageBatch(any(DeleteMessageBatchRequest.class));
+        waitUntilThreadInState(resolverThread, Thread.State.WAITING);
+        batchingMessageResolver.resolveMessage(Message.builder().messageId("id3").receiptHandle("handle3").build());
+        batchingMessageResolver.resolveMessage(Message.builder().messageId("id4").receiptHandle("handle4").build());
+
+        // act
+        resolverThread.interrupt();
+
+        // assert
+        verify(sqsAsyncClient, timeout(1000).times(4)).deleteMessageBatch(any(DeleteMessageBatchRequest.class));
+        resolverThread.interrupt();
+    }
+
+    @Test
+    void entriesThatFailedDueToAnInternalErrorAreRetried() throws Exception {
+        // arrange
+        final BatchingMessageResolver batchingMessageResolver = new BatchingMessageResolver(QUEUE_PROPERTIES, sqsAsyncClient, DEFAULT_BATCHING_PROPERTIES);
+        when(sqsAsyncClient.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(failedResponse("id", false, "InternalError")))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(successfulResponse(invocation.getArgument(0))));
+        final CompletableFuture<?> messageResolvedFuture = batchingMessageResolver.resolveMessage(
+                Message.builder().messageId("id").receiptHandle("handle").build()
+        );
+
+        // act
+        executorService.submit(batchingMessageResolver::run);
+
+        // assert
+        assertThat(messageResolvedFuture.get(5, TimeUnit.SECONDS)).isEqualTo("completed");
+        final ArgumentCaptor<DeleteMessageBatchRequest> requestCaptor = ArgumentCaptor.forClass(DeleteMessageBatchRequest.class);
+        verify(sqsAsyncClient, times(2)).deleteMessageBatch(requestCaptor.capture());
+        assertThat(requestCaptor.getAllValues().get(1).entries()).containsExactly(DeleteMessageBatchRequestEntry.builder()
+                .id("id")
+                .receiptHandle("handle")
+                .build());
+        assertThat(batchingMessageResolver.getNumberOfRetriedDeletions()).isEqualTo(1);
+        assertThat(batchingMessageResolver.getNumberOfFailedDeletions()).isZero();
+    }
+
+    @Test
+    void entriesThatFailedDueToThrottlingAreRetried() throws Exception {
+        // arrange
+        final BatchingMessageResolver batchingMessageResolver = new BatchingMessageResolver(QUEUE_PROPERTIES, sqsAsyncClient, DEFAULT_BATCHING_PROPERTIES);
+        when(sqsAsyncClient.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(failedResponse("id", true, "RequestThrottled")))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(successfulResponse(invocation.getArgument(0))));
+        final CompletableFuture<?> messageResolvedFuture = batchingMessageResolver.resolveMessage(
+                Message.builder().messageId("id").receiptHandle("handle").build()
+        );
+
+        // act
+        executorService.submit(batchingMessageResolver::run);
+
+        // assert
+        assertThat(messageResolvedFuture.get(5, TimeUnit.SECONDS)).isEqualTo("completed");
+        verify(sqsAsyncClient, times(2)).deleteMessageBatch(any(DeleteMessageBatchRequest.class));
+        assertThat(batchingMessageResolver.getNumberOfRetriedDeletions()).isEqualTo(1);
+    }
+
+    @Test
+    void entriesThatFailedDueToAnInvalidReceiptHandleAreNotRetried() throws Exception {
+        // arrange
+        final BatchingMessageResolver batchingMessageResolver = new BatchingMessageResolver(QUEUE_PROPERTIES, sqsAsyncClient, DEFAULT_BATCHING_PROPERTIES);
+        when(sqsAsyncClient.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(failedResponse("id", true, "ReceiptHandleIsInvalid")));
+        final CompletableFuture<?> messageResolvedFuture = batchingMessageResolver.resolveMessage(
+                Message.builder().messageId("id").receiptHandle("handle").build()
+        );
+
+        // act
+        executorService.submit(batchingMessageResolver::run);
+
+        // assert
+        try {
+            messageResolvedFuture.get(5, TimeUnit.SECONDS);
+            fail("Should have failed to resolve message");
+        } catch (final ExecutionException executionException) {
+            assertThat(executionException.getCause()).hasMessage("Expected Test Error");
+        }
+        verify(sqsAsyncClient, times(1)).deleteMessageBatch(any(DeleteMessageBatchRequest.class));
+        assertThat(batchingMessageResolver.getNumberOfInvalidReceiptHandleFailures()).isEqualTo(1);
+        assertThat(batchingMessageResolver.getNumberOfFailedDeletions()).isZero();
+        assertThat(batchingMessageResolver.getNumberOfRetriedDeletions()).isZero();
+    }
+
+    @Test
+    void entriesAreOnlyRetriedUpToTheMaximumNumberOfRetries() throws Exception {
+        // arrange
+        final StaticBatchingMessageResolverProperties properties = DEFAULT_BATCHING_PROPERTIES.toBuilder()
+                .maxDeleteRetries(2)
+                .build();
+        final BatchingMessageResolver batchingMessageResolver = new BatchingMessageResolver(QUEUE_PROPERTIES, sqsAsyncClient, properties);
+        when(sqsAsyncClient.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(failedResponse("id", false, "InternalError")));
+        final CompletableFuture<?> messageResolvedFuture = batchingMessageResolver.resolveMessage(
+                Message.builder().messageId("id").receiptHandle("handle").build()
+        );
+
+        // act
+        executorService.submit(batchingMessageResolver::run);
+
+        // assert
+        try {
+            messageResolvedFuture.get(5, TimeUnit.SECONDS);
+            fail("Should have failed to resolve message");
+        } catch (final ExecutionException executionException) {
+            assertThat(executionException.getCause()).hasMessage("Expected Test Error");
+        }
+        verify(sqsAsyncClient, times(3)).deleteMessageBatch(any(DeleteMessageBatchRequest.class));
+        assertThat(batchingMessageResolver.getNumberOfRetriedDeletions()).isEqualTo(2);
+        assertThat(batchingMessageResolver.getNumberOfFailedDeletions()).isEqualTo(1);
+    }
+
+    @Test
+    void retriesAreSentWhenTheResolverIsShutdown() throws Exception {
+        // arrange
+        final StaticBatchingMessageResolverProperties properties = DEFAULT_BATCHING_PROPERTIES.toBuilder()
+                .bufferingSizeLimit(2)
+                .bufferingTimeInMs(Long.MAX_VALUE)
+                .build();
+        final BatchingMessageResolver batchingMessageResolver = new BatchingMessageResolver(QUEUE_PROPERTIES, sqsAsyncClient, properties);
+        final CompletableFuture<DeleteMessageBatchResponse> firstResponse = new CompletableFuture<>();
+        when(sqsAsyncClient.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+                .thenReturn(firstResponse)
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(successfulResponse(invocation.getArgument(0))));
+        final CompletableFuture<?> firstMessageResolvedFuture = batchingMessageResolver.resolveMessage(
+                Message.builder().messageId("id").receiptHandle("handle").build()
+        );
+        batchingMessageResolver.resolveMessage(Message.builder().messageId("id2").receiptHandle("handle2").build());
+        final Thread resolverThread = new Thread(batchingMessageResolver::run);
+        resolverThread.start();
+        verify(sqsAsyncClient, timeout(1000).times(1)).deleteMessageBatch(any(DeleteMessageBatchRequest.class));
+        resolverThread.interrupt();
+
+        // act
+        firstResponse.complete(DeleteMessageBatchResponse.builder()
+                .successful(DeleteMessageBatchResultEntry.builder().id("id2").build())
+                .failed(BatchResultErrorEntry.builder().id("id").senderFault(false).code("InternalError").message("Expected Test Error").build())
+                .build());
+
+        // assert
+        assertThat(firstMessageResolvedFuture.get(5, TimeUnit.SECONDS)).isEqualTo("completed");
+        verify(sqsAsyncClient, times(2)).deleteMessageBatch(any(DeleteMessageBatchRequest.class));
+        resolverThread.join(5000);
+        assertThat(resolverThread.isAlive()).isFalse();
+    }
+
+    private static DeleteMessageBatchResponse successfulResponse(final DeleteMessageBatchRequest request) {
+        return DeleteMessageBatchResponse.builder()
+                .successful(request.entries().stream()
+                        .map(entry -> DeleteMessageBatchResultEntry.builder().id(entry.id()).build())
+                        .collect(toList()))
+                .build();
+    }
+
+    private static DeleteMessageBatchResponse failedResponse(final String id, final boolean senderFault, final String code) {
+        return DeleteMessageBatchResponse.builder()
+                .failed(BatchResultErrorEntry.builder()
+                        .id(id)
+                        .senderFault(senderFault)
+                        .code(code)
+                        .message("Expected Test Error")
+                        .build())
+                .build();
+    }
+}
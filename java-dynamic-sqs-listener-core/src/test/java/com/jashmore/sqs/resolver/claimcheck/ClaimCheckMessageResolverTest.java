@@ -0,0 +1,119 @@
+package com.jashmore.sqs.resolver.claimcheck;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.jashmore.sqs.claimcheck.BlobPointer;
+import com.jashmore.sqs.claimcheck.BlobStore;
+import com.jashmore.sqs.resolver.MessageResolver;
+import com.jashmore.sqs.util.concurrent.CompletableFutureUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.concurrent.CompletableFuture;
+
+@ExtendWith(MockitoExtension.class)
+class ClaimCheckMessageResolverTest {
+    private static final BlobPointer BLOB_POINTER = new BlobPointer("bucket", "key");
+    private static final Message POINTER_MESSAGE = Message.builder()
+            .messageId("id")
+            .body("[\"software.amazon.payloadoffloading.PayloadS3Pointer\",{\"s3BucketName\":\"bucket\",\"s3Key\":\"key\"}]")
+            .build();
+
+    @Mock
+    private MessageResolver delegate;
+
+    @Mock
+    private BlobStore blobStore;
+
+    private ClaimCheckMessageResolver messageResolver;
+
+    @BeforeEach
+    void setUp() {
+        messageResolver = new ClaimCheckMessageResolver(delegate, blobStore);
+    }
+
+    @Test
+    void messageWithoutPointerIsResolvedByDelegate() {
+        // arrange
+        final Message message = Message.builder().body("body").build();
+        final CompletableFuture<?> delegateFuture = new CompletableFuture<>();
+        doReturn(delegateFuture).when(delegate).resolveMessage(message);
+
+        // act
+        final CompletableFuture<?> resolveFuture = messageResolver.resolveMessage(message);
+
+        // assert
+        assertThat(resolveFuture).isSameAs(delegateFuture);
+    }
+
+    @Test
+    void blobIsNotDeletedUntilTheMessageHasBeenResolved() {
+        // arrange
+        final CompletableFuture<?> delegateFuture = new CompletableFuture<>();
+        doReturn(delegateFuture).when(delegate).resolveMessage(POINTER_MESSAGE);
+
+        // act
+        final CompletableFuture<?> resolveFuture = messageResolver.resolveMessage(POINTER_MESSAGE);
+
+        // assert
+        assertThat(resolveFuture).isNotDone();
+        verify(blobStore, never()).deleteBlob(BLOB_POINTER);
+    }
+
+    @Test
+    void blobIsDeletedWhenTheMessageHasBeenResolved() {
+        // arrange
+        doReturn(CompletableFuture.completedFuture(null)).when(delegate).resolveMessage(POINTER_MESSAGE);
+        doReturn(CompletableFuture.completedFuture(null)).when(blobStore).deleteBlob(BLOB_POINTER);
+
+        // act
+        final CompletableFuture<?> resolveFuture = messageResolver.resolveMessage(POINTER_MESSAGE);
+
+        // assert
+        assertThat(resolveFuture).isCompleted();
+        verify(blobStore).deleteBlob(BLOB_POINTER);
+    }
+
+    @Test
+    void blobIsNotDeletedWhenTheMessageFailedToBeResolved() {
+        // arrange
+        doReturn(CompletableFutureUtils.completedExceptionally(new RuntimeException("Expected Test Exception")))
+                .when(delegate).resolveMessage(POINTER_MESSAGE);
+
+        // act
+        final CompletableFuture<?> resolveFuture = messageResolver.resolveMessage(POINTER_MESSAGE);
+
+        // assert
+        assertThat(resolveFuture).isCompletedExceptionally();
+        verify(blobStore, never()).deleteBlob(BLOB_POINTER);
+    }
+
+    @Test
+    void failureToDeleteBlobDoesNotFailTheResolutionOfTheMessage() {
+        // arrange
+        doReturn(CompletableFuture.completedFuture(null)).when(delegate).resolveMessage(POINTER_MESSAGE);
+        doReturn(CompletableFutureUtils.completedExceptionally(new RuntimeException("Expected Test Exception"))).when(blobStore).deleteBlob(BLOB_POINTER);
+
+        // act
+        final CompletableFuture<?> resolveFuture = messageResolver.resolveMessage(POINTER_MESSAGE);
+
+        // assert
+        assertThat(resolveFuture).isCompleted();
+    }
+
+    @Test
+    void runningResolverRunsDelegate() {
+        // act
+        messageResolver.run();
+
+        // assert
+        verify(delegate).run();
+    }
+}
@@ -0,0 +1,136 @@
+package com.jashmore.sqs.retriever.backoff;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class EmptyReceiveBackoffTest {
+    private static final long CURRENT_TIME = 1_000_000;
+
+    @Test
+    void noBackoffIsPerformedWhenItHasNotBeenEnabled() {
+        // arrange
+        final EmptyReceiveBackoff backoff = new EmptyReceiveBackoff(() -> null, () -> null, () -> 0.0, () -> 0.0, () -> CURRENT_TIME);
+
+        // act
+        for (int i = 0; i < 10; ++i) {
+            backoff.recordReceive(0);
+        }
+
+        // assert
+        assertThat(backoff.getRemainingBackoffTimeInMilliseconds()).isZero();
+    }
+
+    @Test
+    void noBackoffIsPerformedUntilTheNumberOfEmptyReceivesHasBeenReached() {
+        // arrange
+        final EmptyReceiveBackoff backoff = new EmptyReceiveBackoff(() -> 3, () -> null, () -> 0.0, () -> 0.0, () -> CURRENT_TIME);
+
+        // act
+        backoff.recordReceive(0);
+        backoff.recordReceive(0);
+
+        // assert
+        assertThat(backoff.getRemainingBackoffTimeInMilliseconds()).isZero();
+    }
+
+    @Test
+    void backoffTimeDoublesForEachEmptyReceiveAfterTheThreshold() {
+        // arrange
+        final EmptyReceiveBackoff backoff = new EmptyReceiveBackoff(() -> 2, () -> null, () -> 0.0, () -> 0.0, () -> CURRENT_TIME);
+        backoff.recordReceive(0);
+
+        // act
+        backoff.recordReceive(0);
+        final long firstBackoff = backoff.getRemainingBackoffTimeInMilliseconds();
+        backoff.recordReceive(0);
+        final long secondBackoff = backoff.getRemainingBackoffTimeInMilliseconds();
+        backoff.recordReceive(0);
+        final long thirdBackoff = backoff.getRemainingBackoffTimeInMilliseconds();
+
+        // assert
+        assertThat(firstBackoff).isEqualTo(1_000);
+        assertThat(secondBackoff).isEqualTo(2_000);
+        assertThat(thirdBackoff).isEqualTo(4_000);
+    }
+
+    @Test
+    void backoffTimeIsLimitedByTheMaximumBackoffTime() {
+        // arrange
+        final EmptyReceiveBackoff backoff = new EmptyReceiveBackoff(() -> 1, () -> 5_000L, () -> 0.0, () -> 0.0, () -> CURRENT_TIME);
+
+        // act
+        for (int i = 0; i < 100; ++i) {
+            backoff.recordReceive(0);
+        }
+
+        // assert
+        assertThat(backoff.getRemainingBackoffTimeInMilliseconds()).isEqualTo(5_000);
+    }
+
+    @Test
+    void jitterWillRemoveARandomProportionOfTheBackoffTime() {
+        // arrange
+        final EmptyReceiveBackoff backoff = new EmptyReceiveBackoff(() -> 1, () -> null, () -> 0.5, () -> 0.5, () -> CURRENT_TIME);
+
+        // act
+        backoff.recordReceive(0);
+
+        // assert
+        assertThat(backoff.getRemainingBackoffTimeInMilliseconds()).isEqualTo(750);
+    }
+
+    @Test
+    void jitterGreaterThanOneIsLimitedToOne() {
+        // arrange
+        final EmptyReceiveBackoff backoff = new EmptyReceiveBackoff(() -> 1, () -> null, () -> 3.0, () -> 0.5, () -> CURRENT_TIME);
+
+        // act
+        backoff.recordReceive(0);
+
+        // assert
+        assertThat(backoff.getRemainingBackoffTimeInMilliseconds()).isEqualTo(500);
+    }
+
+    @Test
+    void receivingMessagesWillResetTheBackoff() {
+        // arrange
+        final EmptyReceiveBackoff backoff = new EmptyReceiveBackoff(() -> 1, () -> null, () -> 0.0, () -> 0.0, () -> CURRENT_TIME);
+        backoff.recordReceive(0);
+        backoff.recordReceive(0);
+
+        // act
+        backoff.recordReceive(1);
+
+        // assert
+        assertThat(backoff.getRemainingBackoffTimeInMilliseconds()).isZero();
+        backoff.recordReceive(0);
+        assertThat(backoff.getRemainingBackoffTimeInMilliseconds()).isEqualTo(1_000);
+    }
+
+    @Test
+    void remainingBackoffTimeDecreasesAsTimePasses() {
+        // arrange
+        final long[] currentTime = {CURRENT_TIME};
+        final EmptyReceiveBackoff backoff = new EmptyReceiveBackoff(() -> 1, () -> null, () -> 0.0, () -> 0.0, () -> currentTime[0]);
+        backoff.recordReceive(0);
+
+        // act
+        currentTime[0] += 400;
+
+        // assert
+        assertThat(backoff.getRemainingBackoffTimeInMilliseconds()).isEqualTo(600);
+    }
+
+    @Test
+    void publicConstructorWillUseTheDefaultJitterWhenNoneIsProvided() {
+        // arrange
+        final EmptyReceiveBackoff backoff = new EmptyReceiveBackoff(() -> 1, () -> 2_000L, () -> null);
+
+        // act
+        backoff.recordReceive(0);
+
+        // assert
+        assertThat(backoff.getRemainingBackoffTimeInMilliseconds()).isBetween(0L, 2_000L);
+    }
+}
@@ -10,6 +10,8 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.common.collect.ImmutableSet;
+
 import com.jashmore.sqs.QueueProperties;
 import com.jashmore.sqs.aws.AwsConstants;
 import com.jashmore.sqs.util.concurrent.CompletableFutureUtils;
@@ -22,6 +24,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
 import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
@@ -423,6 +426,60 @@ class BatchingMessageRetrieverTest {
         assertThat(receiveMessageRequestArgumentCaptor.getValue().attributeNames()).containsExactly(QueueAttributeName.ALL);
     }
 
+    @Test
+    void onlyProvidedMessageAttributesShouldBeDownloadedWhenRequestingMessages() {
+        // arrange
+        final StaticBatchingMessageRetrieverProperties properties = DEFAULT_PROPERTIES.toBuilder()
+                .batchSize(1)
+                .messageAttributeNames(ImmutableSet.of("key"))
+                .build();
+        final BatchingMessageRetriever retriever = new BatchingMessageRetriever(QUEUE_PROPERTIES, sqsAsyncClient, properties);
+        final CountDownLatch receiveMessageRequestLatch = new CountDownLatch(1);
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenAnswer(invocation -> {
+                    receiveMessageRequestLatch.countDown();
+                    return mockReceiveMessageResponse(Message.builder().build());
+                });
+
+        // act
+        startRunnableInThread(retriever::run, thread -> {
+            retriever.retrieveMessage();
+            assertThat(receiveMessageRequestLatch.await(2, TimeUnit.SECONDS)).isTrue();
+        });
+
+        // assert
+        final ArgumentCaptor<ReceiveMessageRequest> receiveMessageRequestArgumentCaptor = ArgumentCaptor.forClass(ReceiveMessageRequest.class);
+        verify(sqsAsyncClient).receiveMessage(receiveMessageRequestArgumentCaptor.capture());
+        assertThat(receiveMessageRequestArgumentCaptor.getValue().messageAttributeNames()).containsExactly("key");
+    }
+
+    @Test
+    void onlyProvidedMessageSystemAttributesShouldBeDownloadedWhenRequestingMessages() {
+        // arrange
+        final StaticBatchingMessageRetrieverProperties properties = DEFAULT_PROPERTIES.toBuilder()
+                .batchSize(1)
+                .messageSystemAttributeNames(ImmutableSet.of(MessageSystemAttributeName.SENT_TIMESTAMP))
+                .build();
+        final BatchingMessageRetriever retriever = new BatchingMessageRetriever(QUEUE_PROPERTIES, sqsAsyncClient, properties);
+        final CountDownLatch receiveMessageRequestLatch = new CountDownLatch(1);
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenAnswer(invocation -> {
+                    receiveMessageRequestLatch.countDown();
+                    return mockReceiveMessageResponse(Message.builder().build());
+                });
+
+        // act
+        startRunnableInThread(retriever::run, thread -> {
+            retriever.retrieveMessage();
+            assertThat(receiveMessageRequestLatch.await(2, TimeUnit.SECONDS)).isTrue();
+        });
+
+        // assert
+        final ArgumentCaptor<ReceiveMessageRequest> receiveMessageRequestArgumentCaptor = ArgumentCaptor.forClass(ReceiveMessageRequest.class);
+        verify(sqsAsyncClient).receiveMessage(receiveMessageRequestArgumentCaptor.capture());
+        assertThat(receiveMessageRequestArgumentCaptor.getValue().attributeNamesAsStrings()).containsExactly(MessageSystemAttributeName.SENT_TIMESTAMP.toString());
+    }
+
     @Test
     void nullPollingPeriodWillStillAllowMessagesToBeReceivedWhenLimitReached() {
         // arrange
@@ -474,6 +531,34 @@ class BatchingMessageRetrieverTest {
         assertThat(receiveMessageRequestArgumentCaptor.getValue().visibilityTimeout()).isNull();
     }
 
+    @Test
+    void consecutiveEmptyReceivesWillBackoffBeforeRequestingMoreMessages() {
+        // arrange
+        final StaticBatchingMessageRetrieverProperties retrieverProperties = DEFAULT_PROPERTIES.toBuilder()
+                .batchSize(1)
+                .emptyReceivesBeforeIdleBackoff(1)
+                .maxIdleBackoffTimeInMilliseconds(10_000L)
+                .idleBackoffJitter(0.0)
+                .build();
+        final BatchingMessageRetriever retriever = new BatchingMessageRetriever(QUEUE_PROPERTIES, sqsAsyncClient, retrieverProperties);
+        final CountDownLatch receiveMessageRequestLatch = new CountDownLatch(1);
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenAnswer(invocation -> {
+                    receiveMessageRequestLatch.countDown();
+                    return mockReceiveMessageResponse();
+                });
+
+        startRunnableInThread(retriever::run, thread -> {
+            // act
+            retriever.retrieveMessage();
+            assertThat(receiveMessageRequestLatch.await(5, TimeUnit.SECONDS)).isTrue();
+            waitUntilThreadInState(thread, Thread.State.TIMED_WAITING);
+
+            // assert
+            verify(sqsAsyncClient, times(1)).receiveMessage(any(ReceiveMessageRequest.class));
+        });
+    }
+
     private CompletableFuture<ReceiveMessageResponse> mockReceiveMessageResponse(final Message... messages) {
         return CompletableFuture.completedFuture(ReceiveMessageResponse.builder()
                 .messages(messages)
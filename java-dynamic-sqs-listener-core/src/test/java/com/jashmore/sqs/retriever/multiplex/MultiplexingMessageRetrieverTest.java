@@ -0,0 +1,386 @@
+package com.jashmore.sqs.retriever.multiplex;
+
+import static com.jashmore.sqs.aws.AwsConstants.MAX_SQS_RECEIVE_WAIT_TIME_IN_SECONDS;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import com.jashmore.sqs.QueueProperties;
+import com.jashmore.sqs.retriever.MessageRetriever;
+import com.jashmore.sqs.util.concurrent.CompletableFutureUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+@ExtendWith(MockitoExtension.class)
+class MultiplexingMessageRetrieverTest {
+    private static final StaticMultiplexingMessageRetrieverProperties DEFAULT_PROPERTIES = StaticMultiplexingMessageRetrieverProperties.builder()
+            .maxConcurrentReceiveRequests(10)
+            .contendedWaitTimeInSeconds(1)
+            .errorBackoffTimeInMilliseconds(10_000)
+            .build();
+    private static final StaticMultiplexedQueueProperties DEFAULT_QUEUE_PROPERTIES = StaticMultiplexedQueueProperties.builder()
+            .maxPrefetchedMessages(10)
+            .build();
+
+    @Mock
+    private SqsAsyncClient sqsAsyncClient;
+
+    private final List<ReceiveMessageRequest> receiveMessageRequests = new CopyOnWriteArrayList<>();
+    private final List<Thread> retrieverThreads = new ArrayList<>();
+    private MultiplexingMessageRetriever multiplexingMessageRetriever;
+
+    @BeforeEach
+    void setUp() {
+        receiveMessageRequests.clear();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        // stopping the multiplexer first cancels the requests in flight so the retrievers do not wait for them when they are deregistered
+        if (multiplexingMessageRetriever != null) {
+            multiplexingMessageRetriever.stop();
+        }
+        for (final Thread thread : retrieverThreads) {
+            thread.interrupt();
+            thread.join(5_000);
+        }
+    }
+
+    @Test
+    void messagesAreDeliveredToTheQueueThatTheyWereRequestedFor() throws Exception {
+        // arrange
+        final Message firstQueueMessage = Message.builder().body("first").build();
+        final Message secondQueueMessage = Message.builder().body("second").build();
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class))).thenAnswer(invocation -> {
+            final ReceiveMessageRequest request = invocation.getArgument(0);
+            receiveMessageRequests.add(request);
+            if (countRequestsForQueue(request.queueUrl()) > 1) {
+                return new CompletableFuture<>();
+            }
+            final Message message = request.queueUrl().equals("first") ? firstQueueMessage : secondQueueMessage;
+            return CompletableFuture.completedFuture(ReceiveMessageResponse.builder().messages(message).build());
+        });
+        final MessageRetriever firstRetriever = startRetrieverForQueue("first", DEFAULT_PROPERTIES);
+        final MessageRetriever secondRetriever = startRetrieverForQueue("second", DEFAULT_PROPERTIES);
+
+        // act
+        final Message firstMessage = firstRetriever.retrieveMessage().get(5, TimeUnit.SECONDS);
+        final Message secondMessage = secondRetriever.retrieveMessage().get(5, TimeUnit.SECONDS);
+
+        // assert
+        assertThat(firstMessage).isSameAs(firstQueueMessage);
+        assertThat(secondMessage).isSameAs(secondQueueMessage);
+    }
+
+    @Test
+    void numberOfRequestsInFlightIsLimitedAcrossAllQueues() throws Exception {
+        // arrange
+        final CountDownLatch requestSent = new CountDownLatch(1);
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class))).thenAnswer(invocation -> {
+            receiveMessageRequests.add(invocation.getArgument(0));
+            requestSent.countDown();
+            return new CompletableFuture<>();
+        });
+        final StaticMultiplexingMessageRetrieverProperties properties = DEFAULT_PROPERTIES.toBuilder()
+                .maxConcurrentReceiveRequests(2)
+                .build();
+        startRetrieverForQueue("first", properties);
+        startRetrieverForQueue("second", properties);
+        startRetrieverForQueue("third", properties);
+
+        // act
+        assertThat(requestSent.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(500);
+
+        // assert
+        assertThat(receiveMessageRequests).hasSize(2);
+    }
+
+    @Test
+    void contendedRequestsUseTheContendedWaitTime() throws Exception {
+        // arrange
+        final CountDownLatch requestSent = new CountDownLatch(1);
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class))).thenAnswer(invocation -> {
+            receiveMessageRequests.add(invocation.getArgument(0));
+            requestSent.countDown();
+            return new CompletableFuture<>();
+        });
+        final StaticMultiplexingMessageRetrieverProperties properties = DEFAULT_PROPERTIES.toBuilder()
+                .maxConcurrentReceiveRequests(1)
+                .contendedWaitTimeInSeconds(2)
+                .build();
+        multiplexingMessageRetriever = new MultiplexingMessageRetriever(properties);
+        final MessageRetriever firstRetriever = multiplexingMessageRetriever.messageRetrieverForQueue(queue("first"), sqsAsyncClient, DEFAULT_QUEUE_PROPERTIES);
+        final MessageRetriever secondRetriever = multiplexingMessageRetriever.messageRetrieverForQueue(queue("second"), sqsAsyncClient, DEFAULT_QUEUE_PROPERTIES);
+        startRetriever(firstRetriever, new AtomicReference<>());
+        startRetriever(secondRetriever, new AtomicReference<>());
+        // wait until both queues have been registered before starting so that they are both ready for the first request
+        Thread.sleep(200);
+
+        // act
+        multiplexingMessageRetriever.start();
+        assertThat(requestSent.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // assert
+        assertThat(receiveMessageRequests.get(0).waitTimeSeconds()).isEqualTo(2);
+    }
+
+    @Test
+    void uncontendedRequestsUseTheMaximumWaitTime() throws Exception {
+        // arrange
+        final CountDownLatch requestSent = new CountDownLatch(1);
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class))).thenAnswer(invocation -> {
+            receiveMessageRequests.add(invocation.getArgument(0));
+            requestSent.countDown();
+            return new CompletableFuture<>();
+        });
+
+        // act
+        startRetrieverForQueue("first", DEFAULT_PROPERTIES);
+        assertThat(requestSent.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // assert
+        assertThat(receiveMessageRequests.get(0).waitTimeSeconds()).isEqualTo(MAX_SQS_RECEIVE_WAIT_TIME_IN_SECONDS);
+    }
+
+    @Test
+    void requestsAreSentToTheQueuesInRoundRobinOrder() throws Exception {
+        // arrange
+        final CountDownLatch requestsSent = new CountDownLatch(4);
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class))).thenAnswer(invocation -> {
+            receiveMessageRequests.add(invocation.getArgument(0));
+            requestsSent.countDown();
+            if (receiveMessageRequests.size() >= 4) {
+                return new CompletableFuture<>();
+            }
+            return CompletableFuture.completedFuture(ReceiveMessageResponse.builder().build());
+        });
+        final StaticMultiplexingMessageRetrieverProperties properties = DEFAULT_PROPERTIES.toBuilder()
+                .maxConcurrentReceiveRequests(1)
+                .build();
+        multiplexingMessageRetriever = new MultiplexingMessageRetriever(properties);
+        startRetriever(multiplexingMessageRetriever.messageRetrieverForQueue(queue("first"), sqsAsyncClient, DEFAULT_QUEUE_PROPERTIES), new AtomicReference<>());
+        startRetriever(multiplexingMessageRetriever.messageRetrieverForQueue(queue("second"), sqsAsyncClient, DEFAULT_QUEUE_PROPERTIES), new AtomicReference<>());
+        Thread.sleep(200);
+
+        // act
+        multiplexingMessageRetriever.start();
+        assertThat(requestsSent.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // assert
+        // the retriever threads can register their queues in either order so only the alternation between the queues is checked
+        final List<String> queueUrls = receiveMessageRequests.subList(0, 4).stream()
+                .map(ReceiveMessageRequest::queueUrl)
+                .collect(toList());
+        assertThat(queueUrls.subList(0, 2)).containsExactlyInAnyOrder("first", "second");
+        assertThat(queueUrls.subList(2, 4)).isEqualTo(queueUrls.subList(0, 2));
+    }
+
+    @Test
+    void queueWithFailedRequestWillBackoffWhileOtherQueuesContinueToBePolled() throws Exception {
+        // arrange
+        final CountDownLatch secondQueueRequestsSent = new CountDownLatch(3);
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class))).thenAnswer(invocation -> {
+            final ReceiveMessageRequest request = invocation.getArgument(0);
+            receiveMessageRequests.add(request);
+            if (request.queueUrl().equals("first")) {
+                return CompletableFutureUtils.completedExceptionally(new RuntimeException("Expected Test Exception"));
+            }
+            secondQueueRequestsSent.countDown();
+            return CompletableFuture.completedFuture(ReceiveMessageResponse.builder().build());
+        });
+        startRetrieverForQueue("first", DEFAULT_PROPERTIES);
+        startRetrieverForQueue("second", DEFAULT_PROPERTIES);
+
+        // act
+        assertThat(secondQueueRequestsSent.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // assert
+        assertThat(countRequestsForQueue("first")).isEqualTo(1);
+    }
+
+    @Test
+    void queueWithInvalidResponseWillBackoffWhileOtherQueuesContinueToBePolled() throws Exception {
+        // arrange
+        final CountDownLatch secondQueueRequestsSent = new CountDownLatch(3);
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class))).thenAnswer(invocation -> {
+            final ReceiveMessageRequest request = invocation.getArgument(0);
+            receiveMessageRequests.add(request);
+            if (request.queueUrl().equals("first")) {
+                return CompletableFuture.completedFuture(null);
+            }
+            secondQueueRequestsSent.countDown();
+            return CompletableFuture.completedFuture(ReceiveMessageResponse.builder().build());
+        });
+        startRetrieverForQueue("first", DEFAULT_PROPERTIES);
+        startRetrieverForQueue("second", DEFAULT_PROPERTIES);
+
+        // act
+        assertThat(secondQueueRequestsSent.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // assert
+        assertThat(countRequestsForQueue("first")).isEqualTo(1);
+    }
+
+    @Test
+    void messagesThatHaveNotBeenRetrievedAreReturnedWhenTheRetrieverIsStopped() throws Exception {
+        // arrange
+        final Message firstMessage = Message.builder().body("first").build();
+        final Message secondMessage = Message.builder().body("second").build();
+        final CountDownLatch requestSent = new CountDownLatch(2);
+        final CompletableFuture<ReceiveMessageResponse> requestInFlight = new CompletableFuture<>();
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class))).thenAnswer(invocation -> {
+            receiveMessageRequests.add(invocation.getArgument(0));
+            requestSent.countDown();
+            if (receiveMessageRequests.size() > 1) {
+                return requestInFlight;
+            }
+            return CompletableFuture.completedFuture(ReceiveMessageResponse.builder().messages(firstMessage, secondMessage).build());
+        });
+        multiplexingMessageRetriever = new MultiplexingMessageRetriever(DEFAULT_PROPERTIES);
+        multiplexingMessageRetriever.start();
+        final AtomicReference<List<Message>> leftoverMessages = new AtomicReference<>();
+        final Thread thread = startRetriever(
+                multiplexingMessageRetriever.messageRetrieverForQueue(queue("first"), sqsAsyncClient, DEFAULT_QUEUE_PROPERTIES),
+                leftoverMessages
+        );
+        assertThat(requestSent.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // act
+        thread.interrupt();
+        requestInFlight.complete(ReceiveMessageResponse.builder().build());
+        thread.join(5_000);
+
+        // assert
+        assertThat(leftoverMessages.get()).containsExactly(firstMessage, secondMessage);
+    }
+
+    @Test
+    void messagesOfTheRequestInFlightAreReturnedWhenTheRetrieverIsStopped() throws Exception {
+        // arrange
+        final Message message = Message.builder().body("first").build();
+        final CountDownLatch requestSent = new CountDownLatch(1);
+        final CompletableFuture<ReceiveMessageResponse> requestInFlight = new CompletableFuture<>();
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class))).thenAnswer(invocation -> {
+            receiveMessageRequests.add(invocation.getArgument(0));
+            requestSent.countDown();
+            return requestInFlight;
+        });
+        multiplexingMessageRetriever = new MultiplexingMessageRetriever(DEFAULT_PROPERTIES);
+        multiplexingMessageRetriever.start();
+        final AtomicReference<List<Message>> leftoverMessages = new AtomicReference<>();
+        final Thread thread = startRetriever(
+                multiplexingMessageRetriever.messageRetrieverForQueue(queue("first"), sqsAsyncClient, DEFAULT_QUEUE_PROPERTIES),
+                leftoverMessages
+        );
+        assertThat(requestSent.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // act
+        thread.interrupt();
+        Thread.sleep(200);
+        requestInFlight.complete(ReceiveMessageResponse.builder().messages(message).build());
+        thread.join(5_000);
+
+        // assert
+        assertThat(requestInFlight.isCancelled()).isFalse();
+        assertThat(leftoverMessages.get()).containsExactly(message);
+    }
+
+    @Test
+    void stoppingTheMultiplexerWhileQueuesAreBeingRegisteredDoesNotLoseRegistrations() throws Exception {
+        // arrange
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class))).thenAnswer(invocation -> {
+            receiveMessageRequests.add(invocation.getArgument(0));
+            return new CompletableFuture<>();
+        });
+        multiplexingMessageRetriever = new MultiplexingMessageRetriever(DEFAULT_PROPERTIES.toBuilder()
+                .maxConcurrentReceiveRequests(20)
+                .build());
+        multiplexingMessageRetriever.start();
+        for (int i = 0; i < 20; ++i) {
+            startRetriever(multiplexingMessageRetriever.messageRetrieverForQueue(queue("queue-" + i), sqsAsyncClient, DEFAULT_QUEUE_PROPERTIES),
+                    new AtomicReference<>());
+        }
+
+        // act
+        multiplexingMessageRetriever.stop();
+        receiveMessageRequests.clear();
+        multiplexingMessageRetriever.start();
+        Thread.sleep(500);
+
+        // assert
+        assertThat(receiveMessageRequests.stream().map(ReceiveMessageRequest::queueUrl).distinct().count()).isEqualTo(20);
+    }
+
+    @Test
+    void noMoreMessagesAreRequestedWhenTheBufferForTheQueueIsFull() throws Exception {
+        // arrange
+        final CountDownLatch requestSent = new CountDownLatch(1);
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class))).thenAnswer(invocation -> {
+            receiveMessageRequests.add(invocation.getArgument(0));
+            requestSent.countDown();
+            return CompletableFuture.completedFuture(ReceiveMessageResponse.builder().messages(Message.builder().build()).build());
+        });
+        multiplexingMessageRetriever = new MultiplexingMessageRetriever(DEFAULT_PROPERTIES);
+        multiplexingMessageRetriever.start();
+        final StaticMultiplexedQueueProperties queueProperties = DEFAULT_QUEUE_PROPERTIES.toBuilder()
+                .maxPrefetchedMessages(1)
+                .build();
+
+        // act
+        startRetriever(multiplexingMessageRetriever.messageRetrieverForQueue(queue("first"), sqsAsyncClient, queueProperties), new AtomicReference<>());
+        assertThat(requestSent.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(500);
+
+        // assert
+        assertThat(receiveMessageRequests).hasSize(1);
+        assertThat(receiveMessageRequests.get(0).maxNumberOfMessages()).isEqualTo(1);
+    }
+
+    private MessageRetriever startRetrieverForQueue(final String queueUrl,
+                                                    final MultiplexingMessageRetrieverProperties properties) {
+        if (multiplexingMessageRetriever == null) {
+            multiplexingMessageRetriever = new MultiplexingMessageRetriever(properties);
+            multiplexingMessageRetriever.start();
+        }
+        final MessageRetriever retriever = multiplexingMessageRetriever.messageRetrieverForQueue(queue(queueUrl), sqsAsyncClient, DEFAULT_QUEUE_PROPERTIES);
+        startRetriever(retriever, new AtomicReference<>());
+        return retriever;
+    }
+
+    private Thread startRetriever(final MessageRetriever retriever, final AtomicReference<List<Message>> leftoverMessages) {
+        final Thread thread = new Thread(() -> leftoverMessages.set(retriever.run()));
+        thread.start();
+        retrieverThreads.add(thread);
+        return thread;
+    }
+
+    private long countRequestsForQueue(final String queueUrl) {
+        return receiveMessageRequests.stream()
+                .filter(request -> request.queueUrl().equals(queueUrl))
+                .count();
+    }
+
+    private static QueueProperties queue(final String queueUrl) {
+        return QueueProperties.builder()
+                .queueUrl(queueUrl)
+                .build();
+    }
+}
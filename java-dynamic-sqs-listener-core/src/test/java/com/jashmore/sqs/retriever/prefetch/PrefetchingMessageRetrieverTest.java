@@ -5,13 +5,17 @@ import static com.jashmore.sqs.util.thread.ThreadTestUtils.waitUntilThreadInStat
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.common.collect.ImmutableSet;
+
 import com.jashmore.sqs.QueueProperties;
 import com.jashmore.sqs.aws.AwsConstants;
 import com.jashmore.sqs.util.concurrent.CompletableFutureUtils;
+import com.jashmore.sqs.util.message.MessageVisibilityDeadlines;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -24,7 +28,10 @@ import org.mockito.stubbing.Answer;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.exception.SdkInterruptedException;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
 import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
 import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
@@ -284,6 +291,169 @@ class PrefetchingMessageRetrieverTest {
         });
     }
 
+    @Test
+    void byDefaultOnlyASingleRequestForMessagesWillBeInFlight() {
+        // arrange
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenAnswer(invocation -> new CompletableFuture<>());
+        final StaticPrefetchingMessageRetrieverProperties properties = DEFAULT_PREFETCHING_PROPERTIES.toBuilder()
+                .desiredMinPrefetchedMessages(1)
+                .maxPrefetchedMessages(20)
+                .build();
+        final PrefetchingMessageRetriever retriever = new PrefetchingMessageRetriever(sqsAsyncClient, QUEUE_PROPERTIES, properties);
+
+        startRunnableInThread(retriever::run, thread -> {
+            // act
+            waitUntilThreadInState(thread, Thread.State.WAITING);
+
+            // assert
+            verify(sqsAsyncClient).receiveMessage(any(ReceiveMessageRequest.class));
+        });
+    }
+
+    @Test
+    void multipleConcurrentRequestsForMessagesWillNotRequestMoreThanTheMaxPrefetchedMessages() {
+        // arrange
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenAnswer(invocation -> new CompletableFuture<>());
+        final StaticPrefetchingMessageRetrieverProperties properties = DEFAULT_PREFETCHING_PROPERTIES.toBuilder()
+                .desiredMinPrefetchedMessages(1)
+                .maxPrefetchedMessages(15)
+                .maxConcurrentReceiveRequests(3)
+                .build();
+        final PrefetchingMessageRetriever retriever = new PrefetchingMessageRetriever(sqsAsyncClient, QUEUE_PROPERTIES, properties);
+
+        startRunnableInThread(retriever::run, thread -> {
+            // act
+            waitUntilThreadInState(thread, Thread.State.WAITING);
+
+            // assert
+            final ArgumentCaptor<ReceiveMessageRequest> receiveMessageRequestArgumentCaptor = ArgumentCaptor.forClass(ReceiveMessageRequest.class);
+            verify(sqsAsyncClient, times(2)).receiveMessage(receiveMessageRequestArgumentCaptor.capture());
+            assertThat(receiveMessageRequestArgumentCaptor.getAllValues())
+                    .extracting(ReceiveMessageRequest::maxNumberOfMessages)
+                    .containsExactly(10, 5);
+        });
+    }
+
+    @Test
+    void multipleConcurrentRequestsForMessagesWillNotExceedTheMaxConcurrentReceiveRequests() {
+        // arrange
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenAnswer(invocation -> new CompletableFuture<>());
+        final StaticPrefetchingMessageRetrieverProperties properties = DEFAULT_PREFETCHING_PROPERTIES.toBuilder()
+                .desiredMinPrefetchedMessages(1)
+                .maxPrefetchedMessages(100)
+                .maxConcurrentReceiveRequests(3)
+                .build();
+        final PrefetchingMessageRetriever retriever = new PrefetchingMessageRetriever(sqsAsyncClient, QUEUE_PROPERTIES, properties);
+
+        startRunnableInThread(retriever::run, thread -> {
+            // act
+            waitUntilThreadInState(thread, Thread.State.WAITING);
+
+            // assert
+            verify(sqsAsyncClient, times(3)).receiveMessage(any(ReceiveMessageRequest.class));
+        });
+    }
+
+    @Test
+    void whenRequestForMessagesCompletesAnotherRequestCanBeMadeWhileOtherRequestsAreInFlight() {
+        // arrange
+        final CountDownLatch receiveMessageRequested = new CountDownLatch(3);
+        final CompletableFuture<ReceiveMessageResponse> firstResponse = new CompletableFuture<>();
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenAnswer(invocation -> {
+                    receiveMessageRequested.countDown();
+                    return firstResponse;
+                })
+                .thenAnswer(invocation -> {
+                    receiveMessageRequested.countDown();
+                    return new CompletableFuture<>();
+                });
+        final StaticPrefetchingMessageRetrieverProperties properties = DEFAULT_PREFETCHING_PROPERTIES.toBuilder()
+                .desiredMinPrefetchedMessages(5)
+                .maxPrefetchedMessages(30)
+                .maxConcurrentReceiveRequests(2)
+                .build();
+        final PrefetchingMessageRetriever retriever = new PrefetchingMessageRetriever(sqsAsyncClient, QUEUE_PROPERTIES, properties);
+
+        startRunnableInThread(retriever::run, thread -> {
+            waitUntilThreadInState(thread, Thread.State.WAITING);
+            verify(sqsAsyncClient, times(2)).receiveMessage(any(ReceiveMessageRequest.class));
+
+            // act
+            firstResponse.complete(ReceiveMessageResponse.builder().messages(Message.builder().build()).build());
+
+            // assert
+            assertThat(receiveMessageRequested.await(30, TimeUnit.SECONDS)).isTrue();
+            assertThat(retriever.getNumberOfPrefetchedMessages()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void requestsForMessagesInFlightWillBeCancelledWhenTheRetrieverIsStopped() {
+        // arrange
+        final CountDownLatch receiveMessageRequested = new CountDownLatch(1);
+        final CompletableFuture<ReceiveMessageResponse> response = new CompletableFuture<>();
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenAnswer(invocation -> {
+                    receiveMessageRequested.countDown();
+                    return response;
+                });
+        final PrefetchingMessageRetriever retriever = new PrefetchingMessageRetriever(sqsAsyncClient, QUEUE_PROPERTIES, DEFAULT_PREFETCHING_PROPERTIES);
+
+        // act
+        runRetrieverUntilLatch(retriever, receiveMessageRequested);
+
+        // assert
+        assertThat(response).isCancelled();
+    }
+
+    @Test
+    void maxPrefetchedBytesLessThanOneThrowsErrorInConstruction() {
+        // arrange
+        final PrefetchingMessageRetrieverProperties properties = DEFAULT_PREFETCHING_PROPERTIES.toBuilder()
+                .maxPrefetchedBytes(0L)
+                .build();
+
+        // act
+        final IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> new PrefetchingMessageRetriever(sqsAsyncClient, QUEUE_PROPERTIES, properties)
+        );
+
+        // assert
+        assertThat(exception).hasMessage("maxPrefetchedBytes must be greater than zero");
+    }
+
+    @Test
+    void whenPrefetchedMessagesReachTheMaxPrefetchedBytesNoMoreMessagesWillBeRequestedUntilOneIsConsumed() {
+        // arrange
+        final CountDownLatch receiveMessageRequested = new CountDownLatch(2);
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenAnswer(triggerLatchAndReturnMessages(receiveMessageRequested, Message.builder().body("123456").build()))
+                .thenAnswer(triggerLatchAndReturnMessages(receiveMessageRequested, Message.builder().body("123456").build()));
+        final StaticPrefetchingMessageRetrieverProperties properties = DEFAULT_PREFETCHING_PROPERTIES.toBuilder()
+                .desiredMinPrefetchedMessages(5)
+                .maxPrefetchedMessages(10)
+                .maxPrefetchedBytes(5L)
+                .build();
+        final PrefetchingMessageRetriever retriever = new PrefetchingMessageRetriever(sqsAsyncClient, QUEUE_PROPERTIES, properties);
+
+        startRunnableInThread(retriever::run, thread -> {
+            waitUntilThreadInState(thread, Thread.State.WAITING);
+            verify(sqsAsyncClient).receiveMessage(any(ReceiveMessageRequest.class));
+            assertThat(retriever.getNumberOfPrefetchedBytes()).isEqualTo(6);
+
+            // act
+            retriever.retrieveMessage();
+
+            // assert
+            assertThat(receiveMessageRequested.await(30, TimeUnit.SECONDS)).isTrue();
+        });
+    }
+
     @Test
     void waitTimeForPrefetchingPropertiesWillBeSQSMaximum() {
         // arrange
@@ -419,6 +589,47 @@ class PrefetchingMessageRetrieverTest {
         assertThat(receiveMessageRequestArgumentCaptor.getValue().attributeNames()).contains(QueueAttributeName.ALL);
     }
 
+    @Test
+    void onlyProvidedMessageAttributesAreIncludedInMessagesWhenRetrieved() {
+        // arrange
+        final CountDownLatch receiveMessageRequested = new CountDownLatch(1);
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenAnswer(triggerLatchAndReturnMessages(receiveMessageRequested, Message.builder().build()));
+        final PrefetchingMessageRetrieverProperties properties = DEFAULT_PREFETCHING_PROPERTIES.toBuilder()
+                .messageAttributeNames(ImmutableSet.of("key"))
+                .build();
+        final PrefetchingMessageRetriever retriever = new PrefetchingMessageRetriever(sqsAsyncClient, QUEUE_PROPERTIES, properties);
+
+        // act
+        runRetrieverUntilLatch(retriever, receiveMessageRequested);
+
+        // assert
+        final ArgumentCaptor<ReceiveMessageRequest> receiveMessageRequestArgumentCaptor = ArgumentCaptor.forClass(ReceiveMessageRequest.class);
+        verify(sqsAsyncClient).receiveMessage(receiveMessageRequestArgumentCaptor.capture());
+        assertThat(receiveMessageRequestArgumentCaptor.getValue().messageAttributeNames()).containsExactly("key");
+    }
+
+    @Test
+    void onlyProvidedMessageSystemAttributesAreIncludedInMessagesWhenRetrieved() {
+        // arrange
+        final CountDownLatch receiveMessageRequested = new CountDownLatch(1);
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenAnswer(triggerLatchAndReturnMessages(receiveMessageRequested, Message.builder().build()));
+        final PrefetchingMessageRetrieverProperties properties = DEFAULT_PREFETCHING_PROPERTIES.toBuilder()
+                .messageSystemAttributeNames(ImmutableSet.of(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT))
+                .build();
+        final PrefetchingMessageRetriever retriever = new PrefetchingMessageRetriever(sqsAsyncClient, QUEUE_PROPERTIES, properties);
+
+        // act
+        runRetrieverUntilLatch(retriever, receiveMessageRequested);
+
+        // assert
+        final ArgumentCaptor<ReceiveMessageRequest> receiveMessageRequestArgumentCaptor = ArgumentCaptor.forClass(ReceiveMessageRequest.class);
+        verify(sqsAsyncClient).receiveMessage(receiveMessageRequestArgumentCaptor.capture());
+        assertThat(receiveMessageRequestArgumentCaptor.getValue().attributeNamesAsStrings())
+                .containsExactly(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT.toString());
+    }
+
     @Test
     void threadInterruptedPuttingMessageOnTheQueueWillNotRequestAnyMoreMessages() {
         // arrange
@@ -521,6 +732,224 @@ class PrefetchingMessageRetrieverTest {
         });
     }
 
+    @Test
+    void consecutiveEmptyReceivesWillBackoffBeforeRequestingMoreMessages() {
+        // arrange
+        final CountDownLatch receiveMessageRequested = new CountDownLatch(1);
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenAnswer(triggerLatchAndReturnMessages(receiveMessageRequested));
+        final StaticPrefetchingMessageRetrieverProperties properties = DEFAULT_PREFETCHING_PROPERTIES.toBuilder()
+                .emptyReceivesBeforeIdleBackoff(1)
+                .maxIdleBackoffTimeInMilliseconds(10_000L)
+                .idleBackoffJitter(0.0)
+                .build();
+        final PrefetchingMessageRetriever retriever = new PrefetchingMessageRetriever(sqsAsyncClient, QUEUE_PROPERTIES, properties);
+
+        startRunnableInThread(retriever::run, thread -> {
+            // act
+            assertThat(receiveMessageRequested.await(5, TimeUnit.SECONDS)).isTrue();
+            waitUntilThreadInState(thread, Thread.State.TIMED_WAITING);
+
+            // assert
+            verify(sqsAsyncClient, times(1)).receiveMessage(any(ReceiveMessageRequest.class));
+        });
+    }
+
+    @Test
+    void receivingMessagesWillNotBackoffBeforeRequestingMoreMessages() {
+        // arrange
+        final CountDownLatch receiveMessageRequested = new CountDownLatch(3);
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenAnswer(triggerLatchAndReturnMessages(receiveMessageRequested, Message.builder().build()));
+        final StaticPrefetchingMessageRetrieverProperties properties = DEFAULT_PREFETCHING_PROPERTIES.toBuilder()
+                .desiredMinPrefetchedMessages(10)
+                .maxPrefetchedMessages(10)
+                .emptyReceivesBeforeIdleBackoff(1)
+                .maxIdleBackoffTimeInMilliseconds(10_000L)
+                .build();
+        final PrefetchingMessageRetriever retriever = new PrefetchingMessageRetriever(sqsAsyncClient, QUEUE_PROPERTIES, properties);
+
+        startRunnableInThread(retriever::run, thread -> {
+            // assert
+            assertThat(receiveMessageRequested.await(500, TimeUnit.MILLISECONDS)).isTrue();
+        });
+    }
+
+    @Test
+    void prefetchedMessagesWhoseVisibilityTimeoutHasExpiredWillNotBeGivenToConsumers() {
+        // arrange
+        final Message expiredMessage = Message.builder().receiptHandle("expired").build();
+        final Message unexpiredMessage = Message.builder().receiptHandle("unexpired").build();
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(mockReceiveMessageResponse(expiredMessage))
+                .thenReturn(mockReceiveMessageResponse(unexpiredMessage))
+                .thenReturn(new CompletableFuture<>());
+        when(sqsAsyncClient.changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder().build()));
+        final StaticPrefetchingMessageRetrieverProperties properties = DEFAULT_PREFETCHING_PROPERTIES.toBuilder()
+                .maxPrefetchedMessages(1)
+                .messageVisibilityTimeoutInSeconds(1)
+                .build();
+        final PrefetchingMessageRetriever retriever = new PrefetchingMessageRetriever(sqsAsyncClient, QUEUE_PROPERTIES, properties);
+
+        startRunnableInThread(retriever::run, thread -> {
+            waitUntilThreadInState(thread, Thread.State.WAITING);
+            Thread.sleep(1100);
+
+            // act
+            final Message message = retriever.retrieveMessage().get(5, TimeUnit.SECONDS);
+
+            // assert
+            assertThat(message).isSameAs(unexpiredMessage);
+        });
+    }
+
+    @Test
+    void prefetchedMessagesWhoseVisibilityTimeoutHasExpiredWillBeReleasedBackToTheQueue() {
+        // arrange
+        final Message expiredMessage = Message.builder().receiptHandle("expired").build();
+        final Message unexpiredMessage = Message.builder().receiptHandle("unexpired").build();
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(mockReceiveMessageResponse(expiredMessage))
+                .thenReturn(mockReceiveMessageResponse(unexpiredMessage))
+                .thenReturn(new CompletableFuture<>());
+        when(sqsAsyncClient.changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder().build()));
+        final StaticPrefetchingMessageRetrieverProperties properties = DEFAULT_PREFETCHING_PROPERTIES.toBuilder()
+                .maxPrefetchedMessages(1)
+                .messageVisibilityTimeoutInSeconds(1)
+                .build();
+        final PrefetchingMessageRetriever retriever = new PrefetchingMessageRetriever(sqsAsyncClient, QUEUE_PROPERTIES, properties);
+
+        startRunnableInThread(retriever::run, thread -> {
+            waitUntilThreadInState(thread, Thread.State.WAITING);
+            Thread.sleep(1100);
+
+            // act
+            retriever.retrieveMessage().get(5, TimeUnit.SECONDS);
+
+            // assert
+            final ArgumentCaptor<ChangeMessageVisibilityBatchRequest> requestCaptor = ArgumentCaptor.forClass(ChangeMessageVisibilityBatchRequest.class);
+            verify(sqsAsyncClient).changeMessageVisibilityBatch(requestCaptor.capture());
+            assertThat(requestCaptor.getValue().entries()).hasSize(1);
+            assertThat(requestCaptor.getValue().entries().get(0).receiptHandle()).isEqualTo("expired");
+            assertThat(requestCaptor.getValue().entries().get(0).visibilityTimeout()).isEqualTo(0);
+        });
+    }
+
+    @Test
+    void visibilityDeadlinesOfReceivedMessagesAreRecordedInTheProvidedDeadlines() {
+        // arrange
+        final Message message = Message.builder().receiptHandle("handle").build();
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(mockReceiveMessageResponse(message))
+                .thenReturn(new CompletableFuture<>());
+        final StaticPrefetchingMessageRetrieverProperties properties = DEFAULT_PREFETCHING_PROPERTIES.toBuilder()
+                .maxPrefetchedMessages(1)
+                .messageVisibilityTimeoutInSeconds(30)
+                .build();
+        final MessageVisibilityDeadlines visibilityDeadlines = new MessageVisibilityDeadlines();
+        final PrefetchingMessageRetriever retriever = new PrefetchingMessageRetriever(sqsAsyncClient, QUEUE_PROPERTIES, properties, visibilityDeadlines);
+
+        startRunnableInThread(retriever::run, thread -> {
+            // act
+            final Message retrievedMessage = retriever.retrieveMessage().get(5, TimeUnit.SECONDS);
+
+            // assert
+            assertThat(visibilityDeadlines.getVisibilityDeadline(retrievedMessage)).isNotNull();
+        });
+    }
+
+    @Test
+    void visibilityTimeoutOfPrefetchedMessagesIsMeasuredFromWhenTheResponseIsReceived() {
+        // arrange
+        final Message message = Message.builder().receiptHandle("handle").build();
+        final CompletableFuture<ReceiveMessageResponse> longPollResponse = new CompletableFuture<>();
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(longPollResponse)
+                .thenReturn(new CompletableFuture<>());
+        final StaticPrefetchingMessageRetrieverProperties properties = DEFAULT_PREFETCHING_PROPERTIES.toBuilder()
+                .maxPrefetchedMessages(1)
+                .messageVisibilityTimeoutInSeconds(2)
+                .prefetchedMessageExpiryBufferInSeconds(1)
+                .build();
+        final PrefetchingMessageRetriever retriever = new PrefetchingMessageRetriever(sqsAsyncClient, QUEUE_PROPERTIES, properties);
+
+        startRunnableInThread(retriever::run, thread -> {
+            waitUntilThreadInState(thread, Thread.State.WAITING);
+            Thread.sleep(1500);
+            longPollResponse.complete(ReceiveMessageResponse.builder().messages(message).build());
+
+            // act
+            final Message retrievedMessage = retriever.retrieveMessage().get(5, TimeUnit.SECONDS);
+
+            // assert
+            assertThat(retrievedMessage).isSameAs(message);
+            verify(sqsAsyncClient, never()).changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class));
+        });
+    }
+
+    @Test
+    void prefetchedMessagesWhoseVisibilityTimeoutIsAboutToExpireWillBeReleasedBackToTheQueue() {
+        // arrange
+        final Message expiringMessage = Message.builder().receiptHandle("expiring").build();
+        final Message unexpiredMessage = Message.builder().receiptHandle("unexpired").build();
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(mockReceiveMessageResponse(expiringMessage))
+                .thenReturn(mockReceiveMessageResponse(unexpiredMessage))
+                .thenReturn(new CompletableFuture<>());
+        when(sqsAsyncClient.changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder().build()));
+        final StaticPrefetchingMessageRetrieverProperties properties = DEFAULT_PREFETCHING_PROPERTIES.toBuilder()
+                .maxPrefetchedMessages(1)
+                .messageVisibilityTimeoutInSeconds(10)
+                .prefetchedMessageExpiryBufferInSeconds(9)
+                .build();
+        final PrefetchingMessageRetriever retriever = new PrefetchingMessageRetriever(sqsAsyncClient, QUEUE_PROPERTIES, properties);
+
+        startRunnableInThread(retriever::run, thread -> {
+            waitUntilThreadInState(thread, Thread.State.WAITING);
+            Thread.sleep(1100);
+
+            // act
+            final Message message = retriever.retrieveMessage().get(5, TimeUnit.SECONDS);
+
+            // assert
+            assertThat(message).isSameAs(unexpiredMessage);
+            final ArgumentCaptor<ChangeMessageVisibilityBatchRequest> requestCaptor = ArgumentCaptor.forClass(ChangeMessageVisibilityBatchRequest.class);
+            verify(sqsAsyncClient).changeMessageVisibilityBatch(requestCaptor.capture());
+            assertThat(requestCaptor.getValue().entries()).hasSize(1);
+            assertThat(requestCaptor.getValue().entries().get(0).receiptHandle()).isEqualTo("expiring");
+            assertThat(requestCaptor.getValue().entries().get(0).visibilityTimeout()).isEqualTo(0);
+        });
+    }
+
+    @Test
+    void prefetchedMessagesWithEnoughVisibilityTimeoutRemainingWillBeGivenToConsumers() {
+        // arrange
+        final Message firstMessage = Message.builder().receiptHandle("first").build();
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(mockReceiveMessageResponse(firstMessage))
+                .thenReturn(new CompletableFuture<>());
+        final StaticPrefetchingMessageRetrieverProperties properties = DEFAULT_PREFETCHING_PROPERTIES.toBuilder()
+                .maxPrefetchedMessages(1)
+                .messageVisibilityTimeoutInSeconds(30)
+                .prefetchedMessageExpiryBufferInSeconds(5)
+                .build();
+        final PrefetchingMessageRetriever retriever = new PrefetchingMessageRetriever(sqsAsyncClient, QUEUE_PROPERTIES, properties);
+
+        startRunnableInThread(retriever::run, thread -> {
+            waitUntilThreadInState(thread, Thread.State.WAITING);
+
+            // act
+            final Message message = retriever.retrieveMessage().get(5, TimeUnit.SECONDS);
+
+            // assert
+            assertThat(message).isSameAs(firstMessage);
+            verify(sqsAsyncClient, never()).changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class));
+        });
+    }
+
     private List<Message> runRetrieverUntilLatch(final PrefetchingMessageRetriever retriever, final CountDownLatch latch) {
         try {
             final CompletableFuture<List<Message>> future = CompletableFuture.supplyAsync(retriever::run, executorService);
@@ -22,9 +22,11 @@ import java.util.List;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.IntStream;
 
 @Slf4j
@@ -164,6 +166,177 @@ class PrefetchingMessageFutureConsumerQueueTest {
         assertThat(messagesCompleted).hasSize(totalMessages);
     }
 
+    @Test
+    void allMessagesAreResolvedWhenManyThreadsAreSubmittingCompletableFutures() throws Exception {
+        // arrange
+        final int numberOfFutureThreads = 16;
+        final int futuresPerThread = 500;
+        final int totalMessages = numberOfFutureThreads * futuresPerThread;
+        final PrefetchingMessageFutureConsumerQueue prefetchingMessageRetriever = new PrefetchingMessageFutureConsumerQueue(5);
+        final ExecutorService executorService = Executors.newCachedThreadPool();
+        final Set<String> messagesCompleted = Sets.newConcurrentHashSet();
+        final List<CompletableFuture<Message>> allFutures = new CopyOnWriteArrayList<>();
+
+        // act
+        executorService.submit(() -> {
+            for (int index = 0; index < totalMessages; ++index) {
+                try {
+                    prefetchingMessageRetriever.pushMessage(Message.builder().body(String.valueOf(index)).build());
+                } catch (final InterruptedException interruptedException) {
+                    return;
+                }
+            }
+        });
+        IntStream.range(0, numberOfFutureThreads).forEach(threadIndex -> executorService.submit(() -> {
+            for (int index = 0; index < futuresPerThread; ++index) {
+                final CompletableFuture<Message> completableFuture = new CompletableFuture<>();
+                allFutures.add(completableFuture);
+                completableFuture.thenAccept(message -> messagesCompleted.add(message.body()));
+                prefetchingMessageRetriever.pushCompletableFuture(completableFuture);
+            }
+        }));
+        executorService.shutdown();
+        assertThat(executorService.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture.allOf(allFutures.toArray(new CompletableFuture<?>[0])).get(1, TimeUnit.SECONDS);
+
+        // assert
+        assertThat(messagesCompleted).hasSize(totalMessages);
+        assertThat(prefetchingMessageRetriever.getNumberOfBatchedMessages()).isEqualTo(0);
+        assertThat(prefetchingMessageRetriever.drain().getKey()).isEmpty();
+    }
+
+    @Test
+    void messagesAreResolvedInTheOrderThatTheyWereAddedWhenWrappingAroundTheInternalBuffer() throws Exception {
+        // arrange
+        final PrefetchingMessageFutureConsumerQueue prefetchingMessageRetriever = new PrefetchingMessageFutureConsumerQueue(3);
+        final List<String> messagesCompleted = Lists.newArrayList();
+
+        // act
+        for (int index = 0; index < 20; ++index) {
+            prefetchingMessageRetriever.pushMessage(Message.builder().body(String.valueOf(index)).build());
+            if (index % 3 == 2) {
+                for (int futureIndex = 0; futureIndex < 3; ++futureIndex) {
+                    final CompletableFuture<Message> completableFuture = new CompletableFuture<>();
+                    prefetchingMessageRetriever.pushCompletableFuture(completableFuture);
+                    messagesCompleted.add(completableFuture.get().body());
+                }
+            }
+        }
+
+        // assert
+        assertThat(messagesCompleted).containsExactly(IntStream.range(0, 18).mapToObj(String::valueOf).toArray(String[]::new));
+        assertThat(prefetchingMessageRetriever.drain().getValue()).extracting(Message::body).containsExactly("18", "19");
+    }
+
+    @Test
+    void threadWaitingForFreeSlotWillThrowInterruptedExceptionWhenInterrupted() throws InterruptedException {
+        // arrange
+        final PrefetchingMessageFutureConsumerQueue prefetchingMessageRetriever = new PrefetchingMessageFutureConsumerQueue(1);
+        prefetchingMessageRetriever.pushMessage(Message.builder().build());
+        final AtomicBoolean wasInterrupted = new AtomicBoolean(false);
+        thread = new Thread(() -> {
+            try {
+                prefetchingMessageRetriever.blockUntilFreeSlotForMessage();
+            } catch (InterruptedException interruptedException) {
+                wasInterrupted.set(true);
+            }
+        });
+        thread.start();
+        waitUntilThreadInState(thread, WAITING);
+
+        // act
+        thread.interrupt();
+
+        // assert
+        waitUntilThreadInState(thread, TERMINATED);
+        assertThat(wasInterrupted).isTrue();
+        assertThat(prefetchingMessageRetriever.getNumberOfBatchedMessages()).isEqualTo(1);
+    }
+
+    @Test
+    void whenBatchedMessagesReachTheByteCapacityWaitingForFreeSlotIsBlocked() throws InterruptedException {
+        // arrange
+        final PrefetchingMessageFutureConsumerQueue prefetchingMessageRetriever = new PrefetchingMessageFutureConsumerQueue(10, 5L);
+        prefetchingMessageRetriever.pushMessage(Message.builder().body("123456").build());
+
+        // act
+        thread = new Thread(() -> {
+            try {
+                prefetchingMessageRetriever.blockUntilFreeSlotForMessage();
+            } catch (InterruptedException e) {
+                // do nothing
+            }
+        });
+        thread.start();
+
+        // assert
+        waitUntilThreadInState(thread, WAITING);
+    }
+
+    @Test
+    void whenBatchedMessagesReachTheByteCapacityWaitingForFreeSlotStopsWhenMessageIsConsumed() throws InterruptedException {
+        // arrange
+        final PrefetchingMessageFutureConsumerQueue prefetchingMessageRetriever = new PrefetchingMessageFutureConsumerQueue(10, 5L);
+        prefetchingMessageRetriever.pushMessage(Message.builder().body("123456").build());
+        thread = new Thread(() -> {
+            try {
+                prefetchingMessageRetriever.blockUntilFreeSlotForMessage();
+            } catch (InterruptedException e) {
+                // do nothing
+            }
+        });
+        thread.start();
+        waitUntilThreadInState(thread, WAITING);
+
+        // act
+        prefetchingMessageRetriever.pushCompletableFuture(new CompletableFuture<>());
+
+        // assert
+        waitUntilThreadInState(thread, TERMINATED);
+    }
+
+    @Test
+    void pushingMessagesIsNotBlockedByTheByteCapacity() throws InterruptedException {
+        // arrange
+        final PrefetchingMessageFutureConsumerQueue prefetchingMessageRetriever = new PrefetchingMessageFutureConsumerQueue(10, 1L);
+
+        // act
+        prefetchingMessageRetriever.pushMessage(Message.builder().body("first").build());
+        prefetchingMessageRetriever.pushMessage(Message.builder().body("second").build());
+
+        // assert
+        assertThat(prefetchingMessageRetriever.getNumberOfBatchedMessages()).isEqualTo(2);
+    }
+
+    @Test
+    void sizeOfBatchedMessagesIsTrackedWhenThereIsAByteCapacity() throws Exception {
+        // arrange
+        final PrefetchingMessageFutureConsumerQueue prefetchingMessageRetriever = new PrefetchingMessageFutureConsumerQueue(10, 100L);
+        prefetchingMessageRetriever.pushMessage(Message.builder().body("first").build());
+        prefetchingMessageRetriever.pushMessage(Message.builder().body("second").build());
+        final long initialBatchedBytes = prefetchingMessageRetriever.getNumberOfBatchedBytes();
+
+        // act
+        prefetchingMessageRetriever.pushCompletableFuture(new CompletableFuture<>());
+
+        // assert
+        assertThat(initialBatchedBytes).isEqualTo(11);
+        assertThat(prefetchingMessageRetriever.getNumberOfBatchedBytes()).isEqualTo(6);
+    }
+
+    @Test
+    void messageMatchedWithWaitingCompletableFutureIsNotIncludedInBatchedBytes() throws Exception {
+        // arrange
+        final PrefetchingMessageFutureConsumerQueue prefetchingMessageRetriever = new PrefetchingMessageFutureConsumerQueue(10, 100L);
+        prefetchingMessageRetriever.pushCompletableFuture(new CompletableFuture<>());
+
+        // act
+        prefetchingMessageRetriever.pushMessage(Message.builder().body("first").build());
+
+        // assert
+        assertThat(prefetchingMessageRetriever.getNumberOfBatchedBytes()).isEqualTo(0);
+    }
+
     @Test
     void drainingQueueWhenExtraCompletableFuturesWillReturnThem() {
         // arrange
@@ -0,0 +1,201 @@
+package com.jashmore.sqs.retriever.release;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.jashmore.sqs.QueueProperties;
+import com.jashmore.sqs.retriever.MessageRetriever;
+import com.jashmore.sqs.util.concurrent.CompletableFutureUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@ExtendWith(MockitoExtension.class)
+class ReleaseOnShutdownMessageRetrieverTest {
+    private static final QueueProperties QUEUE_PROPERTIES = QueueProperties.builder()
+            .queueUrl("queueUrl")
+            .build();
+
+    @Mock
+    private MessageRetriever delegate;
+
+    @Mock
+    private SqsAsyncClient sqsAsyncClient;
+
+    private ReleaseOnShutdownMessageRetriever messageRetriever;
+
+    @BeforeEach
+    void setUp() {
+        messageRetriever = new ReleaseOnShutdownMessageRetriever(delegate, QUEUE_PROPERTIES, sqsAsyncClient);
+    }
+
+    @Test
+    void retrievingMessageIsPerformedByDelegate() {
+        // arrange
+        final CompletableFuture<Message> delegateFuture = new CompletableFuture<>();
+        when(delegate.retrieveMessage()).thenReturn(delegateFuture);
+
+        // act
+        final CompletableFuture<Message> messageFuture = messageRetriever.retrieveMessage();
+
+        // assert
+        assertThat(messageFuture).isSameAs(delegateFuture);
+    }
+
+    @Test
+    void whenThereAreNoExtraMessagesNothingIsReleased() {
+        // arrange
+        when(delegate.run()).thenReturn(Collections.emptyList());
+
+        // act
+        final List<Message> extraMessages = messageRetriever.run();
+
+        // assert
+        assertThat(extraMessages).isEmpty();
+        verify(sqsAsyncClient, never()).changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class));
+    }
+
+    @Test
+    void extraMessagesAreReleasedInBatchesWithZeroVisibilityTimeout() {
+        // arrange
+        final List<Message> messages = buildMessages(15);
+        when(delegate.run()).thenReturn(messages);
+        when(sqsAsyncClient.changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder().build()));
+
+        // act
+        final List<Message> extraMessages = messageRetriever.run();
+
+        // assert
+        assertThat(extraMessages).isEmpty();
+        final ArgumentCaptor<ChangeMessageVisibilityBatchRequest> requestCaptor = ArgumentCaptor.forClass(ChangeMessageVisibilityBatchRequest.class);
+        verify(sqsAsyncClient, times(2)).changeMessageVisibilityBatch(requestCaptor.capture());
+        final List<ChangeMessageVisibilityBatchRequest> requests = requestCaptor.getAllValues();
+        assertThat(requests.get(0).queueUrl()).isEqualTo("queueUrl");
+        assertThat(requests.get(0).entries()).hasSize(10);
+        assertThat(requests.get(1).entries()).hasSize(5);
+        assertThat(requests.stream().flatMap(request -> request.entries().stream()).map(ChangeMessageVisibilityBatchRequestEntry::receiptHandle))
+                .containsExactlyElementsOf(messages.stream().map(Message::receiptHandle).collect(toList()));
+        assertThat(requests.stream().flatMap(request -> request.entries().stream()).map(ChangeMessageVisibilityBatchRequestEntry::visibilityTimeout))
+                .containsOnly(0);
+    }
+
+    @Test
+    void messagesAreReleasedWithoutTheThreadBeingInterruptedWhenTheDelegateExitsDueToAnInterrupt() {
+        // arrange
+        final List<Boolean> threadInterruptedWhenReleasing = new ArrayList<>();
+        when(delegate.run()).thenAnswer(invocation -> {
+            Thread.currentThread().interrupt();
+            return buildMessages(1);
+        });
+        when(sqsAsyncClient.changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class))).thenAnswer(invocation -> {
+            threadInterruptedWhenReleasing.add(Thread.currentThread().isInterrupted());
+            return CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder().build());
+        });
+
+        // act
+        final List<Message> extraMessages = messageRetriever.run();
+
+        // assert
+        assertThat(Thread.interrupted()).isTrue();
+        assertThat(extraMessages).isEmpty();
+        assertThat(threadInterruptedWhenReleasing).containsExactly(false);
+    }
+
+    @Test
+    void batchesAreReleasedInParallel() throws Exception {
+        // arrange
+        when(delegate.run()).thenReturn(buildMessages(20));
+        final CompletableFuture<ChangeMessageVisibilityBatchResponse> firstResponse = new CompletableFuture<>();
+        final CompletableFuture<ChangeMessageVisibilityBatchResponse> secondResponse = new CompletableFuture<>();
+        when(sqsAsyncClient.changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class)))
+                .thenReturn(firstResponse)
+                .thenReturn(secondResponse);
+
+        // act
+        final CompletableFuture<List<Message>> runFuture = CompletableFuture.supplyAsync(messageRetriever::run);
+
+        // assert
+        verify(sqsAsyncClient, timeout(5000).times(2)).changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class));
+        assertThat(runFuture).isNotDone();
+        firstResponse.complete(ChangeMessageVisibilityBatchResponse.builder().build());
+        secondResponse.complete(ChangeMessageVisibilityBatchResponse.builder().build());
+        assertThat(runFuture.get(5, TimeUnit.SECONDS)).isEmpty();
+    }
+
+    @Test
+    void messagesThatFailedToBeReleasedAreReturned() {
+        // arrange
+        final List<Message> messages = buildMessages(3);
+        when(delegate.run()).thenReturn(messages);
+        when(sqsAsyncClient.changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder()
+                        .failed(BatchResultErrorEntry.builder().id("1").message("Expected Test Error").build())
+                        .build()));
+
+        // act
+        final List<Message> extraMessages = messageRetriever.run();
+
+        // assert
+        assertThat(extraMessages).containsExactly(messages.get(1));
+    }
+
+    @Test
+    void allMessagesInBatchAreReturnedWhenTheRequestFails() {
+        // arrange
+        final List<Message> messages = buildMessages(12);
+        when(delegate.run()).thenReturn(messages);
+        when(sqsAsyncClient.changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder().build()))
+                .thenReturn(CompletableFutureUtils.completedExceptionally(new RuntimeException("Expected Test Exception")));
+
+        // act
+        final List<Message> extraMessages = messageRetriever.run();
+
+        // assert
+        assertThat(extraMessages).containsExactlyElementsOf(messages.subList(10, 12));
+    }
+
+    @Test
+    void allMessagesInBatchAreReturnedWhenTheClientThrowsAnException() {
+        // arrange
+        final List<Message> messages = buildMessages(2);
+        when(delegate.run()).thenReturn(messages);
+        when(sqsAsyncClient.changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class)))
+                .thenThrow(new RuntimeException("Expected Test Exception"));
+
+        // act
+        final List<Message> extraMessages = messageRetriever.run();
+
+        // assert
+        assertThat(extraMessages).containsExactlyElementsOf(messages);
+    }
+
+    private static List<Message> buildMessages(final int numberOfMessages) {
+        return IntStream.range(0, numberOfMessages)
+                .mapToObj(index -> Message.builder().messageId("id" + index).receiptHandle("handle" + index).build())
+                .collect(toList());
+    }
+}
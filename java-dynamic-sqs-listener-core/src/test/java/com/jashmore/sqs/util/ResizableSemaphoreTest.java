@@ -113,4 +113,29 @@ class ResizableSemaphoreTest {
         // assert
         assertThat(resizableSemaphore.availablePermits()).isEqualTo(1);
     }
+
+    @Test
+    void permitsInUseIsTheNumberOfPermitsAcquired() throws InterruptedException {
+        // arrange
+        final ResizableSemaphore resizableSemaphore = new ResizableSemaphore(5);
+
+        // act
+        resizableSemaphore.acquire(2);
+
+        // assert
+        assertThat(resizableSemaphore.getPermitsInUse()).isEqualTo(2);
+    }
+
+    @Test
+    void permitsInUseIncludesPermitsAcquiredBeforePermitSizeWasReduced() throws InterruptedException {
+        // arrange
+        final ResizableSemaphore resizableSemaphore = new ResizableSemaphore(2);
+        resizableSemaphore.acquire(2);
+
+        // act
+        resizableSemaphore.changePermitSize(1);
+
+        // assert
+        assertThat(resizableSemaphore.getPermitsInUse()).isEqualTo(2);
+    }
 }
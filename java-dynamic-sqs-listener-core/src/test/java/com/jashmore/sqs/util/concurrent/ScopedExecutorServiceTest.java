@@ -0,0 +1,146 @@
+package com.jashmore.sqs.util.concurrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class ScopedExecutorServiceTest {
+    private ExecutorService sharedExecutorService;
+
+    @BeforeEach
+    void setUp() {
+        sharedExecutorService = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sharedExecutorService.shutdownNow();
+    }
+
+    @Test
+    void tasksAreRunOnTheSharedExecutor() throws Exception {
+        // arrange
+        final ScopedExecutorService scopedExecutorService = new ScopedExecutorService(sharedExecutorService);
+
+        // act
+        final String threadName = scopedExecutorService.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+
+        // assert
+        assertThat(threadName).startsWith("pool-");
+    }
+
+    @Test
+    void shuttingDownDoesNotShutdownTheSharedExecutor() throws Exception {
+        // arrange
+        final ScopedExecutorService scopedExecutorService = new ScopedExecutorService(sharedExecutorService);
+
+        // act
+        scopedExecutorService.shutdownNow();
+
+        // assert
+        assertThat(scopedExecutorService.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(sharedExecutorService.isShutdown()).isFalse();
+    }
+
+    @Test
+    void tasksSubmittedAfterShutdownAreRejected() {
+        // arrange
+        final ScopedExecutorService scopedExecutorService = new ScopedExecutorService(sharedExecutorService);
+        scopedExecutorService.shutdown();
+
+        // act
+        assertThrows(RejectedExecutionException.class, () -> scopedExecutorService.execute(() -> { }));
+    }
+
+    @Test
+    void awaitingTerminationWillWaitForRunningTasksToComplete() throws Exception {
+        // arrange
+        final ScopedExecutorService scopedExecutorService = new ScopedExecutorService(sharedExecutorService);
+        final CountDownLatch taskStarted = new CountDownLatch(1);
+        final CountDownLatch releaseTask = new CountDownLatch(1);
+        scopedExecutorService.execute(() -> {
+            taskStarted.countDown();
+            try {
+                releaseTask.await();
+            } catch (final InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertThat(taskStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        scopedExecutorService.shutdown();
+
+        // act
+        final boolean terminatedBeforeTaskReleased = scopedExecutorService.awaitTermination(100, TimeUnit.MILLISECONDS);
+        releaseTask.countDown();
+        final boolean terminatedAfterTaskReleased = scopedExecutorService.awaitTermination(5, TimeUnit.SECONDS);
+
+        // assert
+        assertThat(terminatedBeforeTaskReleased).isFalse();
+        assertThat(terminatedAfterTaskReleased).isTrue();
+    }
+
+    @Test
+    void shutdownNowOnlyInterruptsTasksSubmittedThroughThisService() throws Exception {
+        // arrange
+        final ScopedExecutorService scopedExecutorService = new ScopedExecutorService(sharedExecutorService);
+        final ScopedExecutorService otherScopedExecutorService = new ScopedExecutorService(sharedExecutorService);
+        final CountDownLatch tasksStarted = new CountDownLatch(2);
+        final AtomicBoolean scopedTaskInterrupted = new AtomicBoolean();
+        final AtomicBoolean otherTaskInterrupted = new AtomicBoolean();
+        scopedExecutorService.execute(() -> sleepUntilInterrupted(tasksStarted, scopedTaskInterrupted));
+        otherScopedExecutorService.execute(() -> sleepUntilInterrupted(tasksStarted, otherTaskInterrupted));
+        assertThat(tasksStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // act
+        scopedExecutorService.shutdownNow();
+        scopedExecutorService.awaitTermination(5, TimeUnit.SECONDS);
+
+        // assert
+        assertThat(scopedTaskInterrupted).isTrue();
+        assertThat(otherTaskInterrupted).isFalse();
+        otherScopedExecutorService.shutdownNow();
+    }
+
+    @Test
+    void tasksThatHaveNotStartedWhenShutdownNowIsCalledAreNotRun() throws Exception {
+        // arrange
+        final ExecutorService singleThreadExecutorService = Executors.newSingleThreadExecutor();
+        final ScopedExecutorService scopedExecutorService = new ScopedExecutorService(singleThreadExecutorService);
+        final CountDownLatch firstTaskStarted = new CountDownLatch(1);
+        final AtomicBoolean secondTaskRun = new AtomicBoolean();
+        try {
+            scopedExecutorService.execute(() -> sleepUntilInterrupted(firstTaskStarted, new AtomicBoolean()));
+            scopedExecutorService.execute(() -> secondTaskRun.set(true));
+            assertThat(firstTaskStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // act
+            scopedExecutorService.shutdownNow();
+            final boolean terminated = scopedExecutorService.awaitTermination(5, TimeUnit.SECONDS);
+
+            // assert
+            assertThat(terminated).isTrue();
+            assertThat(secondTaskRun).isFalse();
+        } finally {
+            singleThreadExecutorService.shutdownNow();
+        }
+    }
+
+    private static void sleepUntilInterrupted(final CountDownLatch taskStarted, final AtomicBoolean interrupted) {
+        taskStarted.countDown();
+        try {
+            Thread.sleep(10_000);
+        } catch (final InterruptedException interruptedException) {
+            interrupted.set(true);
+        }
+    }
+}
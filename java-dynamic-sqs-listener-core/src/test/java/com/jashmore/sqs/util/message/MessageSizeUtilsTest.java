@@ -0,0 +1,83 @@
+package com.jashmore.sqs.util.message;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+
+import java.nio.charset.StandardCharsets;
+
+class MessageSizeUtilsTest {
+    @Test
+    void sizeOfMessageWithOnlyBodyIsTheNumberOfBytesInTheBody() {
+        // arrange
+        final Message message = Message.builder().body("body").build();
+
+        // act
+        final long sizeInBytes = MessageSizeUtils.calculateSizeInBytes(message);
+
+        // assert
+        assertThat(sizeInBytes).isEqualTo(4);
+    }
+
+    @Test
+    void sizeOfMessageWithoutBodyIsZero() {
+        // act
+        final long sizeInBytes = MessageSizeUtils.calculateSizeInBytes(Message.builder().build());
+
+        // assert
+        assertThat(sizeInBytes).isEqualTo(0);
+    }
+
+    @Test
+    void sizeOfBodyIsTheNumberOfBytesWhenEncodedInUtf8() {
+        // arrange
+        final String body = "aé€😀";
+        final Message message = Message.builder().body(body).build();
+
+        // act
+        final long sizeInBytes = MessageSizeUtils.calculateSizeInBytes(message);
+
+        // assert
+        assertThat(sizeInBytes).isEqualTo(body.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    void sizeIncludesMessageAttributes() {
+        // arrange
+        final Message message = Message.builder()
+                .body("body")
+                .messageAttributes(ImmutableMap.of(
+                        "key", MessageAttributeValue.builder().dataType("String").stringValue("value").build(),
+                        "binary", MessageAttributeValue.builder().dataType("Binary").binaryValue(SdkBytes.fromByteArray(new byte[10])).build()
+                ))
+                .build();
+
+        // act
+        final long sizeInBytes = MessageSizeUtils.calculateSizeInBytes(message);
+
+        // assert
+        assertThat(sizeInBytes).isEqualTo("body".length() + "key".length() + "String".length() + "value".length()
+                + "binary".length() + "Binary".length() + 10);
+    }
+
+    @Test
+    void sizeIncludesMessageSystemAttributes() {
+        // arrange
+        final Message message = Message.builder()
+                .body("body")
+                .attributes(ImmutableMap.of(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT, "1"))
+                .build();
+
+        // act
+        final long sizeInBytes = MessageSizeUtils.calculateSizeInBytes(message);
+
+        // assert
+        assertThat(sizeInBytes).isEqualTo("body".length() + MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT.toString().length() + 1);
+    }
+}
@@ -0,0 +1,53 @@
+package com.jashmore.sqs.util.message;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.concurrent.TimeUnit;
+
+class MessageVisibilityDeadlinesTest {
+    private final MessageVisibilityDeadlines visibilityDeadlines = new MessageVisibilityDeadlines();
+
+    @Test
+    void deadlineOfMessageThatWasNotRecordedIsNotKnown() {
+        // arrange
+        final Message message = Message.builder().receiptHandle("handle").build();
+
+        // act
+        final Long visibilityDeadline = visibilityDeadlines.getVisibilityDeadline(message);
+
+        // assert
+        assertThat(visibilityDeadline).isNull();
+    }
+
+    @Test
+    void deadlineIsTheVisibilityTimeoutAfterTheMessageWasReceived() {
+        // arrange
+        final Message message = Message.builder().receiptHandle("handle").build();
+        final long timeBeforeReceive = System.nanoTime();
+
+        // act
+        visibilityDeadlines.recordReceived(message, 30);
+
+        // assert
+        final long timeAfterReceive = System.nanoTime();
+        assertThat(visibilityDeadlines.getVisibilityDeadline(message))
+                .isBetween(timeBeforeReceive + TimeUnit.SECONDS.toNanos(30), timeAfterReceive + TimeUnit.SECONDS.toNanos(30));
+    }
+
+    @Test
+    void messagesAreComparedByIdentity() {
+        // arrange
+        final Message message = Message.builder().receiptHandle("handle").build();
+        final Message equalMessage = message.toBuilder().build();
+
+        // act
+        visibilityDeadlines.recordReceived(message, 30);
+
+        // assert
+        assertThat(equalMessage).isEqualTo(message);
+        assertThat(visibilityDeadlines.getVisibilityDeadline(equalMessage)).isNull();
+    }
+}
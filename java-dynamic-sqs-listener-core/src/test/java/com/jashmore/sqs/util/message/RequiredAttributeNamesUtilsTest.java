@@ -0,0 +1,215 @@
+package com.jashmore.sqs.util.message;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jashmore.sqs.argument.ArgumentResolver;
+import com.jashmore.sqs.argument.ArgumentResolverService;
+import com.jashmore.sqs.argument.DelegatingArgumentResolverService;
+import com.jashmore.sqs.argument.attribute.MessageAttribute;
+import com.jashmore.sqs.argument.attribute.MessageSystemAttribute;
+import com.jashmore.sqs.argument.messageid.MessageId;
+import com.jashmore.sqs.argument.payload.Payload;
+import com.jashmore.sqs.argument.payload.PayloadArgumentResolver;
+import com.jashmore.sqs.argument.payload.mapper.JacksonPayloadMapper;
+import com.jashmore.sqs.argument.payload.mapper.decoder.ContentDecoders;
+import com.jashmore.sqs.argument.payload.mapper.decoder.ContentEncodingPayloadDecoder;
+import com.jashmore.sqs.argument.payload.mapper.decoder.PayloadDecoder;
+import com.jashmore.sqs.processor.argument.Acknowledge;
+import com.jashmore.sqs.processor.argument.VisibilityExtender;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+
+import java.lang.reflect.Method;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
+class RequiredAttributeNamesUtilsTest {
+    private final ArgumentResolverService argumentResolverService = buildArgumentResolverService(new ContentEncodingPayloadDecoder());
+
+    @Test
+    void noAttributesAreRequiredWhenParametersDoNotUseAttributes() throws Exception {
+        // arrange
+        final Method method = getMethod("noPayloadMethod", String.class, Acknowledge.class, VisibilityExtender.class);
+
+        // act
+        final Optional<Set<String>> messageAttributeNames = RequiredAttributeNamesUtils.getRequiredMessageAttributeNames(method, argumentResolverService);
+        final Optional<Set<MessageSystemAttributeName>> messageSystemAttributeNames = RequiredAttributeNamesUtils.getRequiredMessageSystemAttributeNames(method);
+
+        // assert
+        assertThat(messageAttributeNames).hasValueSatisfying(names -> assertThat(names).isEmpty());
+        assertThat(messageSystemAttributeNames).hasValueSatisfying(names -> assertThat(names).isEmpty());
+    }
+
+    @Test
+    void messageAttributeNamesInParameterAnnotationsAreRequired() throws Exception {
+        // arrange
+        final Method method = getMethod("attributesMethod", String.class, String.class, String.class, Long.class);
+
+        // act
+        final Optional<Set<String>> messageAttributeNames = RequiredAttributeNamesUtils.getRequiredMessageAttributeNames(method, argumentResolverService);
+
+        // assert
+        assertThat(messageAttributeNames).hasValueSatisfying(names -> assertThat(names).containsExactlyInAnyOrder("first", "second", "contentEncoding"));
+    }
+
+    @Test
+    void contentEncodingMessageAttributeIsRequiredWhenThereIsAPayloadParameter() throws Exception {
+        // arrange
+        final Method method = getMethod("payloadMethod", String.class, String.class, Acknowledge.class, VisibilityExtender.class);
+
+        // act
+        final Optional<Set<String>> messageAttributeNames = RequiredAttributeNamesUtils.getRequiredMessageAttributeNames(method, argumentResolverService);
+        final Optional<Set<MessageSystemAttributeName>> messageSystemAttributeNames = RequiredAttributeNamesUtils.getRequiredMessageSystemAttributeNames(method);
+
+        // assert
+        assertThat(messageAttributeNames)
+                .hasValueSatisfying(names -> assertThat(names).containsExactly(ContentEncodingPayloadDecoder.DEFAULT_CONTENT_ENCODING_ATTRIBUTE_NAME));
+        assertThat(messageSystemAttributeNames).hasValueSatisfying(names -> assertThat(names).isEmpty());
+    }
+
+    @Test
+    void noAttributesAreRequiredForAPayloadParameterWhenTheBodyIsNotDecoded() throws Exception {
+        // arrange
+        final Method method = getMethod("payloadMethod", String.class, String.class, Acknowledge.class, VisibilityExtender.class);
+
+        // act
+        final Optional<Set<String>> messageAttributeNames = RequiredAttributeNamesUtils.getRequiredMessageAttributeNames(method,
+                buildArgumentResolverService(null));
+
+        // assert
+        assertThat(messageAttributeNames).hasValueSatisfying(names -> assertThat(names).isEmpty());
+    }
+
+    @Test
+    void contentEncodingMessageAttributeConfiguredOnTheDecoderIsRequiredWhenThereIsAPayloadParameter() throws Exception {
+        // arrange
+        final Method method = getMethod("payloadMethod", String.class, String.class, Acknowledge.class, VisibilityExtender.class);
+        final PayloadDecoder payloadDecoder = new ContentEncodingPayloadDecoder("encoding", ImmutableMap.of("gzip", ContentDecoders.GZIP));
+
+        // act
+        final Optional<Set<String>> messageAttributeNames = RequiredAttributeNamesUtils.getRequiredMessageAttributeNames(method,
+                buildArgumentResolverService(payloadDecoder));
+
+        // assert
+        assertThat(messageAttributeNames).hasValueSatisfying(names -> assertThat(names).containsExactly("encoding"));
+    }
+
+    @Test
+    void allAttributesMayBeRequiredWhenThePayloadDecoderDoesNotKnowTheAttributesItNeeds() throws Exception {
+        // arrange
+        final Method method = getMethod("payloadMethod", String.class, String.class, Acknowledge.class, VisibilityExtender.class);
+        final PayloadDecoder payloadDecoder = message -> Optional.empty();
+
+        // act
+        final Optional<Set<String>> messageAttributeNames = RequiredAttributeNamesUtils.getRequiredMessageAttributeNames(method,
+                buildArgumentResolverService(payloadDecoder));
+
+        // assert
+        assertThat(messageAttributeNames).isEmpty();
+    }
+
+    @Test
+    void allAttributesMayBeRequiredWhenThePayloadParameterIsResolvedByAnotherArgumentResolver() throws Exception {
+        // arrange
+        final Method method = getMethod("payloadMethod", String.class, String.class, Acknowledge.class, VisibilityExtender.class);
+        final ArgumentResolver<?> payloadArgumentResolver = mock(ArgumentResolver.class);
+        when(payloadArgumentResolver.canResolveParameter(any())).thenReturn(true);
+
+        // act
+        final Optional<Set<String>> messageAttributeNames = RequiredAttributeNamesUtils.getRequiredMessageAttributeNames(method,
+                new DelegatingArgumentResolverService(ImmutableSet.of(payloadArgumentResolver)));
+
+        // assert
+        assertThat(messageAttributeNames).isEmpty();
+    }
+
+    @Test
+    void messageSystemAttributeNamesInParameterAnnotationsAreRequired() throws Exception {
+        // arrange
+        final Method method = getMethod("attributesMethod", String.class, String.class, String.class, Long.class);
+
+        // act
+        final Optional<Set<MessageSystemAttributeName>> messageSystemAttributeNames = RequiredAttributeNamesUtils.getRequiredMessageSystemAttributeNames(method);
+
+        // assert
+        assertThat(messageSystemAttributeNames).contains(EnumSet.of(MessageSystemAttributeName.SENT_TIMESTAMP));
+    }
+
+    @Test
+    void allAttributesMayBeRequiredWhenTheMessageIsAParameter() throws Exception {
+        // arrange
+        final Method method = getMethod("messageMethod", String.class, Message.class);
+
+        // act
+        final Optional<Set<String>> messageAttributeNames = RequiredAttributeNamesUtils.getRequiredMessageAttributeNames(method, argumentResolverService);
+        final Optional<Set<MessageSystemAttributeName>> messageSystemAttributeNames = RequiredAttributeNamesUtils.getRequiredMessageSystemAttributeNames(method);
+
+        // assert
+        assertThat(messageAttributeNames).isEmpty();
+        assertThat(messageSystemAttributeNames).isEmpty();
+    }
+
+    @Test
+    void allAttributesMayBeRequiredWhenAParameterIsResolvedByAnUnknownArgumentResolver() throws Exception {
+        // arrange
+        final Method method = getMethod("unknownParameterMethod", String.class, String.class);
+
+        // act
+        final Optional<Set<String>> messageAttributeNames = RequiredAttributeNamesUtils.getRequiredMessageAttributeNames(method, argumentResolverService);
+
+        // assert
+        assertThat(messageAttributeNames).isEmpty();
+    }
+
+    private static ArgumentResolverService buildArgumentResolverService(final PayloadDecoder payloadDecoder) {
+        return new DelegatingArgumentResolverService(ImmutableSet.of(
+                new PayloadArgumentResolver(new JacksonPayloadMapper(new ObjectMapper(), payloadDecoder))
+        ));
+    }
+
+    private static Method getMethod(final String name, final Class<?>... parameterTypes) throws NoSuchMethodException {
+        return RequiredAttributeNamesUtilsTest.class.getDeclaredMethod(name, parameterTypes);
+    }
+
+    @SuppressWarnings("unused")
+    private void noPayloadMethod(@MessageId final String messageId,
+                                 final Acknowledge acknowledge,
+                                 final VisibilityExtender visibilityExtender) {
+
+    }
+
+    @SuppressWarnings("unused")
+    private void payloadMethod(@Payload final String payload,
+                               @MessageId final String messageId,
+                               final Acknowledge acknowledge,
+                               final VisibilityExtender visibilityExtender) {
+
+    }
+
+    @SuppressWarnings("unused")
+    private void attributesMethod(@MessageAttribute("first") final String first,
+                                  @MessageAttribute("second") final String second,
+                                  @Payload final String payload,
+                                  @MessageSystemAttribute(MessageSystemAttributeName.SENT_TIMESTAMP) final Long sentTimestamp) {
+
+    }
+
+    @SuppressWarnings("unused")
+    private void messageMethod(@Payload final String payload, final Message message) {
+
+    }
+
+    @SuppressWarnings("unused")
+    private void unknownParameterMethod(@Payload final String payload, final String unknown) {
+
+    }
+}
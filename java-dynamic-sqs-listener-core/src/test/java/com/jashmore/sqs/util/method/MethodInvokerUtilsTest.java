@@ -0,0 +1,87 @@
+package com.jashmore.sqs.util.method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+
+class MethodInvokerUtilsTest {
+
+    @Test
+    void boundMethodIsInvokedOnTheBeanWithTheArguments() throws Throwable {
+        // arrange
+        final Method method = MethodInvokerUtilsTest.class.getMethod("concatenate", String.class, int.class);
+        final MethodInvoker methodInvoker = MethodInvokerUtils.bindMethodInvoker(MethodHandles.lookup(), method, this);
+
+        // act
+        final Object result = methodInvoker.invoke(new Object[]{"value", 1});
+
+        // assert
+        assertThat(result).isEqualTo("value1");
+    }
+
+    @Test
+    void staticMethodsCanBeBound() throws Throwable {
+        // arrange
+        final Method method = MethodInvokerUtilsTest.class.getMethod("staticConcatenate", String.class, int.class);
+        final MethodInvoker methodInvoker = MethodInvokerUtils.bindMethodInvoker(MethodHandles.lookup(), method, null);
+
+        // act
+        final Object result = methodInvoker.invoke(new Object[]{"value", 2});
+
+        // assert
+        assertThat(result).isEqualTo("value2");
+    }
+
+    @Test
+    void exceptionThrownByTheMethodIsThrownWithoutBeingWrapped() throws Exception {
+        // arrange
+        final Method method = MethodInvokerUtilsTest.class.getMethod("throwingMethod");
+        final MethodInvoker methodInvoker = MethodInvokerUtils.bindMethodInvoker(MethodHandles.lookup(), method, this);
+
+        // act
+        final IllegalStateException exception = assertThrows(IllegalStateException.class, () -> methodInvoker.invoke(new Object[0]));
+
+        // assert
+        assertThat(exception).hasMessage("Expected Test Exception");
+    }
+
+    @Test
+    void argumentsOfTheWrongTypeWillThrowAnException() throws Exception {
+        // arrange
+        final Method method = MethodInvokerUtilsTest.class.getMethod("concatenate", String.class, int.class);
+        final MethodInvoker methodInvoker = MethodInvokerUtils.bindMethodInvoker(MethodHandles.lookup(), method, this);
+
+        // act
+        assertThrows(ClassCastException.class, () -> methodInvoker.invoke(new Object[]{1, "value"}));
+    }
+
+    @Test
+    void methodThatIsNotAccessibleToTheLookupWillThrowAnExceptionWhenInvoked() throws Exception {
+        // arrange
+        final Method method = MethodInvokerUtilsTest.class.getDeclaredMethod("privateMethod");
+        final MethodInvoker methodInvoker = MethodInvokerUtils.bindMethodInvoker(MethodHandles.publicLookup(), method, this);
+
+        // act
+        assertThrows(IllegalAccessException.class, () -> methodInvoker.invoke(new Object[0]));
+    }
+
+    public String concatenate(final String first, final int second) {
+        return first + second;
+    }
+
+    public static String staticConcatenate(final String first, final int second) {
+        return first + second;
+    }
+
+    public void throwingMethod() {
+        throw new IllegalStateException("Expected Test Exception");
+    }
+
+    private void privateMethod() {
+
+    }
+}
@@ -67,4 +67,26 @@ class PropertyUtilsTest {
             throw new RuntimeException("Expected Test Exception");
         }, 5)).isEqualTo(5);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSafelyGetPositiveDoubleValue() {
+        assertThat(PropertyUtils.safelyGetPositiveDoubleValue("prop", () -> 1.5, 5)).isEqualTo(1.5);
+        assertThat(PropertyUtils.safelyGetPositiveDoubleValue("prop", () -> -1.0, 5)).isEqualTo(5);
+        assertThat(PropertyUtils.safelyGetPositiveDoubleValue("prop", () -> 0.0, 5)).isEqualTo(5);
+        assertThat(PropertyUtils.safelyGetPositiveDoubleValue("prop", () -> null, 5)).isEqualTo(5);
+        assertThat(PropertyUtils.safelyGetPositiveDoubleValue("prop", () -> {
+            throw new RuntimeException("Expected Test Exception");
+        }, 5)).isEqualTo(5);
+    }
+
+    @Test
+    void testSafelyGetPositiveOrZeroDoubleValue() {
+        assertThat(PropertyUtils.safelyGetPositiveOrZeroDoubleValue("prop", () -> 1.5, 5)).isEqualTo(1.5);
+        assertThat(PropertyUtils.safelyGetPositiveOrZeroDoubleValue("prop", () -> -1.0, 5)).isEqualTo(5);
+        assertThat(PropertyUtils.safelyGetPositiveOrZeroDoubleValue("prop", () -> 0.0, 5)).isEqualTo(0);
+        assertThat(PropertyUtils.safelyGetPositiveOrZeroDoubleValue("prop", () -> null, 5)).isEqualTo(5);
+        assertThat(PropertyUtils.safelyGetPositiveOrZeroDoubleValue("prop", () -> {
+            throw new RuntimeException("Expected Test Exception");
+        }, 5)).isEqualTo(5);
+    }
+}
@@ -4,6 +4,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import lombok.experimental.UtilityClass;
 
+import java.lang.reflect.InvocationTargetException;
+
 @UtilityClass
 public class ThreadTestUtils {
 
@@ -29,6 +31,36 @@ public class ThreadTestUtils {
         assertThat(thread.getState()).isEqualTo(expectedState);
     }
 
+    /**
+     * Determine whether the runtime running the tests supports virtual threads, which requires Java 21 or a runtime with the preview feature enabled.
+     *
+     * @return whether virtual threads can be created
+     */
+    public static boolean runtimeSupportsVirtualThreads() {
+        try {
+            Thread.class.getMethod("ofVirtual").invoke(null);
+            return true;
+        } catch (final NoSuchMethodException | IllegalAccessException | InvocationTargetException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * Determine whether the thread is a virtual thread, which is done via reflection as the library is built for Java 8.
+     *
+     * @param thread the thread to check
+     * @return whether the thread is virtual
+     */
+    public static boolean isVirtualThread(final Thread thread) {
+        try {
+            return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (final NoSuchMethodException noSuchMethodException) {
+            return false;
+        } catch (final IllegalAccessException | InvocationTargetException exception) {
+            throw new RuntimeException(exception);
+        }
+    }
+
     @FunctionalInterface
     public interface BlockingConsumer<T> {
         void accept(T object) throws Exception;
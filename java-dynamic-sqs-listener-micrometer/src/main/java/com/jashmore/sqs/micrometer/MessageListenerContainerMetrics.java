@@ -0,0 +1,183 @@
+package com.jashmore.sqs.micrometer;
+
+import com.google.common.base.Preconditions;
+
+import com.jashmore.sqs.broker.MessageBroker;
+import com.jashmore.sqs.broker.adaptive.AdaptiveConcurrentMessageBroker;
+import com.jashmore.sqs.broker.concurrent.ConcurrentMessageBroker;
+import com.jashmore.sqs.container.MessageListenerContainer;
+import com.jashmore.sqs.processor.MessageProcessor;
+import com.jashmore.sqs.retriever.MessageRetriever;
+import com.jashmore.sqs.retriever.prefetch.PrefetchingMessageRetriever;
+import com.jashmore.sqs.retriever.release.ReleaseOnShutdownMessageRetriever;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntSupplier;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Records the metrics for a single {@link MessageListenerContainer} by instrumenting the components that the container is built from.
+ *
+ * <p>Each of the meters are tagged with the {@link MessageListenerContainer#getIdentifier()} of the container so that the metrics for multiple containers
+ * can be differentiated. As a container builds new components each time that it is started, the gauges are bound to the most recently instrumented
+ * component instead of the first one that was registered.
+ *
+ * <p>The following meters are recorded:
+ * <ul>
+ *     <li>{@link #RECEIVE_TIMER_NAME}: the latency of each request to receive messages from SQS</li>
+ *     <li>{@link #EMPTY_RECEIVE_COUNTER_NAME}: the number of requests to receive messages that returned no messages</li>
+ *     <li>{@link #PREFETCHED_MESSAGES_GAUGE_NAME}: the number of messages that have been prefetched, only if a {@link PrefetchingMessageRetriever} is used</li>
+ *     <li>{@link #PERMITS_IN_USE_GAUGE_NAME}: the number of permits being used to process messages, only if a {@link ConcurrentMessageBroker} or
+ *         {@link AdaptiveConcurrentMessageBroker} is used</li>
+ *     <li>{@link #PROCESSING_TIMER_NAME}: the time to process each message tagged with whether it was a success or failure</li>
+ *     <li>{@link #DELETE_BATCH_TIMER_NAME}: the latency of each request to delete a batch of messages</li>
+ *     <li>{@link #DELETE_BATCH_SIZE_SUMMARY_NAME}: the number of messages in each request to delete a batch of messages</li>
+ * </ul>
+ */
+@ThreadSafe
+public class MessageListenerContainerMetrics {
+    public static final String RECEIVE_TIMER_NAME = "sqs.listener.receive";
+    public static final String EMPTY_RECEIVE_COUNTER_NAME = "sqs.listener.receive.empty";
+    public static final String PREFETCHED_MESSAGES_GAUGE_NAME = "sqs.listener.prefetch.messages";
+    public static final String PERMITS_IN_USE_GAUGE_NAME = "sqs.listener.broker.permits.in.use";
+    public static final String PROCESSING_TIMER_NAME = "sqs.listener.message.processing";
+    public static final String DELETE_BATCH_TIMER_NAME = "sqs.listener.delete.batch";
+    public static final String DELETE_BATCH_SIZE_SUMMARY_NAME = "sqs.listener.delete.batch.size";
+
+    public static final String IDENTIFIER_TAG = "identifier";
+    public static final String OUTCOME_TAG = "outcome";
+    public static final String SUCCESS_OUTCOME = "success";
+    public static final String FAILURE_OUTCOME = "failure";
+
+    private final MeterRegistry meterRegistry;
+    private final Tags tags;
+
+    private final Timer receiveTimer;
+    private final Counter emptyReceiveCounter;
+    private final Timer successfulProcessingTimer;
+    private final Timer failedProcessingTimer;
+    private final Timer deleteBatchTimer;
+    private final DistributionSummary deleteBatchSizeSummary;
+
+    private final AtomicReference<IntSupplier> prefetchedMessagesSupplier = new AtomicReference<>();
+    private final AtomicReference<IntSupplier> permitsInUseSupplier = new AtomicReference<>();
+
+    public MessageListenerContainerMetrics(final MeterRegistry meterRegistry, final String identifier) {
+        Preconditions.checkNotNull(meterRegistry, "meterRegistry");
+        Preconditions.checkNotNull(identifier, "identifier");
+
+        this.meterRegistry = meterRegistry;
+        this.tags = Tags.of(IDENTIFIER_TAG, identifier);
+
+        this.receiveTimer = Timer.builder(RECEIVE_TIMER_NAME)
+                .description("Latency of requests to receive messages from SQS")
+                .tags(tags)
+                .register(meterRegistry);
+        this.emptyReceiveCounter = Counter.builder(EMPTY_RECEIVE_COUNTER_NAME)
+                .description("Number of requests to receive messages from SQS that returned no messages")
+                .tags(tags)
+                .register(meterRegistry);
+        this.successfulProcessingTimer = buildProcessingTimer(SUCCESS_OUTCOME);
+        this.failedProcessingTimer = buildProcessingTimer(FAILURE_OUTCOME);
+        this.deleteBatchTimer = Timer.builder(DELETE_BATCH_TIMER_NAME)
+                .description("Latency of requests to delete a batch of messages from SQS")
+                .tags(tags)
+                .register(meterRegistry);
+        this.deleteBatchSizeSummary = DistributionSummary.builder(DELETE_BATCH_SIZE_SUMMARY_NAME)
+                .description("Number of messages in each request to delete a batch of messages from SQS")
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Instrument the {@link SqsAsyncClient} used by the container to record the receive and delete metrics.
+     *
+     * @param sqsAsyncClient the client to instrument
+     * @return the instrumented client
+     */
+    public SqsAsyncClient instrumentSqsAsyncClient(final SqsAsyncClient sqsAsyncClient) {
+        return new MetricsRecordingSqsAsyncClient(sqsAsyncClient, receiveTimer, emptyReceiveCounter, deleteBatchTimer, deleteBatchSizeSummary);
+    }
+
+    /**
+     * Instrument the {@link MessageProcessor} used by the container to record the time taken to process each message.
+     *
+     * @param messageProcessor the processor to instrument
+     * @return the instrumented processor
+     */
+    public MessageProcessor instrumentMessageProcessor(final MessageProcessor messageProcessor) {
+        return new MetricsRecordingMessageProcessor(messageProcessor, successfulProcessingTimer, failedProcessingTimer);
+    }
+
+    /**
+     * Record the number of permits in use for the {@link MessageBroker} if it is able to provide this value.
+     *
+     * @param messageBroker the broker to instrument
+     * @return the same broker that was provided
+     */
+    public MessageBroker instrumentMessageBroker(final MessageBroker messageBroker) {
+        if (messageBroker instanceof ConcurrentMessageBroker) {
+            bindGauge(PERMITS_IN_USE_GAUGE_NAME, "Number of permits in use to process messages", permitsInUseSupplier,
+                    ((ConcurrentMessageBroker) messageBroker)::getNumberOfPermitsInUse);
+        } else if (messageBroker instanceof AdaptiveConcurrentMessageBroker) {
+            bindGauge(PERMITS_IN_USE_GAUGE_NAME, "Number of permits in use to process messages", permitsInUseSupplier,
+                    ((AdaptiveConcurrentMessageBroker) messageBroker)::getNumberOfPermitsInUse);
+        }
+        return messageBroker;
+    }
+
+    /**
+     * Record the number of prefetched messages for the {@link MessageRetriever} if it is able to provide this value.
+     *
+     * <p>If the retriever is a {@link ReleaseOnShutdownMessageRetriever}, the retriever that it wraps is used instead.
+     *
+     * @param messageRetriever the retriever to instrument
+     * @return the same retriever that was provided
+     */
+    public MessageRetriever instrumentMessageRetriever(final MessageRetriever messageRetriever) {
+        MessageRetriever underlyingRetriever = messageRetriever;
+        while (underlyingRetriever instanceof ReleaseOnShutdownMessageRetriever) {
+            underlyingRetriever = ((ReleaseOnShutdownMessageRetriever) underlyingRetriever).getDelegate();
+        }
+
+        if (underlyingRetriever instanceof PrefetchingMessageRetriever) {
+            bindGauge(PREFETCHED_MESSAGES_GAUGE_NAME, "Number of messages prefetched and waiting to be processed", prefetchedMessagesSupplier,
+                    ((PrefetchingMessageRetriever) underlyingRetriever)::getNumberOfPrefetchedMessages);
+        }
+        return messageRetriever;
+    }
+
+    private Timer buildProcessingTimer(final String outcome) {
+        return Timer.builder(PROCESSING_TIMER_NAME)
+                .description("Time taken to process each message")
+                .tags(tags)
+                .tag(OUTCOME_TAG, outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Bind the gauge to the latest component, registering the gauge if this is the first time that it has been bound.
+     *
+     * <p>The gauge is registered against the {@link AtomicReference} instead of the component so that it follows the component that is currently in use
+     * when the container is restarted.
+     */
+    private void bindGauge(final String name,
+                           final String description,
+                           final AtomicReference<IntSupplier> valueSupplierReference,
+                           final IntSupplier valueSupplier) {
+        if (valueSupplierReference.getAndSet(valueSupplier) == null) {
+            Gauge.builder(name, valueSupplierReference, reference -> reference.get().getAsInt())
+                    .description(description)
+                    .tags(tags)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.jashmore.sqs.micrometer;
+
+import com.jashmore.sqs.processor.MessageProcessingException;
+import com.jashmore.sqs.processor.MessageProcessor;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MessageProcessor} that records the time taken for the delegate processor to process each message and whether it was successful.
+ *
+ * <p>The message is considered processed when the future returned by the delegate has completed, which allows for the asynchronous processing of messages
+ * to be included in the recorded time.
+ */
+@AllArgsConstructor
+class MetricsRecordingMessageProcessor implements MessageProcessor {
+    private final MessageProcessor delegate;
+    private final Timer successfulProcessingTimer;
+    private final Timer failedProcessingTimer;
+
+    @Override
+    public CompletableFuture<?> processMessage(final Message message, final Runnable resolveMessageCallback) throws MessageProcessingException {
+        final long startTime = System.nanoTime();
+        try {
+            return delegate.processMessage(message, resolveMessageCallback)
+                    .whenComplete((ignoredResult, throwable) -> {
+                        final Timer timer = (throwable == null) ? successfulProcessingTimer : failedProcessingTimer;
+                        timer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+                    });
+        } catch (final RuntimeException runtimeException) {
+            failedProcessingTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            throw runtimeException;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.jashmore.sqs.micrometer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import lombok.experimental.Delegate;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SqsAsyncClient} that records the latency of requests to receive and delete messages before delegating to the actual client.
+ *
+ * <p>The delegate client is shared with other components and therefore it is not closed when this client is closed.
+ */
+@AllArgsConstructor
+class MetricsRecordingSqsAsyncClient implements SqsAsyncClient {
+    @Delegate(excludes = {MethodsToOverride.class, SdkAutoCloseable.class})
+    private final SqsAsyncClient delegate;
+    private final Timer receiveTimer;
+    private final Counter emptyReceiveCounter;
+    private final Timer deleteBatchTimer;
+    private final DistributionSummary deleteBatchSizeSummary;
+
+    @Override
+    public CompletableFuture<ReceiveMessageResponse> receiveMessage(final ReceiveMessageRequest receiveMessageRequest) {
+        final long startTime = System.nanoTime();
+        return delegate.receiveMessage(receiveMessageRequest)
+                .whenComplete((response, throwable) -> {
+                    receiveTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+                    if (response != null && response.messages().isEmpty()) {
+                        emptyReceiveCounter.increment();
+                    }
+                });
+    }
+
+    @Override
+    public CompletableFuture<DeleteMessageBatchResponse> deleteMessageBatch(final DeleteMessageBatchRequest deleteMessageBatchRequest) {
+        deleteBatchSizeSummary.record(deleteMessageBatchRequest.entries().size());
+        final long startTime = System.nanoTime();
+        return delegate.deleteMessageBatch(deleteMessageBatchRequest)
+                .whenComplete((response, throwable) -> deleteBatchTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void close() {
+
+    }
+
+    /**
+     * Needed for {@link Delegate} to allow overriding.
+     */
+    private interface MethodsToOverride {
+        CompletableFuture<ReceiveMessageResponse> receiveMessage(ReceiveMessageRequest receiveMessageRequest);
+
+        CompletableFuture<DeleteMessageBatchResponse> deleteMessageBatch(DeleteMessageBatchRequest deleteMessageBatchRequest);
+    }
+}
@@ -0,0 +1,244 @@
+package com.jashmore.sqs.micrometer;
+
+import static com.jashmore.sqs.micrometer.MessageListenerContainerMetrics.DELETE_BATCH_SIZE_SUMMARY_NAME;
+import static com.jashmore.sqs.micrometer.MessageListenerContainerMetrics.DELETE_BATCH_TIMER_NAME;
+import static com.jashmore.sqs.micrometer.MessageListenerContainerMetrics.EMPTY_RECEIVE_COUNTER_NAME;
+import static com.jashmore.sqs.micrometer.MessageListenerContainerMetrics.FAILURE_OUTCOME;
+import static com.jashmore.sqs.micrometer.MessageListenerContainerMetrics.IDENTIFIER_TAG;
+import static com.jashmore.sqs.micrometer.MessageListenerContainerMetrics.OUTCOME_TAG;
+import static com.jashmore.sqs.micrometer.MessageListenerContainerMetrics.PERMITS_IN_USE_GAUGE_NAME;
+import static com.jashmore.sqs.micrometer.MessageListenerContainerMetrics.PREFETCHED_MESSAGES_GAUGE_NAME;
+import static com.jashmore.sqs.micrometer.MessageListenerContainerMetrics.PROCESSING_TIMER_NAME;
+import static com.jashmore.sqs.micrometer.MessageListenerContainerMetrics.RECEIVE_TIMER_NAME;
+import static com.jashmore.sqs.micrometer.MessageListenerContainerMetrics.SUCCESS_OUTCOME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.jashmore.sqs.QueueProperties;
+import com.jashmore.sqs.broker.MessageBroker;
+import com.jashmore.sqs.broker.concurrent.ConcurrentMessageBroker;
+import com.jashmore.sqs.broker.concurrent.StaticConcurrentMessageBrokerProperties;
+import com.jashmore.sqs.processor.MessageProcessingException;
+import com.jashmore.sqs.processor.MessageProcessor;
+import com.jashmore.sqs.retriever.MessageRetriever;
+import com.jashmore.sqs.retriever.prefetch.PrefetchingMessageRetriever;
+import com.jashmore.sqs.retriever.prefetch.StaticPrefetchingMessageRetrieverProperties;
+import com.jashmore.sqs.retriever.release.ReleaseOnShutdownMessageRetriever;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+
+import java.util.concurrent.CompletableFuture;
+
+class MessageListenerContainerMetricsTest {
+    private static final String IDENTIFIER = "identifier";
+
+    private MeterRegistry meterRegistry;
+    private MessageListenerContainerMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new MessageListenerContainerMetrics(meterRegistry, IDENTIFIER);
+    }
+
+    @Test
+    void receivingMessagesWillRecordTheLatency() {
+        // arrange
+        final SqsAsyncClient delegate = mock(SqsAsyncClient.class);
+        when(delegate.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ReceiveMessageResponse.builder().messages(Message.builder().build()).build()));
+        final SqsAsyncClient sqsAsyncClient = metrics.instrumentSqsAsyncClient(delegate);
+
+        // act
+        sqsAsyncClient.receiveMessage(ReceiveMessageRequest.builder().build());
+
+        // assert
+        assertThat(meterRegistry.get(RECEIVE_TIMER_NAME).tag(IDENTIFIER_TAG, IDENTIFIER).timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(EMPTY_RECEIVE_COUNTER_NAME).tag(IDENTIFIER_TAG, IDENTIFIER).counter().count()).isEqualTo(0);
+    }
+
+    @Test
+    void receivingNoMessagesWillIncrementTheEmptyReceiveCounter() {
+        // arrange
+        final SqsAsyncClient delegate = mock(SqsAsyncClient.class);
+        when(delegate.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ReceiveMessageResponse.builder().build()));
+        final SqsAsyncClient sqsAsyncClient = metrics.instrumentSqsAsyncClient(delegate);
+
+        // act
+        sqsAsyncClient.receiveMessage(ReceiveMessageRequest.builder().build());
+
+        // assert
+        assertThat(meterRegistry.get(EMPTY_RECEIVE_COUNTER_NAME).tag(IDENTIFIER_TAG, IDENTIFIER).counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void deletingBatchOfMessagesWillRecordTheSizeAndLatency() {
+        // arrange
+        final SqsAsyncClient delegate = mock(SqsAsyncClient.class);
+        when(delegate.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(DeleteMessageBatchResponse.builder().build()));
+        final SqsAsyncClient sqsAsyncClient = metrics.instrumentSqsAsyncClient(delegate);
+
+        // act
+        sqsAsyncClient.deleteMessageBatch(DeleteMessageBatchRequest.builder()
+                .entries(DeleteMessageBatchRequestEntry.builder().id("1").build(), DeleteMessageBatchRequestEntry.builder().id("2").build())
+                .build());
+
+        // assert
+        assertThat(meterRegistry.get(DELETE_BATCH_TIMER_NAME).timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(DELETE_BATCH_SIZE_SUMMARY_NAME).summary().totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    void otherSqsAsyncClientMethodsAreDelegated() {
+        // arrange
+        final SqsAsyncClient delegate = mock(SqsAsyncClient.class);
+        final SqsAsyncClient sqsAsyncClient = metrics.instrumentSqsAsyncClient(delegate);
+        final GetQueueUrlRequest request = GetQueueUrlRequest.builder().queueName("name").build();
+
+        // act
+        sqsAsyncClient.getQueueUrl(request);
+
+        // assert
+        verify(delegate).getQueueUrl(request);
+    }
+
+    @Test
+    void successfullyProcessedMessageWillBeRecordedWithSuccessOutcome() {
+        // arrange
+        final MessageProcessor delegate = mock(MessageProcessor.class);
+        when(delegate.processMessage(any(), any())).thenAnswer(invocation -> CompletableFuture.completedFuture(null));
+        final MessageProcessor messageProcessor = metrics.instrumentMessageProcessor(delegate);
+
+        // act
+        messageProcessor.processMessage(Message.builder().build(), () -> {
+        });
+
+        // assert
+        assertThat(meterRegistry.get(PROCESSING_TIMER_NAME).tag(OUTCOME_TAG, SUCCESS_OUTCOME).timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(PROCESSING_TIMER_NAME).tag(OUTCOME_TAG, FAILURE_OUTCOME).timer().count()).isEqualTo(0);
+    }
+
+    @Test
+    void rejectedProcessingFutureWillBeRecordedWithFailureOutcome() {
+        // arrange
+        final MessageProcessor delegate = mock(MessageProcessor.class);
+        final CompletableFuture<?> future = new CompletableFuture<>();
+        future.completeExceptionally(new RuntimeException("Expected Test Exception"));
+        when(delegate.processMessage(any(), any())).thenAnswer(invocation -> future);
+        final MessageProcessor messageProcessor = metrics.instrumentMessageProcessor(delegate);
+
+        // act
+        messageProcessor.processMessage(Message.builder().build(), () -> {
+        });
+
+        // assert
+        assertThat(meterRegistry.get(PROCESSING_TIMER_NAME).tag(OUTCOME_TAG, FAILURE_OUTCOME).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void exceptionThrownByProcessorWillBeRecordedWithFailureOutcome() {
+        // arrange
+        final MessageProcessor delegate = mock(MessageProcessor.class);
+        when(delegate.processMessage(any(), any())).thenThrow(new MessageProcessingException("Expected Test Exception"));
+        final MessageProcessor messageProcessor = metrics.instrumentMessageProcessor(delegate);
+
+        // act
+        assertThrows(MessageProcessingException.class, () -> messageProcessor.processMessage(Message.builder().build(), () -> {
+        }));
+
+        // assert
+        assertThat(meterRegistry.get(PROCESSING_TIMER_NAME).tag(OUTCOME_TAG, FAILURE_OUTCOME).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentMessageBrokerWillHavePermitsInUseRecorded() {
+        // arrange
+        final MessageBroker messageBroker = new ConcurrentMessageBroker(StaticConcurrentMessageBrokerProperties.builder()
+                .concurrencyLevel(1)
+                .build());
+
+        // act
+        final MessageBroker instrumentedBroker = metrics.instrumentMessageBroker(messageBroker);
+
+        // assert
+        assertThat(instrumentedBroker).isSameAs(messageBroker);
+        assertThat(meterRegistry.get(PERMITS_IN_USE_GAUGE_NAME).tag(IDENTIFIER_TAG, IDENTIFIER).gauge().value()).isEqualTo(0);
+    }
+
+    @Test
+    void otherMessageBrokersWillNotHavePermitsInUseRecorded() {
+        // act
+        metrics.instrumentMessageBroker(mock(MessageBroker.class));
+
+        // assert
+        assertThat(meterRegistry.find(PERMITS_IN_USE_GAUGE_NAME).gauge()).isNull();
+    }
+
+    @Test
+    void prefetchingMessageRetrieverWillHaveNumberOfPrefetchedMessagesRecorded() {
+        // arrange
+        final MessageRetriever messageRetriever = buildPrefetchingMessageRetriever();
+
+        // act
+        final MessageRetriever instrumentedRetriever = metrics.instrumentMessageRetriever(messageRetriever);
+
+        // assert
+        assertThat(instrumentedRetriever).isSameAs(messageRetriever);
+        assertThat(meterRegistry.get(PREFETCHED_MESSAGES_GAUGE_NAME).tag(IDENTIFIER_TAG, IDENTIFIER).gauge().value()).isEqualTo(0);
+    }
+
+    @Test
+    void prefetchingMessageRetrieverWrappedToReleaseMessagesOnShutdownWillHaveNumberOfPrefetchedMessagesRecorded() {
+        // arrange
+        final MessageRetriever messageRetriever = new ReleaseOnShutdownMessageRetriever(buildPrefetchingMessageRetriever(),
+                QueueProperties.builder().queueUrl("url").build(), mock(SqsAsyncClient.class));
+
+        // act
+        final MessageRetriever instrumentedRetriever = metrics.instrumentMessageRetriever(messageRetriever);
+
+        // assert
+        assertThat(instrumentedRetriever).isSameAs(messageRetriever);
+        assertThat(meterRegistry.get(PREFETCHED_MESSAGES_GAUGE_NAME).tag(IDENTIFIER_TAG, IDENTIFIER).gauge().value()).isEqualTo(0);
+    }
+
+    @Test
+    void instrumentingNewComponentWillBindTheExistingGaugeToTheNewComponent() {
+        // arrange
+        final PrefetchingMessageRetriever firstRetriever = mock(PrefetchingMessageRetriever.class);
+        when(firstRetriever.getNumberOfPrefetchedMessages()).thenReturn(1);
+        final PrefetchingMessageRetriever secondRetriever = mock(PrefetchingMessageRetriever.class);
+        when(secondRetriever.getNumberOfPrefetchedMessages()).thenReturn(2);
+        metrics.instrumentMessageRetriever(firstRetriever);
+
+        // act
+        metrics.instrumentMessageRetriever(secondRetriever);
+
+        // assert
+        assertThat(meterRegistry.get(PREFETCHED_MESSAGES_GAUGE_NAME).gauges()).hasSize(1);
+        assertThat(meterRegistry.get(PREFETCHED_MESSAGES_GAUGE_NAME).gauge().value()).isEqualTo(2);
+    }
+
+    private static PrefetchingMessageRetriever buildPrefetchingMessageRetriever() {
+        return new PrefetchingMessageRetriever(mock(SqsAsyncClient.class), QueueProperties.builder().queueUrl("url").build(),
+                StaticPrefetchingMessageRetrieverProperties.builder()
+                        .desiredMinPrefetchedMessages(1)
+                        .maxPrefetchedMessages(1)
+                        .build());
+    }
+}
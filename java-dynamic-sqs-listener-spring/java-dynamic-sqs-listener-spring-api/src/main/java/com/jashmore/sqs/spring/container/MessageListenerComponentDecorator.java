@@ -0,0 +1,78 @@
+package com.jashmore.sqs.spring.container;
+
+import com.jashmore.sqs.broker.MessageBroker;
+import com.jashmore.sqs.container.MessageListenerContainer;
+import com.jashmore.sqs.processor.MessageProcessor;
+import com.jashmore.sqs.resolver.MessageResolver;
+import com.jashmore.sqs.retriever.MessageRetriever;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+
+/**
+ * Used by the {@link MessageListenerContainerFactory}s to decorate the components that a {@link MessageListenerContainer} is built from, for example to
+ * record metrics for each of the components.
+ *
+ * <p>The components are decorated each time that they are built by the container and therefore the same container may have multiple components decorated
+ * over its lifetime, e.g. when the container is restarted. By default, each method will return the component that was provided.
+ */
+public interface MessageListenerComponentDecorator {
+    /**
+     * Decorator that will not change any of the components.
+     */
+    MessageListenerComponentDecorator NONE = new MessageListenerComponentDecorator() {
+    };
+
+    /**
+     * Decorate the {@link SqsAsyncClient} that will be used by the components of the container.
+     *
+     * @param identifier     the identifier of the {@link MessageListenerContainer}
+     * @param sqsAsyncClient the client to decorate
+     * @return the decorated client
+     */
+    default SqsAsyncClient decorateSqsAsyncClient(final String identifier, final SqsAsyncClient sqsAsyncClient) {
+        return sqsAsyncClient;
+    }
+
+    /**
+     * Decorate the {@link MessageBroker} for the container.
+     *
+     * @param identifier    the identifier of the {@link MessageListenerContainer}
+     * @param messageBroker the broker to decorate
+     * @return the decorated broker
+     */
+    default MessageBroker decorateMessageBroker(final String identifier, final MessageBroker messageBroker) {
+        return messageBroker;
+    }
+
+    /**
+     * Decorate the {@link MessageRetriever} for the container.
+     *
+     * @param identifier       the identifier of the {@link MessageListenerContainer}
+     * @param messageRetriever the retriever to decorate
+     * @return the decorated retriever
+     */
+    default MessageRetriever decorateMessageRetriever(final String identifier, final MessageRetriever messageRetriever) {
+        return messageRetriever;
+    }
+
+    /**
+     * Decorate the {@link MessageProcessor} for the container.
+     *
+     * @param identifier       the identifier of the {@link MessageListenerContainer}
+     * @param messageProcessor the processor to decorate
+     * @return the decorated processor
+     */
+    default MessageProcessor decorateMessageProcessor(final String identifier, final MessageProcessor messageProcessor) {
+        return messageProcessor;
+    }
+
+    /**
+     * Decorate the {@link MessageResolver} for the container.
+     *
+     * @param identifier      the identifier of the {@link MessageListenerContainer}
+     * @param messageResolver the resolver to decorate
+     * @return the decorated resolver
+     */
+    default MessageResolver decorateMessageResolver(final String identifier, final MessageResolver messageResolver) {
+        return messageResolver;
+    }
+}
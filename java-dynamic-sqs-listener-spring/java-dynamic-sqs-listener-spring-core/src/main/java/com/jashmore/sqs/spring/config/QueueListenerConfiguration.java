@@ -13,16 +13,23 @@ import com.jashmore.sqs.argument.messageid.MessageIdArgumentResolver;
 import com.jashmore.sqs.argument.payload.PayloadArgumentResolver;
 import com.jashmore.sqs.argument.payload.mapper.JacksonPayloadMapper;
 import com.jashmore.sqs.container.MessageListenerContainer;
+import com.jashmore.sqs.container.SharedContainerExecutors;
 import com.jashmore.sqs.spring.client.DefaultSqsAsyncClientProvider;
 import com.jashmore.sqs.spring.client.SqsAsyncClientProvider;
 import com.jashmore.sqs.spring.container.DefaultMessageListenerContainerCoordinator;
+import com.jashmore.sqs.spring.container.MessageListenerComponentDecorator;
 import com.jashmore.sqs.spring.container.MessageListenerContainerCoordinator;
 import com.jashmore.sqs.spring.container.MessageListenerContainerFactory;
 import com.jashmore.sqs.spring.container.basic.BasicMessageListenerContainerFactory;
+import com.jashmore.sqs.spring.container.batch.BatchMessageListenerContainerFactory;
 import com.jashmore.sqs.spring.container.prefetch.PrefetchingMessageListenerContainerFactory;
+import com.jashmore.sqs.spring.metrics.MicrometerMessageListenerComponentDecorator;
 import com.jashmore.sqs.spring.queue.DefaultQueueResolver;
 import com.jashmore.sqs.spring.queue.QueueResolver;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -161,6 +168,23 @@ public class QueueListenerConfiguration {
         return new DefaultQueueResolver(environment);
     }
 
+    /**
+     * Configuration for recording the metrics of the {@link MessageListenerContainer}s when Micrometer and the
+     * <pre>java-dynamic-sqs-listener-micrometer</pre> module are on the classpath.
+     *
+     * <p>The metrics will only be recorded if there is a {@link MeterRegistry} bean in the application and the consumer has not defined their own
+     * {@link MessageListenerComponentDecorator}.
+     */
+    @Configuration
+    @ConditionalOnClass(name = {"io.micrometer.core.instrument.MeterRegistry", "com.jashmore.sqs.micrometer.MessageListenerContainerMetrics"})
+    @ConditionalOnMissingBean(MessageListenerComponentDecorator.class)
+    public static class MetricsConfiguration {
+        @Bean
+        public MessageListenerComponentDecorator micrometerMessageListenerComponentDecorator(final ObjectProvider<MeterRegistry> meterRegistryProvider) {
+            return new MicrometerMessageListenerComponentDecorator(meterRegistryProvider);
+        }
+    }
+
     /**
      * Configuration used in regards to searching the application code for methods that need to be wrapped in {@link MessageListenerContainer}s.
      *
@@ -191,15 +215,33 @@ public class QueueListenerConfiguration {
          *
          * <p>The consumer can provide any other {@link MessageListenerContainerFactory} beans in their context and these will be included in the automatic
          * wrapping of the methods by the {@link #queueContainerService(List)} bean.
+         *
+         * <p>If a {@link SharedContainerExecutors} bean has been defined, all of the containers built by these factories will share those executors.
          */
         @Configuration
         public static class MessageListenerContainerFactoryConfiguration {
+            private final MessageListenerComponentDecorator componentDecorator;
+            private final SharedContainerExecutors sharedExecutors;
+
+            /**
+             * Constructor.
+             *
+             * @param componentDecoratorProvider provides the decorator for the components of the containers if one has been defined in the context
+             * @param sharedExecutorsProvider    provides the executors shared between all of the containers if they have been defined in the context
+             */
+            public MessageListenerContainerFactoryConfiguration(final ObjectProvider<MessageListenerComponentDecorator> componentDecoratorProvider,
+                                                                final ObjectProvider<SharedContainerExecutors> sharedExecutorsProvider) {
+                this.componentDecorator = componentDecoratorProvider.getIfAvailable(() -> MessageListenerComponentDecorator.NONE);
+                this.sharedExecutors = sharedExecutorsProvider.getIfAvailable(() -> SharedContainerExecutors.NONE);
+            }
+
             @Bean
             public MessageListenerContainerFactory basicMessageListenerContainerFactory(final ArgumentResolverService argumentResolverService,
                                                                                         final SqsAsyncClientProvider sqsAsyncClientProvider,
                                                                                         final QueueResolver queueResolver,
                                                                                         final Environment environment) {
-                return new BasicMessageListenerContainerFactory(argumentResolverService, sqsAsyncClientProvider, queueResolver, environment);
+                return new BasicMessageListenerContainerFactory(argumentResolverService, sqsAsyncClientProvider, queueResolver, environment,
+                        componentDecorator, sharedExecutors);
             }
 
             @Bean
@@ -207,7 +249,17 @@ public class QueueListenerConfiguration {
                                                                                               final SqsAsyncClientProvider sqsAsyncClientProvider,
                                                                                               final QueueResolver queueResolver,
                                                                                               final Environment environment) {
-                return new PrefetchingMessageListenerContainerFactory(argumentResolverService, sqsAsyncClientProvider, queueResolver, environment);
+                return new PrefetchingMessageListenerContainerFactory(argumentResolverService, sqsAsyncClientProvider, queueResolver, environment,
+                        componentDecorator, sharedExecutors);
+            }
+
+            @Bean
+            public MessageListenerContainerFactory batchMessageListenerContainerFactory(final ArgumentResolverService argumentResolverService,
+                                                                                        final SqsAsyncClientProvider sqsAsyncClientProvider,
+                                                                                        final QueueResolver queueResolver,
+                                                                                        final Environment environment) {
+                return new BatchMessageListenerContainerFactory(argumentResolverService, sqsAsyncClientProvider, queueResolver, environment,
+                        componentDecorator, sharedExecutors);
             }
         }
     }
@@ -5,13 +5,23 @@ import com.google.common.annotations.VisibleForTesting;
 import com.jashmore.sqs.QueueProperties;
 import com.jashmore.sqs.argument.ArgumentResolverService;
 import com.jashmore.sqs.broker.MessageBroker;
+import com.jashmore.sqs.broker.adaptive.AdaptiveConcurrentMessageBroker;
+import com.jashmore.sqs.broker.adaptive.AdaptiveConcurrentMessageBrokerProperties;
+import com.jashmore.sqs.broker.adaptive.StaticAdaptiveConcurrentMessageBrokerProperties;
 import com.jashmore.sqs.broker.concurrent.ConcurrentMessageBroker;
 import com.jashmore.sqs.broker.concurrent.StaticConcurrentMessageBrokerProperties;
 import com.jashmore.sqs.container.CoreMessageListenerContainer;
 import com.jashmore.sqs.container.MessageListenerContainer;
+import com.jashmore.sqs.container.SharedContainerExecutors;
 import com.jashmore.sqs.container.StaticCoreMessageListenerContainerProperties;
 import com.jashmore.sqs.processor.CoreMessageProcessor;
 import com.jashmore.sqs.processor.MessageProcessor;
+import com.jashmore.sqs.processor.backoff.BackoffOnFailureMessageProcessor;
+import com.jashmore.sqs.processor.backoff.BackoffOnFailureMessageProcessorProperties;
+import com.jashmore.sqs.processor.backoff.StaticBackoffOnFailureMessageProcessorProperties;
+import com.jashmore.sqs.processor.visibility.AutoVisibilityExtendingMessageProcessor;
+import com.jashmore.sqs.processor.visibility.AutoVisibilityExtendingMessageProcessorProperties;
+import com.jashmore.sqs.processor.visibility.StaticAutoVisibilityExtendingMessageProcessorProperties;
 import com.jashmore.sqs.resolver.MessageResolver;
 import com.jashmore.sqs.resolver.batching.BatchingMessageResolver;
 import com.jashmore.sqs.resolver.batching.BatchingMessageResolverProperties;
@@ -20,18 +30,23 @@ import com.jashmore.sqs.retriever.MessageRetriever;
 import com.jashmore.sqs.retriever.batching.BatchingMessageRetriever;
 import com.jashmore.sqs.retriever.batching.BatchingMessageRetrieverProperties;
 import com.jashmore.sqs.retriever.batching.StaticBatchingMessageRetrieverProperties;
+import com.jashmore.sqs.retriever.release.ReleaseOnShutdownMessageRetriever;
 import com.jashmore.sqs.spring.client.SqsAsyncClientProvider;
 import com.jashmore.sqs.spring.container.AbstractAnnotationMessageListenerContainerFactory;
+import com.jashmore.sqs.spring.container.MessageListenerComponentDecorator;
 import com.jashmore.sqs.spring.container.MessageListenerContainerInitialisationException;
 import com.jashmore.sqs.spring.queue.QueueResolver;
+import com.jashmore.sqs.spring.util.AttributeNamesUtils;
 import com.jashmore.sqs.spring.util.IdentifierUtils;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.env.Environment;
 import org.springframework.util.StringUtils;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
 
 import java.lang.reflect.Method;
+import java.util.Set;
 import java.util.function.Supplier;
 
 /**
@@ -45,6 +60,23 @@ public class BasicMessageListenerContainerFactory extends AbstractAnnotationMess
     private final SqsAsyncClientProvider sqsAsyncClientProvider;
     private final QueueResolver queueResolver;
     private final Environment environment;
+    private final MessageListenerComponentDecorator componentDecorator;
+    private final SharedContainerExecutors sharedExecutors;
+
+    public BasicMessageListenerContainerFactory(final ArgumentResolverService argumentResolverService,
+                                                final SqsAsyncClientProvider sqsAsyncClientProvider,
+                                                final QueueResolver queueResolver,
+                                                final Environment environment) {
+        this(argumentResolverService, sqsAsyncClientProvider, queueResolver, environment, MessageListenerComponentDecorator.NONE);
+    }
+
+    public BasicMessageListenerContainerFactory(final ArgumentResolverService argumentResolverService,
+                                                final SqsAsyncClientProvider sqsAsyncClientProvider,
+                                                final QueueResolver queueResolver,
+                                                final Environment environment,
+                                                final MessageListenerComponentDecorator componentDecorator) {
+        this(argumentResolverService, sqsAsyncClientProvider, queueResolver, environment, componentDecorator, SharedContainerExecutors.NONE);
+    }
 
     @Override
     protected Class<QueueListener> getAnnotationClass() {
@@ -54,53 +86,104 @@ public class BasicMessageListenerContainerFactory extends AbstractAnnotationMess
     @SuppressWarnings("Duplicates")
     @Override
     protected MessageListenerContainer wrapMethodContainingAnnotation(final Object bean, final Method method, final QueueListener annotation) {
-        final SqsAsyncClient sqsAsyncClient = getSqsAsyncClient(annotation.sqsClient());
+        final String identifier = IdentifierUtils.buildIdentifierForMethod(annotation.identifier(), bean.getClass(), method);
+        final SqsAsyncClient sqsAsyncClient = componentDecorator.decorateSqsAsyncClient(identifier, getSqsAsyncClient(annotation.sqsClient()));
 
         final QueueProperties queueProperties = QueueProperties.builder()
                 .queueUrl(queueResolver.resolveQueueUrl(sqsAsyncClient, annotation.value()))
                 .build();
 
 
+        final Supplier<MessageBroker> messageBrokerSupplier = buildMessageBrokerSupplier(annotation);
+        final Supplier<MessageRetriever> messageRetrieverSupplier = buildMessageRetrieverSupplier(annotation, queueProperties, sqsAsyncClient, method);
+        final Supplier<MessageProcessor> messageProcessorSupplier = buildProcessorSupplier(annotation, queueProperties, sqsAsyncClient, bean, method);
+        final Supplier<MessageResolver> messageResolverSupplier = buildMessageResolver(annotation, queueProperties, sqsAsyncClient);
+
         return new CoreMessageListenerContainer(
-                IdentifierUtils.buildIdentifierForMethod(annotation.identifier(), bean.getClass(), method),
-                buildMessageBrokerSupplier(annotation),
-                buildMessageRetrieverSupplier(annotation, queueProperties, sqsAsyncClient),
-                buildProcessorSupplier(queueProperties, sqsAsyncClient, bean, method),
-                buildMessageResolver(annotation, queueProperties, sqsAsyncClient),
+                identifier,
+                () -> componentDecorator.decorateMessageBroker(identifier, messageBrokerSupplier.get()),
+                () -> componentDecorator.decorateMessageRetriever(identifier, messageRetrieverSupplier.get()),
+                () -> componentDecorator.decorateMessageProcessor(identifier, messageProcessorSupplier.get()),
+                () -> componentDecorator.decorateMessageResolver(identifier, messageResolverSupplier.get()),
                 StaticCoreMessageListenerContainerProperties.builder()
                         .shouldProcessAnyExtraRetrievedMessagesOnShutdown(annotation.processAnyExtraRetrievedMessagesOnShutdown())
                         .shouldInterruptThreadsProcessingMessagesOnShutdown(annotation.interruptThreadsProcessingMessagesOnShutdown())
-                        .build()
+                        .shouldProcessMessagesOnVirtualThreads(annotation.processMessagesOnVirtualThreads())
+                        .build(),
+                sharedExecutors
         );
     }
 
     private Supplier<MessageBroker> buildMessageBrokerSupplier(final QueueListener annotation) {
         final int concurrencyLevel = getConcurrencyLevel(annotation);
+        if (annotation.adaptiveConcurrency()) {
+            final AdaptiveConcurrentMessageBrokerProperties properties = StaticAdaptiveConcurrentMessageBrokerProperties.builder()
+                    .initialConcurrencyLevel(concurrencyLevel)
+                    .minimumConcurrencyLevel(getMinimumConcurrencyLevel(annotation))
+                    .maximumConcurrencyLevel(getMaximumConcurrencyLevel(annotation))
+                    .build();
+            return () -> new AdaptiveConcurrentMessageBroker(properties);
+        }
+
         return () -> new ConcurrentMessageBroker(StaticConcurrentMessageBrokerProperties.builder()
                 .concurrencyLevel(concurrencyLevel)
                 .build());
     }
 
-    private Supplier<MessageProcessor> buildProcessorSupplier(final QueueProperties queueProperties,
+    private Supplier<MessageProcessor> buildProcessorSupplier(final QueueListener annotation,
+                                                              final QueueProperties queueProperties,
                                                               final SqsAsyncClient sqsAsyncClient,
                                                               final Object bean,
                                                               final Method method) {
-        return () -> new CoreMessageProcessor(argumentResolverService, queueProperties, sqsAsyncClient, method, bean);
+        final Supplier<MessageProcessor> delegateProcessorSupplier;
+        if (annotation.autoExtendVisibility()) {
+            final AutoVisibilityExtendingMessageProcessorProperties properties = StaticAutoVisibilityExtendingMessageProcessorProperties.builder()
+                    .visibilityTimeoutInSeconds(getMessageVisibilityTimeoutInSeconds(annotation))
+                    .bufferTimeInSeconds(getAutoExtendVisibilityBufferTimeInSeconds(annotation))
+                    .build();
+            delegateProcessorSupplier = () -> new AutoVisibilityExtendingMessageProcessor(
+                    new CoreMessageProcessor(argumentResolverService, queueProperties, sqsAsyncClient, method, bean),
+                    queueProperties,
+                    sqsAsyncClient,
+                    properties
+            );
+        } else {
+            delegateProcessorSupplier = () -> new CoreMessageProcessor(argumentResolverService, queueProperties, sqsAsyncClient, method, bean);
+        }
+
+        if (annotation.backoffOnFailure()) {
+            final BackoffOnFailureMessageProcessorProperties properties = StaticBackoffOnFailureMessageProcessorProperties.builder()
+                    .maxBackoffInSeconds(getMaxBackoffOnFailureInSeconds(annotation))
+                    .build();
+            return () -> new BackoffOnFailureMessageProcessor(delegateProcessorSupplier.get(), queueProperties, sqsAsyncClient, properties);
+        }
+
+        return delegateProcessorSupplier;
     }
 
     private Supplier<MessageRetriever> buildMessageRetrieverSupplier(final QueueListener annotation,
                                                                      final QueueProperties queueProperties,
-                                                                     final SqsAsyncClient sqsAsyncClient) {
-        final BatchingMessageRetrieverProperties properties = batchingMessageRetrieverProperties(annotation);
+                                                                     final SqsAsyncClient sqsAsyncClient,
+                                                                     final Method method) {
+        final BatchingMessageRetrieverProperties properties = batchingMessageRetrieverProperties(annotation, method);
+        if (annotation.releaseExtraRetrievedMessagesOnShutdown()) {
+            return () -> new ReleaseOnShutdownMessageRetriever(
+                    new BatchingMessageRetriever(queueProperties, sqsAsyncClient, properties), queueProperties, sqsAsyncClient
+            );
+        }
         return () -> new BatchingMessageRetriever(queueProperties, sqsAsyncClient, properties);
     }
 
     @VisibleForTesting
-    BatchingMessageRetrieverProperties batchingMessageRetrieverProperties(final QueueListener annotation) {
+    BatchingMessageRetrieverProperties batchingMessageRetrieverProperties(final QueueListener annotation, final Method method) {
         return StaticBatchingMessageRetrieverProperties.builder()
                 .messageVisibilityTimeoutInSeconds(getMessageVisibilityTimeoutInSeconds(annotation))
                 .batchingPeriodInMs(getMaxPeriodBetweenBatchesInMs(annotation))
                 .batchSize(getBatchSize(annotation))
+                .emptyReceivesBeforeIdleBackoff(getEmptyReceivesBeforeIdleBackoff(annotation))
+                .maxIdleBackoffTimeInMilliseconds(getMaxIdleBackoffTimeInMilliseconds(annotation))
+                .messageAttributeNames(AttributeNamesUtils.getMessageAttributeNames(annotation.messageAttributeNames(), method, argumentResolverService))
+                .messageSystemAttributeNames(getMessageSystemAttributeNames(annotation, method))
                 .build();
     }
 
@@ -123,6 +206,22 @@ public class BasicMessageListenerContainerFactory extends AbstractAnnotationMess
         return Integer.parseInt(environment.resolvePlaceholders(annotation.concurrencyLevelString()));
     }
 
+    private int getMinimumConcurrencyLevel(final QueueListener annotation) {
+        if (StringUtils.isEmpty(annotation.minimumConcurrencyLevelString())) {
+            return annotation.minimumConcurrencyLevel();
+        }
+
+        return Integer.parseInt(environment.resolvePlaceholders(annotation.minimumConcurrencyLevelString()));
+    }
+
+    private int getMaximumConcurrencyLevel(final QueueListener annotation) {
+        if (StringUtils.isEmpty(annotation.maximumConcurrencyLevelString())) {
+            return annotation.maximumConcurrencyLevel();
+        }
+
+        return Integer.parseInt(environment.resolvePlaceholders(annotation.maximumConcurrencyLevelString()));
+    }
+
     private int getBatchSize(final QueueListener annotation) {
         if (StringUtils.isEmpty(annotation.batchSizeString())) {
             return annotation.batchSize();
@@ -139,6 +238,25 @@ public class BasicMessageListenerContainerFactory extends AbstractAnnotationMess
         return Long.parseLong(environment.resolvePlaceholders(annotation.batchingPeriodInMsString()));
     }
 
+    private Integer getEmptyReceivesBeforeIdleBackoff(final QueueListener annotation) {
+        final int emptyReceivesBeforeIdleBackoff;
+        if (StringUtils.isEmpty(annotation.emptyReceivesBeforeIdleBackoffString())) {
+            emptyReceivesBeforeIdleBackoff = annotation.emptyReceivesBeforeIdleBackoff();
+        } else {
+            emptyReceivesBeforeIdleBackoff = Integer.parseInt(environment.resolvePlaceholders(annotation.emptyReceivesBeforeIdleBackoffString()));
+        }
+
+        return emptyReceivesBeforeIdleBackoff > 0 ? emptyReceivesBeforeIdleBackoff : null;
+    }
+
+    private long getMaxIdleBackoffTimeInMilliseconds(final QueueListener annotation) {
+        if (StringUtils.isEmpty(annotation.maxIdleBackoffTimeInMillisecondsString())) {
+            return annotation.maxIdleBackoffTimeInMilliseconds();
+        }
+
+        return Long.parseLong(environment.resolvePlaceholders(annotation.maxIdleBackoffTimeInMillisecondsString()));
+    }
+
     private int getMessageVisibilityTimeoutInSeconds(final QueueListener annotation) {
         if (StringUtils.isEmpty(annotation.messageVisibilityTimeoutInSecondsString())) {
             return annotation.messageVisibilityTimeoutInSeconds();
@@ -147,6 +265,33 @@ public class BasicMessageListenerContainerFactory extends AbstractAnnotationMess
         return Integer.parseInt(environment.resolvePlaceholders(annotation.messageVisibilityTimeoutInSecondsString()));
     }
 
+    private Set<MessageSystemAttributeName> getMessageSystemAttributeNames(final QueueListener annotation, final Method method) {
+        final Set<MessageSystemAttributeName> messageSystemAttributeNames = AttributeNamesUtils.getMessageSystemAttributeNames(
+                annotation.messageSystemAttributeNames(), method
+        );
+        if (annotation.backoffOnFailure()) {
+            // the backoff is calculated from the number of times the message has been received
+            return AttributeNamesUtils.withMessageSystemAttributeName(messageSystemAttributeNames, MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT);
+        }
+        return messageSystemAttributeNames;
+    }
+
+    private int getMaxBackoffOnFailureInSeconds(final QueueListener annotation) {
+        if (StringUtils.isEmpty(annotation.maxBackoffOnFailureInSecondsString())) {
+            return annotation.maxBackoffOnFailureInSeconds();
+        }
+
+        return Integer.parseInt(environment.resolvePlaceholders(annotation.maxBackoffOnFailureInSecondsString()));
+    }
+
+    private int getAutoExtendVisibilityBufferTimeInSeconds(final QueueListener annotation) {
+        if (StringUtils.isEmpty(annotation.autoExtendVisibilityBufferTimeInSecondsString())) {
+            return annotation.autoExtendVisibilityBufferTimeInSeconds();
+        }
+
+        return Integer.parseInt(environment.resolvePlaceholders(annotation.autoExtendVisibilityBufferTimeInSecondsString()));
+    }
+
     private SqsAsyncClient getSqsAsyncClient(final String sqsClient) {
         if (StringUtils.isEmpty(sqsClient)) {
             return sqsAsyncClientProvider.getDefaultClient()
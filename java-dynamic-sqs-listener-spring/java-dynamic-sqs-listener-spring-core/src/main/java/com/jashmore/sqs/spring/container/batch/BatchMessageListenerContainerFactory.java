@@ -0,0 +1,215 @@
+package com.jashmore.sqs.spring.container.batch;
+
+import com.jashmore.sqs.QueueProperties;
+import com.jashmore.sqs.argument.ArgumentResolverService;
+import com.jashmore.sqs.broker.MessageBroker;
+import com.jashmore.sqs.broker.concurrent.ConcurrentMessageBroker;
+import com.jashmore.sqs.broker.concurrent.StaticConcurrentMessageBrokerProperties;
+import com.jashmore.sqs.container.CoreMessageListenerContainer;
+import com.jashmore.sqs.container.MessageListenerContainer;
+import com.jashmore.sqs.container.SharedContainerExecutors;
+import com.jashmore.sqs.container.StaticCoreMessageListenerContainerProperties;
+import com.jashmore.sqs.processor.MessageProcessor;
+import com.jashmore.sqs.processor.batch.BatchMessageProcessor;
+import com.jashmore.sqs.processor.batch.BatchMessageProcessorProperties;
+import com.jashmore.sqs.processor.batch.StaticBatchMessageProcessorProperties;
+import com.jashmore.sqs.resolver.MessageResolver;
+import com.jashmore.sqs.resolver.batching.BatchingMessageResolver;
+import com.jashmore.sqs.resolver.batching.BatchingMessageResolverProperties;
+import com.jashmore.sqs.resolver.batching.StaticBatchingMessageResolverProperties;
+import com.jashmore.sqs.retriever.MessageRetriever;
+import com.jashmore.sqs.retriever.batching.BatchingMessageRetriever;
+import com.jashmore.sqs.retriever.batching.BatchingMessageRetrieverProperties;
+import com.jashmore.sqs.retriever.batching.StaticBatchingMessageRetrieverProperties;
+import com.jashmore.sqs.retriever.release.ReleaseOnShutdownMessageRetriever;
+import com.jashmore.sqs.spring.client.SqsAsyncClientProvider;
+import com.jashmore.sqs.spring.container.AbstractAnnotationMessageListenerContainerFactory;
+import com.jashmore.sqs.spring.container.MessageListenerComponentDecorator;
+import com.jashmore.sqs.spring.container.MessageListenerContainerInitialisationException;
+import com.jashmore.sqs.spring.queue.QueueResolver;
+import com.jashmore.sqs.spring.util.AttributeNamesUtils;
+import com.jashmore.sqs.spring.util.IdentifierUtils;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+
+import java.lang.reflect.Method;
+import java.util.function.Supplier;
+
+/**
+ * {@link com.jashmore.sqs.spring.container.MessageListenerContainerFactory} that will wrap methods annotated with
+ * {@link BatchQueueListener @BatchQueueListener} with some predefined implementations of the framework.
+ */
+@Slf4j
+@AllArgsConstructor
+public class BatchMessageListenerContainerFactory extends AbstractAnnotationMessageListenerContainerFactory<BatchQueueListener> {
+    private final ArgumentResolverService argumentResolverService;
+    private final SqsAsyncClientProvider sqsAsyncClientProvider;
+    private final QueueResolver queueResolver;
+    private final Environment environment;
+    private final MessageListenerComponentDecorator componentDecorator;
+    private final SharedContainerExecutors sharedExecutors;
+
+    public BatchMessageListenerContainerFactory(final ArgumentResolverService argumentResolverService,
+                                                final SqsAsyncClientProvider sqsAsyncClientProvider,
+                                                final QueueResolver queueResolver,
+                                                final Environment environment) {
+        this(argumentResolverService, sqsAsyncClientProvider, queueResolver, environment, MessageListenerComponentDecorator.NONE);
+    }
+
+    public BatchMessageListenerContainerFactory(final ArgumentResolverService argumentResolverService,
+                                                final SqsAsyncClientProvider sqsAsyncClientProvider,
+                                                final QueueResolver queueResolver,
+                                                final Environment environment,
+                                                final MessageListenerComponentDecorator componentDecorator) {
+        this(argumentResolverService, sqsAsyncClientProvider, queueResolver, environment, componentDecorator, SharedContainerExecutors.NONE);
+    }
+
+    @Override
+    protected Class<BatchQueueListener> getAnnotationClass() {
+        return BatchQueueListener.class;
+    }
+
+    @SuppressWarnings("Duplicates")
+    @Override
+    protected MessageListenerContainer wrapMethodContainingAnnotation(final Object bean, final Method method, final BatchQueueListener annotation) {
+        final String identifier = IdentifierUtils.buildIdentifierForMethod(annotation.identifier(), bean.getClass(), method);
+        final SqsAsyncClient sqsAsyncClient = componentDecorator.decorateSqsAsyncClient(identifier, getSqsAsyncClient(annotation.sqsClient()));
+
+        final QueueProperties queueProperties = QueueProperties.builder()
+                .queueUrl(queueResolver.resolveQueueUrl(sqsAsyncClient, annotation.value()))
+                .build();
+
+        final Supplier<MessageBroker> messageBrokerSupplier = buildMessageBrokerSupplier(annotation);
+        final Supplier<MessageRetriever> messageRetrieverSupplier = buildMessageRetrieverSupplier(annotation, queueProperties, sqsAsyncClient, method);
+        final Supplier<MessageProcessor> messageProcessorSupplier = buildProcessorSupplier(annotation, queueProperties, bean, method);
+        final Supplier<MessageResolver> messageResolverSupplier = buildMessageResolverSupplier(annotation, queueProperties, sqsAsyncClient);
+
+        return new CoreMessageListenerContainer(
+                identifier,
+                () -> componentDecorator.decorateMessageBroker(identifier, messageBrokerSupplier.get()),
+                () -> componentDecorator.decorateMessageRetriever(identifier, messageRetrieverSupplier.get()),
+                () -> componentDecorator.decorateMessageProcessor(identifier, messageProcessorSupplier.get()),
+                () -> componentDecorator.decorateMessageResolver(identifier, messageResolverSupplier.get()),
+                StaticCoreMessageListenerContainerProperties.builder()
+                        .shouldProcessAnyExtraRetrievedMessagesOnShutdown(annotation.processAnyExtraRetrievedMessagesOnShutdown())
+                        .shouldInterruptThreadsProcessingMessagesOnShutdown(annotation.interruptThreadsProcessingMessagesOnShutdown())
+                        .shouldProcessMessagesOnVirtualThreads(annotation.processMessagesOnVirtualThreads())
+                        .build(),
+                sharedExecutors
+        );
+    }
+
+    private Supplier<MessageBroker> buildMessageBrokerSupplier(final BatchQueueListener annotation) {
+        // enough messages need to be processed concurrently for each of the batches to be filled
+        final int concurrencyLevel = getConcurrencyLevel(annotation) * getBatchSize(annotation);
+        return () -> new ConcurrentMessageBroker(StaticConcurrentMessageBrokerProperties.builder()
+                .concurrencyLevel(concurrencyLevel)
+                .build());
+    }
+
+    private Supplier<MessageProcessor> buildProcessorSupplier(final BatchQueueListener annotation,
+                                                              final QueueProperties queueProperties,
+                                                              final Object bean,
+                                                              final Method method) {
+        final BatchMessageProcessorProperties properties = StaticBatchMessageProcessorProperties.builder()
+                .batchSize(getBatchSize(annotation))
+                .batchingPeriodInMs(getBatchingPeriodInMs(annotation))
+                .build();
+        return () -> new BatchMessageProcessor(argumentResolverService, queueProperties, method, bean, properties);
+    }
+
+    private Supplier<MessageRetriever> buildMessageRetrieverSupplier(final BatchQueueListener annotation,
+                                                                     final QueueProperties queueProperties,
+                                                                     final SqsAsyncClient sqsAsyncClient,
+                                                                     final Method method) {
+        final BatchingMessageRetrieverProperties properties = StaticBatchingMessageRetrieverProperties.builder()
+                .messageVisibilityTimeoutInSeconds(getMessageVisibilityTimeoutInSeconds(annotation))
+                .batchingPeriodInMs(getBatchingPeriodInMs(annotation))
+                .batchSize(getBatchSize(annotation))
+                .emptyReceivesBeforeIdleBackoff(getEmptyReceivesBeforeIdleBackoff(annotation))
+                .maxIdleBackoffTimeInMilliseconds(getMaxIdleBackoffTimeInMilliseconds(annotation))
+                .messageAttributeNames(AttributeNamesUtils.getMessageAttributeNames(annotation.messageAttributeNames(), method, argumentResolverService))
+                .messageSystemAttributeNames(AttributeNamesUtils.getMessageSystemAttributeNames(annotation.messageSystemAttributeNames(), method))
+                .build();
+        if (annotation.releaseExtraRetrievedMessagesOnShutdown()) {
+            return () -> new ReleaseOnShutdownMessageRetriever(
+                    new BatchingMessageRetriever(queueProperties, sqsAsyncClient, properties), queueProperties, sqsAsyncClient
+            );
+        }
+        return () -> new BatchingMessageRetriever(queueProperties, sqsAsyncClient, properties);
+    }
+
+    private Supplier<MessageResolver> buildMessageResolverSupplier(final BatchQueueListener annotation,
+                                                                   final QueueProperties queueProperties,
+                                                                   final SqsAsyncClient sqsAsyncClient) {
+        final BatchingMessageResolverProperties properties = StaticBatchingMessageResolverProperties.builder()
+                .bufferingSizeLimit(getBatchSize(annotation))
+                .bufferingTimeInMs(getBatchingPeriodInMs(annotation))
+                .build();
+        return () -> new BatchingMessageResolver(queueProperties, sqsAsyncClient, properties);
+    }
+
+    private int getConcurrencyLevel(final BatchQueueListener annotation) {
+        if (StringUtils.isEmpty(annotation.concurrencyLevelString())) {
+            return annotation.concurrencyLevel();
+        }
+
+        return Integer.parseInt(environment.resolvePlaceholders(annotation.concurrencyLevelString()));
+    }
+
+    private int getBatchSize(final BatchQueueListener annotation) {
+        if (StringUtils.isEmpty(annotation.batchSizeString())) {
+            return annotation.batchSize();
+        }
+
+        return Integer.parseInt(environment.resolvePlaceholders(annotation.batchSizeString()));
+    }
+
+    private long getBatchingPeriodInMs(final BatchQueueListener annotation) {
+        if (StringUtils.isEmpty(annotation.batchingPeriodInMsString())) {
+            return annotation.batchingPeriodInMs();
+        }
+
+        return Long.parseLong(environment.resolvePlaceholders(annotation.batchingPeriodInMsString()));
+    }
+
+    private Integer getEmptyReceivesBeforeIdleBackoff(final BatchQueueListener annotation) {
+        final int emptyReceivesBeforeIdleBackoff;
+        if (StringUtils.isEmpty(annotation.emptyReceivesBeforeIdleBackoffString())) {
+            emptyReceivesBeforeIdleBackoff = annotation.emptyReceivesBeforeIdleBackoff();
+        } else {
+            emptyReceivesBeforeIdleBackoff = Integer.parseInt(environment.resolvePlaceholders(annotation.emptyReceivesBeforeIdleBackoffString()));
+        }
+
+        return emptyReceivesBeforeIdleBackoff > 0 ? emptyReceivesBeforeIdleBackoff : null;
+    }
+
+    private long getMaxIdleBackoffTimeInMilliseconds(final BatchQueueListener annotation) {
+        if (StringUtils.isEmpty(annotation.maxIdleBackoffTimeInMillisecondsString())) {
+            return annotation.maxIdleBackoffTimeInMilliseconds();
+        }
+
+        return Long.parseLong(environment.resolvePlaceholders(annotation.maxIdleBackoffTimeInMillisecondsString()));
+    }
+
+    private int getMessageVisibilityTimeoutInSeconds(final BatchQueueListener annotation) {
+        if (StringUtils.isEmpty(annotation.messageVisibilityTimeoutInSecondsString())) {
+            return annotation.messageVisibilityTimeoutInSeconds();
+        }
+
+        return Integer.parseInt(environment.resolvePlaceholders(annotation.messageVisibilityTimeoutInSecondsString()));
+    }
+
+    private SqsAsyncClient getSqsAsyncClient(final String sqsClient) {
+        if (StringUtils.isEmpty(sqsClient)) {
+            return sqsAsyncClientProvider.getDefaultClient()
+                    .orElseThrow(() -> new MessageListenerContainerInitialisationException("Expected the default SQS Client but there is none"));
+        }
+
+        return sqsAsyncClientProvider.getClient(sqsClient)
+                .orElseThrow(() -> new MessageListenerContainerInitialisationException("Expected a client with id '" + sqsClient + "' but none were found"));
+    }
+}
@@ -0,0 +1,283 @@
+package com.jashmore.sqs.spring.container.batch;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import com.jashmore.sqs.QueueProperties;
+import com.jashmore.sqs.aws.AwsConstants;
+import com.jashmore.sqs.broker.concurrent.ConcurrentMessageBroker;
+import com.jashmore.sqs.container.MessageListenerContainer;
+import com.jashmore.sqs.processor.batch.BatchMessageProcessor;
+import com.jashmore.sqs.processor.batch.BatchMessageProcessorProperties;
+import com.jashmore.sqs.resolver.batching.BatchingMessageResolver;
+import com.jashmore.sqs.retriever.batching.BatchingMessageRetriever;
+import com.jashmore.sqs.retriever.batching.BatchingMessageRetrieverProperties;
+import com.jashmore.sqs.spring.client.SqsAsyncClientProvider;
+import org.springframework.core.env.Environment;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Wrap a method with a {@link MessageListenerContainer} that will execute the method with a batch of messages received on the provided queue.
+ *
+ * <p>Each parameter of the method must be a {@link java.util.List}, for example <pre>@Payload List&lt;MyPayload&gt; payloads</pre>, where each element
+ * is resolved from a single message in the batch.
+ *
+ * <p>This is a simplified annotation that uses the {@link ConcurrentMessageBroker}, {@link BatchingMessageRetriever}, {@link BatchMessageProcessor}
+ * and {@link BatchingMessageResolver} for the implementations of the framework. Not all of the properties for each implementation are available to
+ * simplify this usage.
+ *
+ * @see BatchMessageListenerContainerFactory for what processes this annotation
+ */
+@Retention(RUNTIME)
+@Target(METHOD)
+public @interface BatchQueueListener {
+    /**
+     * The queue name or url for the queue to listen to messages on, this may contain placeholders that can be resolved from the Spring Environment.
+     *
+     * <p>Examples of this field can be:
+     * <ul>
+     *     <li>"${my.queue.prop}" which would be resolved to "http://localhost:4576/q/myQueue" if the application.yml contains
+     *         my.queue.prop=http://localhost:4576/q/myQueue</li>
+     *     <li>"http://localhost:4576/q/myQueue" which will be used as is</li>
+     *     <li>"myQueue" which could be resolved to something like "http://localhost:4576/q/myQueue" by getting the URL from SQS</li>
+     * </ul>
+     *
+     * @return the queue name or URL of the queue
+     * @see Environment#resolveRequiredPlaceholders(String) for how the placeholders are resolved
+     * @see QueueProperties#getQueueUrl() for how the URL of the queue is resolved if a queue name is supplied here
+     */
+    String value();
+
+    /**
+     * The unique identifier for this listener.
+     *
+     * <p>This can be used if you need to access the {@link MessageListenerContainer} for this queue listener specifically to start/stop it
+     * specifically.
+     *
+     * <p>If no value is provided for the identifier the class path and method name is used as the unique identifier. For example, the method
+     * <pre>com.company.queues.MyQueue#method(List)</pre> would result in the following identifier <pre>my-queue-method</pre>.
+     *
+     * @return the unique identifier for this queue listener
+     */
+    String identifier() default "";
+
+    /**
+     * The unique identifier for the {@link SqsAsyncClient} that should be used for this queue.
+     *
+     * <p>As queues can be set up across multiple AWS Accounts there can be multiple {@link SqsAsyncClient}s being
+     * provided by the {@link SqsAsyncClientProvider}. When this identifier is set, it will obtain the client to be used
+     * via the {@link SqsAsyncClientProvider#getClient(String)} method.
+     *
+     * <p>If this value is not set (empty), the default client will be provided by a call to {@link SqsAsyncClientProvider#getDefaultClient()}.
+     *
+     * @return the identifier for the client to use or empty if the default should be used
+     */
+    String sqsClient() default "";
+
+    /**
+     * The number of batches of messages that can be processed concurrently.
+     *
+     * <p>The total number of messages being processed at once will be this value multiplied by the {@link #batchSize()}.
+     *
+     * <p>This value is ignored when {@link #concurrencyLevelString()} has been set and is not an empty string.
+     *
+     * @return the number of batches being processed concurrently
+     */
+    int concurrencyLevel() default 1;
+
+    /**
+     * The number of batches of messages that can be processed concurrently converted from a string representation.
+     *
+     * <p>This can be used when you need to load the value from Spring properties for example <pre>concurrencyLevelString = "${my.profile.property}"</pre>
+     * instead of having it hardcoded in {@link #concurrencyLevel()}.
+     *
+     * @return the number of batches being processed concurrently as a string
+     */
+    String concurrencyLevelString() default "";
+
+    /**
+     * The maximum number of messages that will be processed in a single call to the method.
+     *
+     * <p>This number should be positive but no greater than {@link AwsConstants#MAX_NUMBER_OF_MESSAGES_IN_BATCH} as this allows a full batch of messages
+     * to be retrieved in a single request and deleted in a single request.
+     *
+     * <p>This value is ignored when {@link #batchSizeString()} has been set and is not an empty string.
+     *
+     * @return the maximum number of messages in each batch
+     * @see BatchMessageProcessorProperties#getBatchSize() for more details about this parameter
+     */
+    int batchSize() default 10;
+
+    /**
+     * The maximum number of messages that will be processed in a single call to the method converted from a string representation.
+     *
+     * <p>This can be used when you need to load the value from Spring properties for example
+     * <pre>batchSizeString = "${my.profile.property}"</pre> instead of having it hardcoded in {@link #batchSize()}.
+     *
+     * @return the maximum number of messages in each batch as a string
+     * @see BatchMessageProcessorProperties#getBatchSize() for more details about this parameter
+     */
+    String batchSizeString() default "";
+
+    /**
+     * The maximum period of time that will be waited for a full batch of messages before the messages that have been received are processed.
+     *
+     * <p>This period is used for the retrieval of the messages, the processing of the batch and the deletion of the messages once they have been processed.
+     *
+     * @return the period in ms that will be waited for a full batch of messages
+     * @see BatchingMessageRetrieverProperties#getBatchingPeriodInMs() for more details
+     * @see BatchMessageProcessorProperties#getBatchingPeriodInMs() for more details
+     */
+    long batchingPeriodInMs() default 2000L;
+
+    /**
+     * The maximum period of time that will be waited for a full batch of messages before the messages that have been received are processed converted
+     * from a string representation.
+     *
+     * <p>This can be used when you need to load the value from Spring properties for example
+     * <pre>batchingPeriodInMsString = "${my.profile.property}"</pre> instead of having it hardcoded in {@link #batchingPeriodInMs()}.
+     *
+     * @return the period in ms that will be waited for a full batch of messages as a string
+     * @see #batchingPeriodInMs() for more information about this field
+     */
+    String batchingPeriodInMsString() default "";
+
+    /**
+     * The number of consecutive requests for messages that returned no messages before the retriever will start to backoff between requests, which
+     * reduces the number of requests made to SQS for queues that are idle.
+     *
+     * <p>If this value is zero or negative the retriever will never backoff when the queue is empty.
+     *
+     * @return the number of consecutive empty receives before backing off
+     * @see BatchingMessageRetrieverProperties#getEmptyReceivesBeforeIdleBackoff() for more details
+     */
+    int emptyReceivesBeforeIdleBackoff() default 0;
+
+    /**
+     * The number of consecutive requests for messages that returned no messages before the retriever will start to backoff between requests built from a
+     * string representation.
+     *
+     * <p>This can be used when you need to load the value from Spring properties for example
+     * <pre>emptyReceivesBeforeIdleBackoffString = "${my.profile.property}"</pre> instead of having it hardcoded in
+     * {@link #emptyReceivesBeforeIdleBackoff()}.
+     *
+     * <p>If this value is not empty, the value set by {@link #emptyReceivesBeforeIdleBackoff()} will be ignored.
+     *
+     * @return the number of consecutive empty receives before backing off
+     * @see BatchingMessageRetrieverProperties#getEmptyReceivesBeforeIdleBackoff() for more details
+     */
+    String emptyReceivesBeforeIdleBackoffString() default "";
+
+    /**
+     * The maximum time that the retriever will wait between requests for messages when the queue is idle.
+     *
+     * @return the maximum backoff time in milliseconds
+     * @see BatchingMessageRetrieverProperties#getMaxIdleBackoffTimeInMilliseconds() for more details
+     */
+    long maxIdleBackoffTimeInMilliseconds() default 60_000L;
+
+    /**
+     * The maximum time that the retriever will wait between requests for messages when the queue is idle built from a string representation.
+     *
+     * <p>This can be used when you need to load the value from Spring properties for example
+     * <pre>maxIdleBackoffTimeInMillisecondsString = "${my.profile.property}"</pre> instead of having it hardcoded in
+     * {@link #maxIdleBackoffTimeInMilliseconds()}.
+     *
+     * <p>If this value is not empty, the value set by {@link #maxIdleBackoffTimeInMilliseconds()} will be ignored.
+     *
+     * @return the maximum backoff time in milliseconds
+     * @see BatchingMessageRetrieverProperties#getMaxIdleBackoffTimeInMilliseconds() for more details
+     */
+    String maxIdleBackoffTimeInMillisecondsString() default "";
+
+    /**
+     * The message visibility that will be used for messages obtained from the queue.
+     *
+     * <p>As the messages in a batch are processed together, this should be long enough for the batching period and the processing of the whole batch.
+     *
+     * @return the message visibility for messages fetched from the queue
+     * @see BatchingMessageRetrieverProperties#getMessageVisibilityTimeoutInSeconds() for more details and constraints
+     */
+    int messageVisibilityTimeoutInSeconds() default 30;
+
+    /**
+     * The message visibility that will be used for messages obtained from the queue converted from a string representation.
+     *
+     * <p>This can be used when you need to load the value from Spring properties for example
+     * <pre>messageVisibilityTimeoutInSeconds = "${my.profile.property}"</pre> instead of having it hardcoded in {@link #messageVisibilityTimeoutInSeconds()}.
+     *
+     * @return the message visibility for messages fetched from the queue
+     * @see BatchingMessageRetrieverProperties#getMessageVisibilityTimeoutInSeconds() for more details and constraints
+     */
+    String messageVisibilityTimeoutInSecondsString() default "";
+
+    /**
+     * The names of the message attributes that should be downloaded with each message.
+     *
+     * <p>If this is empty, only the message attributes used by the parameters of the method, e.g. those annotated with
+     * {@link com.jashmore.sqs.argument.attribute.MessageAttribute @MessageAttribute}, are downloaded unless a parameter may need any of them, like the
+     * whole {@link software.amazon.awssdk.services.sqs.model.Message}, in which case all of them will be downloaded. Set this to "All" to
+     * always download all of the message attributes.
+     *
+     * @return the names of the message attributes to download
+     * @see BatchingMessageRetrieverProperties#getMessageAttributeNames() for more details
+     * @see com.jashmore.sqs.util.message.RequiredAttributeNamesUtils for how the message attributes used by the method are determined
+     */
+    String[] messageAttributeNames() default {};
+
+    /**
+     * The names of the message system attributes, e.g. "ApproximateReceiveCount", that should be downloaded with each message.
+     *
+     * <p>If this is empty, only the message system attributes used by the parameters of the method, e.g. those annotated with
+     * {@link com.jashmore.sqs.argument.attribute.MessageSystemAttribute @MessageSystemAttribute}, are downloaded unless a parameter may need any of
+     * them, like the whole {@link software.amazon.awssdk.services.sqs.model.Message}, in which case all of them will be downloaded. Set this to
+     * "All" to always download all of the message system attributes.
+     *
+     * @return the names of the message system attributes to download
+     * @see BatchingMessageRetrieverProperties#getMessageSystemAttributeNames() for more details
+     * @see com.jashmore.sqs.util.message.RequiredAttributeNamesUtils for how the message system attributes used by the method are determined
+     */
+    String[] messageSystemAttributeNames() default {};
+
+    /**
+     * Determines whether any extra messages that may have been downloaded but not yet processed should be processed before shutting down the container.
+     *
+     * <p>The shutdown time for the container will be dependent on the time it takes to process these extra messages.
+     *
+     * @return if any extra messages should be processed on shutdown
+     */
+    boolean processAnyExtraRetrievedMessagesOnShutdown() default true;
+
+    /**
+     * Determines whether any extra messages that may have been downloaded but not yet processed should be released back to the queue when shutting down
+     * the container, allowing them to be received by another consumer straight away instead of waiting for their visibility timeout to expire.
+     *
+     * <p>This takes precedence over {@link #processAnyExtraRetrievedMessagesOnShutdown()} and only the messages that could not be released will be
+     * processed before shutting down.
+     *
+     * @return if any extra messages should be released on shutdown
+     * @see com.jashmore.sqs.retriever.release.ReleaseOnShutdownMessageRetriever for more details
+     */
+    boolean releaseExtraRetrievedMessagesOnShutdown() default false;
+
+    /**
+     * Determines whether the threads that are processing messages should be interrupted during shutdown.
+     *
+     * @return whether to interrupt message processing threads on shutdown
+     */
+    boolean interruptThreadsProcessingMessagesOnShutdown() default false;
+
+    /**
+     * Determines whether each message should be processed on a new virtual thread instead of a platform thread.
+     *
+     * <p>This is useful for listeners that spend most of their time blocked on I/O, e.g. JDBC or HTTP calls, as it allows for the concurrency level
+     * to be much higher without the cost of a platform thread for each message. If the runtime does not support virtual threads, e.g. it is older than
+     * Java 21, the messages will be processed on platform threads instead.
+     *
+     * @return whether to process messages on virtual threads
+     */
+    boolean processMessagesOnVirtualThreads() default false;
+}
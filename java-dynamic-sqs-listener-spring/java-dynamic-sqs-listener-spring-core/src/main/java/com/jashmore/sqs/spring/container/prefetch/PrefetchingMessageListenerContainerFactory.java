@@ -5,32 +5,48 @@ import com.google.common.annotations.VisibleForTesting;
 import com.jashmore.sqs.QueueProperties;
 import com.jashmore.sqs.argument.ArgumentResolverService;
 import com.jashmore.sqs.broker.MessageBroker;
+import com.jashmore.sqs.broker.adaptive.AdaptiveConcurrentMessageBroker;
+import com.jashmore.sqs.broker.adaptive.AdaptiveConcurrentMessageBrokerProperties;
+import com.jashmore.sqs.broker.adaptive.StaticAdaptiveConcurrentMessageBrokerProperties;
 import com.jashmore.sqs.broker.concurrent.ConcurrentMessageBroker;
 import com.jashmore.sqs.broker.concurrent.StaticConcurrentMessageBrokerProperties;
 import com.jashmore.sqs.container.CoreMessageListenerContainer;
 import com.jashmore.sqs.container.MessageListenerContainer;
+import com.jashmore.sqs.container.SharedContainerExecutors;
 import com.jashmore.sqs.container.StaticCoreMessageListenerContainerProperties;
 import com.jashmore.sqs.processor.CoreMessageProcessor;
 import com.jashmore.sqs.processor.MessageProcessor;
+import com.jashmore.sqs.processor.backoff.BackoffOnFailureMessageProcessor;
+import com.jashmore.sqs.processor.backoff.BackoffOnFailureMessageProcessorProperties;
+import com.jashmore.sqs.processor.backoff.StaticBackoffOnFailureMessageProcessorProperties;
+import com.jashmore.sqs.processor.visibility.AutoVisibilityExtendingMessageProcessor;
+import com.jashmore.sqs.processor.visibility.AutoVisibilityExtendingMessageProcessorProperties;
+import com.jashmore.sqs.processor.visibility.StaticAutoVisibilityExtendingMessageProcessorProperties;
 import com.jashmore.sqs.resolver.MessageResolver;
 import com.jashmore.sqs.resolver.batching.BatchingMessageResolver;
 import com.jashmore.sqs.retriever.MessageRetriever;
 import com.jashmore.sqs.retriever.prefetch.PrefetchingMessageRetriever;
 import com.jashmore.sqs.retriever.prefetch.PrefetchingMessageRetrieverProperties;
 import com.jashmore.sqs.retriever.prefetch.StaticPrefetchingMessageRetrieverProperties;
+import com.jashmore.sqs.retriever.release.ReleaseOnShutdownMessageRetriever;
 import com.jashmore.sqs.spring.client.SqsAsyncClientProvider;
 import com.jashmore.sqs.spring.container.AbstractAnnotationMessageListenerContainerFactory;
+import com.jashmore.sqs.spring.container.MessageListenerComponentDecorator;
 import com.jashmore.sqs.spring.container.MessageListenerContainerFactory;
 import com.jashmore.sqs.spring.container.MessageListenerContainerInitialisationException;
 import com.jashmore.sqs.spring.queue.QueueResolver;
+import com.jashmore.sqs.spring.util.AttributeNamesUtils;
 import com.jashmore.sqs.spring.util.IdentifierUtils;
+import com.jashmore.sqs.util.message.MessageVisibilityDeadlines;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.env.Environment;
 import org.springframework.util.StringUtils;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
 
 import java.lang.reflect.Method;
+import java.util.Set;
 import java.util.function.Supplier;
 
 /**
@@ -44,6 +60,23 @@ public class PrefetchingMessageListenerContainerFactory extends AbstractAnnotati
     private final SqsAsyncClientProvider sqsAsyncClientProvider;
     private final QueueResolver queueResolver;
     private final Environment environment;
+    private final MessageListenerComponentDecorator componentDecorator;
+    private final SharedContainerExecutors sharedExecutors;
+
+    public PrefetchingMessageListenerContainerFactory(final ArgumentResolverService argumentResolverService,
+                                                      final SqsAsyncClientProvider sqsAsyncClientProvider,
+                                                      final QueueResolver queueResolver,
+                                                      final Environment environment) {
+        this(argumentResolverService, sqsAsyncClientProvider, queueResolver, environment, MessageListenerComponentDecorator.NONE);
+    }
+
+    public PrefetchingMessageListenerContainerFactory(final ArgumentResolverService argumentResolverService,
+                                                      final SqsAsyncClientProvider sqsAsyncClientProvider,
+                                                      final QueueResolver queueResolver,
+                                                      final Environment environment,
+                                                      final MessageListenerComponentDecorator componentDecorator) {
+        this(argumentResolverService, sqsAsyncClientProvider, queueResolver, environment, componentDecorator, SharedContainerExecutors.NONE);
+    }
 
     @Override
     protected Class<PrefetchingQueueListener> getAnnotationClass() {
@@ -54,28 +87,50 @@ public class PrefetchingMessageListenerContainerFactory extends AbstractAnnotati
     @Override
     protected MessageListenerContainer wrapMethodContainingAnnotation(final Object bean, final Method method,
                                                                       final PrefetchingQueueListener annotation) {
-        final SqsAsyncClient sqsAsyncClient = getSqsAsyncClient(annotation.sqsClient());
+        final String identifier = IdentifierUtils.buildIdentifierForMethod(annotation.identifier(), bean.getClass(), method);
+        final SqsAsyncClient sqsAsyncClient = componentDecorator.decorateSqsAsyncClient(identifier, getSqsAsyncClient(annotation.sqsClient()));
 
         final QueueProperties queueProperties = QueueProperties
                 .builder()
                 .queueUrl(queueResolver.resolveQueueUrl(sqsAsyncClient, annotation.value()))
                 .build();
 
+        // shared so that the visibility of messages that waited in the prefetched queue is extended from when they were received
+        final MessageVisibilityDeadlines visibilityDeadlines = new MessageVisibilityDeadlines();
+        final Supplier<MessageBroker> messageBrokerSupplier = buildMessageBrokerSupplier(annotation);
+        final Supplier<MessageRetriever> messageRetrieverSupplier = buildMessageRetrieverSupplier(
+                annotation, queueProperties, sqsAsyncClient, method, visibilityDeadlines
+        );
+        final Supplier<MessageProcessor> messageProcessorSupplier = buildProcessorSupplier(
+                annotation, queueProperties, sqsAsyncClient, bean, method, visibilityDeadlines
+        );
+        final Supplier<MessageResolver> messageResolverSupplier = buildMessageResolverSupplier(queueProperties, sqsAsyncClient);
+
         return new CoreMessageListenerContainer(
-                IdentifierUtils.buildIdentifierForMethod(annotation.identifier(), bean.getClass(), method),
-                buildMessageBrokerSupplier(annotation),
-                buildMessageRetrieverSupplier(annotation, queueProperties, sqsAsyncClient),
-                buildProcessorSupplier(queueProperties, sqsAsyncClient, bean, method),
-                buildMessageResolverSupplier(queueProperties, sqsAsyncClient),
+                identifier,
+                () -> componentDecorator.decorateMessageBroker(identifier, messageBrokerSupplier.get()),
+                () -> componentDecorator.decorateMessageRetriever(identifier, messageRetrieverSupplier.get()),
+                () -> componentDecorator.decorateMessageProcessor(identifier, messageProcessorSupplier.get()),
+                () -> componentDecorator.decorateMessageResolver(identifier, messageResolverSupplier.get()),
                 StaticCoreMessageListenerContainerProperties.builder()
                         .shouldProcessAnyExtraRetrievedMessagesOnShutdown(annotation.processAnyExtraRetrievedMessagesOnShutdown())
                         .shouldInterruptThreadsProcessingMessagesOnShutdown(annotation.interruptThreadsProcessingMessagesOnShutdown())
-                        .build()
+                        .shouldProcessMessagesOnVirtualThreads(annotation.processMessagesOnVirtualThreads())
+                        .build(),
+                sharedExecutors
         );
     }
 
-    private Supplier<MessageBroker> buildMessageBrokerSupplier(PrefetchingQueueListener annotation) {
+    private Supplier<MessageBroker> buildMessageBrokerSupplier(final PrefetchingQueueListener annotation) {
         final int concurrencyLevel = getConcurrencyLevel(annotation);
+        if (annotation.adaptiveConcurrency()) {
+            final AdaptiveConcurrentMessageBrokerProperties properties = StaticAdaptiveConcurrentMessageBrokerProperties.builder()
+                    .initialConcurrencyLevel(concurrencyLevel)
+                    .minimumConcurrencyLevel(getMinimumConcurrencyLevel(annotation))
+                    .maximumConcurrencyLevel(getMaximumConcurrencyLevel(annotation))
+                    .build();
+            return () -> new AdaptiveConcurrentMessageBroker(properties);
+        }
 
         return () -> new ConcurrentMessageBroker(StaticConcurrentMessageBrokerProperties.builder()
                 .concurrencyLevel(concurrencyLevel)
@@ -88,11 +143,37 @@ public class PrefetchingMessageListenerContainerFactory extends AbstractAnnotati
     }
 
 
-    private Supplier<MessageProcessor> buildProcessorSupplier(final QueueProperties queueProperties,
+    private Supplier<MessageProcessor> buildProcessorSupplier(final PrefetchingQueueListener annotation,
+                                                              final QueueProperties queueProperties,
                                                               final SqsAsyncClient sqsAsyncClient,
                                                               final Object bean,
-                                                              final Method method) {
-        return () -> new CoreMessageProcessor(argumentResolverService, queueProperties, sqsAsyncClient, method, bean);
+                                                              final Method method,
+                                                              final MessageVisibilityDeadlines visibilityDeadlines) {
+        final Supplier<MessageProcessor> delegateProcessorSupplier;
+        if (annotation.autoExtendVisibility()) {
+            final AutoVisibilityExtendingMessageProcessorProperties properties = StaticAutoVisibilityExtendingMessageProcessorProperties.builder()
+                    .visibilityTimeoutInSeconds(getMessageVisibilityTimeoutInSeconds(annotation))
+                    .bufferTimeInSeconds(getAutoExtendVisibilityBufferTimeInSeconds(annotation))
+                    .build();
+            delegateProcessorSupplier = () -> new AutoVisibilityExtendingMessageProcessor(
+                    new CoreMessageProcessor(argumentResolverService, queueProperties, sqsAsyncClient, method, bean),
+                    queueProperties,
+                    sqsAsyncClient,
+                    properties,
+                    visibilityDeadlines
+            );
+        } else {
+            delegateProcessorSupplier = () -> new CoreMessageProcessor(argumentResolverService, queueProperties, sqsAsyncClient, method, bean);
+        }
+
+        if (annotation.backoffOnFailure()) {
+            final BackoffOnFailureMessageProcessorProperties properties = StaticBackoffOnFailureMessageProcessorProperties.builder()
+                    .maxBackoffInSeconds(getMaxBackoffOnFailureInSeconds(annotation))
+                    .build();
+            return () -> new BackoffOnFailureMessageProcessor(delegateProcessorSupplier.get(), queueProperties, sqsAsyncClient, properties);
+        }
+
+        return delegateProcessorSupplier;
     }
 
     private int getConcurrencyLevel(final PrefetchingQueueListener annotation) {
@@ -103,6 +184,22 @@ public class PrefetchingMessageListenerContainerFactory extends AbstractAnnotati
         return Integer.parseInt(environment.resolvePlaceholders(annotation.concurrencyLevelString()));
     }
 
+    private int getMinimumConcurrencyLevel(final PrefetchingQueueListener annotation) {
+        if (StringUtils.isEmpty(annotation.minimumConcurrencyLevelString())) {
+            return annotation.minimumConcurrencyLevel();
+        }
+
+        return Integer.parseInt(environment.resolvePlaceholders(annotation.minimumConcurrencyLevelString()));
+    }
+
+    private int getMaximumConcurrencyLevel(final PrefetchingQueueListener annotation) {
+        if (StringUtils.isEmpty(annotation.maximumConcurrencyLevelString())) {
+            return annotation.maximumConcurrencyLevel();
+        }
+
+        return Integer.parseInt(environment.resolvePlaceholders(annotation.maximumConcurrencyLevelString()));
+    }
+
     private int getMaxPrefetchedMessages(final PrefetchingQueueListener annotation) {
         if (StringUtils.isEmpty(annotation.maxPrefetchedMessagesString())) {
             return annotation.maxPrefetchedMessages();
@@ -111,6 +208,44 @@ public class PrefetchingMessageListenerContainerFactory extends AbstractAnnotati
         return Integer.parseInt(environment.resolvePlaceholders(annotation.maxPrefetchedMessagesString()));
     }
 
+    private Long getMaxPrefetchedBytes(final PrefetchingQueueListener annotation) {
+        final long maxPrefetchedBytes;
+        if (StringUtils.isEmpty(annotation.maxPrefetchedBytesString())) {
+            maxPrefetchedBytes = annotation.maxPrefetchedBytes();
+        } else {
+            maxPrefetchedBytes = Long.parseLong(environment.resolvePlaceholders(annotation.maxPrefetchedBytesString()));
+        }
+
+        return maxPrefetchedBytes > 0 ? maxPrefetchedBytes : null;
+    }
+
+    private int getMaxConcurrentReceiveRequests(final PrefetchingQueueListener annotation) {
+        if (StringUtils.isEmpty(annotation.maxConcurrentReceiveRequestsString())) {
+            return annotation.maxConcurrentReceiveRequests();
+        }
+
+        return Integer.parseInt(environment.resolvePlaceholders(annotation.maxConcurrentReceiveRequestsString()));
+    }
+
+    private Integer getEmptyReceivesBeforeIdleBackoff(final PrefetchingQueueListener annotation) {
+        final int emptyReceivesBeforeIdleBackoff;
+        if (StringUtils.isEmpty(annotation.emptyReceivesBeforeIdleBackoffString())) {
+            emptyReceivesBeforeIdleBackoff = annotation.emptyReceivesBeforeIdleBackoff();
+        } else {
+            emptyReceivesBeforeIdleBackoff = Integer.parseInt(environment.resolvePlaceholders(annotation.emptyReceivesBeforeIdleBackoffString()));
+        }
+
+        return emptyReceivesBeforeIdleBackoff > 0 ? emptyReceivesBeforeIdleBackoff : null;
+    }
+
+    private long getMaxIdleBackoffTimeInMilliseconds(final PrefetchingQueueListener annotation) {
+        if (StringUtils.isEmpty(annotation.maxIdleBackoffTimeInMillisecondsString())) {
+            return annotation.maxIdleBackoffTimeInMilliseconds();
+        }
+
+        return Long.parseLong(environment.resolvePlaceholders(annotation.maxIdleBackoffTimeInMillisecondsString()));
+    }
+
     private int getMessageVisibilityTimeoutInSeconds(final PrefetchingQueueListener annotation) {
         if (StringUtils.isEmpty(annotation.messageVisibilityTimeoutInSecondsString())) {
             return annotation.messageVisibilityTimeoutInSeconds();
@@ -119,6 +254,46 @@ public class PrefetchingMessageListenerContainerFactory extends AbstractAnnotati
         return Integer.parseInt(environment.resolvePlaceholders(annotation.messageVisibilityTimeoutInSecondsString()));
     }
 
+    private Integer getPrefetchedMessageExpiryBufferInSeconds(final PrefetchingQueueListener annotation) {
+        final int prefetchedMessageExpiryBufferInSeconds;
+        if (StringUtils.isEmpty(annotation.prefetchedMessageExpiryBufferInSecondsString())) {
+            prefetchedMessageExpiryBufferInSeconds = annotation.prefetchedMessageExpiryBufferInSeconds();
+        } else {
+            prefetchedMessageExpiryBufferInSeconds = Integer.parseInt(
+                    environment.resolvePlaceholders(annotation.prefetchedMessageExpiryBufferInSecondsString())
+            );
+        }
+
+        return prefetchedMessageExpiryBufferInSeconds >= 0 ? prefetchedMessageExpiryBufferInSeconds : null;
+    }
+
+    private Set<MessageSystemAttributeName> getMessageSystemAttributeNames(final PrefetchingQueueListener annotation, final Method method) {
+        final Set<MessageSystemAttributeName> messageSystemAttributeNames = AttributeNamesUtils.getMessageSystemAttributeNames(
+                annotation.messageSystemAttributeNames(), method
+        );
+        if (annotation.backoffOnFailure()) {
+            // the backoff is calculated from the number of times the message has been received
+            return AttributeNamesUtils.withMessageSystemAttributeName(messageSystemAttributeNames, MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT);
+        }
+        return messageSystemAttributeNames;
+    }
+
+    private int getMaxBackoffOnFailureInSeconds(final PrefetchingQueueListener annotation) {
+        if (StringUtils.isEmpty(annotation.maxBackoffOnFailureInSecondsString())) {
+            return annotation.maxBackoffOnFailureInSeconds();
+        }
+
+        return Integer.parseInt(environment.resolvePlaceholders(annotation.maxBackoffOnFailureInSecondsString()));
+    }
+
+    private int getAutoExtendVisibilityBufferTimeInSeconds(final PrefetchingQueueListener annotation) {
+        if (StringUtils.isEmpty(annotation.autoExtendVisibilityBufferTimeInSecondsString())) {
+            return annotation.autoExtendVisibilityBufferTimeInSeconds();
+        }
+
+        return Integer.parseInt(environment.resolvePlaceholders(annotation.autoExtendVisibilityBufferTimeInSecondsString()));
+    }
+
     private int getDesiredMinPrefetchedMessages(final PrefetchingQueueListener annotation) {
         if (StringUtils.isEmpty(annotation.desiredMinPrefetchedMessagesString())) {
             return annotation.desiredMinPrefetchedMessages();
@@ -128,19 +303,33 @@ public class PrefetchingMessageListenerContainerFactory extends AbstractAnnotati
     }
 
     @VisibleForTesting
-    PrefetchingMessageRetrieverProperties buildMessageRetrieverProperties(final PrefetchingQueueListener annotation) {
+    PrefetchingMessageRetrieverProperties buildMessageRetrieverProperties(final PrefetchingQueueListener annotation, final Method method) {
         return StaticPrefetchingMessageRetrieverProperties.builder()
                 .desiredMinPrefetchedMessages(getDesiredMinPrefetchedMessages(annotation))
                 .maxPrefetchedMessages(getMaxPrefetchedMessages(annotation))
+                .maxPrefetchedBytes(getMaxPrefetchedBytes(annotation))
                 .messageVisibilityTimeoutInSeconds(getMessageVisibilityTimeoutInSeconds(annotation))
+                .prefetchedMessageExpiryBufferInSeconds(getPrefetchedMessageExpiryBufferInSeconds(annotation))
+                .maxConcurrentReceiveRequests(getMaxConcurrentReceiveRequests(annotation))
+                .emptyReceivesBeforeIdleBackoff(getEmptyReceivesBeforeIdleBackoff(annotation))
+                .maxIdleBackoffTimeInMilliseconds(getMaxIdleBackoffTimeInMilliseconds(annotation))
+                .messageAttributeNames(AttributeNamesUtils.getMessageAttributeNames(annotation.messageAttributeNames(), method, argumentResolverService))
+                .messageSystemAttributeNames(getMessageSystemAttributeNames(annotation, method))
                 .build();
     }
 
     private Supplier<MessageRetriever> buildMessageRetrieverSupplier(final PrefetchingQueueListener annotation,
                                                                      final QueueProperties queueProperties,
-                                                                     final SqsAsyncClient sqsAsyncClient) {
-        final PrefetchingMessageRetrieverProperties properties = buildMessageRetrieverProperties(annotation);
-        return () -> new PrefetchingMessageRetriever(sqsAsyncClient, queueProperties, properties);
+                                                                     final SqsAsyncClient sqsAsyncClient,
+                                                                     final Method method,
+                                                                     final MessageVisibilityDeadlines visibilityDeadlines) {
+        final PrefetchingMessageRetrieverProperties properties = buildMessageRetrieverProperties(annotation, method);
+        if (annotation.releaseExtraRetrievedMessagesOnShutdown()) {
+            return () -> new ReleaseOnShutdownMessageRetriever(
+                    new PrefetchingMessageRetriever(sqsAsyncClient, queueProperties, properties, visibilityDeadlines), queueProperties, sqsAsyncClient
+            );
+        }
+        return () -> new PrefetchingMessageRetriever(sqsAsyncClient, queueProperties, properties, visibilityDeadlines);
     }
 
     private SqsAsyncClient getSqsAsyncClient(final String sqsClient) {
@@ -5,12 +5,19 @@ import static java.lang.annotation.ElementType.METHOD;
 import static java.lang.annotation.RetentionPolicy.RUNTIME;
 
 import com.jashmore.sqs.QueueProperties;
+import com.jashmore.sqs.broker.adaptive.AdaptiveConcurrentMessageBroker;
+import com.jashmore.sqs.broker.adaptive.AdaptiveConcurrentMessageBrokerProperties;
 import com.jashmore.sqs.broker.concurrent.ConcurrentMessageBroker;
 import com.jashmore.sqs.broker.concurrent.ConcurrentMessageBrokerProperties;
 import com.jashmore.sqs.container.MessageListenerContainer;
 import com.jashmore.sqs.processor.CoreMessageProcessor;
+import com.jashmore.sqs.processor.backoff.BackoffOnFailureMessageProcessor;
+import com.jashmore.sqs.processor.backoff.BackoffOnFailureMessageProcessorProperties;
+import com.jashmore.sqs.processor.visibility.AutoVisibilityExtendingMessageProcessor;
+import com.jashmore.sqs.processor.visibility.AutoVisibilityExtendingMessageProcessorProperties;
 import com.jashmore.sqs.retriever.batching.BatchingMessageRetrieverProperties;
 import com.jashmore.sqs.retriever.prefetch.PrefetchingMessageRetriever;
+import com.jashmore.sqs.retriever.prefetch.PrefetchingMessageRetrieverProperties;
 import com.jashmore.sqs.retriever.prefetch.StaticPrefetchingMessageRetrieverProperties;
 import com.jashmore.sqs.spring.client.SqsAsyncClientProvider;
 import org.springframework.core.env.Environment;
@@ -97,6 +104,61 @@ public @interface PrefetchingQueueListener {
      */
     String concurrencyLevelString() default "";
 
+    /**
+     * Whether the level of concurrency should be automatically adjusted based on the latency and failures observed while processing messages.
+     *
+     * <p>When this is enabled the {@link #concurrencyLevel()} is used as the initial level of concurrency and the concurrency will be kept between the
+     * {@link #minimumConcurrencyLevel()} and {@link #maximumConcurrencyLevel()}.
+     *
+     * @return whether the concurrency level should adapt to the processing of messages
+     * @see AdaptiveConcurrentMessageBroker for more details about how the concurrency level is determined
+     */
+    boolean adaptiveConcurrency() default false;
+
+    /**
+     * The lowest number of threads that will be processing messages when {@link #adaptiveConcurrency()} is enabled.
+     *
+     * <p>This value is ignored when {@link #minimumConcurrencyLevelString()} has been set and is not an empty string.
+     *
+     * @return the minimum number of threads processing messages
+     * @see AdaptiveConcurrentMessageBrokerProperties#getMinimumConcurrencyLevel() for more details and constraints
+     */
+    int minimumConcurrencyLevel() default 1;
+
+    /**
+     * The lowest number of threads that will be processing messages when {@link #adaptiveConcurrency()} is enabled converted from a string
+     * representation.
+     *
+     * <p>This can be used when you need to load the value from Spring properties for example
+     * <pre>minimumConcurrencyLevelString = "${my.profile.property}"</pre> instead of having it hardcoded in {@link #minimumConcurrencyLevel()}.
+     *
+     * @return the minimum number of threads processing messages as a string
+     * @see AdaptiveConcurrentMessageBrokerProperties#getMinimumConcurrencyLevel() for more details and constraints
+     */
+    String minimumConcurrencyLevelString() default "";
+
+    /**
+     * The highest number of threads that will be processing messages when {@link #adaptiveConcurrency()} is enabled.
+     *
+     * <p>This value is ignored when {@link #maximumConcurrencyLevelString()} has been set and is not an empty string.
+     *
+     * @return the maximum number of threads processing messages
+     * @see AdaptiveConcurrentMessageBrokerProperties#getMaximumConcurrencyLevel() for more details and constraints
+     */
+    int maximumConcurrencyLevel() default 20;
+
+    /**
+     * The highest number of threads that will be processing messages when {@link #adaptiveConcurrency()} is enabled converted from a string
+     * representation.
+     *
+     * <p>This can be used when you need to load the value from Spring properties for example
+     * <pre>maximumConcurrencyLevelString = "${my.profile.property}"</pre> instead of having it hardcoded in {@link #maximumConcurrencyLevel()}.
+     *
+     * @return the maximum number of threads processing messages as a string
+     * @see AdaptiveConcurrentMessageBrokerProperties#getMaximumConcurrencyLevel() for more details and constraints
+     */
+    String maximumConcurrencyLevelString() default "";
+
     /**
      * The minimum number of messages that are should be prefetched before it tries to fetch more messages.
      *
@@ -139,6 +201,99 @@ public @interface PrefetchingQueueListener {
      */
     String maxPrefetchedMessagesString() default "";
 
+    /**
+     * The total size in bytes of the messages that can be prefetched from the server and stored in memory for execution.
+     *
+     * <p>If this value is zero or negative, the size of the prefetched messages will not be limited.
+     *
+     * @return the max size of the prefetched messages in bytes
+     * @see StaticPrefetchingMessageRetrieverProperties#getMaxPrefetchedBytes() for more details and constraints
+     */
+    long maxPrefetchedBytes() default -1;
+
+    /**
+     * The total size in bytes of the messages that can be prefetched from the server and stored in memory for execution built from a string
+     * representation.
+     *
+     * <p>This can be used when you need to load the value from Spring properties for example <pre>maxPrefetchedBytesString = "${my.profile.property}"</pre>
+     * instead of having it hardcoded in {@link #maxPrefetchedBytes()}.
+     *
+     * <p>If this value is not empty, the value set by {@link #maxPrefetchedBytes()} will be ignored.
+     *
+     * @return the max size of the prefetched messages in bytes
+     * @see StaticPrefetchingMessageRetrieverProperties#getMaxPrefetchedBytes() for more details and constraints
+     */
+    String maxPrefetchedBytesString() default "";
+
+    /**
+     * The maximum number of requests for messages that can be in flight to SQS at the same time.
+     *
+     * @return the maximum number of concurrent requests for messages
+     * @see StaticPrefetchingMessageRetrieverProperties#getMaxConcurrentReceiveRequests() for more details and constraints
+     */
+    int maxConcurrentReceiveRequests() default 1;
+
+    /**
+     * The maximum number of requests for messages that can be in flight to SQS at the same time built from a string representation.
+     *
+     * <p>This can be used when you need to load the value from Spring properties for example
+     * <pre>maxConcurrentReceiveRequestsString = "${my.profile.property}"</pre> instead of having it hardcoded in {@link #maxConcurrentReceiveRequests()}.
+     *
+     * <p>If this value is not empty, the value set by {@link #maxConcurrentReceiveRequests()} will be ignored.
+     *
+     * @return the maximum number of concurrent requests for messages
+     * @see StaticPrefetchingMessageRetrieverProperties#getMaxConcurrentReceiveRequests() for more details and constraints
+     */
+    String maxConcurrentReceiveRequestsString() default "";
+
+    /**
+     * The number of consecutive requests for messages that returned no messages before the retriever will start to backoff between requests, which
+     * reduces the number of requests made to SQS for queues that are idle.
+     *
+     * <p>If this value is zero or negative the retriever will never backoff when the queue is empty.
+     *
+     * @return the number of consecutive empty receives before backing off
+     * @see PrefetchingMessageRetrieverProperties#getEmptyReceivesBeforeIdleBackoff() for more details
+     */
+    int emptyReceivesBeforeIdleBackoff() default 0;
+
+    /**
+     * The number of consecutive requests for messages that returned no messages before the retriever will start to backoff between requests built from a
+     * string representation.
+     *
+     * <p>This can be used when you need to load the value from Spring properties for example
+     * <pre>emptyReceivesBeforeIdleBackoffString = "${my.profile.property}"</pre> instead of having it hardcoded in
+     * {@link #emptyReceivesBeforeIdleBackoff()}.
+     *
+     * <p>If this value is not empty, the value set by {@link #emptyReceivesBeforeIdleBackoff()} will be ignored.
+     *
+     * @return the number of consecutive empty receives before backing off
+     * @see PrefetchingMessageRetrieverProperties#getEmptyReceivesBeforeIdleBackoff() for more details
+     */
+    String emptyReceivesBeforeIdleBackoffString() default "";
+
+    /**
+     * The maximum time that the retriever will wait between requests for messages when the queue is idle.
+     *
+     * @return the maximum backoff time in milliseconds
+     * @see PrefetchingMessageRetrieverProperties#getMaxIdleBackoffTimeInMilliseconds() for more details
+     */
+    long maxIdleBackoffTimeInMilliseconds() default 60_000L;
+
+    /**
+     * The maximum time that the retriever will wait between requests for messages when the queue is idle built from a string representation.
+     *
+     * <p>This can be used when you need to load the value from Spring properties for example
+     * <pre>maxIdleBackoffTimeInMillisecondsString = "${my.profile.property}"</pre> instead of having it hardcoded in
+     * {@link #maxIdleBackoffTimeInMilliseconds()}.
+     *
+     * <p>If this value is not empty, the value set by {@link #maxIdleBackoffTimeInMilliseconds()} will be ignored.
+     *
+     * @return the maximum backoff time in milliseconds
+     * @see PrefetchingMessageRetrieverProperties#getMaxIdleBackoffTimeInMilliseconds() for more details
+     */
+    String maxIdleBackoffTimeInMillisecondsString() default "";
+
     /**
      * The message visibility that will be used for messages obtained from the queue.
      *
@@ -158,6 +313,130 @@ public @interface PrefetchingQueueListener {
      */
     String messageVisibilityTimeoutInSecondsString() default "";
 
+    /**
+     * The number of seconds of the visibility timeout that a prefetched message must have remaining for it to be given to the message listener, with
+     * messages that have less time remaining being released back to the queue.
+     *
+     * <p>If this value is negative, a proportion of the {@link #messageVisibilityTimeoutInSeconds()} will be used.
+     *
+     * @return the minimum remaining visibility timeout in seconds
+     * @see PrefetchingMessageRetrieverProperties#getPrefetchedMessageExpiryBufferInSeconds() for more details and constraints
+     */
+    int prefetchedMessageExpiryBufferInSeconds() default -1;
+
+    /**
+     * The number of seconds of the visibility timeout that a prefetched message must have remaining for it to be given to the message listener built from
+     * a string representation.
+     *
+     * <p>This can be used when you need to load the value from Spring properties for example
+     * <pre>prefetchedMessageExpiryBufferInSecondsString = "${my.profile.property}"</pre> instead of having it hardcoded in
+     * {@link #prefetchedMessageExpiryBufferInSeconds()}.
+     *
+     * <p>If this value is not empty, the value set by {@link #prefetchedMessageExpiryBufferInSeconds()} will be ignored.
+     *
+     * @return the minimum remaining visibility timeout in seconds
+     * @see PrefetchingMessageRetrieverProperties#getPrefetchedMessageExpiryBufferInSeconds() for more details and constraints
+     */
+    String prefetchedMessageExpiryBufferInSecondsString() default "";
+
+    /**
+     * Whether the visibility of messages that are taking a long time to process should be automatically extended before their visibility timeout
+     * expires, so that they are not processed again by another listener.
+     *
+     * <p>The visibility of the messages is extended to the {@link #messageVisibilityTimeoutInSeconds()} with the messages being extended together in
+     * batches to reduce the number of calls to SQS.
+     *
+     * @return whether the visibility of messages should be automatically extended
+     * @see AutoVisibilityExtendingMessageProcessor for more details about how the visibility is extended
+     */
+    boolean autoExtendVisibility() default false;
+
+    /**
+     * The number of seconds before the visibility timeout of a message expires that the visibility should be extended when {@link #autoExtendVisibility()}
+     * is enabled.
+     *
+     * <p>This value is ignored when {@link #autoExtendVisibilityBufferTimeInSecondsString()} has been set and is not an empty string.
+     *
+     * @return the buffer time in seconds before the visibility timeout expires
+     * @see AutoVisibilityExtendingMessageProcessorProperties#getBufferTimeInSeconds() for more details and constraints
+     */
+    int autoExtendVisibilityBufferTimeInSeconds() default 10;
+
+    /**
+     * The number of seconds before the visibility timeout of a message expires that the visibility should be extended when {@link #autoExtendVisibility()}
+     * is enabled converted from a string representation.
+     *
+     * <p>This can be used when you need to load the value from Spring properties for example
+     * <pre>autoExtendVisibilityBufferTimeInSecondsString = "${my.profile.property}"</pre> instead of having it hardcoded in
+     * {@link #autoExtendVisibilityBufferTimeInSeconds()}.
+     *
+     * @return the buffer time in seconds before the visibility timeout expires as a string
+     * @see AutoVisibilityExtendingMessageProcessorProperties#getBufferTimeInSeconds() for more details and constraints
+     */
+    String autoExtendVisibilityBufferTimeInSecondsString() default "";
+
+    /**
+     * Whether the visibility timeout of a message that failed to be processed should be changed so that it is received again after an exponential
+     * backoff based on the number of times that it has been received, instead of after the full {@link #messageVisibilityTimeoutInSeconds()}.
+     *
+     * <p>When this is enabled, the "ApproximateReceiveCount" message system attribute will always be downloaded with the messages.
+     *
+     * @return whether messages that failed to be processed should be backed off
+     * @see BackoffOnFailureMessageProcessor for more details about how the backoff is calculated
+     */
+    boolean backoffOnFailure() default false;
+
+    /**
+     * The maximum number of seconds before a message that failed to be processed will be received again when {@link #backoffOnFailure()} is enabled.
+     *
+     * <p>This value is ignored when {@link #maxBackoffOnFailureInSecondsString()} has been set and is not an empty string.
+     *
+     * @return the maximum backoff in seconds
+     * @see BackoffOnFailureMessageProcessorProperties#getMaxBackoffInSeconds() for more details and constraints
+     */
+    int maxBackoffOnFailureInSeconds() default 900;
+
+    /**
+     * The maximum number of seconds before a message that failed to be processed will be received again when {@link #backoffOnFailure()} is enabled
+     * converted from a string representation.
+     *
+     * <p>This can be used when you need to load the value from Spring properties for example
+     * <pre>maxBackoffOnFailureInSecondsString = "${my.profile.property}"</pre> instead of having it hardcoded in
+     * {@link #maxBackoffOnFailureInSeconds()}.
+     *
+     * @return the maximum backoff in seconds as a string
+     * @see BackoffOnFailureMessageProcessorProperties#getMaxBackoffInSeconds() for more details and constraints
+     */
+    String maxBackoffOnFailureInSecondsString() default "";
+
+    /**
+     * The names of the message attributes that should be downloaded with each message.
+     *
+     * <p>If this is empty, only the message attributes used by the parameters of the method, e.g. those annotated with
+     * {@link com.jashmore.sqs.argument.attribute.MessageAttribute @MessageAttribute}, are downloaded unless a parameter may need any of them, like the
+     * whole {@link software.amazon.awssdk.services.sqs.model.Message}, in which case all of them will be downloaded. Set this to "All" to
+     * always download all of the message attributes.
+     *
+     * @return the names of the message attributes to download
+     * @see PrefetchingMessageRetrieverProperties#getMessageAttributeNames() for more details
+     * @see com.jashmore.sqs.util.message.RequiredAttributeNamesUtils for how the message attributes used by the method are determined
+     */
+    String[] messageAttributeNames() default {};
+
+    /**
+     * The names of the message system attributes, e.g. "ApproximateReceiveCount", that should be downloaded with each message.
+     *
+     * <p>If this is empty, only the message system attributes used by the parameters of the method, e.g. those annotated with
+     * {@link com.jashmore.sqs.argument.attribute.MessageSystemAttribute @MessageSystemAttribute}, are downloaded unless a parameter may need any of
+     * them, like the whole {@link software.amazon.awssdk.services.sqs.model.Message}, in which case all of them will be downloaded. Set this to
+     * "All" to always download all of the message system attributes.
+     *
+     * @return the names of the message system attributes to download
+     * @see PrefetchingMessageRetrieverProperties#getMessageSystemAttributeNames() for more details
+     * @see com.jashmore.sqs.util.message.RequiredAttributeNamesUtils for how the message system attributes used by the method are determined
+     */
+    String[] messageSystemAttributeNames() default {};
+
     /**
      * Determines whether any extra messages that may have been downloaded but not yet processed should be processed before shutting down the container.
      *
@@ -167,10 +446,33 @@ public @interface PrefetchingQueueListener {
      */
     boolean processAnyExtraRetrievedMessagesOnShutdown() default true;
 
+    /**
+     * Determines whether any extra messages that may have been downloaded but not yet processed should be released back to the queue when shutting down
+     * the container, allowing them to be received by another consumer straight away instead of waiting for their visibility timeout to expire.
+     *
+     * <p>This takes precedence over {@link #processAnyExtraRetrievedMessagesOnShutdown()} and only the messages that could not be released will be
+     * processed before shutting down.
+     *
+     * @return if any extra messages should be released on shutdown
+     * @see com.jashmore.sqs.retriever.release.ReleaseOnShutdownMessageRetriever for more details
+     */
+    boolean releaseExtraRetrievedMessagesOnShutdown() default false;
+
     /**
      * Determines whether the threads that are processing messages should be interrupted during shutdown.
      *
      * @return whether to interrupt message processing threads on shutdown
      */
     boolean interruptThreadsProcessingMessagesOnShutdown() default false;
+
+    /**
+     * Determines whether each message should be processed on a new virtual thread instead of a platform thread.
+     *
+     * <p>This is useful for listeners that spend most of their time blocked on I/O, e.g. JDBC or HTTP calls, as it allows for the concurrency level
+     * to be much higher without the cost of a platform thread for each message. If the runtime does not support virtual threads, e.g. it is older than
+     * Java 21, the messages will be processed on platform threads instead.
+     *
+     * @return whether to process messages on virtual threads
+     */
+    boolean processMessagesOnVirtualThreads() default false;
 }
@@ -0,0 +1,67 @@
+package com.jashmore.sqs.spring.metrics;
+
+import com.jashmore.sqs.broker.MessageBroker;
+import com.jashmore.sqs.micrometer.MessageListenerContainerMetrics;
+import com.jashmore.sqs.processor.MessageProcessor;
+import com.jashmore.sqs.retriever.MessageRetriever;
+import com.jashmore.sqs.spring.container.MessageListenerComponentDecorator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link MessageListenerComponentDecorator} that will record the metrics for each of the containers using the {@link MeterRegistry} in the application.
+ *
+ * <p>If there is no {@link MeterRegistry} available in the application the components will not be decorated.
+ *
+ * @see MessageListenerContainerMetrics for the metrics that are recorded
+ */
+public class MicrometerMessageListenerComponentDecorator implements MessageListenerComponentDecorator {
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+    private final Map<String, MessageListenerContainerMetrics> metricsForContainers = new ConcurrentHashMap<>();
+
+    public MicrometerMessageListenerComponentDecorator(final ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    @Override
+    public SqsAsyncClient decorateSqsAsyncClient(final String identifier, final SqsAsyncClient sqsAsyncClient) {
+        return getMetrics(identifier)
+                .map(metrics -> metrics.instrumentSqsAsyncClient(sqsAsyncClient))
+                .orElse(sqsAsyncClient);
+    }
+
+    @Override
+    public MessageBroker decorateMessageBroker(final String identifier, final MessageBroker messageBroker) {
+        return getMetrics(identifier)
+                .map(metrics -> metrics.instrumentMessageBroker(messageBroker))
+                .orElse(messageBroker);
+    }
+
+    @Override
+    public MessageRetriever decorateMessageRetriever(final String identifier, final MessageRetriever messageRetriever) {
+        return getMetrics(identifier)
+                .map(metrics -> metrics.instrumentMessageRetriever(messageRetriever))
+                .orElse(messageRetriever);
+    }
+
+    @Override
+    public MessageProcessor decorateMessageProcessor(final String identifier, final MessageProcessor messageProcessor) {
+        return getMetrics(identifier)
+                .map(metrics -> metrics.instrumentMessageProcessor(messageProcessor))
+                .orElse(messageProcessor);
+    }
+
+    private Optional<MessageListenerContainerMetrics> getMetrics(final String identifier) {
+        final MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable();
+        if (meterRegistry == null) {
+            return Optional.empty();
+        }
+
+        return Optional.of(metricsForContainers.computeIfAbsent(identifier, key -> new MessageListenerContainerMetrics(meterRegistry, key)));
+    }
+}
@@ -0,0 +1,97 @@
+package com.jashmore.sqs.spring.util;
+
+import com.google.common.collect.ImmutableSet;
+
+import com.jashmore.sqs.argument.ArgumentResolverService;
+import com.jashmore.sqs.spring.container.MessageListenerContainerInitialisationException;
+import com.jashmore.sqs.util.message.RequiredAttributeNamesUtils;
+import lombok.experimental.UtilityClass;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+@UtilityClass
+public class AttributeNamesUtils {
+    /**
+     * Determine the names of the message attributes that should be downloaded for the message listener method.
+     *
+     * @param configuredAttributeNames the names of the message attributes configured on the annotation, empty if they should be determined from the method
+     * @param method                   the message listener method
+     * @param argumentResolverService  the service that will resolve the arguments of the method
+     * @return the names of the message attributes or null if all of them should be downloaded
+     */
+    @Nullable
+    public static Set<String> getMessageAttributeNames(final String[] configuredAttributeNames,
+                                                       final Method method,
+                                                       final ArgumentResolverService argumentResolverService) {
+        if (configuredAttributeNames.length == 0) {
+            return RequiredAttributeNamesUtils.getRequiredMessageAttributeNames(method, argumentResolverService).orElse(null);
+        }
+
+        if (containsAll(configuredAttributeNames)) {
+            return null;
+        }
+
+        return ImmutableSet.copyOf(configuredAttributeNames);
+    }
+
+    /**
+     * Determine the message system attributes that should be downloaded for the message listener method.
+     *
+     * @param configuredAttributeNames the names of the message system attributes configured on the annotation, empty if they should be determined from
+     *                                 the method
+     * @param method                   the message listener method
+     * @return the message system attributes or null if all of them should be downloaded
+     * @throws MessageListenerContainerInitialisationException if one of the configured names is not a known message system attribute
+     */
+    @Nullable
+    public static Set<MessageSystemAttributeName> getMessageSystemAttributeNames(final String[] configuredAttributeNames, final Method method) {
+        if (configuredAttributeNames.length == 0) {
+            return RequiredAttributeNamesUtils.getRequiredMessageSystemAttributeNames(method).orElse(null);
+        }
+
+        if (containsAll(configuredAttributeNames)) {
+            return null;
+        }
+
+        return Arrays.stream(configuredAttributeNames)
+                .map(AttributeNamesUtils::toMessageSystemAttributeName)
+                .collect(ImmutableSet.toImmutableSet());
+    }
+
+    /**
+     * Add the message system attribute to the message system attributes that should be downloaded, e.g. because it is needed by one of the components.
+     *
+     * @param messageSystemAttributeNames the message system attributes or null if all of them should be downloaded
+     * @param requiredAttributeName       the message system attribute to add
+     * @return the message system attributes including the required attribute or null if all of them should be downloaded
+     */
+    @Nullable
+    public static Set<MessageSystemAttributeName> withMessageSystemAttributeName(@Nullable final Set<MessageSystemAttributeName> messageSystemAttributeNames,
+                                                                                 final MessageSystemAttributeName requiredAttributeName) {
+        if (messageSystemAttributeNames == null) {
+            return null;
+        }
+
+        return ImmutableSet.<MessageSystemAttributeName>builder()
+                .addAll(messageSystemAttributeNames)
+                .add(requiredAttributeName)
+                .build();
+    }
+
+    private static MessageSystemAttributeName toMessageSystemAttributeName(final String attributeName) {
+        final MessageSystemAttributeName messageSystemAttributeName = MessageSystemAttributeName.fromValue(attributeName);
+        if (messageSystemAttributeName == MessageSystemAttributeName.UNKNOWN_TO_SDK_VERSION) {
+            throw new MessageListenerContainerInitialisationException("Unknown message system attribute: " + attributeName);
+        }
+        return messageSystemAttributeName;
+    }
+
+    private static boolean containsAll(final String[] attributeNames) {
+        return Arrays.stream(attributeNames).anyMatch(QueueAttributeName.ALL.toString()::equals);
+    }
+}
@@ -15,13 +15,18 @@ import com.jashmore.sqs.argument.messageid.MessageIdArgumentResolver;
 import com.jashmore.sqs.argument.payload.PayloadArgumentResolver;
 import com.jashmore.sqs.spring.client.SqsAsyncClientProvider;
 import com.jashmore.sqs.spring.container.DefaultMessageListenerContainerCoordinator;
+import com.jashmore.sqs.spring.container.MessageListenerComponentDecorator;
 import com.jashmore.sqs.spring.container.MessageListenerContainerCoordinator;
 import com.jashmore.sqs.spring.container.MessageListenerContainerFactory;
 import com.jashmore.sqs.spring.container.basic.BasicMessageListenerContainerFactory;
+import com.jashmore.sqs.spring.container.batch.BatchMessageListenerContainerFactory;
 import com.jashmore.sqs.spring.container.prefetch.PrefetchingMessageListenerContainerFactory;
+import com.jashmore.sqs.spring.metrics.MicrometerMessageListenerComponentDecorator;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.FilteredClassLoader;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -285,7 +290,8 @@ class QueueListenerConfigurationTest {
                                 .map(MessageListenerContainerFactory::getClass)
                                 .collect(toSet());
 
-                        assertThat(MessageListenerContainerFactoryClasses).containsExactlyInAnyOrder(BasicMessageListenerContainerFactory.class, PrefetchingMessageListenerContainerFactory.class);
+                        assertThat(MessageListenerContainerFactoryClasses).containsExactlyInAnyOrder(BasicMessageListenerContainerFactory.class, PrefetchingMessageListenerContainerFactory.class,
+                                BatchMessageListenerContainerFactory.class);
                     });
         }
 
@@ -314,7 +320,7 @@ class QueueListenerConfigurationTest {
                         argumentResolversField.setAccessible(true);
                         assertThat(((List<MessageListenerContainerFactory>) argumentResolversField.get(service)))
                                 .containsExactlyElementsOf(messageListenerContainerFactories);
-                        assertThat(messageListenerContainerFactories).hasSize(3);
+                        assertThat(messageListenerContainerFactories).hasSize(4);
                     });
         }
 
@@ -337,6 +343,43 @@ class QueueListenerConfigurationTest {
         }
     }
 
+    @Nested
+    class MessageListenerComponentDecoratorBean {
+        @Test
+        void whenMicrometerIsOnTheClasspathTheMicrometerDecoratorIsProvided() {
+            contextRunner
+                    .withUserConfiguration(UserConfigurationWithSqsClient.class)
+                    .run((context) -> {
+                        assertThat(context).hasSingleBean(MessageListenerComponentDecorator.class);
+                        assertThat(context.getBean(MessageListenerComponentDecorator.class)).isInstanceOf(MicrometerMessageListenerComponentDecorator.class);
+                    });
+        }
+
+        @Test
+        void whenMicrometerIsNotOnTheClasspathNoDecoratorIsProvided() {
+            contextRunner
+                    .withClassLoader(new FilteredClassLoader(MeterRegistry.class))
+                    .withUserConfiguration(UserConfigurationWithSqsClient.class)
+                    .run((context) -> {
+                        assertThat(context).hasNotFailed();
+                        assertThat(context).doesNotHaveBean(MessageListenerComponentDecorator.class);
+                    });
+        }
+
+        @Test
+        void userDefinedDecoratorIsUsedInsteadOfTheMicrometerDecorator() {
+            contextRunner
+                    .withUserConfiguration(UserConfigurationWithCustomMessageListenerComponentDecorator.class)
+                    .run((context) -> {
+                        assertThat(context).hasSingleBean(MessageListenerComponentDecorator.class);
+                        final Field componentDecoratorField = BasicMessageListenerContainerFactory.class.getDeclaredField("componentDecorator");
+                        componentDecoratorField.setAccessible(true);
+                        assertThat(componentDecoratorField.get(context.getBean("basicMessageListenerContainerFactory")))
+                                .isSameAs(context.getBean(UserConfigurationWithCustomMessageListenerComponentDecorator.class).customComponentDecorator());
+                    });
+        }
+    }
+
     @Configuration
     static class UserConfigurationWithSqsClient {
         @Bean
@@ -415,4 +458,13 @@ class QueueListenerConfigurationTest {
             return mock(SqsAsyncClientProvider.class);
         }
     }
-}
\ No newline at end of file
+
+    @Import(UserConfigurationWithSqsClient.class)
+    @Configuration
+    static class UserConfigurationWithCustomMessageListenerComponentDecorator {
+        @Bean
+        MessageListenerComponentDecorator customComponentDecorator() {
+            return mock(MessageListenerComponentDecorator.class);
+        }
+    }
+}
@@ -7,12 +7,15 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.common.collect.ImmutableSet;
+
 import com.jashmore.sqs.argument.ArgumentResolverService;
 import com.jashmore.sqs.container.CoreMessageListenerContainer;
 import com.jashmore.sqs.container.MessageListenerContainer;
 import com.jashmore.sqs.retriever.batching.BatchingMessageRetrieverProperties;
 import com.jashmore.sqs.retriever.batching.StaticBatchingMessageRetrieverProperties;
 import com.jashmore.sqs.spring.client.SqsAsyncClientProvider;
+import com.jashmore.sqs.spring.container.MessageListenerComponentDecorator;
 import com.jashmore.sqs.spring.container.MessageListenerContainerInitialisationException;
 import com.jashmore.sqs.spring.queue.QueueResolver;
 import org.junit.jupiter.api.Test;
@@ -85,6 +88,26 @@ class BasicMessageListenerContainerFactoryTest {
         assertThat(messageListenerContainer.getIdentifier()).isEqualTo("basic-message-listener-container-factory-test-my-method");
     }
 
+    @Test
+    void componentDecoratorWillBeUsedToDecorateTheSqsAsyncClientForTheContainer() throws NoSuchMethodException {
+        // arrange
+        when(sqsAsyncClientProvider.getDefaultClient()).thenReturn(Optional.of(defaultSqsAsyncClient));
+        final MessageListenerComponentDecorator componentDecorator = mock(MessageListenerComponentDecorator.class);
+        final SqsAsyncClient decoratedSqsAsyncClient = mock(SqsAsyncClient.class);
+        when(componentDecorator.decorateSqsAsyncClient("basic-message-listener-container-factory-test-my-method", defaultSqsAsyncClient))
+                .thenReturn(decoratedSqsAsyncClient);
+        final BasicMessageListenerContainerFactory factory = new BasicMessageListenerContainerFactory(argumentResolverService, sqsAsyncClientProvider,
+                queueResolver, environment, componentDecorator);
+        final Object bean = new BasicMessageListenerContainerFactoryTest();
+        final Method method = BasicMessageListenerContainerFactoryTest.class.getMethod("myMethod");
+
+        // act
+        factory.buildContainer(bean, method);
+
+        // assert
+        verify(queueResolver).resolveQueueUrl(decoratedSqsAsyncClient, "test");
+    }
+
     @Test
     void queueListenerWrapperWithIdentifierWillUseThatForTheMessageListenerContainer() throws NoSuchMethodException {
         // arrange
@@ -176,13 +199,17 @@ class BasicMessageListenerContainerFactoryTest {
 
         // act
         final BatchingMessageRetrieverProperties properties
-                = queueListenerWrapper.batchingMessageRetrieverProperties(annotation);
+                = queueListenerWrapper.batchingMessageRetrieverProperties(annotation, method);
 
         // assert
         assertThat(properties).isEqualTo(StaticBatchingMessageRetrieverProperties.builder()
                 .messageVisibilityTimeoutInSeconds(300)
                 .batchingPeriodInMs(40L)
                 .batchSize(10)
+                .emptyReceivesBeforeIdleBackoff(3)
+                .maxIdleBackoffTimeInMilliseconds(60_000L)
+                .messageAttributeNames(ImmutableSet.of())
+                .messageSystemAttributeNames(ImmutableSet.of())
                 .build()
         );
     }
@@ -195,16 +222,22 @@ class BasicMessageListenerContainerFactoryTest {
         when(environment.resolvePlaceholders("${prop.batchSize}")).thenReturn("8");
         when(environment.resolvePlaceholders("${prop.period}")).thenReturn("30");
         when(environment.resolvePlaceholders("${prop.visibility}")).thenReturn("40");
+        when(environment.resolvePlaceholders("${prop.emptyReceives}")).thenReturn("2");
+        when(environment.resolvePlaceholders("${prop.maxIdleBackoff}")).thenReturn("5000");
 
         // act
         final BatchingMessageRetrieverProperties properties
-                = queueListenerWrapper.batchingMessageRetrieverProperties(annotation);
+                = queueListenerWrapper.batchingMessageRetrieverProperties(annotation, method);
 
         // assert
         assertThat(properties).isEqualTo(StaticBatchingMessageRetrieverProperties.builder()
                 .messageVisibilityTimeoutInSeconds(40)
                 .batchingPeriodInMs(30L)
                 .batchSize(8)
+                .emptyReceivesBeforeIdleBackoff(2)
+                .maxIdleBackoffTimeInMilliseconds(5_000L)
+                .messageAttributeNames(ImmutableSet.of())
+                .messageSystemAttributeNames(ImmutableSet.of())
                 .build()
         );
     }
@@ -252,6 +285,76 @@ class BasicMessageListenerContainerFactoryTest {
         assertThat(container).isNotNull();
     }
 
+    @Test
+    void adaptiveConcurrencyListenerCanBeBuilt() throws Exception {
+        // arrange
+        when(sqsAsyncClientProvider.getDefaultClient()).thenReturn(Optional.of(defaultSqsAsyncClient));
+        when(environment.resolvePlaceholders("${prop.minimum}")).thenReturn("2");
+        when(environment.resolvePlaceholders("${prop.maximum}")).thenReturn("10");
+        final Object bean = new BasicMessageListenerContainerFactoryTest();
+        final Method method = BasicMessageListenerContainerFactoryTest.class.getMethod("methodWithAdaptiveConcurrency");
+
+        // act
+        final MessageListenerContainer container = queueListenerWrapper.buildContainer(bean, method);
+
+        // assert
+        assertThat(container).isNotNull();
+    }
+
+    @Test
+    void invalidMinimumConcurrencyLevelStringFailsToWrapMessageListener() throws Exception {
+        // arrange
+        when(sqsAsyncClientProvider.getDefaultClient()).thenReturn(Optional.of(defaultSqsAsyncClient));
+        when(environment.resolvePlaceholders("${prop.minimum}")).thenReturn("Test Invalid");
+        final Object bean = new BasicMessageListenerContainerFactoryTest();
+        final Method method = BasicMessageListenerContainerFactoryTest.class.getMethod("methodWithAdaptiveConcurrency");
+
+        // act
+        assertThrows(NumberFormatException.class, () -> queueListenerWrapper.buildContainer(bean, method));
+    }
+
+    @Test
+    void autoExtendVisibilityListenerCanBeBuilt() throws Exception {
+        // arrange
+        when(sqsAsyncClientProvider.getDefaultClient()).thenReturn(Optional.of(defaultSqsAsyncClient));
+        when(environment.resolvePlaceholders("${prop.buffer}")).thenReturn("5");
+        final Object bean = new BasicMessageListenerContainerFactoryTest();
+        final Method method = BasicMessageListenerContainerFactoryTest.class.getMethod("methodWithAutoExtendVisibility");
+
+        // act
+        final MessageListenerContainer container = queueListenerWrapper.buildContainer(bean, method);
+
+        // assert
+        assertThat(container).isNotNull();
+    }
+
+    @Test
+    void invalidAutoExtendVisibilityBufferTimeStringFailsToWrapMessageListener() throws Exception {
+        // arrange
+        when(sqsAsyncClientProvider.getDefaultClient()).thenReturn(Optional.of(defaultSqsAsyncClient));
+        when(environment.resolvePlaceholders("${prop.buffer}")).thenReturn("Test Invalid");
+        final Object bean = new BasicMessageListenerContainerFactoryTest();
+        final Method method = BasicMessageListenerContainerFactoryTest.class.getMethod("methodWithAutoExtendVisibility");
+
+        // act
+        assertThrows(NumberFormatException.class, () -> queueListenerWrapper.buildContainer(bean, method));
+    }
+
+    @Test
+    void backoffOnFailureListenerCanBeBuilt() throws Exception {
+        // arrange
+        when(sqsAsyncClientProvider.getDefaultClient()).thenReturn(Optional.of(defaultSqsAsyncClient));
+        when(environment.resolvePlaceholders("${prop.maxBackoff}")).thenReturn("60");
+        final Object bean = new BasicMessageListenerContainerFactoryTest();
+        final Method method = BasicMessageListenerContainerFactoryTest.class.getMethod("methodWithBackoffOnFailure");
+
+        // act
+        final MessageListenerContainer container = queueListenerWrapper.buildContainer(bean, method);
+
+        // assert
+        assertThat(container).isNotNull();
+    }
+
     @QueueListener("test")
     public void myMethod() {
 
@@ -263,12 +366,14 @@ class BasicMessageListenerContainerFactoryTest {
     }
 
     @QueueListener(value = "test2", concurrencyLevelString = "${prop.concurrency}", batchSizeString = "${prop.batchSize}",
-            messageVisibilityTimeoutInSecondsString = "${prop.visibility}", batchingPeriodInMsString = "${prop.period}")
+            messageVisibilityTimeoutInSecondsString = "${prop.visibility}", batchingPeriodInMsString = "${prop.period}",
+            emptyReceivesBeforeIdleBackoffString = "${prop.emptyReceives}", maxIdleBackoffTimeInMillisecondsString = "${prop.maxIdleBackoff}")
     public void methodWithFieldsUsingEnvironmentProperties() {
 
     }
 
-    @QueueListener(value = "test2", concurrencyLevel = 20, batchSize = 10, messageVisibilityTimeoutInSeconds = 300, batchingPeriodInMs = 40)
+    @QueueListener(value = "test2", concurrencyLevel = 20, batchSize = 10, messageVisibilityTimeoutInSeconds = 300, batchingPeriodInMs = 40,
+            emptyReceivesBeforeIdleBackoff = 3)
     public void methodWithFields() {
 
     }
@@ -277,4 +382,20 @@ class BasicMessageListenerContainerFactoryTest {
     public void methodUsingSpecificSqsAsyncClient() {
 
     }
+
+    @QueueListener(value = "test2", adaptiveConcurrency = true, minimumConcurrencyLevelString = "${prop.minimum}",
+            maximumConcurrencyLevelString = "${prop.maximum}")
+    public void methodWithAdaptiveConcurrency() {
+
+    }
+
+    @QueueListener(value = "test2", autoExtendVisibility = true, autoExtendVisibilityBufferTimeInSecondsString = "${prop.buffer}")
+    public void methodWithAutoExtendVisibility() {
+
+    }
+
+    @QueueListener(value = "test2", backoffOnFailure = true, maxBackoffOnFailureInSecondsString = "${prop.maxBackoff}")
+    public void methodWithBackoffOnFailure() {
+
+    }
 }
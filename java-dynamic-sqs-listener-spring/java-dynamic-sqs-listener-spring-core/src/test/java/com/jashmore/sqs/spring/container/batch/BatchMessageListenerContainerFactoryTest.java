@@ -0,0 +1,187 @@
+package com.jashmore.sqs.spring.container.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.jashmore.sqs.argument.ArgumentResolverService;
+import com.jashmore.sqs.argument.payload.Payload;
+import com.jashmore.sqs.container.CoreMessageListenerContainer;
+import com.jashmore.sqs.container.MessageListenerContainer;
+import com.jashmore.sqs.spring.client.SqsAsyncClientProvider;
+import com.jashmore.sqs.spring.container.MessageListenerContainerInitialisationException;
+import com.jashmore.sqs.spring.queue.QueueResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.env.Environment;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Optional;
+
+@SuppressWarnings("WeakerAccess")
+@ExtendWith(MockitoExtension.class)
+class BatchMessageListenerContainerFactoryTest {
+    @Mock
+    private ArgumentResolverService argumentResolverService;
+
+    @Mock
+    private SqsAsyncClientProvider sqsAsyncClientProvider;
+
+    @Mock
+    private SqsAsyncClient defaultSqsAsyncClient;
+
+    @Mock
+    private QueueResolver queueResolver;
+
+    @Mock
+    private Environment environment;
+
+    private BatchMessageListenerContainerFactory batchQueueListenerWrapper;
+
+    @BeforeEach
+    void setUp() {
+        batchQueueListenerWrapper = new BatchMessageListenerContainerFactory(argumentResolverService, sqsAsyncClientProvider, queueResolver, environment);
+    }
+
+    @Test
+    void batchQueueListenerWrapperCanBuildMessageListenerContainer() throws NoSuchMethodException {
+        // arrange
+        when(sqsAsyncClientProvider.getDefaultClient()).thenReturn(Optional.of(defaultSqsAsyncClient));
+        final Object bean = new BatchMessageListenerContainerFactoryTest();
+        final Method method = BatchMessageListenerContainerFactoryTest.class.getMethod("myMethod", List.class);
+
+        // act
+        final MessageListenerContainer messageListenerContainer = batchQueueListenerWrapper.buildContainer(bean, method);
+
+        // assert
+        assertThat(messageListenerContainer).isInstanceOf(CoreMessageListenerContainer.class);
+        assertThat(messageListenerContainer.getIdentifier()).isEqualTo("batch-message-listener-container-factory-test-my-method");
+    }
+
+    @Test
+    void batchQueueListenerWrapperWithIdentifierWillUseThatForTheMessageListenerContainer() throws NoSuchMethodException {
+        // arrange
+        when(sqsAsyncClientProvider.getDefaultClient()).thenReturn(Optional.of(defaultSqsAsyncClient));
+        final Object bean = new BatchMessageListenerContainerFactoryTest();
+        final Method method = BatchMessageListenerContainerFactoryTest.class.getMethod("myMethodWithIdentifier", List.class);
+
+        // act
+        final MessageListenerContainer messageListenerContainer = batchQueueListenerWrapper.buildContainer(bean, method);
+
+        // assert
+        assertThat(messageListenerContainer.getIdentifier()).isEqualTo("identifier");
+    }
+
+    @Test
+    void queueIsResolvedViaTheQueueResolver() throws NoSuchMethodException {
+        // arrange
+        when(sqsAsyncClientProvider.getDefaultClient()).thenReturn(Optional.of(defaultSqsAsyncClient));
+        final Object bean = new BatchMessageListenerContainerFactoryTest();
+        final Method method = BatchMessageListenerContainerFactoryTest.class.getMethod("myMethod", List.class);
+
+        // act
+        batchQueueListenerWrapper.buildContainer(bean, method);
+
+        // assert
+        verify(queueResolver).resolveQueueUrl(defaultSqsAsyncClient, "test");
+    }
+
+    @Test
+    void validStringFieldsWillCorrectlyBuildMessageListener() throws Exception {
+        // arrange
+        when(sqsAsyncClientProvider.getDefaultClient()).thenReturn(Optional.of(defaultSqsAsyncClient));
+        when(environment.resolvePlaceholders(anyString())).thenReturn("1");
+        final Object bean = new BatchMessageListenerContainerFactoryTest();
+        final Method method = BatchMessageListenerContainerFactoryTest.class.getMethod("methodWithFieldsUsingEnvironmentProperties", List.class);
+
+        // act
+        final MessageListenerContainer messageListenerContainer = batchQueueListenerWrapper.buildContainer(bean, method);
+
+        // assert
+        assertThat(messageListenerContainer).isNotNull();
+    }
+
+    @Test
+    void invalidBatchSizeStringFailsToWrapMessageListener() throws Exception {
+        // arrange
+        when(sqsAsyncClientProvider.getDefaultClient()).thenReturn(Optional.of(defaultSqsAsyncClient));
+        when(environment.resolvePlaceholders(anyString())).thenReturn("1");
+        when(environment.resolvePlaceholders("${prop.batchSize}")).thenReturn("Test Invalid");
+        final Object bean = new BatchMessageListenerContainerFactoryTest();
+        final Method method = BatchMessageListenerContainerFactoryTest.class.getMethod("methodWithFieldsUsingEnvironmentProperties", List.class);
+
+        // act
+        assertThrows(NumberFormatException.class, () -> batchQueueListenerWrapper.buildContainer(bean, method));
+    }
+
+    @Test
+    void invalidBatchingPeriodInMsStringFailsToWrapMessageListener() throws Exception {
+        // arrange
+        when(sqsAsyncClientProvider.getDefaultClient()).thenReturn(Optional.of(defaultSqsAsyncClient));
+        when(environment.resolvePlaceholders(anyString())).thenReturn("1");
+        when(environment.resolvePlaceholders("${prop.period}")).thenReturn("Test Invalid");
+        final Object bean = new BatchMessageListenerContainerFactoryTest();
+        final Method method = BatchMessageListenerContainerFactoryTest.class.getMethod("methodWithFieldsUsingEnvironmentProperties", List.class);
+
+        // act
+        assertThrows(NumberFormatException.class, () -> batchQueueListenerWrapper.buildContainer(bean, method));
+    }
+
+    @Test
+    void whenNoDefaultSqsClientAvailableAndItIsRequestedTheListenerWillNotBeWrapped() throws Exception {
+        // arrange
+        final Object bean = new BatchMessageListenerContainerFactoryTest();
+        final Method method = BatchMessageListenerContainerFactoryTest.class.getMethod("myMethod", List.class);
+        when(sqsAsyncClientProvider.getDefaultClient()).thenReturn(Optional.empty());
+
+        // act
+        final MessageListenerContainerInitialisationException exception = assertThrows(MessageListenerContainerInitialisationException.class,
+                () -> batchQueueListenerWrapper.buildContainer(bean, method));
+
+        // assert
+        assertThat(exception.getMessage()).isEqualTo("Expected the default SQS Client but there is none");
+    }
+
+    @Test
+    void whenSpecificSqsClientRequestWhichCanBeFoundTheContainerCanBeBuilt() throws Exception {
+        // arrange
+        final Object bean = new BatchMessageListenerContainerFactoryTest();
+        final Method method = BatchMessageListenerContainerFactoryTest.class.getMethod("methodUsingSpecificSqsAsyncClient", List.class);
+        when(sqsAsyncClientProvider.getClient("clientId")).thenReturn(Optional.of(mock(SqsAsyncClient.class)));
+
+        // act
+        final MessageListenerContainer container = batchQueueListenerWrapper.buildContainer(bean, method);
+
+        // assert
+        assertThat(container).isNotNull();
+    }
+
+    @BatchQueueListener("test")
+    public void myMethod(@Payload final List<String> payloads) {
+
+    }
+
+    @BatchQueueListener(value = "test2", identifier = "identifier")
+    public void myMethodWithIdentifier(@Payload final List<String> payloads) {
+
+    }
+
+    @BatchQueueListener(value = "test2", concurrencyLevelString = "${prop.concurrency}", batchSizeString = "${prop.batchSize}",
+            batchingPeriodInMsString = "${prop.period}", messageVisibilityTimeoutInSecondsString = "${prop.visibility}")
+    public void methodWithFieldsUsingEnvironmentProperties(@Payload final List<String> payloads) {
+
+    }
+
+    @BatchQueueListener(value = "test2", sqsClient = "clientId")
+    public void methodUsingSpecificSqsAsyncClient(@Payload final List<String> payloads) {
+
+    }
+}
@@ -2,12 +2,23 @@ package com.jashmore.sqs.spring.container.prefetch;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jashmore.sqs.argument.ArgumentResolverService;
+import com.jashmore.sqs.argument.attribute.MessageAttribute;
+import com.jashmore.sqs.argument.payload.Payload;
+import com.jashmore.sqs.argument.payload.PayloadArgumentResolver;
+import com.jashmore.sqs.argument.payload.mapper.JacksonPayloadMapper;
+import com.jashmore.sqs.argument.payload.mapper.decoder.ContentEncodingPayloadDecoder;
 import com.jashmore.sqs.container.CoreMessageListenerContainer;
 import com.jashmore.sqs.container.MessageListenerContainer;
 import com.jashmore.sqs.retriever.prefetch.PrefetchingMessageRetrieverProperties;
@@ -22,6 +33,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.env.Environment;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
 
 import java.lang.reflect.Method;
 import java.util.Optional;
@@ -190,16 +203,28 @@ class PrefetchingMessageListenerContainerFactoryTest {
         when(environment.resolvePlaceholders("${prop.maxPrefetched}")).thenReturn("30");
         when(environment.resolvePlaceholders("${prop.desiredMinPrefetchedMessages}")).thenReturn("40");
         when(environment.resolvePlaceholders("${prop.visibility}")).thenReturn("40");
+        when(environment.resolvePlaceholders("${prop.maxConcurrentReceiveRequests}")).thenReturn("3");
+        when(environment.resolvePlaceholders("${prop.maxPrefetchedBytes}")).thenReturn("1000");
+        when(environment.resolvePlaceholders("${prop.emptyReceives}")).thenReturn("2");
+        when(environment.resolvePlaceholders("${prop.maxIdleBackoff}")).thenReturn("5000");
+        when(environment.resolvePlaceholders("${prop.expiryBuffer}")).thenReturn("4");
         final PrefetchingQueueListener annotation = method.getAnnotation(PrefetchingQueueListener.class);
 
         // act
-        final PrefetchingMessageRetrieverProperties properties = prefetchingQueueListenerWrapper.buildMessageRetrieverProperties(annotation);
+        final PrefetchingMessageRetrieverProperties properties = prefetchingQueueListenerWrapper.buildMessageRetrieverProperties(annotation, method);
 
         // assert
         assertThat(properties).isEqualTo(StaticPrefetchingMessageRetrieverProperties.builder()
                 .maxPrefetchedMessages(30)
+                .maxPrefetchedBytes(1000L)
                 .desiredMinPrefetchedMessages(40)
                 .messageVisibilityTimeoutInSeconds(40)
+                .prefetchedMessageExpiryBufferInSeconds(4)
+                .maxConcurrentReceiveRequests(3)
+                .emptyReceivesBeforeIdleBackoff(2)
+                .maxIdleBackoffTimeInMilliseconds(5_000L)
+                .messageAttributeNames(ImmutableSet.of())
+                .messageSystemAttributeNames(ImmutableSet.of())
                 .build()
         );
     }
@@ -211,17 +236,79 @@ class PrefetchingMessageListenerContainerFactoryTest {
         final PrefetchingQueueListener annotation = method.getAnnotation(PrefetchingQueueListener.class);
 
         // act
-        final PrefetchingMessageRetrieverProperties properties = prefetchingQueueListenerWrapper.buildMessageRetrieverProperties(annotation);
+        final PrefetchingMessageRetrieverProperties properties = prefetchingQueueListenerWrapper.buildMessageRetrieverProperties(annotation, method);
 
         // assert
         assertThat(properties).isEqualTo(StaticPrefetchingMessageRetrieverProperties.builder()
                 .maxPrefetchedMessages(20)
                 .desiredMinPrefetchedMessages(5)
                 .messageVisibilityTimeoutInSeconds(300)
+                .prefetchedMessageExpiryBufferInSeconds(20)
+                .maxConcurrentReceiveRequests(2)
+                .maxIdleBackoffTimeInMilliseconds(60_000L)
+                .messageAttributeNames(ImmutableSet.of())
+                .messageSystemAttributeNames(ImmutableSet.of())
                 .build()
         );
     }
 
+    @Test
+    void prefetchedMessageExpiryBufferIsLeftForTheRetrieverToDefaultWhenNotSet() throws Exception {
+        // arrange
+        final Method method = PrefetchingMessageListenerContainerFactoryTest.class.getMethod("myMethod");
+        final PrefetchingQueueListener annotation = method.getAnnotation(PrefetchingQueueListener.class);
+
+        // act
+        final PrefetchingMessageRetrieverProperties properties = prefetchingQueueListenerWrapper.buildMessageRetrieverProperties(annotation, method);
+
+        // assert
+        assertThat(properties.getPrefetchedMessageExpiryBufferInSeconds()).isNull();
+    }
+
+    @Test
+    void onlyAttributesUsedByTheMethodParametersAreRetrieved() throws Exception {
+        // arrange
+        final Method method = PrefetchingMessageListenerContainerFactoryTest.class.getMethod("methodWithAttributeParameters", String.class, String.class);
+        final PrefetchingQueueListener annotation = method.getAnnotation(PrefetchingQueueListener.class);
+        doReturn(new PayloadArgumentResolver(new JacksonPayloadMapper(new ObjectMapper(), new ContentEncodingPayloadDecoder("encoding", ImmutableMap.of()))))
+                .when(argumentResolverService).getArgumentResolver(any());
+
+        // act
+        final PrefetchingMessageRetrieverProperties properties = prefetchingQueueListenerWrapper.buildMessageRetrieverProperties(annotation, method);
+
+        // assert
+        assertThat(properties.getMessageAttributeNames()).containsExactlyInAnyOrder("key", "encoding");
+        assertThat(properties.getMessageSystemAttributeNames()).isEmpty();
+    }
+
+    @Test
+    void allAttributesAreRetrievedWhenTheMessageIsAParameter() throws Exception {
+        // arrange
+        final Method method = PrefetchingMessageListenerContainerFactoryTest.class.getMethod("methodWithMessageParameter", Message.class);
+        final PrefetchingQueueListener annotation = method.getAnnotation(PrefetchingQueueListener.class);
+
+        // act
+        final PrefetchingMessageRetrieverProperties properties = prefetchingQueueListenerWrapper.buildMessageRetrieverProperties(annotation, method);
+
+        // assert
+        assertThat(properties.getMessageAttributeNames()).isNull();
+        assertThat(properties.getMessageSystemAttributeNames()).isNull();
+    }
+
+    @Test
+    void attributesConfiguredInTheAnnotationAreRetrieved() throws Exception {
+        // arrange
+        final Method method = PrefetchingMessageListenerContainerFactoryTest.class.getMethod("methodWithConfiguredAttributes", Message.class);
+        final PrefetchingQueueListener annotation = method.getAnnotation(PrefetchingQueueListener.class);
+
+        // act
+        final PrefetchingMessageRetrieverProperties properties = prefetchingQueueListenerWrapper.buildMessageRetrieverProperties(annotation, method);
+
+        // assert
+        assertThat(properties.getMessageAttributeNames()).isNull();
+        assertThat(properties.getMessageSystemAttributeNames()).containsExactly(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT);
+    }
+
     @Test
     void whenNoDefaultSqsClientAvailableAndItIsRequestedTheListenerWillNotBeWrapped() throws Exception {
         // arrange
@@ -265,6 +352,103 @@ class PrefetchingMessageListenerContainerFactoryTest {
         assertThat(container).isNotNull();
     }
 
+    @Test
+    void adaptiveConcurrencyListenerCanBeBuilt() throws Exception {
+        // arrange
+        when(sqsAsyncClientProvider.getDefaultClient()).thenReturn(Optional.of(defaultClient));
+        when(environment.resolvePlaceholders("${prop.minimum}")).thenReturn("2");
+        when(environment.resolvePlaceholders("${prop.maximum}")).thenReturn("10");
+        final Object bean = new PrefetchingMessageListenerContainerFactoryTest();
+        final Method method = PrefetchingMessageListenerContainerFactoryTest.class.getMethod("methodWithAdaptiveConcurrency");
+
+        // act
+        final MessageListenerContainer container = prefetchingQueueListenerWrapper.buildContainer(bean, method);
+
+        // assert
+        assertThat(container).isNotNull();
+    }
+
+    @Test
+    void invalidMinimumConcurrencyLevelStringFailsToWrapMessageListener() throws Exception {
+        // arrange
+        when(sqsAsyncClientProvider.getDefaultClient()).thenReturn(Optional.of(defaultClient));
+        when(environment.resolvePlaceholders("${prop.minimum}")).thenReturn("Test Invalid");
+        final Object bean = new PrefetchingMessageListenerContainerFactoryTest();
+        final Method method = PrefetchingMessageListenerContainerFactoryTest.class.getMethod("methodWithAdaptiveConcurrency");
+
+        // act
+        assertThrows(NumberFormatException.class, () -> prefetchingQueueListenerWrapper.buildContainer(bean, method));
+    }
+
+    @Test
+    void autoExtendVisibilityListenerCanBeBuilt() throws Exception {
+        // arrange
+        when(sqsAsyncClientProvider.getDefaultClient()).thenReturn(Optional.of(defaultClient));
+        when(environment.resolvePlaceholders("${prop.buffer}")).thenReturn("5");
+        final Object bean = new PrefetchingMessageListenerContainerFactoryTest();
+        final Method method = PrefetchingMessageListenerContainerFactoryTest.class.getMethod("methodWithAutoExtendVisibility");
+
+        // act
+        final MessageListenerContainer container = prefetchingQueueListenerWrapper.buildContainer(bean, method);
+
+        // assert
+        assertThat(container).isNotNull();
+    }
+
+    @Test
+    void invalidAutoExtendVisibilityBufferTimeStringFailsToWrapMessageListener() throws Exception {
+        // arrange
+        when(sqsAsyncClientProvider.getDefaultClient()).thenReturn(Optional.of(defaultClient));
+        when(environment.resolvePlaceholders("${prop.buffer}")).thenReturn("Test Invalid");
+        final Object bean = new PrefetchingMessageListenerContainerFactoryTest();
+        final Method method = PrefetchingMessageListenerContainerFactoryTest.class.getMethod("methodWithAutoExtendVisibility");
+
+        // act
+        assertThrows(NumberFormatException.class, () -> prefetchingQueueListenerWrapper.buildContainer(bean, method));
+    }
+
+    @Test
+    void releaseExtraMessagesOnShutdownListenerCanBeBuilt() throws Exception {
+        // arrange
+        when(sqsAsyncClientProvider.getDefaultClient()).thenReturn(Optional.of(defaultClient));
+        final Object bean = new PrefetchingMessageListenerContainerFactoryTest();
+        final Method method = PrefetchingMessageListenerContainerFactoryTest.class.getMethod("methodWithReleaseExtraMessagesOnShutdown");
+
+        // act
+        final MessageListenerContainer container = prefetchingQueueListenerWrapper.buildContainer(bean, method);
+
+        // assert
+        assertThat(container).isNotNull();
+    }
+
+    @Test
+    void backoffOnFailureListenerCanBeBuilt() throws Exception {
+        // arrange
+        when(sqsAsyncClientProvider.getDefaultClient()).thenReturn(Optional.of(defaultClient));
+        when(environment.resolvePlaceholders("${prop.maxBackoff}")).thenReturn("60");
+        final Object bean = new PrefetchingMessageListenerContainerFactoryTest();
+        final Method method = PrefetchingMessageListenerContainerFactoryTest.class.getMethod("methodWithBackoffOnFailure", String.class);
+
+        // act
+        final MessageListenerContainer container = prefetchingQueueListenerWrapper.buildContainer(bean, method);
+
+        // assert
+        assertThat(container).isNotNull();
+    }
+
+    @Test
+    void approximateReceiveCountIsRetrievedWhenBackingOffOnFailure() throws Exception {
+        // arrange
+        final Method method = PrefetchingMessageListenerContainerFactoryTest.class.getMethod("methodWithBackoffOnFailure", String.class);
+        final PrefetchingQueueListener annotation = method.getAnnotation(PrefetchingQueueListener.class);
+
+        // act
+        final PrefetchingMessageRetrieverProperties properties = prefetchingQueueListenerWrapper.buildMessageRetrieverProperties(annotation, method);
+
+        // assert
+        assertThat(properties.getMessageSystemAttributeNames()).containsExactly(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT);
+    }
+
     @PrefetchingQueueListener("test")
     public void myMethod() {
 
@@ -277,14 +461,17 @@ class PrefetchingMessageListenerContainerFactoryTest {
 
     @PrefetchingQueueListener(value = "test2", concurrencyLevelString = "${prop.concurrency}",
             messageVisibilityTimeoutInSecondsString = "${prop.visibility}", maxPrefetchedMessagesString = "${prop.maxPrefetched}",
-            desiredMinPrefetchedMessagesString = "${prop.desiredMinPrefetchedMessages}"
+            desiredMinPrefetchedMessagesString = "${prop.desiredMinPrefetchedMessages}",
+            maxConcurrentReceiveRequestsString = "${prop.maxConcurrentReceiveRequests}", maxPrefetchedBytesString = "${prop.maxPrefetchedBytes}",
+            emptyReceivesBeforeIdleBackoffString = "${prop.emptyReceives}", maxIdleBackoffTimeInMillisecondsString = "${prop.maxIdleBackoff}",
+            prefetchedMessageExpiryBufferInSecondsString = "${prop.expiryBuffer}"
     )
     public void methodWithFieldsUsingEnvironmentProperties() {
 
     }
 
     @PrefetchingQueueListener(value = "test2", concurrencyLevel = 2, messageVisibilityTimeoutInSeconds = 300,
-            maxPrefetchedMessages = 20, desiredMinPrefetchedMessages = 5
+            maxPrefetchedMessages = 20, desiredMinPrefetchedMessages = 5, maxConcurrentReceiveRequests = 2, prefetchedMessageExpiryBufferInSeconds = 20
     )
     public void methodWithFieldsUsingProperties() {
 
@@ -294,4 +481,40 @@ class PrefetchingMessageListenerContainerFactoryTest {
     public void methodUsingSpecificSqsAsyncClient() {
 
     }
+
+    @PrefetchingQueueListener(value = "test2", adaptiveConcurrency = true, minimumConcurrencyLevelString = "${prop.minimum}",
+            maximumConcurrencyLevelString = "${prop.maximum}")
+    public void methodWithAdaptiveConcurrency() {
+
+    }
+
+    @PrefetchingQueueListener(value = "test2", autoExtendVisibility = true, autoExtendVisibilityBufferTimeInSecondsString = "${prop.buffer}")
+    public void methodWithAutoExtendVisibility() {
+
+    }
+
+    @PrefetchingQueueListener(value = "test2", releaseExtraRetrievedMessagesOnShutdown = true)
+    public void methodWithReleaseExtraMessagesOnShutdown() {
+
+    }
+
+    @PrefetchingQueueListener(value = "test2", backoffOnFailure = true, maxBackoffOnFailureInSecondsString = "${prop.maxBackoff}")
+    public void methodWithBackoffOnFailure(@Payload final String payload) {
+
+    }
+
+    @PrefetchingQueueListener("test")
+    public void methodWithAttributeParameters(@Payload final String payload, @MessageAttribute("key") final String attribute) {
+
+    }
+
+    @PrefetchingQueueListener("test")
+    public void methodWithMessageParameter(final Message message) {
+
+    }
+
+    @PrefetchingQueueListener(value = "test", messageAttributeNames = "All", messageSystemAttributeNames = "ApproximateReceiveCount")
+    public void methodWithConfiguredAttributes(final Message message) {
+
+    }
 }
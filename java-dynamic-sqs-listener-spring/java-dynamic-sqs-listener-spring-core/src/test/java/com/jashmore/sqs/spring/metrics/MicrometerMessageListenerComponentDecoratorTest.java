@@ -0,0 +1,81 @@
+package com.jashmore.sqs.spring.metrics;
+
+import static com.jashmore.sqs.micrometer.MessageListenerContainerMetrics.IDENTIFIER_TAG;
+import static com.jashmore.sqs.micrometer.MessageListenerContainerMetrics.PROCESSING_TIMER_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.jashmore.sqs.processor.MessageProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.concurrent.CompletableFuture;
+
+@ExtendWith(MockitoExtension.class)
+class MicrometerMessageListenerComponentDecoratorTest {
+    @Mock
+    private ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    @Mock
+    private SqsAsyncClient sqsAsyncClient;
+
+    @Mock
+    private MessageProcessor messageProcessor;
+
+    @Test
+    void whenNoMeterRegistryIsAvailableComponentsAreNotDecorated() {
+        // arrange
+        final MicrometerMessageListenerComponentDecorator decorator = new MicrometerMessageListenerComponentDecorator(meterRegistryProvider);
+
+        // act
+        final SqsAsyncClient decoratedClient = decorator.decorateSqsAsyncClient("identifier", sqsAsyncClient);
+        final MessageProcessor decoratedProcessor = decorator.decorateMessageProcessor("identifier", messageProcessor);
+
+        // assert
+        assertThat(decoratedClient).isSameAs(sqsAsyncClient);
+        assertThat(decoratedProcessor).isSameAs(messageProcessor);
+    }
+
+    @Test
+    void whenMeterRegistryIsAvailableMetricsAreRecordedForTheContainer() {
+        // arrange
+        final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        when(meterRegistryProvider.getIfAvailable()).thenReturn(meterRegistry);
+        when(messageProcessor.processMessage(any(), any())).thenAnswer(invocation -> CompletableFuture.completedFuture(null));
+        final MicrometerMessageListenerComponentDecorator decorator = new MicrometerMessageListenerComponentDecorator(meterRegistryProvider);
+
+        // act
+        decorator.decorateMessageProcessor("identifier", messageProcessor).processMessage(Message.builder().build(), () -> {
+        });
+
+        // assert
+        assertThat(meterRegistry.get(PROCESSING_TIMER_NAME).tag(IDENTIFIER_TAG, "identifier").timers().stream().mapToLong(timer -> timer.count()).sum())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void metricsAreSharedBetweenComponentsForTheSameContainer() {
+        // arrange
+        final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        when(meterRegistryProvider.getIfAvailable()).thenReturn(meterRegistry);
+        final MicrometerMessageListenerComponentDecorator decorator = new MicrometerMessageListenerComponentDecorator(meterRegistryProvider);
+
+        // act
+        decorator.decorateSqsAsyncClient("identifier", sqsAsyncClient);
+        decorator.decorateSqsAsyncClient("identifier", mock(SqsAsyncClient.class));
+        decorator.decorateSqsAsyncClient("other", sqsAsyncClient);
+
+        // assert
+        assertThat(meterRegistry.get(PROCESSING_TIMER_NAME).tag(IDENTIFIER_TAG, "identifier").timers()).hasSize(2);
+        assertThat(meterRegistry.get(PROCESSING_TIMER_NAME).tag(IDENTIFIER_TAG, "other").timers()).hasSize(2);
+    }
+}
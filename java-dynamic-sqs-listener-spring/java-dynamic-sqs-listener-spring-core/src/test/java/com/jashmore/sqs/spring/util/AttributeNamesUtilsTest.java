@@ -0,0 +1,130 @@
+package com.jashmore.sqs.spring.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ImmutableSet;
+
+import com.jashmore.sqs.argument.ArgumentResolverService;
+import com.jashmore.sqs.argument.attribute.MessageAttribute;
+import com.jashmore.sqs.argument.attribute.MessageSystemAttribute;
+import com.jashmore.sqs.spring.container.MessageListenerContainerInitialisationException;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+
+class AttributeNamesUtilsTest {
+    private final ArgumentResolverService argumentResolverService = mock(ArgumentResolverService.class);
+
+    @Test
+    void messageAttributeNamesAreDeterminedFromMethodWhenNoneConfigured() throws Exception {
+        // arrange
+        final Method method = AttributeNamesUtilsTest.class.getMethod("method", String.class, Long.class);
+
+        // act
+        final Set<String> attributeNames = AttributeNamesUtils.getMessageAttributeNames(new String[0], method, argumentResolverService);
+
+        // assert
+        assertThat(attributeNames).containsExactly("key");
+    }
+
+    @Test
+    void configuredMessageAttributeNamesAreUsedInsteadOfTheMethod() throws Exception {
+        // arrange
+        final Method method = AttributeNamesUtilsTest.class.getMethod("method", String.class, Long.class);
+
+        // act
+        final Set<String> attributeNames = AttributeNamesUtils.getMessageAttributeNames(new String[]{"first", "second"}, method, argumentResolverService);
+
+        // assert
+        assertThat(attributeNames).containsExactlyInAnyOrder("first", "second");
+    }
+
+    @Test
+    void allMessageAttributesAreRetrievedWhenConfigured() throws Exception {
+        // arrange
+        final Method method = AttributeNamesUtilsTest.class.getMethod("method", String.class, Long.class);
+
+        // act
+        final Set<String> attributeNames = AttributeNamesUtils.getMessageAttributeNames(new String[]{"All"}, method, argumentResolverService);
+
+        // assert
+        assertThat(attributeNames).isNull();
+    }
+
+    @Test
+    void messageSystemAttributeNamesAreDeterminedFromMethodWhenNoneConfigured() throws Exception {
+        // arrange
+        final Method method = AttributeNamesUtilsTest.class.getMethod("method", String.class, Long.class);
+
+        // act
+        final Set<MessageSystemAttributeName> attributeNames = AttributeNamesUtils.getMessageSystemAttributeNames(new String[0], method);
+
+        // assert
+        assertThat(attributeNames).containsExactly(MessageSystemAttributeName.SENT_TIMESTAMP);
+    }
+
+    @Test
+    void configuredMessageSystemAttributeNamesAreUsedInsteadOfTheMethod() throws Exception {
+        // arrange
+        final Method method = AttributeNamesUtilsTest.class.getMethod("method", String.class, Long.class);
+
+        // act
+        final Set<MessageSystemAttributeName> attributeNames = AttributeNamesUtils.getMessageSystemAttributeNames(new String[]{"ApproximateReceiveCount"}, method);
+
+        // assert
+        assertThat(attributeNames).containsExactly(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT);
+    }
+
+    @Test
+    void allMessageSystemAttributesAreRetrievedWhenConfigured() throws Exception {
+        // arrange
+        final Method method = AttributeNamesUtilsTest.class.getMethod("method", String.class, Long.class);
+
+        // act
+        final Set<MessageSystemAttributeName> attributeNames = AttributeNamesUtils.getMessageSystemAttributeNames(new String[]{"All"}, method);
+
+        // assert
+        assertThat(attributeNames).isNull();
+    }
+
+    @Test
+    void unknownMessageSystemAttributeNameThrowsException() throws Exception {
+        // arrange
+        final Method method = AttributeNamesUtilsTest.class.getMethod("method", String.class, Long.class);
+
+        // act
+        assertThrows(MessageListenerContainerInitialisationException.class,
+                () -> AttributeNamesUtils.getMessageSystemAttributeNames(new String[]{"Unknown"}, method));
+    }
+
+    @Test
+    void requiredMessageSystemAttributeIsAddedToTheAttributesToRetrieve() {
+        // act
+        final Set<MessageSystemAttributeName> attributeNames = AttributeNamesUtils.withMessageSystemAttributeName(
+                ImmutableSet.of(MessageSystemAttributeName.SENT_TIMESTAMP), MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT
+        );
+
+        // assert
+        assertThat(attributeNames).containsExactlyInAnyOrder(MessageSystemAttributeName.SENT_TIMESTAMP, MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT);
+    }
+
+    @Test
+    void requiredMessageSystemAttributeIsNotAddedWhenAllAttributesAreRetrieved() {
+        // act
+        final Set<MessageSystemAttributeName> attributeNames = AttributeNamesUtils.withMessageSystemAttributeName(
+                null, MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT
+        );
+
+        // assert
+        assertThat(attributeNames).isNull();
+    }
+
+    public void method(@MessageAttribute("key") final String attribute,
+                       @MessageSystemAttribute(MessageSystemAttributeName.SENT_TIMESTAMP) final Long sentTimestamp) {
+
+    }
+}
@@ -0,0 +1,75 @@
+package it.com.jashmore.sqs.container.basic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+import com.jashmore.sqs.argument.payload.Payload;
+import com.jashmore.sqs.spring.container.basic.QueueListener;
+import com.jashmore.sqs.test.LocalSqsExtension;
+import com.jashmore.sqs.util.LocalSqsAsyncClient;
+import it.com.jashmore.example.Application;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.stereotype.Service;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@SpringBootTest(classes = {Application.class, QueueListenerAutoExtendVisibilityIntegrationTest.TestConfig.class}, webEnvironment = RANDOM_PORT)
+@ExtendWith(SpringExtension.class)
+class QueueListenerAutoExtendVisibilityIntegrationTest {
+    private static final String QUEUE_NAME = "QueueListenerAutoExtendVisibilityIntegrationTest";
+    private static final int MESSAGE_VISIBILITY_IN_SECONDS = 3;
+    private static final long MESSAGE_PROCESSING_TIME_IN_MS = 3 * MESSAGE_VISIBILITY_IN_SECONDS * 1000;
+
+    private static final CountDownLatch COUNT_DOWN_LATCH = new CountDownLatch(1);
+    private static final AtomicInteger NUMBER_OF_TIMES_PROCESSED = new AtomicInteger(0);
+
+    @RegisterExtension
+    public static final LocalSqsExtension LOCAL_SQS_RULE = new LocalSqsExtension(QUEUE_NAME);
+
+    @Autowired
+    private LocalSqsAsyncClient localSqsAsyncClient;
+
+    @Configuration
+    public static class TestConfig {
+        @Bean
+        public LocalSqsAsyncClient localSqsAsyncClient() {
+            return LOCAL_SQS_RULE.getLocalAmazonSqsAsync();
+        }
+
+        @Service
+        public static class MessageListener {
+            @QueueListener(value = QUEUE_NAME, concurrencyLevel = 2, messageVisibilityTimeoutInSeconds = MESSAGE_VISIBILITY_IN_SECONDS,
+                    autoExtendVisibility = true, autoExtendVisibilityBufferTimeInSeconds = 1)
+            public void listenToMessage(@Payload final String payload) throws InterruptedException {
+                log.info("Obtained message: {}", payload);
+                NUMBER_OF_TIMES_PROCESSED.incrementAndGet();
+                Thread.sleep(MESSAGE_PROCESSING_TIME_IN_MS);
+                COUNT_DOWN_LATCH.countDown();
+            }
+        }
+    }
+
+    @Test
+    void messageTakingLongerThanVisibilityTimeoutIsOnlyProcessedOnce() throws InterruptedException {
+        // arrange
+        localSqsAsyncClient.sendMessageToLocalQueue(QUEUE_NAME, "message");
+
+        // act
+        final boolean messageProcessed = COUNT_DOWN_LATCH.await(30, TimeUnit.SECONDS);
+
+        // assert
+        assertThat(messageProcessed).isTrue();
+        assertThat(NUMBER_OF_TIMES_PROCESSED).hasValue(1);
+    }
+}
@@ -0,0 +1,82 @@
+package it.com.jashmore.sqs.container.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+import com.jashmore.sqs.argument.payload.Payload;
+import com.jashmore.sqs.spring.container.batch.BatchQueueListener;
+import com.jashmore.sqs.test.LocalSqsExtension;
+import com.jashmore.sqs.util.LocalSqsAsyncClient;
+import it.com.jashmore.example.Application;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.stereotype.Service;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+@Slf4j
+@SpringBootTest(classes = {Application.class, BatchQueueListenerIntegrationTest.TestConfig.class}, webEnvironment = RANDOM_PORT)
+@ExtendWith(SpringExtension.class)
+class BatchQueueListenerIntegrationTest {
+    private static final String QUEUE_NAME = "BatchQueueListenerIntegrationTest";
+
+    private static final int NUMBER_OF_MESSAGES_TO_SEND = 100;
+    private static final CountDownLatch COUNT_DOWN_LATCH = new CountDownLatch(NUMBER_OF_MESSAGES_TO_SEND);
+    private static final AtomicInteger NUMBER_OF_BATCHES_PROCESSED = new AtomicInteger(0);
+
+    private static final Map<String, Boolean> messagesProcessed = new ConcurrentHashMap<>();
+
+    @RegisterExtension
+    public static final LocalSqsExtension LOCAL_SQS_RULE = new LocalSqsExtension(QUEUE_NAME);
+
+    @Autowired
+    private LocalSqsAsyncClient localSqsAsyncClient;
+
+    @Configuration
+    public static class TestConfig {
+        @Bean
+        public LocalSqsAsyncClient localSqsAsyncClient() {
+            return LOCAL_SQS_RULE.getLocalAmazonSqsAsync();
+        }
+
+        @Service
+        public static class MessageListener {
+            @BatchQueueListener(value = QUEUE_NAME, concurrencyLevel = 2, batchingPeriodInMs = 500)
+            public void listenToMessages(@Payload final List<String> payloads) {
+                log.info("Obtained batch of {} messages", payloads.size());
+                NUMBER_OF_BATCHES_PROCESSED.incrementAndGet();
+                payloads.forEach(payload -> {
+                    messagesProcessed.put(payload, true);
+                    COUNT_DOWN_LATCH.countDown();
+                });
+            }
+        }
+    }
+
+    @Test
+    void allMessagesAreProcessedInBatchesByListener() throws InterruptedException {
+        // arrange
+        IntStream.range(0, NUMBER_OF_MESSAGES_TO_SEND)
+                .forEach(i -> localSqsAsyncClient.sendMessageToLocalQueue(QUEUE_NAME, "message: " + i));
+
+        // act
+        COUNT_DOWN_LATCH.await(20, TimeUnit.SECONDS);
+
+        // assert
+        assertThat(messagesProcessed).hasSize(NUMBER_OF_MESSAGES_TO_SEND);
+        assertThat(NUMBER_OF_BATCHES_PROCESSED.get()).isLessThan(NUMBER_OF_MESSAGES_TO_SEND);
+    }
+}
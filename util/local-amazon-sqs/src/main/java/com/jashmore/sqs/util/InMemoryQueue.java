@@ -0,0 +1,598 @@
+package com.jashmore.sqs.util;
+
+import lombok.Value;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.MessageNotInflightException;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+import software.amazon.awssdk.services.sqs.model.ReceiptHandleIsInvalidException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The state of a single queue for the {@link InMemorySqsAsyncClient}.
+ *
+ * <p>Messages that are waiting to be received are kept in the order that they became visible, with FIFO queues keeping a separate ordering for each message
+ * group so that a group can be blocked while any of its messages are in flight. Messages that are not visible, either because they are delayed or they have
+ * been received, are kept in a priority queue ordered by the time that they will become visible again. Instead of searching for these messages when their
+ * visibility changes, a new entry is added and the previous entry is ignored when it reaches the head of the priority queue.
+ */
+@ThreadSafe
+class InMemoryQueue {
+    /**
+     * The amount of time that a message deduplication identifier will prevent duplicate messages being sent to a FIFO queue.
+     */
+    private static final long DEDUPLICATION_INTERVAL_IN_MS = TimeUnit.MINUTES.toMillis(5);
+    private static final int DEFAULT_VISIBILITY_TIMEOUT_IN_SECONDS = 30;
+    private static final Pattern DEAD_LETTER_TARGET_ARN_PATTERN = Pattern.compile("\"deadLetterTargetArn\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern MAX_RECEIVE_COUNT_PATTERN = Pattern.compile("\"maxReceiveCount\"\\s*:\\s*\"?(\\d+)\"?");
+
+    private final String queueName;
+    private final String queueUrl;
+    private final String queueArn;
+    private final boolean fifo;
+    private final Map<QueueAttributeName, String> attributes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition messagesAvailable = lock.newCondition();
+
+    @GuardedBy("lock")
+    private final Deque<StoredMessage> visibleMessages = new ArrayDeque<>();
+    @GuardedBy("lock")
+    private final Map<String, MessageGroup> messageGroups = new LinkedHashMap<>();
+    @GuardedBy("lock")
+    private final PriorityQueue<InvisibleEntry> invisibleMessages = new PriorityQueue<>(Comparator.comparingLong(InvisibleEntry::getVisibleAt));
+    @GuardedBy("lock")
+    private final Map<String, StoredMessage> messagesByReceiptHandle = new HashMap<>();
+    /**
+     * Messages that were sent to a FIFO queue in insertion order, which is also the order that their deduplication identifiers expire.
+     */
+    @GuardedBy("lock")
+    private final LinkedHashMap<String, DeduplicatedMessage> deduplicatedMessages = new LinkedHashMap<>();
+    @GuardedBy("lock")
+    private long nextSequenceNumber = 1;
+
+    InMemoryQueue(final String queueName, final String queueUrl, final String queueArn, final Map<QueueAttributeName, String> attributes) {
+        this.queueName = queueName;
+        this.queueUrl = queueUrl;
+        this.queueArn = queueArn;
+        this.fifo = queueName.endsWith(".fifo");
+        this.attributes = new ConcurrentHashMap<>(attributes);
+        if (fifo) {
+            this.attributes.put(QueueAttributeName.FIFO_QUEUE, "true");
+        }
+    }
+
+    String getQueueName() {
+        return queueName;
+    }
+
+    String getQueueUrl() {
+        return queueUrl;
+    }
+
+    String getQueueArn() {
+        return queueArn;
+    }
+
+    boolean isFifo() {
+        return fifo;
+    }
+
+    /**
+     * Get the attributes of the queue, including the approximate number of messages in each state.
+     *
+     * @return the attributes of the queue
+     */
+    Map<QueueAttributeName, String> getAttributes() {
+        final Map<QueueAttributeName, String> allAttributes = new HashMap<>(attributes);
+        allAttributes.put(QueueAttributeName.QUEUE_ARN, queueArn);
+        allAttributes.putIfAbsent(QueueAttributeName.VISIBILITY_TIMEOUT, String.valueOf(DEFAULT_VISIBILITY_TIMEOUT_IN_SECONDS));
+        allAttributes.putIfAbsent(QueueAttributeName.DELAY_SECONDS, "0");
+        allAttributes.putIfAbsent(QueueAttributeName.RECEIVE_MESSAGE_WAIT_TIME_SECONDS, "0");
+
+        lock.lock();
+        try {
+            refreshInvisibleMessages(System.currentTimeMillis());
+            int numberOfVisibleMessages = 0;
+            int numberOfMessagesInFlight = 0;
+            int numberOfDelayedMessages = 0;
+            for (final StoredMessage message : messagesByMessageId().values()) {
+                switch (message.state) {
+                    case VISIBLE:
+                        numberOfVisibleMessages++;
+                        break;
+                    case IN_FLIGHT:
+                        numberOfMessagesInFlight++;
+                        break;
+                    case DELAYED:
+                        numberOfDelayedMessages++;
+                        break;
+                    default:
+                        break;
+                }
+            }
+            allAttributes.put(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES, String.valueOf(numberOfVisibleMessages));
+            allAttributes.put(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE, String.valueOf(numberOfMessagesInFlight));
+            allAttributes.put(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_DELAYED, String.valueOf(numberOfDelayedMessages));
+        } finally {
+            lock.unlock();
+        }
+        return allAttributes;
+    }
+
+    /**
+     * Get the value of an attribute that has been set on the queue.
+     *
+     * @param attributeName the name of the attribute
+     * @return the value of the attribute or null if it has not been set
+     */
+    String getAttribute(final QueueAttributeName attributeName) {
+        return attributes.get(attributeName);
+    }
+
+    /**
+     * Update the attributes of the queue, these will be used for any subsequent requests to the queue.
+     *
+     * @param updatedAttributes the attributes to update
+     */
+    void setAttributes(final Map<QueueAttributeName, String> updatedAttributes) {
+        attributes.putAll(updatedAttributes);
+    }
+
+    /**
+     * The ARN of the dead letter queue from the re-drive policy of this queue, if there is one.
+     *
+     * @return the ARN of the dead letter queue or null if there is no re-drive policy
+     */
+    String getDeadLetterQueueArn() {
+        final String redrivePolicy = attributes.get(QueueAttributeName.REDRIVE_POLICY);
+        if (redrivePolicy == null) {
+            return null;
+        }
+
+        final Matcher matcher = DEAD_LETTER_TARGET_ARN_PATTERN.matcher(redrivePolicy);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    /**
+     * Send a message to the queue.
+     *
+     * @param message      the message to send
+     * @param delaySeconds the number of seconds to delay the message, or null if the default delay of the queue should be used
+     * @return the message that is stored on the queue, which may be a previously sent message if this is a duplicate for a FIFO queue
+     */
+    StoredMessage send(final StoredMessage message, final Integer delaySeconds) {
+        final long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            if (fifo) {
+                final Iterator<DeduplicatedMessage> deduplicatedMessageIterator = deduplicatedMessages.values().iterator();
+                while (deduplicatedMessageIterator.hasNext() && deduplicatedMessageIterator.next().getExpiresAt() <= now) {
+                    deduplicatedMessageIterator.remove();
+                }
+                final DeduplicatedMessage previousMessage = deduplicatedMessages.get(message.deduplicationId);
+                if (previousMessage != null) {
+                    return previousMessage.getMessage();
+                }
+                deduplicatedMessages.put(message.deduplicationId, new DeduplicatedMessage(message, now + DEDUPLICATION_INTERVAL_IN_MS));
+            }
+            message.sequenceNumber = nextSequenceNumber++;
+
+            final int actualDelaySeconds = delaySeconds != null ? delaySeconds : getIntegerAttribute(QueueAttributeName.DELAY_SECONDS, 0);
+            if (actualDelaySeconds > 0) {
+                message.state = MessageState.DELAYED;
+                invisibleMessages.add(new InvisibleEntry(message, message.visibilityVersion, now + TimeUnit.SECONDS.toMillis(actualDelaySeconds)));
+            } else {
+                makeVisible(message);
+            }
+            messagesAvailable.signalAll();
+            return message;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Add a message that has been moved from another queue because it exceeded the max receive count of that queue.
+     *
+     * @param message a copy of the message from the other queue
+     */
+    void addDeadLetterMessage(final StoredMessage message) {
+        lock.lock();
+        try {
+            message.currentReceiptHandle = null;
+            message.sequenceNumber = nextSequenceNumber++;
+            makeVisible(message);
+            messagesAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Receive messages from the queue, waiting until the deadline for a message to become visible if there are none.
+     *
+     * <p>Any received message that has already been received at least the max receive count of the re-drive policy is not returned and is instead
+     * included in {@link ReceiveResult#getDeadLetterMessages()} to be moved to the dead letter queue by the caller. This is not done here to make sure that
+     * the locks of two queues are never held at the same time.
+     *
+     * @param maxNumberOfMessages        the maximum number of messages to receive
+     * @param visibilityTimeoutInSeconds the visibility timeout of the received messages, or null if the default for the queue should be used
+     * @param deadlineInNanos            the {@link System#nanoTime()} that the request should wait until for messages to be available
+     * @return the result of receiving the messages
+     * @throws InterruptedException if the thread was interrupted while waiting for messages
+     */
+    ReceiveResult receive(final int maxNumberOfMessages,
+                          final Integer visibilityTimeoutInSeconds,
+                          final long deadlineInNanos) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            long remainingWaitInNanos = deadlineInNanos - System.nanoTime();
+            while (true) {
+                final long now = System.currentTimeMillis();
+                refreshInvisibleMessages(now);
+                final ReceiveResult result = receiveVisibleMessages(maxNumberOfMessages, visibilityTimeoutInSeconds, now);
+                if (!result.getMessages().isEmpty() || !result.getDeadLetterMessages().isEmpty() || remainingWaitInNanos <= 0) {
+                    return result;
+                }
+
+                final InvisibleEntry nextInvisibleEntry = invisibleMessages.peek();
+                final long waitInNanos;
+                if (nextInvisibleEntry == null) {
+                    waitInNanos = remainingWaitInNanos;
+                } else {
+                    final long timeUntilVisibleInNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, nextInvisibleEntry.getVisibleAt() - now));
+                    waitInNanos = Math.min(remainingWaitInNanos, timeUntilVisibleInNanos);
+                }
+                // awaitNanos returns an estimate of the time left of this wait which is used to determine how long was spent waiting
+                remainingWaitInNanos -= waitInNanos - messagesAvailable.awaitNanos(waitInNanos);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Delete the message with the given receipt handle.
+     *
+     * <p>Similar to SQS, deleting a message with a receipt handle that is no longer the most recent receipt handle for the message will succeed but
+     * the message will not be deleted.
+     *
+     * @param receiptHandle the receipt handle of the message
+     * @throws ReceiptHandleIsInvalidException if the receipt handle is not known
+     */
+    void delete(final String receiptHandle) {
+        lock.lock();
+        try {
+            final StoredMessage message = getMessageForReceiptHandle(receiptHandle);
+            if (!receiptHandle.equals(message.currentReceiptHandle)) {
+                return;
+            }
+
+            removeMessage(message);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Change the visibility of an in flight message.
+     *
+     * @param receiptHandle              the receipt handle of the message
+     * @param visibilityTimeoutInSeconds the number of seconds from now that the message should become visible
+     * @throws ReceiptHandleIsInvalidException if the receipt handle is not known
+     * @throws MessageNotInflightException     if the message is not in flight or the receipt handle is not the most recent for the message
+     */
+    void changeVisibility(final String receiptHandle, final int visibilityTimeoutInSeconds) {
+        final long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            refreshInvisibleMessages(now);
+            final StoredMessage message = getMessageForReceiptHandle(receiptHandle);
+            if (message.state != MessageState.IN_FLIGHT || !receiptHandle.equals(message.currentReceiptHandle)) {
+                throw MessageNotInflightException.builder()
+                        .message("Message for receipt handle is not in flight: " + receiptHandle)
+                        .build();
+            }
+
+            message.visibilityVersion++;
+            invisibleMessages.add(new InvisibleEntry(message, message.visibilityVersion, now + TimeUnit.SECONDS.toMillis(visibilityTimeoutInSeconds)));
+            if (visibilityTimeoutInSeconds == 0) {
+                refreshInvisibleMessages(now);
+                messagesAvailable.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove all of the messages from the queue.
+     */
+    void purge() {
+        lock.lock();
+        try {
+            messagesByMessageId().values().forEach(message -> message.state = MessageState.DELETED);
+            visibleMessages.clear();
+            messageGroups.clear();
+            invisibleMessages.clear();
+            messagesByReceiptHandle.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @GuardedBy("lock")
+    private ReceiveResult receiveVisibleMessages(final int maxNumberOfMessages, final Integer visibilityTimeoutInSeconds, final long now) {
+        final int actualVisibilityTimeoutInSeconds = visibilityTimeoutInSeconds != null
+                ? visibilityTimeoutInSeconds : getIntegerAttribute(QueueAttributeName.VISIBILITY_TIMEOUT, DEFAULT_VISIBILITY_TIMEOUT_IN_SECONDS);
+        final Integer maxReceiveCount = getMaxReceiveCount();
+        final List<StoredMessage> messages = new ArrayList<>(maxNumberOfMessages);
+        final List<StoredMessage> deadLetterMessages = new ArrayList<>();
+
+        StoredMessage message;
+        while (messages.size() < maxNumberOfMessages && (message = pollVisibleMessage()) != null) {
+            if (maxReceiveCount != null && message.receiveCount >= maxReceiveCount) {
+                removeMessage(message);
+                deadLetterMessages.add(message.copy());
+                continue;
+            }
+
+            message.receiveCount++;
+            if (message.firstReceiveTimestamp == 0) {
+                message.firstReceiveTimestamp = now;
+            }
+            message.currentReceiptHandle = UUID.randomUUID().toString();
+            message.receiptHandles.add(message.currentReceiptHandle);
+            messagesByReceiptHandle.put(message.currentReceiptHandle, message);
+            message.state = MessageState.IN_FLIGHT;
+            message.visibilityVersion++;
+            invisibleMessages.add(new InvisibleEntry(message, message.visibilityVersion, now + TimeUnit.SECONDS.toMillis(actualVisibilityTimeoutInSeconds)));
+            if (fifo) {
+                messageGroups.get(message.messageGroupId).numberOfMessagesInFlight++;
+            }
+            messages.add(message.copy());
+        }
+        return new ReceiveResult(messages, deadLetterMessages);
+    }
+
+    /**
+     * Obtain the next message that is visible, skipping any FIFO message groups that currently have messages in flight.
+     */
+    @GuardedBy("lock")
+    private StoredMessage pollVisibleMessage() {
+        if (!fifo) {
+            StoredMessage message;
+            while ((message = visibleMessages.pollFirst()) != null) {
+                if (message.state == MessageState.VISIBLE) {
+                    return message;
+                }
+            }
+            return null;
+        }
+
+        final Iterator<MessageGroup> groupIterator = messageGroups.values().iterator();
+        while (groupIterator.hasNext()) {
+            final MessageGroup group = groupIterator.next();
+            if (group.numberOfMessagesInFlight > 0 && !group.isReceivingBatch) {
+                continue;
+            }
+
+            StoredMessage message;
+            while ((message = group.messages.poll()) != null) {
+                if (message.state == MessageState.VISIBLE) {
+                    group.isReceivingBatch = true;
+                    return message;
+                }
+            }
+            group.isReceivingBatch = false;
+            if (group.numberOfMessagesInFlight == 0) {
+                groupIterator.remove();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Move any messages that should now be visible back onto the queue.
+     */
+    @GuardedBy("lock")
+    private void refreshInvisibleMessages(final long now) {
+        messageGroups.values().forEach(group -> group.isReceivingBatch = false);
+
+        InvisibleEntry entry;
+        while ((entry = invisibleMessages.peek()) != null && entry.getVisibleAt() <= now) {
+            invisibleMessages.poll();
+            final StoredMessage message = entry.getMessage();
+            if (entry.getVisibilityVersion() != message.visibilityVersion
+                    || (message.state != MessageState.DELAYED && message.state != MessageState.IN_FLIGHT)) {
+                continue;
+            }
+
+            if (message.state == MessageState.IN_FLIGHT && fifo) {
+                messageGroups.get(message.messageGroupId).numberOfMessagesInFlight--;
+            }
+            makeVisible(message);
+        }
+    }
+
+    @GuardedBy("lock")
+    private void makeVisible(final StoredMessage message) {
+        message.state = MessageState.VISIBLE;
+        if (fifo) {
+            messageGroups.computeIfAbsent(message.messageGroupId, groupId -> new MessageGroup()).messages.add(message);
+        } else {
+            visibleMessages.addLast(message);
+        }
+    }
+
+    @GuardedBy("lock")
+    private void removeMessage(final StoredMessage message) {
+        if (message.state == MessageState.IN_FLIGHT && fifo) {
+            final MessageGroup group = messageGroups.get(message.messageGroupId);
+            group.numberOfMessagesInFlight--;
+            if (group.numberOfMessagesInFlight == 0) {
+                messagesAvailable.signalAll();
+            }
+        }
+        message.state = MessageState.DELETED;
+        message.receiptHandles.forEach(messagesByReceiptHandle::remove);
+        message.receiptHandles.clear();
+    }
+
+    @GuardedBy("lock")
+    private StoredMessage getMessageForReceiptHandle(final String receiptHandle) {
+        final StoredMessage message = messagesByReceiptHandle.get(receiptHandle);
+        if (message == null) {
+            throw ReceiptHandleIsInvalidException.builder()
+                    .message("The receipt handle is not valid for queue " + queueName + ": " + receiptHandle)
+                    .build();
+        }
+        return message;
+    }
+
+    @GuardedBy("lock")
+    private Map<String, StoredMessage> messagesByMessageId() {
+        final Map<String, StoredMessage> messages = new HashMap<>();
+        visibleMessages.forEach(message -> messages.put(message.messageId, message));
+        messageGroups.values().forEach(group -> group.messages.forEach(message -> messages.put(message.messageId, message)));
+        invisibleMessages.forEach(entry -> messages.put(entry.getMessage().messageId, entry.getMessage()));
+        messages.values().removeIf(message -> message.state == MessageState.DELETED);
+        return messages;
+    }
+
+    private Integer getMaxReceiveCount() {
+        final String redrivePolicy = attributes.get(QueueAttributeName.REDRIVE_POLICY);
+        if (redrivePolicy == null) {
+            return null;
+        }
+
+        final Matcher matcher = MAX_RECEIVE_COUNT_PATTERN.matcher(redrivePolicy);
+        return matcher.find() ? Integer.valueOf(matcher.group(1)) : null;
+    }
+
+    private int getIntegerAttribute(final QueueAttributeName attributeName, final int defaultValue) {
+        final String value = attributes.get(attributeName);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    /**
+     * The state of a message on the queue.
+     */
+    enum MessageState {
+        DELAYED,
+        VISIBLE,
+        IN_FLIGHT,
+        DELETED
+    }
+
+    /**
+     * A message that has been sent to the queue.
+     *
+     * <p>All mutable fields are guarded by the lock of the queue that the message is currently on.
+     */
+    static class StoredMessage {
+        final String messageId;
+        final String body;
+        final String md5OfBody;
+        final Map<String, MessageAttributeValue> messageAttributes;
+        final long sentTimestamp;
+        final String messageGroupId;
+        final String deduplicationId;
+        final List<String> receiptHandles = new ArrayList<>();
+        long sequenceNumber;
+        int receiveCount;
+        long firstReceiveTimestamp;
+        String currentReceiptHandle;
+        long visibilityVersion;
+        MessageState state;
+
+        StoredMessage(final String messageId,
+                      final String body,
+                      final String md5OfBody,
+                      final Map<String, MessageAttributeValue> messageAttributes,
+                      final long sentTimestamp,
+                      final String messageGroupId,
+                      final String deduplicationId) {
+            this.messageId = messageId;
+            this.body = body;
+            this.md5OfBody = md5OfBody;
+            this.messageAttributes = messageAttributes;
+            this.sentTimestamp = sentTimestamp;
+            this.messageGroupId = messageGroupId;
+            this.deduplicationId = deduplicationId;
+        }
+
+        /**
+         * Copy the current state of the message so that it can be safely read once the lock of the queue has been released.
+         */
+        StoredMessage copy() {
+            final StoredMessage copy = new StoredMessage(messageId, body, md5OfBody, messageAttributes, sentTimestamp, messageGroupId, deduplicationId);
+            copy.sequenceNumber = sequenceNumber;
+            copy.receiveCount = receiveCount;
+            copy.firstReceiveTimestamp = firstReceiveTimestamp;
+            copy.currentReceiptHandle = currentReceiptHandle;
+            copy.state = state;
+            return copy;
+        }
+    }
+
+    /**
+     * The messages for a message group of a FIFO queue, ordered by the sequence numbers of the messages.
+     */
+    private static class MessageGroup {
+        private final PriorityQueue<StoredMessage> messages = new PriorityQueue<>(Comparator.comparingLong(message -> message.sequenceNumber));
+        private int numberOfMessagesInFlight;
+        /**
+         * Whether the group is being received in the current request, which allows multiple messages from the same group to be returned in one response.
+         */
+        private boolean isReceivingBatch;
+    }
+
+    @Value
+    private static class InvisibleEntry {
+        private final StoredMessage message;
+        private final long visibilityVersion;
+        private final long visibleAt;
+    }
+
+    @Value
+    private static class DeduplicatedMessage {
+        private final StoredMessage message;
+        private final long expiresAt;
+    }
+
+    /**
+     * The result of receiving messages from the queue.
+     */
+    @Value
+    static class ReceiveResult {
+        /**
+         * The messages that were received.
+         */
+        private final List<StoredMessage> messages;
+
+        /**
+         * The messages that exceeded the max receive count and should be moved to the dead letter queue.
+         */
+        private final List<StoredMessage> deadLetterMessages;
+    }
+}
@@ -0,0 +1,633 @@
+package com.jashmore.sqs.util;
+
+import static com.jashmore.sqs.util.SqsQueuesConfig.QueueConfig.DEFAULT_MAX_RECEIVE_COUNT;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import com.jashmore.sqs.util.InMemoryQueue.StoredMessage;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchEntryIdsNotDistinctException;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityResponse;
+import software.amazon.awssdk.services.sqs.model.CreateQueueRequest;
+import software.amazon.awssdk.services.sqs.model.CreateQueueResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteQueueRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteQueueResponse;
+import software.amazon.awssdk.services.sqs.model.EmptyBatchRequestException;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesResponse;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlResponse;
+import software.amazon.awssdk.services.sqs.model.ListQueuesRequest;
+import software.amazon.awssdk.services.sqs.model.ListQueuesResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+import software.amazon.awssdk.services.sqs.model.PurgeQueueRequest;
+import software.amazon.awssdk.services.sqs.model.PurgeQueueResponse;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+import software.amazon.awssdk.services.sqs.model.QueueDoesNotExistException;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.SetQueueAttributesResponse;
+import software.amazon.awssdk.services.sqs.model.SqsException;
+import software.amazon.awssdk.services.sqs.model.TooManyEntriesInBatchRequestException;
+import software.amazon.awssdk.utils.BinaryUtils;
+import software.amazon.awssdk.utils.Md5Utils;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Implementation of the {@link SqsAsyncClient} that keeps all of the queues in memory instead of connecting to a SQS server.
+ *
+ * <p>This removes the cost of serialising each request over HTTP to a local server, like ElasticMQ or localstack, which can be useful for benchmarks and
+ * tests where the SQS server should not be the bottleneck. The following parts of SQS are supported:
+ * <ul>
+ *     <li>creating, listing, purging and deleting queues as well as getting and setting their attributes</li>
+ *     <li>sending messages, including batches and delayed messages</li>
+ *     <li>receiving messages with long polling via {@link ReceiveMessageRequest#waitTimeSeconds()} and the visibility timeout of the message</li>
+ *     <li>deleting and changing the visibility of messages, including batches</li>
+ *     <li>moving messages to the dead letter queue of the re-drive policy once they have been received more than the max receive count</li>
+ *     <li>FIFO queues, where messages are received in order for each message group and a group is not received while it has messages in flight. Messages
+ *         are de-duplicated by their deduplication identifier or the hash of their body if content based deduplication is enabled</li>
+ * </ul>
+ *
+ * <p>Requests that can be completed immediately are completed on the calling thread and only requests that need to wait for messages are completed on a
+ * separate thread. Latency can be added to the requests by wrapping this client in a {@link LatencyInjectingSqsAsyncClient}.
+ */
+@Slf4j
+@ThreadSafe
+public class InMemorySqsAsyncClient implements SqsAsyncClient {
+    private static final String QUEUE_URL_PREFIX = "http://sqs.in-memory/000000000000/";
+    private static final String QUEUE_ARN_PREFIX = "arn:aws:sqs:in-memory:000000000000:";
+    private static final int MAX_NUMBER_OF_BATCH_ENTRIES = 10;
+    private static final String ALL_ATTRIBUTES = "All";
+
+    private final Map<String, InMemoryQueue> queuesByName = new ConcurrentHashMap<>();
+    private final Map<String, InMemoryQueue> queuesByUrl = new ConcurrentHashMap<>();
+    private final Map<String, InMemoryQueue> queuesByArn = new ConcurrentHashMap<>();
+    private final ExecutorService longPollingExecutorService = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+            .setNameFormat("in-memory-sqs-%d")
+            .setDaemon(true)
+            .build());
+
+    public InMemorySqsAsyncClient() {
+        this(SqsQueuesConfig.builder().build());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param sqsQueuesConfig the queues that should be created, the SQS server URL is ignored
+     */
+    public InMemorySqsAsyncClient(final SqsQueuesConfig sqsQueuesConfig) {
+        sqsQueuesConfig.getQueues().forEach(this::createConfiguredQueue);
+    }
+
+    /**
+     * Send the message content to a queue with the given name.
+     *
+     * @param queueName   name of the queue to send the message to
+     * @param messageBody the contents of the message
+     * @return the response for sending the messages as a {@link CompletableFuture}
+     */
+    public CompletableFuture<SendMessageResponse> sendMessageToLocalQueue(final String queueName, final String messageBody) {
+        return sendMessageToLocalQueue(queueName, builder -> builder.messageBody(messageBody));
+    }
+
+    /**
+     * Send the following message request object to the queue with the given name.
+     *
+     * @param queueName          name of the queue to send the message to
+     * @param sendMessageRequest the request to send to the queue
+     * @return the response for sending the messages as a {@link CompletableFuture}
+     */
+    public CompletableFuture<SendMessageResponse> sendMessageToLocalQueue(final String queueName, final SendMessageRequest sendMessageRequest) {
+        return sendMessage(sendMessageRequest.toBuilder()
+                .queueUrl(getQueueUrl(queueName))
+                .build());
+    }
+
+    /**
+     * Send a message to a queue with the given name.
+     *
+     * @param queueName                         name of the queue to send the message to
+     * @param sendMessageRequestBuilderConsumer a consumer of the request builder that can be used to generate the request
+     * @return the response for sending the messages as a {@link CompletableFuture}
+     */
+    public CompletableFuture<SendMessageResponse> sendMessageToLocalQueue(final String queueName,
+                                                                          final Consumer<SendMessageRequest.Builder> sendMessageRequestBuilderConsumer) {
+        return sendMessage(builder -> {
+            sendMessageRequestBuilderConsumer.accept(builder);
+            builder.queueUrl(getQueueUrl(queueName));
+        });
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public CompletableFuture<CreateQueueResponse> createQueue(final CreateQueueRequest createQueueRequest) {
+        return runRequest(() -> {
+            final InMemoryQueue queue = queuesByName.computeIfAbsent(createQueueRequest.queueName(), queueName -> {
+                final InMemoryQueue newQueue = new InMemoryQueue(queueName, QUEUE_URL_PREFIX + queueName, QUEUE_ARN_PREFIX + queueName,
+                        createQueueRequest.attributes());
+                queuesByUrl.put(newQueue.getQueueUrl(), newQueue);
+                queuesByArn.put(newQueue.getQueueArn(), newQueue);
+                return newQueue;
+            });
+            return CreateQueueResponse.builder().queueUrl(queue.getQueueUrl()).build();
+        });
+    }
+
+    /**
+     * Get the queue URL of one of the queues with the given name.
+     *
+     * @param queueName the name of the queue to get the URL for
+     * @return the URL of the queue with the provided name, if it exists
+     */
+    public String getQueueUrl(final String queueName) {
+        return Optional.ofNullable(queuesByName.get(queueName))
+                .map(InMemoryQueue::getQueueUrl)
+                .orElse(null);
+    }
+
+    @Override
+    public CompletableFuture<GetQueueUrlResponse> getQueueUrl(final GetQueueUrlRequest getQueueUrlRequest) {
+        return runRequest(() -> {
+            final InMemoryQueue queue = queuesByName.get(getQueueUrlRequest.queueName());
+            if (queue == null) {
+                throw QueueDoesNotExistException.builder()
+                        .message("The specified queue does not exist: " + getQueueUrlRequest.queueName())
+                        .build();
+            }
+            return GetQueueUrlResponse.builder().queueUrl(queue.getQueueUrl()).build();
+        });
+    }
+
+    @Override
+    public CompletableFuture<ListQueuesResponse> listQueues(final ListQueuesRequest listQueuesRequest) {
+        return runRequest(() -> ListQueuesResponse.builder()
+                .queueUrls(queuesByName.values().stream()
+                        .filter(queue -> listQueuesRequest.queueNamePrefix() == null || queue.getQueueName().startsWith(listQueuesRequest.queueNamePrefix()))
+                        .map(InMemoryQueue::getQueueUrl)
+                        .collect(toList()))
+                .build());
+    }
+
+    @Override
+    public CompletableFuture<ListQueuesResponse> listQueues() {
+        return listQueues(ListQueuesRequest.builder().build());
+    }
+
+    @Override
+    public CompletableFuture<DeleteQueueResponse> deleteQueue(final DeleteQueueRequest deleteQueueRequest) {
+        return runRequest(() -> {
+            final InMemoryQueue queue = getQueue(deleteQueueRequest.queueUrl());
+            queuesByName.remove(queue.getQueueName());
+            queuesByUrl.remove(queue.getQueueUrl());
+            queuesByArn.remove(queue.getQueueArn());
+            queue.purge();
+            return DeleteQueueResponse.builder().build();
+        });
+    }
+
+    @Override
+    public CompletableFuture<PurgeQueueResponse> purgeQueue(final PurgeQueueRequest purgeQueueRequest) {
+        return runRequest(() -> {
+            getQueue(purgeQueueRequest.queueUrl()).purge();
+            return PurgeQueueResponse.builder().build();
+        });
+    }
+
+    @Override
+    public CompletableFuture<GetQueueAttributesResponse> getQueueAttributes(final GetQueueAttributesRequest getQueueAttributesRequest) {
+        return runRequest(() -> {
+            final Map<QueueAttributeName, String> attributes = getQueue(getQueueAttributesRequest.queueUrl()).getAttributes();
+            final List<QueueAttributeName> requestedAttributeNames = getQueueAttributesRequest.attributeNames();
+            if (!requestedAttributeNames.contains(QueueAttributeName.ALL)) {
+                attributes.keySet().retainAll(requestedAttributeNames);
+            }
+            return GetQueueAttributesResponse.builder().attributes(attributes).build();
+        });
+    }
+
+    @Override
+    public CompletableFuture<SetQueueAttributesResponse> setQueueAttributes(final SetQueueAttributesRequest setQueueAttributesRequest) {
+        return runRequest(() -> {
+            getQueue(setQueueAttributesRequest.queueUrl()).setAttributes(setQueueAttributesRequest.attributes());
+            return SetQueueAttributesResponse.builder().build();
+        });
+    }
+
+    @Override
+    public CompletableFuture<SendMessageResponse> sendMessage(final SendMessageRequest sendMessageRequest) {
+        return runRequest(() -> {
+            final StoredMessage message = sendMessageToQueue(getQueue(sendMessageRequest.queueUrl()), sendMessageRequest.messageBody(),
+                    sendMessageRequest.messageAttributes(), sendMessageRequest.delaySeconds(), sendMessageRequest.messageGroupId(),
+                    sendMessageRequest.messageDeduplicationId());
+            return SendMessageResponse.builder()
+                    .messageId(message.messageId)
+                    .md5OfMessageBody(message.md5OfBody)
+                    .sequenceNumber(message.messageGroupId != null ? String.valueOf(message.sequenceNumber) : null)
+                    .build();
+        });
+    }
+
+    @Override
+    public CompletableFuture<SendMessageBatchResponse> sendMessageBatch(final SendMessageBatchRequest sendMessageBatchRequest) {
+        return runRequest(() -> {
+            final InMemoryQueue queue = getQueue(sendMessageBatchRequest.queueUrl());
+            final List<SendMessageBatchRequestEntry> entries = sendMessageBatchRequest.entries();
+            validateBatchEntries(entries.stream().map(SendMessageBatchRequestEntry::id).collect(toList()));
+
+            final List<SendMessageBatchResultEntry> successfulEntries = new ArrayList<>(entries.size());
+            final List<BatchResultErrorEntry> failedEntries = new ArrayList<>();
+            for (final SendMessageBatchRequestEntry entry : entries) {
+                try {
+                    final StoredMessage message = sendMessageToQueue(queue, entry.messageBody(), entry.messageAttributes(), entry.delaySeconds(),
+                            entry.messageGroupId(), entry.messageDeduplicationId());
+                    successfulEntries.add(SendMessageBatchResultEntry.builder()
+                            .id(entry.id())
+                            .messageId(message.messageId)
+                            .md5OfMessageBody(message.md5OfBody)
+                            .sequenceNumber(message.messageGroupId != null ? String.valueOf(message.sequenceNumber) : null)
+                            .build());
+                } catch (final AwsServiceException serviceException) {
+                    failedEntries.add(buildErrorEntry(entry.id(), serviceException));
+                }
+            }
+            return SendMessageBatchResponse.builder()
+                    .successful(successfulEntries)
+                    .failed(failedEntries)
+                    .build();
+        });
+    }
+
+    @Override
+    public CompletableFuture<ReceiveMessageResponse> receiveMessage(final ReceiveMessageRequest receiveMessageRequest) {
+        final InMemoryQueue queue;
+        final int waitTimeSeconds;
+        final List<StoredMessage> messages;
+        try {
+            queue = getQueue(receiveMessageRequest.queueUrl());
+            waitTimeSeconds = Optional.ofNullable(receiveMessageRequest.waitTimeSeconds())
+                    .orElseGet(() -> Optional.ofNullable(queue.getAttribute(QueueAttributeName.RECEIVE_MESSAGE_WAIT_TIME_SECONDS))
+                            .map(Integer::parseInt)
+                            .orElse(0));
+            messages = receiveMessages(queue, receiveMessageRequest, System.nanoTime());
+        } catch (final InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            return failedFuture(interruptedException);
+        } catch (final RuntimeException exception) {
+            return failedFuture(exception);
+        }
+
+        if (!messages.isEmpty() || waitTimeSeconds <= 0) {
+            return CompletableFuture.completedFuture(buildReceiveMessageResponse(messages, receiveMessageRequest));
+        }
+
+        final long deadlineInNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(waitTimeSeconds);
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return buildReceiveMessageResponse(receiveMessages(queue, receiveMessageRequest, deadlineInNanos), receiveMessageRequest);
+            } catch (final InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(interruptedException);
+            }
+        }, longPollingExecutorService);
+    }
+
+    @Override
+    public CompletableFuture<DeleteMessageResponse> deleteMessage(final DeleteMessageRequest deleteMessageRequest) {
+        return runRequest(() -> {
+            getQueue(deleteMessageRequest.queueUrl()).delete(deleteMessageRequest.receiptHandle());
+            return DeleteMessageResponse.builder().build();
+        });
+    }
+
+    @Override
+    public CompletableFuture<DeleteMessageBatchResponse> deleteMessageBatch(final DeleteMessageBatchRequest deleteMessageBatchRequest) {
+        return runRequest(() -> {
+            final InMemoryQueue queue = getQueue(deleteMessageBatchRequest.queueUrl());
+            final List<DeleteMessageBatchRequestEntry> entries = deleteMessageBatchRequest.entries();
+            validateBatchEntries(entries.stream().map(DeleteMessageBatchRequestEntry::id).collect(toList()));
+
+            final List<DeleteMessageBatchResultEntry> successfulEntries = new ArrayList<>(entries.size());
+            final List<BatchResultErrorEntry> failedEntries = new ArrayList<>();
+            for (final DeleteMessageBatchRequestEntry entry : entries) {
+                try {
+                    queue.delete(entry.receiptHandle());
+                    successfulEntries.add(DeleteMessageBatchResultEntry.builder().id(entry.id()).build());
+                } catch (final AwsServiceException serviceException) {
+                    failedEntries.add(buildErrorEntry(entry.id(), serviceException));
+                }
+            }
+            return DeleteMessageBatchResponse.builder()
+                    .successful(successfulEntries)
+                    .failed(failedEntries)
+                    .build();
+        });
+    }
+
+    @Override
+    public CompletableFuture<ChangeMessageVisibilityResponse> changeMessageVisibility(final ChangeMessageVisibilityRequest changeMessageVisibilityRequest) {
+        return runRequest(() -> {
+            getQueue(changeMessageVisibilityRequest.queueUrl())
+                    .changeVisibility(changeMessageVisibilityRequest.receiptHandle(), changeMessageVisibilityRequest.visibilityTimeout());
+            return ChangeMessageVisibilityResponse.builder().build();
+        });
+    }
+
+    @Override
+    public CompletableFuture<ChangeMessageVisibilityBatchResponse> changeMessageVisibilityBatch(
+            final ChangeMessageVisibilityBatchRequest changeMessageVisibilityBatchRequest) {
+        return runRequest(() -> {
+            final InMemoryQueue queue = getQueue(changeMessageVisibilityBatchRequest.queueUrl());
+            final List<ChangeMessageVisibilityBatchRequestEntry> entries = changeMessageVisibilityBatchRequest.entries();
+            validateBatchEntries(entries.stream().map(ChangeMessageVisibilityBatchRequestEntry::id).collect(toList()));
+
+            final List<ChangeMessageVisibilityBatchResultEntry> successfulEntries = new ArrayList<>(entries.size());
+            final List<BatchResultErrorEntry> failedEntries = new ArrayList<>();
+            for (final ChangeMessageVisibilityBatchRequestEntry entry : entries) {
+                try {
+                    queue.changeVisibility(entry.receiptHandle(), entry.visibilityTimeout());
+                    successfulEntries.add(ChangeMessageVisibilityBatchResultEntry.builder().id(entry.id()).build());
+                } catch (final AwsServiceException serviceException) {
+                    failedEntries.add(buildErrorEntry(entry.id(), serviceException));
+                }
+            }
+            return ChangeMessageVisibilityBatchResponse.builder()
+                    .successful(successfulEntries)
+                    .failed(failedEntries)
+                    .build();
+        });
+    }
+
+    @Override
+    public void close() {
+        log.info("Closing in memory SQS client");
+        longPollingExecutorService.shutdownNow();
+    }
+
+    private void createConfiguredQueue(final SqsQueuesConfig.QueueConfig queueConfig) {
+        log.debug("Creating in memory queue: {}", queueConfig.getQueueName());
+        final ImmutableMap.Builder<QueueAttributeName, String> attributesBuilder = ImmutableMap.builder();
+        if (queueConfig.getVisibilityTimeout() != null) {
+            attributesBuilder.put(QueueAttributeName.VISIBILITY_TIMEOUT, String.valueOf(queueConfig.getVisibilityTimeout()));
+        }
+
+        if (queueConfig.getMaxReceiveCount() != null || queueConfig.getDeadLetterQueueName() != null) {
+            final String deadLetterQueueName = Optional.ofNullable(queueConfig.getDeadLetterQueueName()).orElse(queueConfig.getQueueName() + "-dlq");
+            final int maxReceiveCount = Optional.ofNullable(queueConfig.getMaxReceiveCount())
+                    .orElse(DEFAULT_MAX_RECEIVE_COUNT);
+            createQueue(builder -> builder.queueName(deadLetterQueueName));
+            attributesBuilder.put(
+                    QueueAttributeName.REDRIVE_POLICY,
+                    String.format("{\"deadLetterTargetArn\":\"%s\",\"maxReceiveCount\":\"%d\"}", QUEUE_ARN_PREFIX + deadLetterQueueName, maxReceiveCount)
+            );
+        }
+
+        createQueue(builder -> builder
+                .queueName(queueConfig.getQueueName())
+                .attributes(attributesBuilder.build()));
+    }
+
+    private InMemoryQueue getQueue(final String queueUrl) {
+        final InMemoryQueue queue = queueUrl != null ? queuesByUrl.get(queueUrl) : null;
+        if (queue == null) {
+            throw QueueDoesNotExistException.builder()
+                    .message("The specified queue does not exist: " + queueUrl)
+                    .build();
+        }
+        return queue;
+    }
+
+    private StoredMessage sendMessageToQueue(final InMemoryQueue queue,
+                                      final String messageBody,
+                                      final Map<String, MessageAttributeValue> messageAttributes,
+                                      final Integer delaySeconds,
+                                      final String messageGroupId,
+                                      final String messageDeduplicationId) {
+        if (messageBody == null || messageBody.isEmpty()) {
+            throw invalidParameterValue("The message body must not be empty");
+        }
+
+        String deduplicationId = null;
+        if (queue.isFifo()) {
+            if (messageGroupId == null) {
+                throw invalidParameterValue("The message group ID is required for FIFO queues");
+            }
+
+            deduplicationId = messageDeduplicationId;
+            if (deduplicationId == null) {
+                if (!Boolean.parseBoolean(queue.getAttribute(QueueAttributeName.CONTENT_BASED_DEDUPLICATION))) {
+                    throw invalidParameterValue("The message deduplication ID is required for FIFO queues without content based deduplication");
+                }
+                deduplicationId = sha256(messageBody);
+            }
+        }
+
+        final StoredMessage message = new StoredMessage(UUID.randomUUID().toString(), messageBody,
+                BinaryUtils.toHex(Md5Utils.computeMD5Hash(messageBody.getBytes(UTF_8))), messageAttributes, System.currentTimeMillis(),
+                queue.isFifo() ? messageGroupId : null, deduplicationId);
+        return queue.send(message, delaySeconds);
+    }
+
+    private List<StoredMessage> receiveMessages(final InMemoryQueue queue,
+                                                final ReceiveMessageRequest receiveMessageRequest,
+                                                final long deadlineInNanos) throws InterruptedException {
+        final int maxNumberOfMessages = Optional.ofNullable(receiveMessageRequest.maxNumberOfMessages()).orElse(1);
+        while (true) {
+            final InMemoryQueue.ReceiveResult result = queue.receive(maxNumberOfMessages, receiveMessageRequest.visibilityTimeout(), deadlineInNanos);
+            moveToDeadLetterQueue(queue, result.getDeadLetterMessages());
+            // keep trying if all of the messages were moved to the dead letter queue as there may be other messages that are visible
+            if (!result.getMessages().isEmpty() || result.getDeadLetterMessages().isEmpty()) {
+                return result.getMessages();
+            }
+        }
+    }
+
+    private void moveToDeadLetterQueue(final InMemoryQueue queue, final List<StoredMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        final String deadLetterQueueArn = queue.getDeadLetterQueueArn();
+        final InMemoryQueue deadLetterQueue = deadLetterQueueArn != null ? queuesByArn.get(deadLetterQueueArn) : null;
+        if (deadLetterQueue == null) {
+            log.warn("Dead letter queue {} for queue {} does not exist, {} messages will be dropped", deadLetterQueueArn, queue.getQueueName(),
+                    messages.size());
+            return;
+        }
+
+        log.debug("Moving {} messages from queue {} to dead letter queue {}", messages.size(), queue.getQueueName(), deadLetterQueue.getQueueName());
+        messages.forEach(deadLetterQueue::addDeadLetterMessage);
+    }
+
+    private static ReceiveMessageResponse buildReceiveMessageResponse(final List<StoredMessage> messages,
+                                                                      final ReceiveMessageRequest receiveMessageRequest) {
+        return ReceiveMessageResponse.builder()
+                .messages(messages.stream()
+                        .map(message -> Message.builder()
+                                .messageId(message.messageId)
+                                .receiptHandle(message.currentReceiptHandle)
+                                .body(message.body)
+                                .md5OfBody(message.md5OfBody)
+                                .attributes(buildMessageSystemAttributes(message, receiveMessageRequest.attributeNamesAsStrings()))
+                                .messageAttributes(filterMessageAttributes(message.messageAttributes, receiveMessageRequest.messageAttributeNames()))
+                                .build())
+                        .collect(toList()))
+                .build();
+    }
+
+    private static Map<MessageSystemAttributeName, String> buildMessageSystemAttributes(final StoredMessage message,
+                                                                                          final List<String> requestedAttributeNames) {
+        if (requestedAttributeNames.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        final Map<MessageSystemAttributeName, String> attributes = new HashMap<>();
+        attributes.put(MessageSystemAttributeName.SENT_TIMESTAMP, String.valueOf(message.sentTimestamp));
+        attributes.put(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT, String.valueOf(message.receiveCount));
+        attributes.put(MessageSystemAttributeName.APPROXIMATE_FIRST_RECEIVE_TIMESTAMP, String.valueOf(message.firstReceiveTimestamp));
+        if (message.messageGroupId != null) {
+            attributes.put(MessageSystemAttributeName.MESSAGE_GROUP_ID, message.messageGroupId);
+            attributes.put(MessageSystemAttributeName.MESSAGE_DEDUPLICATION_ID, message.deduplicationId);
+            attributes.put(MessageSystemAttributeName.SEQUENCE_NUMBER, String.valueOf(message.sequenceNumber));
+        }
+
+        if (!requestedAttributeNames.contains(ALL_ATTRIBUTES)) {
+            attributes.keySet().retainAll(requestedAttributeNames.stream()
+                    .map(MessageSystemAttributeName::fromValue)
+                    .collect(toList()));
+        }
+        return attributes;
+    }
+
+    private static Map<String, MessageAttributeValue> filterMessageAttributes(final Map<String, MessageAttributeValue> messageAttributes,
+                                                                              final List<String> requestedAttributeNames) {
+        if (requestedAttributeNames.contains(ALL_ATTRIBUTES) || requestedAttributeNames.contains(".*")) {
+            return messageAttributes;
+        }
+
+        final Map<String, MessageAttributeValue> filteredAttributes = new HashMap<>();
+        messageAttributes.forEach((name, value) -> {
+            final boolean isRequested = requestedAttributeNames.stream()
+                    .anyMatch(requestedName -> requestedName.endsWith(".*")
+                            ? name.startsWith(requestedName.substring(0, requestedName.length() - 1))
+                            : name.equals(requestedName));
+            if (isRequested) {
+                filteredAttributes.put(name, value);
+            }
+        });
+        return filteredAttributes;
+    }
+
+    private static void validateBatchEntries(final List<String> entryIds) {
+        if (entryIds.isEmpty()) {
+            throw EmptyBatchRequestException.builder()
+                    .message("There should be at least one entry in the request")
+                    .build();
+        }
+
+        if (entryIds.size() > MAX_NUMBER_OF_BATCH_ENTRIES) {
+            throw TooManyEntriesInBatchRequestException.builder()
+                    .message("The maximum number of entries in a batch is " + MAX_NUMBER_OF_BATCH_ENTRIES)
+                    .build();
+        }
+
+        if (entryIds.stream().distinct().count() != entryIds.size()) {
+            throw BatchEntryIdsNotDistinctException.builder()
+                    .message("Two or more batch entries in the request have the same ID")
+                    .build();
+        }
+    }
+
+    private static BatchResultErrorEntry buildErrorEntry(final String id, final AwsServiceException serviceException) {
+        final String code = Optional.ofNullable(serviceException.awsErrorDetails())
+                .map(AwsErrorDetails::errorCode)
+                .orElseGet(() -> serviceException.getClass().getSimpleName().replace("Exception", ""));
+        return BatchResultErrorEntry.builder()
+                .id(id)
+                .code(code)
+                .message(serviceException.getMessage())
+                .senderFault(true)
+                .build();
+    }
+
+    private static AwsServiceException invalidParameterValue(final String message) {
+        return SqsException.builder()
+                .message(message)
+                .awsErrorDetails(AwsErrorDetails.builder()
+                        .errorCode("InvalidParameterValue")
+                        .errorMessage(message)
+                        .build())
+                .build();
+    }
+
+    private static String sha256(final String value) {
+        try {
+            return BinaryUtils.toHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(UTF_8)));
+        } catch (final NoSuchAlgorithmException noSuchAlgorithmException) {
+            throw new IllegalStateException("SHA-256 should be supported by all JVMs", noSuchAlgorithmException);
+        }
+    }
+
+    private static <T> CompletableFuture<T> runRequest(final Supplier<T> request) {
+        try {
+            return CompletableFuture.completedFuture(request.get());
+        } catch (final RuntimeException exception) {
+            return failedFuture(exception);
+        }
+    }
+
+    private static <T> CompletableFuture<T> failedFuture(final Throwable throwable) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(throwable);
+        return future;
+    }
+}
@@ -0,0 +1,157 @@
+package com.jashmore.sqs.util;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import lombok.experimental.Delegate;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageResponse;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * {@link SqsAsyncClient} that adds latency to the requests to the delegate client, for example to simulate the round trip to a remote SQS server when
+ * using the {@link InMemorySqsAsyncClient} or a local SQS server.
+ *
+ * <p>The latency is applied by scheduling the request to the delegate client instead of sleeping, which means that the thread that sent the request
+ * is not blocked and multiple requests can be waiting on the latency at the same time, like they would for a remote server.
+ */
+@ThreadSafe
+public class LatencyInjectingSqsAsyncClient implements SqsAsyncClient {
+    @Delegate(excludes = {MethodsToOverride.class, SdkAutoCloseable.class})
+    private final SqsAsyncClient delegate;
+    private final SqsLatencyConfig latencyConfig;
+    private final ScheduledExecutorService scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("sqs-latency-%d")
+            .setDaemon(true)
+            .build());
+
+    public LatencyInjectingSqsAsyncClient(final SqsAsyncClient delegate, final SqsLatencyConfig latencyConfig) {
+        this.delegate = delegate;
+        this.latencyConfig = latencyConfig;
+    }
+
+    @Override
+    public CompletableFuture<ReceiveMessageResponse> receiveMessage(final ReceiveMessageRequest receiveMessageRequest) {
+        return applyLatency(latencyConfig.getReceiveMessageLatencyInMs(), () -> delegate.receiveMessage(receiveMessageRequest));
+    }
+
+    @Override
+    public CompletableFuture<SendMessageResponse> sendMessage(final SendMessageRequest sendMessageRequest) {
+        return applyLatency(latencyConfig.getSendMessageLatencyInMs(), () -> delegate.sendMessage(sendMessageRequest));
+    }
+
+    @Override
+    public CompletableFuture<SendMessageBatchResponse> sendMessageBatch(final SendMessageBatchRequest sendMessageBatchRequest) {
+        return applyLatency(latencyConfig.getSendMessageLatencyInMs(), () -> delegate.sendMessageBatch(sendMessageBatchRequest));
+    }
+
+    @Override
+    public CompletableFuture<DeleteMessageResponse> deleteMessage(final DeleteMessageRequest deleteMessageRequest) {
+        return applyLatency(latencyConfig.getDeleteMessageLatencyInMs(), () -> delegate.deleteMessage(deleteMessageRequest));
+    }
+
+    @Override
+    public CompletableFuture<DeleteMessageBatchResponse> deleteMessageBatch(final DeleteMessageBatchRequest deleteMessageBatchRequest) {
+        return applyLatency(latencyConfig.getDeleteMessageLatencyInMs(), () -> delegate.deleteMessageBatch(deleteMessageBatchRequest));
+    }
+
+    @Override
+    public CompletableFuture<ChangeMessageVisibilityResponse> changeMessageVisibility(final ChangeMessageVisibilityRequest changeMessageVisibilityRequest) {
+        return applyLatency(latencyConfig.getChangeMessageVisibilityLatencyInMs(), () -> delegate.changeMessageVisibility(changeMessageVisibilityRequest));
+    }
+
+    @Override
+    public CompletableFuture<ChangeMessageVisibilityBatchResponse> changeMessageVisibilityBatch(
+            final ChangeMessageVisibilityBatchRequest changeMessageVisibilityBatchRequest) {
+        return applyLatency(latencyConfig.getChangeMessageVisibilityLatencyInMs(),
+                () -> delegate.changeMessageVisibilityBatch(changeMessageVisibilityBatchRequest));
+    }
+
+    @Override
+    public void close() {
+        scheduledExecutorService.shutdownNow();
+        delegate.close();
+    }
+
+    private <T> CompletableFuture<T> applyLatency(final long latencyInMs, final Supplier<CompletableFuture<T>> request) {
+        if (latencyInMs <= 0) {
+            return request.get();
+        }
+
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        scheduledExecutorService.schedule(() -> {
+            try {
+                request.get().whenComplete((response, throwable) -> {
+                    if (throwable != null) {
+                        future.completeExceptionally(throwable);
+                    } else {
+                        future.complete(response);
+                    }
+                });
+            } catch (final RuntimeException exception) {
+                future.completeExceptionally(exception);
+            }
+        }, latencyInMs, TimeUnit.MILLISECONDS);
+        return future;
+    }
+
+    /**
+     * Needed for {@link Delegate} to allow overriding.
+     *
+     * <p>The methods that take a request builder consumer are included so that they are not delegated and instead use the default implementation that
+     * calls the overridden methods.
+     */
+    @SuppressWarnings("unused")
+    private interface MethodsToOverride {
+        CompletableFuture<ReceiveMessageResponse> receiveMessage(ReceiveMessageRequest receiveMessageRequest);
+
+        CompletableFuture<ReceiveMessageResponse> receiveMessage(Consumer<ReceiveMessageRequest.Builder> receiveMessageRequest);
+
+        CompletableFuture<SendMessageResponse> sendMessage(SendMessageRequest sendMessageRequest);
+
+        CompletableFuture<SendMessageResponse> sendMessage(Consumer<SendMessageRequest.Builder> sendMessageRequest);
+
+        CompletableFuture<SendMessageBatchResponse> sendMessageBatch(SendMessageBatchRequest sendMessageBatchRequest);
+
+        CompletableFuture<SendMessageBatchResponse> sendMessageBatch(Consumer<SendMessageBatchRequest.Builder> sendMessageBatchRequest);
+
+        CompletableFuture<DeleteMessageResponse> deleteMessage(DeleteMessageRequest deleteMessageRequest);
+
+        CompletableFuture<DeleteMessageResponse> deleteMessage(Consumer<DeleteMessageRequest.Builder> deleteMessageRequest);
+
+        CompletableFuture<DeleteMessageBatchResponse> deleteMessageBatch(DeleteMessageBatchRequest deleteMessageBatchRequest);
+
+        CompletableFuture<DeleteMessageBatchResponse> deleteMessageBatch(Consumer<DeleteMessageBatchRequest.Builder> deleteMessageBatchRequest);
+
+        CompletableFuture<ChangeMessageVisibilityResponse> changeMessageVisibility(ChangeMessageVisibilityRequest changeMessageVisibilityRequest);
+
+        CompletableFuture<ChangeMessageVisibilityResponse> changeMessageVisibility(
+                Consumer<ChangeMessageVisibilityRequest.Builder> changeMessageVisibilityRequest);
+
+        CompletableFuture<ChangeMessageVisibilityBatchResponse> changeMessageVisibilityBatch(
+                ChangeMessageVisibilityBatchRequest changeMessageVisibilityBatchRequest);
+
+        CompletableFuture<ChangeMessageVisibilityBatchResponse> changeMessageVisibilityBatch(
+                Consumer<ChangeMessageVisibilityBatchRequest.Builder> changeMessageVisibilityBatchRequest);
+    }
+}
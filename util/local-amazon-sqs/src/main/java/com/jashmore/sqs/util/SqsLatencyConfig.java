@@ -0,0 +1,33 @@
+package com.jashmore.sqs.util;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Configuration for the latency that the {@link LatencyInjectingSqsAsyncClient} should add to each type of request.
+ *
+ * <p>Any latency that is not set will default to zero and therefore the request will be sent to the delegate client immediately.
+ */
+@Value
+@Builder
+public class SqsLatencyConfig {
+    /**
+     * The latency in milliseconds before each request to receive messages is sent.
+     */
+    private final long receiveMessageLatencyInMs;
+
+    /**
+     * The latency in milliseconds before each request to send a message or batch of messages is sent.
+     */
+    private final long sendMessageLatencyInMs;
+
+    /**
+     * The latency in milliseconds before each request to delete a message or batch of messages is sent.
+     */
+    private final long deleteMessageLatencyInMs;
+
+    /**
+     * The latency in milliseconds before each request to change the visibility of a message or batch of messages is sent.
+     */
+    private final long changeMessageVisibilityLatencyInMs;
+}
@@ -0,0 +1,512 @@
+package com.jashmore.sqs.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.model.BatchEntryIdsNotDistinctException;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.EmptyBatchRequestException;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.MessageNotInflightException;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+import software.amazon.awssdk.services.sqs.model.QueueDoesNotExistException;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SqsException;
+import software.amazon.awssdk.services.sqs.model.TooManyEntriesInBatchRequestException;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+class InMemorySqsAsyncClientTest {
+    private InMemorySqsAsyncClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new InMemorySqsAsyncClient(SqsQueuesConfig.builder()
+                .queue(SqsQueuesConfig.QueueConfig.builder()
+                        .queueName("queueName")
+                        .visibilityTimeout(10)
+                        .maxReceiveCount(2)
+                        .build())
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+    }
+
+    @Test
+    void configuredQueuesAndDeadLetterQueuesWillBeCreated() throws Exception {
+        // act
+        final List<String> queueUrls = client.listQueues().get().queueUrls();
+
+        // assert
+        assertThat(queueUrls).containsExactlyInAnyOrder(client.getQueueUrl("queueName"), client.getQueueUrl("queueName-dlq"));
+        final GetQueueAttributesResponse attributes = client.getQueueAttributes(builder -> builder
+                .queueUrl(client.getQueueUrl("queueName"))
+                .attributeNames(QueueAttributeName.ALL))
+                .get();
+        assertThat(attributes.attributes()).containsEntry(QueueAttributeName.VISIBILITY_TIMEOUT, "10");
+        assertThat(attributes.attributes().get(QueueAttributeName.REDRIVE_POLICY))
+                .contains("arn:aws:sqs:in-memory:000000000000:queueName-dlq")
+                .contains("\"maxReceiveCount\":\"2\"");
+    }
+
+    @Test
+    void queueUrlForUnknownQueueWillThrowQueueDoesNotExistException() {
+        // act
+        final ExecutionException exception = assertThrows(ExecutionException.class, () -> client.getQueueUrl(builder -> builder.queueName("unknown")).get());
+
+        // assert
+        assertThat(exception).hasCauseInstanceOf(QueueDoesNotExistException.class);
+    }
+
+    @Test
+    void sentMessageCanBeReceived() throws Exception {
+        // arrange
+        final String queueUrl = client.getQueueUrl("queueName");
+        client.sendMessageToLocalQueue("queueName", "body").get();
+
+        // act
+        final ReceiveMessageResponse response = client.receiveMessage(builder -> builder
+                .queueUrl(queueUrl)
+                .attributeNamesWithStrings(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT.toString()))
+                .get();
+
+        // assert
+        assertThat(response.messages()).hasSize(1);
+        final Message message = response.messages().get(0);
+        assertThat(message.body()).isEqualTo("body");
+        assertThat(message.attributes()).containsOnlyKeys(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT);
+        assertThat(message.attributes()).containsEntry(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT, "1");
+    }
+
+    @Test
+    void receivedMessageWillNotBeReceivedAgainWhileItIsInFlight() throws Exception {
+        // arrange
+        final String queueUrl = client.getQueueUrl("queueName");
+        client.sendMessageToLocalQueue("queueName", "body").get();
+        client.receiveMessage(builder -> builder.queueUrl(queueUrl)).get();
+
+        // act
+        final ReceiveMessageResponse response = client.receiveMessage(builder -> builder.queueUrl(queueUrl)).get();
+
+        // assert
+        assertThat(response.messages()).isEmpty();
+    }
+
+    @Test
+    void messageWillBeReceivedAgainOnceTheVisibilityTimeoutExpires() throws Exception {
+        // arrange
+        final String queueUrl = client.getQueueUrl("queueName");
+        client.sendMessageToLocalQueue("queueName", "body").get();
+        client.receiveMessage(builder -> builder.queueUrl(queueUrl).visibilityTimeout(1)).get();
+
+        // act
+        final ReceiveMessageResponse response = client.receiveMessage(builder -> builder.queueUrl(queueUrl).waitTimeSeconds(5)).get(5, TimeUnit.SECONDS);
+
+        // assert
+        assertThat(response.messages()).hasSize(1);
+    }
+
+    @Test
+    void changingVisibilityOfMessageToZeroWillAllowItToBeReceivedAgain() throws Exception {
+        // arrange
+        final String queueUrl = client.getQueueUrl("queueName");
+        client.sendMessageToLocalQueue("queueName", "body").get();
+        final String receiptHandle = client.receiveMessage(builder -> builder.queueUrl(queueUrl)).get().messages().get(0).receiptHandle();
+
+        // act
+        client.changeMessageVisibility(builder -> builder.queueUrl(queueUrl).receiptHandle(receiptHandle).visibilityTimeout(0)).get();
+
+        // assert
+        final ReceiveMessageResponse response = client.receiveMessage(builder -> builder.queueUrl(queueUrl)).get();
+        assertThat(response.messages()).hasSize(1);
+        assertThat(response.messages().get(0).receiptHandle()).isNotEqualTo(receiptHandle);
+    }
+
+    @Test
+    void changingVisibilityOfMessageThatIsNotInFlightWillThrowMessageNotInflightException() throws Exception {
+        // arrange
+        final String queueUrl = client.getQueueUrl("queueName");
+        client.sendMessageToLocalQueue("queueName", "body").get();
+        final String receiptHandle = client.receiveMessage(builder -> builder.queueUrl(queueUrl)).get().messages().get(0).receiptHandle();
+        client.changeMessageVisibility(builder -> builder.queueUrl(queueUrl).receiptHandle(receiptHandle).visibilityTimeout(0)).get();
+
+        // act
+        final ExecutionException exception = assertThrows(ExecutionException.class, () -> client.changeMessageVisibility(builder -> builder
+                .queueUrl(queueUrl)
+                .receiptHandle(receiptHandle)
+                .visibilityTimeout(0))
+                .get());
+
+        // assert
+        assertThat(exception).hasCauseInstanceOf(MessageNotInflightException.class);
+    }
+
+    @Test
+    void deletedMessageWillNotBeReceivedAgain() throws Exception {
+        // arrange
+        final String queueUrl = client.getQueueUrl("queueName");
+        client.sendMessageToLocalQueue("queueName", "body").get();
+        final String receiptHandle = client.receiveMessage(builder -> builder.queueUrl(queueUrl)).get().messages().get(0).receiptHandle();
+
+        // act
+        client.deleteMessage(builder -> builder.queueUrl(queueUrl).receiptHandle(receiptHandle)).get();
+
+        // assert
+        assertThat(getApproximateNumberOfMessagesNotVisible(queueUrl)).isEqualTo(0);
+        assertThat(client.changeMessageVisibility(builder -> builder.queueUrl(queueUrl).receiptHandle(receiptHandle).visibilityTimeout(0)))
+                .isCompletedExceptionally();
+    }
+
+    @Test
+    void deletingMessageWithOutdatedReceiptHandleWillNotDeleteTheMessage() throws Exception {
+        // arrange
+        final String queueUrl = client.getQueueUrl("queueName");
+        client.sendMessageToLocalQueue("queueName", "body").get();
+        final String firstReceiptHandle = client.receiveMessage(builder -> builder.queueUrl(queueUrl)).get().messages().get(0).receiptHandle();
+        client.changeMessageVisibility(builder -> builder.queueUrl(queueUrl).receiptHandle(firstReceiptHandle).visibilityTimeout(0)).get();
+        final String secondReceiptHandle = client.receiveMessage(builder -> builder.queueUrl(queueUrl)).get().messages().get(0).receiptHandle();
+
+        // act
+        client.deleteMessage(builder -> builder.queueUrl(queueUrl).receiptHandle(firstReceiptHandle)).get();
+
+        // assert
+        assertThat(getApproximateNumberOfMessagesNotVisible(queueUrl)).isEqualTo(1);
+        client.deleteMessage(builder -> builder.queueUrl(queueUrl).receiptHandle(secondReceiptHandle)).get();
+        assertThat(getApproximateNumberOfMessagesNotVisible(queueUrl)).isEqualTo(0);
+    }
+
+    @Test
+    void batchOfMessagesCanBeSentReceivedAndDeleted() throws Exception {
+        // arrange
+        final String queueUrl = client.getQueueUrl("queueName");
+        final SendMessageBatchResponse sendResponse = client.sendMessageBatch(builder -> builder
+                .queueUrl(queueUrl)
+                .entries(IntStream.range(0, 10)
+                        .mapToObj(index -> SendMessageBatchRequestEntry.builder().id("" + index).messageBody("body" + index).build())
+                        .collect(Collectors.toList())))
+                .get();
+        final List<Message> messages = client.receiveMessage(builder -> builder.queueUrl(queueUrl).maxNumberOfMessages(10)).get().messages();
+
+        // act
+        final DeleteMessageBatchResponse deleteResponse = client.deleteMessageBatch(builder -> builder
+                .queueUrl(queueUrl)
+                .entries(IntStream.range(0, messages.size())
+                        .mapToObj(index -> DeleteMessageBatchRequestEntry.builder().id("" + index).receiptHandle(messages.get(index).receiptHandle()).build())
+                        .collect(Collectors.toList())))
+                .get();
+
+        // assert
+        assertThat(sendResponse.successful()).hasSize(10);
+        assertThat(messages).extracting(Message::body).containsExactlyElementsOf(IntStream.range(0, 10)
+                .mapToObj(index -> "body" + index)
+                .collect(Collectors.toList()));
+        assertThat(deleteResponse.successful()).hasSize(10);
+        assertThat(getApproximateNumberOfMessagesNotVisible(queueUrl)).isEqualTo(0);
+    }
+
+    @Test
+    void deletingBatchWithInvalidReceiptHandleWillFailThatEntry() throws Exception {
+        // arrange
+        final String queueUrl = client.getQueueUrl("queueName");
+        client.sendMessageToLocalQueue("queueName", "body").get();
+        final String receiptHandle = client.receiveMessage(builder -> builder.queueUrl(queueUrl)).get().messages().get(0).receiptHandle();
+
+        // act
+        final DeleteMessageBatchResponse response = client.deleteMessageBatch(builder -> builder
+                .queueUrl(queueUrl)
+                .entries(
+                        DeleteMessageBatchRequestEntry.builder().id("valid").receiptHandle(receiptHandle).build(),
+                        DeleteMessageBatchRequestEntry.builder().id("invalid").receiptHandle("unknown").build()
+                ))
+                .get();
+
+        // assert
+        assertThat(response.successful()).extracting("id").containsExactly("valid");
+        assertThat(response.failed()).hasSize(1);
+        assertThat(response.failed().get(0).id()).isEqualTo("invalid");
+        assertThat(response.failed().get(0).code()).isEqualTo("ReceiptHandleIsInvalid");
+    }
+
+    @Test
+    void batchWithMoreThanTenEntriesWillBeRejected() {
+        // arrange
+        final String queueUrl = client.getQueueUrl("queueName");
+
+        // act
+        final CompletableFuture<?> future = client.sendMessageBatch(builder -> builder
+                .queueUrl(queueUrl)
+                .entries(IntStream.range(0, 11)
+                        .mapToObj(index -> SendMessageBatchRequestEntry.builder().id("" + index).messageBody("body").build())
+                        .collect(Collectors.toList())));
+
+        // assert
+        final ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        assertThat(exception).hasCauseInstanceOf(TooManyEntriesInBatchRequestException.class);
+    }
+
+    @Test
+    void longPollingWillReturnMessageSentWhileWaiting() throws Exception {
+        // arrange
+        final String queueUrl = client.getQueueUrl("queueName");
+        final CompletableFuture<ReceiveMessageResponse> receiveFuture = client.receiveMessage(builder -> builder.queueUrl(queueUrl).waitTimeSeconds(20));
+        assertThat(receiveFuture).isNotDone();
+
+        // act
+        client.sendMessageToLocalQueue("queueName", "body").get();
+
+        // assert
+        assertThat(receiveFuture.get(5, TimeUnit.SECONDS).messages()).extracting(Message::body).containsExactly("body");
+    }
+
+    @Test
+    void longPollingWillReturnNoMessagesOnceWaitTimeHasElapsed() throws Exception {
+        // arrange
+        final String queueUrl = client.getQueueUrl("queueName");
+
+        // act
+        final ReceiveMessageResponse response = client.receiveMessage(builder -> builder.queueUrl(queueUrl).waitTimeSeconds(1)).get(5, TimeUnit.SECONDS);
+
+        // assert
+        assertThat(response.messages()).isEmpty();
+    }
+
+    @Test
+    void messageReceivedMoreThanMaxReceiveCountWillBeMovedToDeadLetterQueue() throws Exception {
+        // arrange
+        final String queueUrl = client.getQueueUrl("queueName");
+        client.sendMessageToLocalQueue("queueName", "body").get();
+        for (int i = 0; i < 2; ++i) {
+            final String receiptHandle = client.receiveMessage(builder -> builder.queueUrl(queueUrl)).get().messages().get(0).receiptHandle();
+            client.changeMessageVisibility(builder -> builder.queueUrl(queueUrl).receiptHandle(receiptHandle).visibilityTimeout(0)).get();
+        }
+
+        // act
+        final ReceiveMessageResponse response = client.receiveMessage(builder -> builder.queueUrl(queueUrl)).get();
+
+        // assert
+        assertThat(response.messages()).isEmpty();
+        final ReceiveMessageResponse deadLetterResponse = client.receiveMessage(builder -> builder.queueUrl(client.getQueueUrl("queueName-dlq"))).get();
+        assertThat(deadLetterResponse.messages()).extracting(Message::body).containsExactly("body");
+    }
+
+    @Test
+    void messagesInFifoQueueWillBeReceivedInOrderAndGroupIsBlockedWhileMessagesAreInFlight() throws Exception {
+        // arrange
+        final String queueUrl = client.createQueue(builder -> builder.queueName("queue.fifo")).get().queueUrl();
+        sendFifoMessage(queueUrl, "groupA", "a1");
+        sendFifoMessage(queueUrl, "groupB", "b1");
+        sendFifoMessage(queueUrl, "groupA", "a2");
+
+        // act
+        final List<Message> firstMessages = client.receiveMessage(builder -> builder.queueUrl(queueUrl).maxNumberOfMessages(1)).get().messages();
+        final List<Message> secondMessages = client.receiveMessage(builder -> builder.queueUrl(queueUrl).maxNumberOfMessages(10)).get().messages();
+        client.deleteMessage(builder -> builder.queueUrl(queueUrl).receiptHandle(firstMessages.get(0).receiptHandle())).get();
+        final List<Message> thirdMessages = client.receiveMessage(builder -> builder.queueUrl(queueUrl).maxNumberOfMessages(10)).get().messages();
+
+        // assert
+        assertThat(firstMessages).extracting(Message::body).containsExactly("a1");
+        assertThat(secondMessages).extracting(Message::body).containsExactly("b1");
+        assertThat(thirdMessages).extracting(Message::body).containsExactly("a2");
+    }
+
+    @Test
+    void duplicateMessagesSentToFifoQueueWillOnlyBeReceivedOnce() throws Exception {
+        // arrange
+        final String queueUrl = client.createQueue(builder -> builder.queueName("queue.fifo")).get().queueUrl();
+        final String firstMessageId = sendFifoMessage(queueUrl, "group", "body");
+
+        // act
+        final String secondMessageId = sendFifoMessage(queueUrl, "group", "body");
+
+        // assert
+        assertThat(secondMessageId).isEqualTo(firstMessageId);
+        assertThat(client.receiveMessage(builder -> builder.queueUrl(queueUrl).maxNumberOfMessages(10)).get().messages()).hasSize(1);
+    }
+
+    @Test
+    void fifoMessageWithoutMessageGroupIdWillBeRejected() throws Exception {
+        // arrange
+        final String queueUrl = client.createQueue(builder -> builder.queueName("queue.fifo")).get().queueUrl();
+
+        // act
+        final CompletableFuture<?> future = client.sendMessage(builder -> builder.queueUrl(queueUrl).messageDeduplicationId("id").messageBody("body"));
+
+        // assert
+        final ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        assertThat(exception).hasCauseInstanceOf(SqsException.class);
+        assertThat(((SqsException) exception.getCause()).awsErrorDetails().errorCode()).isEqualTo("InvalidParameterValue");
+    }
+
+    @Test
+    void fifoQueueWithContentBasedDeduplicationWillDeduplicateMessagesWithTheSameBody() throws Exception {
+        // arrange
+        final String queueUrl = client.createQueue(builder -> builder.queueName("queue.fifo")).get().queueUrl();
+        client.setQueueAttributes(builder -> builder
+                .queueUrl(queueUrl)
+                .attributes(Collections.singletonMap(QueueAttributeName.CONTENT_BASED_DEDUPLICATION, "true")))
+                .get();
+
+        // act
+        client.sendMessage(builder -> builder.queueUrl(queueUrl).messageGroupId("group").messageBody("body")).get();
+        client.sendMessage(builder -> builder.queueUrl(queueUrl).messageGroupId("group").messageBody("body")).get();
+        client.sendMessage(builder -> builder.queueUrl(queueUrl).messageGroupId("group").messageBody("other")).get();
+
+        // assert
+        assertThat(client.receiveMessage(builder -> builder.queueUrl(queueUrl).maxNumberOfMessages(10)).get().messages())
+                .extracting(Message::body)
+                .containsExactly("body", "other");
+    }
+
+    @Test
+    void messageWithEmptyBodyWillBeRejected() {
+        // arrange
+        final String queueUrl = client.getQueueUrl("queueName");
+
+        // act
+        final CompletableFuture<?> future = client.sendMessage(builder -> builder.queueUrl(queueUrl).messageBody(""));
+
+        // assert
+        final ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        assertThat(exception).hasCauseInstanceOf(SqsException.class);
+    }
+
+    @Test
+    void onlyRequestedMessageAttributesWillBeReturned() throws Exception {
+        // arrange
+        final String queueUrl = client.getQueueUrl("queueName");
+        final Map<String, MessageAttributeValue> messageAttributes = new HashMap<>();
+        messageAttributes.put("prefix.one", MessageAttributeValue.builder().dataType("String").stringValue("1").build());
+        messageAttributes.put("prefix.two", MessageAttributeValue.builder().dataType("String").stringValue("2").build());
+        messageAttributes.put("other", MessageAttributeValue.builder().dataType("String").stringValue("3").build());
+        client.sendMessage(builder -> builder.queueUrl(queueUrl).messageBody("body").messageAttributes(messageAttributes)).get();
+
+        // act
+        final ReceiveMessageResponse response = client.receiveMessage(builder -> builder.queueUrl(queueUrl).messageAttributeNames("prefix.*")).get();
+
+        // assert
+        assertThat(response.messages().get(0).messageAttributes()).containsOnlyKeys("prefix.one", "prefix.two");
+    }
+
+    @Test
+    void visibilityOfBatchOfMessagesCanBeChanged() throws Exception {
+        // arrange
+        final String queueUrl = client.getQueueUrl("queueName");
+        client.sendMessageToLocalQueue("queueName", "body").get();
+        final String receiptHandle = client.receiveMessage(builder -> builder.queueUrl(queueUrl)).get().messages().get(0).receiptHandle();
+
+        // act
+        final ChangeMessageVisibilityBatchResponse response = client.changeMessageVisibilityBatch(builder -> builder
+                .queueUrl(queueUrl)
+                .entries(
+                        ChangeMessageVisibilityBatchRequestEntry.builder().id("first").receiptHandle(receiptHandle).visibilityTimeout(0).build(),
+                        ChangeMessageVisibilityBatchRequestEntry.builder().id("second").receiptHandle("unknown").visibilityTimeout(0).build()
+                ))
+                .get();
+
+        // assert
+        assertThat(response.successful()).extracting(ChangeMessageVisibilityBatchResultEntry::id).containsExactly("first");
+        assertThat(response.failed()).extracting(BatchResultErrorEntry::id).containsExactly("second");
+        assertThat(client.receiveMessage(builder -> builder.queueUrl(queueUrl)).get().messages()).hasSize(1);
+    }
+
+    @Test
+    void batchWithNoEntriesWillBeRejected() {
+        // arrange
+        final String queueUrl = client.getQueueUrl("queueName");
+
+        // act
+        final CompletableFuture<?> future = client.deleteMessageBatch(builder -> builder.queueUrl(queueUrl).entries(Collections.emptyList()));
+
+        // assert
+        final ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        assertThat(exception).hasCauseInstanceOf(EmptyBatchRequestException.class);
+    }
+
+    @Test
+    void batchWithDuplicateEntryIdsWillBeRejected() {
+        // arrange
+        final String queueUrl = client.getQueueUrl("queueName");
+
+        // act
+        final CompletableFuture<?> future = client.sendMessageBatch(builder -> builder
+                .queueUrl(queueUrl)
+                .entries(
+                        SendMessageBatchRequestEntry.builder().id("id").messageBody("body").build(),
+                        SendMessageBatchRequestEntry.builder().id("id").messageBody("body").build()
+                ));
+
+        // assert
+        final ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        assertThat(exception).hasCauseInstanceOf(BatchEntryIdsNotDistinctException.class);
+    }
+
+    @Test
+    void purgedQueueWillHaveNoMessages() throws Exception {
+        // arrange
+        final String queueUrl = client.getQueueUrl("queueName");
+        client.sendMessageToLocalQueue("queueName", "body").get();
+
+        // act
+        client.purgeQueue(builder -> builder.queueUrl(queueUrl)).get();
+
+        // assert
+        assertThat(client.receiveMessage(builder -> builder.queueUrl(queueUrl)).get().messages()).isEmpty();
+    }
+
+    @Test
+    void deletedQueueWillNoLongerExist() throws Exception {
+        // arrange
+        final String queueUrl = client.getQueueUrl("queueName");
+
+        // act
+        client.deleteQueue(builder -> builder.queueUrl(queueUrl)).get();
+
+        // assert
+        final ExecutionException exception = assertThrows(ExecutionException.class, () -> client.receiveMessage(builder -> builder.queueUrl(queueUrl)).get());
+        assertThat(exception).hasCauseInstanceOf(QueueDoesNotExistException.class);
+        assertThat(client.listQueues().get().queueUrls()).containsExactly(client.getQueueUrl("queueName-dlq"));
+    }
+
+    private String sendFifoMessage(final String queueUrl, final String groupId, final String body) throws Exception {
+        return client.sendMessage(builder -> builder
+                .queueUrl(queueUrl)
+                .messageGroupId(groupId)
+                .messageDeduplicationId(body)
+                .messageBody(body))
+                .get()
+                .messageId();
+    }
+
+    private int getApproximateNumberOfMessagesNotVisible(final String queueUrl) throws Exception {
+        return Integer.parseInt(client.getQueueAttributes(builder -> builder
+                .queueUrl(queueUrl)
+                .attributeNames(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE))
+                .get()
+                .attributes()
+                .get(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE));
+    }
+}
@@ -0,0 +1,70 @@
+package com.jashmore.sqs.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+class LatencyInjectingSqsAsyncClientTest {
+    @Test
+    void requestWillOnlyBeSentToDelegateOnceTheLatencyHasElapsed() throws Exception {
+        // arrange
+        final SqsAsyncClient delegate = mock(SqsAsyncClient.class);
+        when(delegate.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ReceiveMessageResponse.builder().build()));
+        final SqsAsyncClient client = new LatencyInjectingSqsAsyncClient(delegate, SqsLatencyConfig.builder()
+                .receiveMessageLatencyInMs(200)
+                .build());
+        final long startTime = System.currentTimeMillis();
+
+        // act
+        final CompletableFuture<ReceiveMessageResponse> future = client.receiveMessage(builder -> builder.queueUrl("url"));
+
+        // assert
+        verify(delegate, never()).receiveMessage(any(ReceiveMessageRequest.class));
+        future.get(5, TimeUnit.SECONDS);
+        assertThat(System.currentTimeMillis() - startTime).isGreaterThanOrEqualTo(200);
+        verify(delegate).receiveMessage(any(ReceiveMessageRequest.class));
+    }
+
+    @Test
+    void requestWithNoLatencyWillBeSentToDelegateImmediately() {
+        // arrange
+        final SqsAsyncClient delegate = mock(SqsAsyncClient.class);
+        final SqsAsyncClient client = new LatencyInjectingSqsAsyncClient(delegate, SqsLatencyConfig.builder()
+                .receiveMessageLatencyInMs(200)
+                .build());
+
+        // act
+        client.deleteMessage(builder -> builder.queueUrl("url"));
+
+        // assert
+        verify(delegate).deleteMessage(any(DeleteMessageRequest.class));
+    }
+
+    @Test
+    void requestsWithoutLatencyConfigurationAreDelegated() {
+        // arrange
+        final SqsAsyncClient delegate = mock(SqsAsyncClient.class);
+        final SqsAsyncClient client = new LatencyInjectingSqsAsyncClient(delegate, SqsLatencyConfig.builder().build());
+        final GetQueueUrlRequest request = GetQueueUrlRequest.builder().queueName("name").build();
+
+        // act
+        client.getQueueUrl(request);
+
+        // assert
+        verify(delegate).getQueueUrl(request);
+    }
+}